@@ -1,16 +1,21 @@
+import java.time.LocalDateTime
+import java.time.format.DateTimeFormatter
+
 plugins {
     java
     jacoco
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "edu.trincoll"
 version = "0.0.1-SNAPSHOT"
 
+// Java 21 so requests are served on virtual threads (spring.threads.virtual.enabled)
 java {
     toolchain {
-        languageVersion = JavaLanguageVersion.of(17)
+        languageVersion = JavaLanguageVersion.of(21)
     }
 }
 
@@ -23,6 +28,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     runtimeOnly("com.h2database:h2")
+    runtimeOnly("org.postgresql:postgresql")
 
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.assertj:assertj-core:3.26.3")
@@ -94,3 +100,30 @@ tasks.jacocoTestCoverageVerification {
 jacoco {
     toolVersion = "0.8.12"
 }
+
+// Performance benchmarks for the hot paths (src/jmh). Run with ./gradlew jmh
+// Catalog sizes can be narrowed with -PjmhCatalogSizes=10000,100000
+// Each run writes a timestamped JSON file to build/results/jmh so runs can be compared over time
+jmh {
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file(
+        "results/jmh/results-${LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))}.json"
+    )
+    fork = 1
+    warmupIterations = 2
+    iterations = 3
+    providers.gradleProperty("jmhCatalogSizes").orNull?.let { sizes ->
+        benchmarkParameters.put("catalogSize", objects.listProperty<String>().value(sizes.split(",")))
+    }
+    providers.gradleProperty("jmhIncludes").orNull?.let { pattern ->
+        includes = listOf(pattern)
+    }
+}
+
+// Spring ships its Java 21 virtual thread support as multi-release classes, which the merged jar must keep
+tasks.named<Jar>("jmhJar") {
+    manifest {
+        attributes("Multi-Release" to "true")
+    }
+}
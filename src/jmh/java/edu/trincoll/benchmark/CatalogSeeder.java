@@ -0,0 +1,117 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.Book;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Seeds a benchmark catalog directly over JDBC.
+ * Every hundredth book is checked out and overdue; every book has a title made of catalog words,
+ * one of a thousand authors and an ISBN derived from its number.
+ */
+final class CatalogSeeder {
+
+    static final String BENCHMARK_MEMBER = "bench@example.com";
+    static final int AUTHORS = 1_000;
+    static final int OVERDUE_EVERY = 100;
+    private static final int CHUNK = 10_000;
+    private static final String[] WORDS = {
+            "river", "garden", "shadow", "empire", "silent", "winter", "harbor", "machine",
+            "library", "ocean", "midnight", "forest", "glass", "iron", "summer", "kingdom"
+    };
+
+    private CatalogSeeder() {
+    }
+
+    static String isbn(int book) {
+        return "978-" + book;
+    }
+
+    static String title(int book) {
+        return "The " + WORDS[book % WORDS.length] + " of " + WORDS[(book / WORDS.length) % WORDS.length]
+                + " volume " + book;
+    }
+
+    static String author(int book) {
+        return "Author " + (book % AUTHORS);
+    }
+
+    static String member(int member) {
+        return "member" + member + "@example.com";
+    }
+
+    static int memberCount(int catalogSize) {
+        return Math.max(100, catalogSize / 10);
+    }
+
+    static boolean isOverdue(int book) {
+        return book % OVERDUE_EVERY == 0;
+    }
+
+    static void seed(JdbcTemplate jdbc, int catalogSize) {
+        int members = memberCount(catalogSize);
+        LocalDate today = LocalDate.now();
+
+        jdbc.update("insert into members (id, name, email, membership_type, member_since, books_checked_out, "
+                + "fee_balance_cents, version) values (next value for members_seq, 'Benchmark', ?, 'PREMIUM', ?, 0, 0, 0)", BENCHMARK_MEMBER, Date.valueOf(today));
+        for (int start = 0; start < members; start += CHUNK) {
+            int from = start;
+            int size = Math.min(CHUNK, members - start);
+            jdbc.batchUpdate("insert into members (id, name, email, membership_type, member_since, books_checked_out, "
+                    + "fee_balance_cents, version) values (next value for members_seq, ?, ?, 'REGULAR', ?, 0, 0, 0)", new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, "Member " + (from + i));
+                    ps.setString(2, member(from + i));
+                    ps.setDate(3, Date.valueOf(today));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+
+        for (int start = 0; start < catalogSize; start += CHUNK) {
+            int from = start;
+            int size = Math.min(CHUNK, catalogSize - start);
+            // Ids come from the sequence Hibernate allocates from, so books saved later never collide
+            jdbc.batchUpdate("insert into books (id, isbn, title, normalized_title, author, publication_date, "
+                    + "status, checked_out_by, due_date, version) "
+                    + "values (next value for books_seq, ?, ?, ?, ?, ?, ?, ?, ?, 0)", new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    int book = from + i;
+                    ps.setString(1, isbn(book));
+                    ps.setString(2, title(book));
+                    ps.setString(3, Book.normalizeTitle(title(book)));
+                    ps.setString(4, author(book));
+                    ps.setDate(5, Date.valueOf(LocalDate.of(1950, 1, 1).plusDays(book % 25_000)));
+                    if (isOverdue(book)) {
+                        ps.setString(6, "CHECKED_OUT");
+                        ps.setString(7, member((book / OVERDUE_EVERY) % members));
+                        ps.setDate(8, Date.valueOf(today.minusDays(1 + book % 30)));
+                    } else {
+                        ps.setString(6, "AVAILABLE");
+                        ps.setString(7, null);
+                        ps.setDate(8, null);
+                    }
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            });
+        }
+
+        jdbc.update("update members m set books_checked_out = "
+                + "(select count(*) from books b where b.checked_out_by = m.email)");
+    }
+}
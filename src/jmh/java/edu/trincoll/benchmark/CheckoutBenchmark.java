@@ -0,0 +1,69 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.service.CheckoutService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a single checkout and a single return through CheckoutService.
+ * Each invocation works on the next available book; the untimed per-invocation setup
+ * returns (or checks out) the book so the catalog stays in a steady state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutBenchmark {
+
+    public static class CheckoutState extends LibraryBenchmarkState {
+        CheckoutService checkoutService;
+        private int cursor;
+        private String checkedOut;
+        String isbn;
+
+        @Override
+        protected void prepare() {
+            checkoutService = context.getBean(CheckoutService.class);
+        }
+
+        @Setup(Level.Invocation)
+        public void nextAvailableBook() {
+            if (checkedOut != null) {
+                checkoutService.returnBook(checkedOut);
+            }
+            isbn = nextIsbn();
+            checkedOut = isbn;
+        }
+
+        String nextIsbn() {
+            do {
+                cursor = (cursor + 1) % catalogSize;
+            } while (CatalogSeeder.isOverdue(cursor));
+            return CatalogSeeder.isbn(cursor);
+        }
+    }
+
+    public static class ReturnState extends CheckoutState {
+
+        @Override
+        @Setup(Level.Invocation)
+        public void nextAvailableBook() {
+            isbn = nextIsbn();
+            checkoutService.checkoutBook(isbn, CatalogSeeder.BENCHMARK_MEMBER);
+        }
+    }
+
+    @Benchmark
+    public String checkoutBook(CheckoutState state) {
+        return state.checkoutService.checkoutBook(state.isbn, CatalogSeeder.BENCHMARK_MEMBER);
+    }
+
+    @Benchmark
+    public String returnBook(ReturnState state) {
+        return state.checkoutService.returnBook(state.isbn);
+    }
+}
@@ -0,0 +1,81 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.service.event.BookCheckedOut;
+import edu.trincoll.service.event.LibraryEvent;
+import edu.trincoll.service.event.LibraryEventBus;
+import edu.trincoll.service.event.LibraryEventSubscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a checkout pays to tell its consumers: handing an event to the ring-buffer bus against
+ * calling each consumer directly on the request thread, as a hard-wired consumer would be. Each
+ * consumer burns a few microseconds of CPU per event, standing in for an analytics write.
+ *
+ * Run outside a transaction, so events go to the ring straight away. On JDK 17 in a single-CPU
+ * sandbox publishing took about 40 ns with one consumer and 120 ns with four, against about 2.6 us
+ * per consumer called directly; with one CPU the consumers fall behind and the bus drops the excess,
+ * which the dropped count in its stats reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventBusBenchmark {
+
+    private static final long CONSUMER_WORK = 1_000;
+
+    @State(Scope.Benchmark)
+    public static class Consumers {
+        @Param({"1", "4"})
+        public int consumers;
+
+        LibraryEventBus eventBus;
+        List<LibraryEventSubscriber> subscribers;
+        LibraryEvent event;
+
+        @Setup(Level.Trial)
+        public void start() {
+            eventBus = new LibraryEventBus(null, 8192, Duration.ofMillis(1));
+            subscribers = new ArrayList<>(consumers);
+            for (int i = 0; i < consumers; i++) {
+                LibraryEventSubscriber subscriber = event -> Blackhole.consumeCPU(CONSUMER_WORK);
+                subscribers.add(subscriber);
+                eventBus.subscribe("consumer-" + i, subscriber);
+            }
+            event = new BookCheckedOut(CatalogSeeder.isbn(0), CatalogSeeder.BENCHMARK_MEMBER,
+                    LocalDate.now().plusDays(14), Instant.now());
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() throws InterruptedException {
+            eventBus.stop();
+        }
+    }
+
+    @Benchmark
+    public void publishToBus(Consumers state) {
+        state.eventBus.publish(state.event);
+    }
+
+    @Benchmark
+    public void callConsumersDirectly(Consumers state) {
+        for (LibraryEventSubscriber subscriber : state.subscribers) {
+            subscriber.onEvent(state.event);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.service.fee.LateFeeRateTable;
+import edu.trincoll.service.fee.LateFeeStrategyFactory;
+import edu.trincoll.service.fee.PremiumLateFeeStrategy;
+import edu.trincoll.service.fee.RegularLateFeeStrategy;
+import edu.trincoll.service.fee.StudentLateFeeStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Late fees for a billing run of loans with mixed membership types: per-loan strategy dispatch in
+ * doubles against the compiled rate table in cents, one loan at a time and in one bulk call.
+ * Strategies now evaluate their schedule day by day, so dispatch is the slower reference here.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class LateFeeBenchmark {
+
+    private static final int LOANS = 100_000;
+
+    private LateFeeStrategyFactory factory;
+    private LateFeeRateTable rateTable;
+    private MembershipType[] memberships;
+    private long[] daysLate;
+    private long[] fees;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factory = new LateFeeStrategyFactory(
+                new RegularLateFeeStrategy(), new PremiumLateFeeStrategy(), new StudentLateFeeStrategy());
+        rateTable = new LateFeeRateTable(factory);
+        Random random = new Random(42);
+        MembershipType[] types = MembershipType.values();
+        memberships = new MembershipType[LOANS];
+        daysLate = new long[LOANS];
+        fees = new long[LOANS];
+        for (int i = 0; i < LOANS; i++) {
+            memberships[i] = types[random.nextInt(types.length)];
+            daysLate[i] = random.nextInt(60);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOANS)
+    public double strategyDispatch() {
+        double total = 0;
+        for (int i = 0; i < LOANS; i++) {
+            total += factory.getStrategy(memberships[i]).calculateLateFee(daysLate[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOANS)
+    public long rateTablePerLoan() {
+        long total = 0;
+        for (int i = 0; i < LOANS; i++) {
+            total += rateTable.feeCents(memberships[i], daysLate[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOANS)
+    public long rateTableBulk() {
+        return rateTable.feesCents(memberships, daysLate, fees);
+    }
+}
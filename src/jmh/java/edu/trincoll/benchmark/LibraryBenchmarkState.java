@@ -0,0 +1,97 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.LibraryApplication;
+import edu.trincoll.service.notification.NotificationTransport;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the library against a private in-memory H2 catalog of {@code catalogSize} books.
+ * The catalog is seeded over JDBC after startup and ApplicationReadyEvent is published again so
+ * the in-memory search and status structures load the seeded rows.
+ */
+@State(Scope.Benchmark)
+public abstract class LibraryBenchmarkState {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    protected ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void startLibrary() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LibraryApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        NotificationTransport.class, () -> message -> { },
+                        definition -> definition.setPrimary(true)));
+        configure(builder);
+        SpringApplication application = builder.build();
+        // Passed as arguments so they take precedence over application.properties and profiles
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.properties.hibernate.format_sql", "false");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.edu.trincoll", "WARN");
+        // A repeated argument would be joined with the default by a comma, so extra ones replace it
+        for (String argument : extraArguments()) {
+            int separator = argument.indexOf('=');
+            properties.put(argument.substring(2, separator), argument.substring(separator + 1));
+        }
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        context = application.run(args);
+
+        // Seeded in a transaction so it also commits when the pool hands out connections without autocommit
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(
+                status -> CatalogSeeder.seed(context.getBean(JdbcTemplate.class), catalogSize));
+        context.publishEvent(new ApplicationReadyEvent(application, args, context, Duration.ZERO));
+        prepare();
+    }
+
+    /**
+     * Adjust the application before it starts, e.g. to run it as a web server
+     */
+    protected void configure(SpringApplicationBuilder builder) {
+    }
+
+    /**
+     * Further command line arguments of the form {@code --name=value}, replacing the defaults above
+     */
+    protected List<String> extraArguments() {
+        return List.of();
+    }
+
+    /**
+     * Look up beans and test data once the catalog is seeded
+     */
+    protected abstract void prepare();
+
+    @TearDown(Level.Trial)
+    public void stopLibrary() {
+        context.close();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.BookSearchService;
+import edu.trincoll.service.metrics.LibraryMetrics;
+import edu.trincoll.service.metrics.ServiceMetricsAspect;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service metrics on the cheapest service call there is: an ISBN lookup against a
+ * repository stub that answers instantly. The instrumented variant runs the service and repository
+ * through the same aspect the application uses; the difference is the per-call overhead that real
+ * calls, which spend microseconds to milliseconds in the database, pay on top.
+ *
+ * On JDK 17 in a single-CPU sandbox the advised service and repository call took about 0.5
+ * microseconds against 2 ns unadvised, mostly Spring AOP's proxy dispatch; that is two to three orders
+ * of magnitude below a database round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private BookSearchService plain;
+    private BookSearchService instrumented;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BookRepository repository = (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class}, (proxy, method, args) -> Optional.<Book>empty());
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect(new LibraryMetrics());
+
+        // Disabled, so ISBN lookups go to the repository
+        LibraryReadModel readModel = new LibraryReadModel(null, null, false, Duration.ZERO);
+
+        plain = new BookSearchService(repository, null, null, readModel);
+        instrumented = advise(new BookSearchService(advise(repository, aspect), null, null, readModel), aspect);
+    }
+
+    @Benchmark
+    public List<Book> plainLookup() {
+        return plain.searchByIsbn("978-0-13-235088-4");
+    }
+
+    @Benchmark
+    public List<Book> instrumentedLookup() {
+        return instrumented.searchByIsbn("978-0-13-235088-4");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T advise(T target, ServiceMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(!(target instanceof Proxy));
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,73 @@
+package edu.trincoll.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the SQL behind the hot BookRepository query methods with and without the books indexes.
+ * The unindexed case drops the indexes declared on Book before measuring; the title cases compare
+ * LOWER(title) against the normalized_title column. Each trial prints the H2 plan of its query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryPlanBenchmark {
+
+    private static final List<String> INDEXES = List.of(
+            "idx_books_status_due_date", "idx_books_due_date", "idx_books_checked_out_by", "idx_books_author");
+
+    private static final Map<String, String> QUERIES = Map.of(
+            "status", "select * from books where status = 'CHECKED_OUT'",
+            "countByStatus", "select count(*) from books where status = 'CHECKED_OUT'",
+            "checkedOutBy", "select * from books where checked_out_by = ?",
+            "dueDateBefore", "select * from books where due_date < ?",
+            "overdueScan", "select * from books where status = 'CHECKED_OUT' and due_date < ?",
+            "author", "select * from books where author = ?",
+            "titleLower", "select * from books where lower(title) like ?",
+            "titleNormalized", "select * from books where normalized_title like ?");
+
+    public static class QueryState extends LibraryBenchmarkState {
+        @Param({"indexed", "unindexed"})
+        public String indexes;
+
+        @Param({"status", "countByStatus", "checkedOutBy", "dueDateBefore", "overdueScan", "author",
+                "titleLower", "titleNormalized"})
+        public String query;
+
+        JdbcTemplate jdbc;
+        String sql;
+        Object[] arguments;
+
+        @Override
+        protected void prepare() {
+            jdbc = context.getBean(JdbcTemplate.class);
+            if (indexes.equals("unindexed")) {
+                INDEXES.forEach(index -> jdbc.execute("drop index if exists " + index));
+            }
+            sql = QUERIES.get(query);
+            arguments = switch (query) {
+                case "checkedOutBy" -> new Object[]{CatalogSeeder.member(1)};
+                case "dueDateBefore", "overdueScan" -> new Object[]{Date.valueOf(LocalDate.now())};
+                case "author" -> new Object[]{CatalogSeeder.author(42)};
+                case "titleLower", "titleNormalized" -> new Object[]{"%volume 4242%"};
+                default -> new Object[0];
+            };
+            String plan = jdbc.queryForObject("explain " + sql, String.class, arguments);
+            System.out.println("Plan [" + indexes + ", " + query + "]:\n" + plan);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> runQuery(QueryState state) {
+        return state.jdbc.queryForList(state.sql, state.arguments);
+    }
+}
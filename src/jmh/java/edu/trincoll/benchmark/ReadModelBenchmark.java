@@ -0,0 +1,90 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.service.CheckoutResult;
+import edu.trincoll.service.CheckoutService;
+import edu.trincoll.service.ReportService;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkouts at peak: one thread checking out and returning books while three threads generate the
+ * summary and overdue reports, over a pool of four connections. With the read model the reports
+ * never take a connection, so checkouts only compete with each other for the pool.
+ *
+ * With 100,000 books on JDK 17 in a single-CPU sandbox the two reports took about 30 ms on the read
+ * model against 145 ms on the database. Checkout times were too noisy to tell apart there: with one
+ * CPU the reporting threads compete with checkouts for the processor rather than for connections,
+ * so the pool relief needs a multi-core run to show.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadModelBenchmark {
+
+    private static final int BURST_SIZE = 10;
+
+    public static class PeakState extends LibraryBenchmarkState {
+
+        @Param({"false", "true"})
+        public boolean readModel;
+
+        CheckoutService checkoutService;
+        ReportService reportService;
+        private int cursor;
+
+        @Override
+        protected List<String> extraArguments() {
+            return List.of(
+                    "--library.read-model.enabled=" + readModel,
+                    "--spring.datasource.hikari.maximum-pool-size=4");
+        }
+
+        @Override
+        protected void prepare() {
+            checkoutService = context.getBean(CheckoutService.class);
+            reportService = context.getBean(ReportService.class);
+            try {
+                context.getBean(LibraryReadModel.class).awaitCaughtUp(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized List<String> nextBurst() {
+            List<String> isbns = new ArrayList<>(BURST_SIZE);
+            while (isbns.size() < BURST_SIZE) {
+                cursor = (cursor + 1) % catalogSize;
+                if (!CatalogSeeder.isOverdue(cursor)) {
+                    isbns.add(CatalogSeeder.isbn(cursor));
+                }
+            }
+            return isbns;
+        }
+    }
+
+    @Benchmark
+    @Group("peak")
+    @GroupThreads(1)
+    public List<CheckoutResult> checkout(PeakState state) {
+        List<String> isbns = state.nextBurst();
+        state.checkoutService.checkoutBooks(isbns, CatalogSeeder.BENCHMARK_MEMBER);
+        return state.checkoutService.returnBooks(isbns);
+    }
+
+    @Benchmark
+    @Group("peak")
+    @GroupThreads(3)
+    public String report(PeakState state) {
+        return state.reportService.generateReport("summary") + state.reportService.generateReport("overdue");
+    }
+}
@@ -0,0 +1,52 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.service.ReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of ReportService.generateReport for each report type, and of streaming the overdue
+ * report to a writer that discards its output
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportBenchmark {
+
+    public static class ReportState extends LibraryBenchmarkState {
+        @Param({"overdue", "available", "members", "summary"})
+        public String reportType;
+
+        ReportService reportService;
+
+        @Override
+        protected void prepare() {
+            reportService = context.getBean(ReportService.class);
+        }
+    }
+
+    @Benchmark
+    public String generateReport(ReportState state) {
+        return state.reportService.generateReport(state.reportType);
+    }
+
+    @Benchmark
+    public long writeOverdueReport(StreamingReportState state) throws IOException {
+        return state.reportService.writeOverdueBooksReport(Writer.nullWriter());
+    }
+
+    public static class StreamingReportState extends LibraryBenchmarkState {
+        ReportService reportService;
+
+        @Override
+        protected void prepare() {
+            reportService = context.getBean(ReportService.class);
+        }
+    }
+}
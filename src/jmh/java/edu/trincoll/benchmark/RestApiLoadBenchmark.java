@@ -0,0 +1,114 @@
+package edu.trincoll.benchmark;
+
+import jakarta.servlet.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.springframework.boot.ApplicationContextFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebServerApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the REST API: a burst of concurrent kiosk requests against Tomcat's default pool of
+ * 200 platform threads and against one virtual thread per request.
+ *
+ * Each request lists a page of overdue books and then sleeps for {@code blockingMillis} inside the
+ * request thread, standing in for the time a kiosk call spends blocked on a remote database. A
+ * platform thread is held for the whole wait, so a burst larger than the pool queues behind it; a
+ * virtual thread unmounts while it waits and the whole burst waits at once. The score is the time to
+ * answer the entire burst.
+ *
+ * The virtual variant needs a Java 21 JVM, which the build targets; run the JMH jar on 21, e.g. with
+ * {@code -p catalogSize=10000}. On older runtimes it fails at setup rather than silently measuring
+ * platform threads.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RestApiLoadBenchmark {
+
+    public static class ServerState extends LibraryBenchmarkState {
+        @Param({"platform", "virtual"})
+        public String threads;
+
+        @Param({"1000"})
+        public int concurrentRequests;
+
+        @Param({"0", "200", "1000"})
+        public int blockingMillis;
+
+        HttpClient client;
+        URI overduePage;
+
+        @Override
+        protected void configure(SpringApplicationBuilder builder) {
+            if (threads.equals("virtual") && Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Virtual threads need Java 21, running on " + Runtime.version());
+            }
+            // The JMH jar merges spring.factories, so name the web context class rather than relying on its lookup
+            builder.web(WebApplicationType.SERVLET)
+                    .contextFactory(ApplicationContextFactory.ofContextClass(
+                            AnnotationConfigServletWebServerApplicationContext.class))
+                    .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                            "simulatedBlocking", Filter.class, () -> (request, response, chain) -> {
+                                sleep(blockingMillis);
+                                chain.doFilter(request, response);
+                            }));
+        }
+
+        @Override
+        protected List<String> extraArguments() {
+            return List.of(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                    // Accept the whole burst so requests queue for a thread, not for a connection
+                    "--server.tomcat.max-connections=" + (concurrentRequests + 100));
+        }
+
+        @Override
+        protected void prepare() {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            overduePage = URI.create("http://localhost:" + port + "/api/books/overdue?limit=20");
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        }
+
+        private static void sleep(int millis) {
+            if (millis == 0) {
+                return;
+            }
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Benchmark
+    public int burstOfRequests(ServerState state) {
+        HttpRequest request = HttpRequest.newBuilder(state.overduePage).GET().build();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[state.concurrentRequests];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = state.client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Request failed with status " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,56 @@
+package edu.trincoll.benchmark;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.service.BookSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of BookSearchService.searchBooks for each search type
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    private static final int TERMS = 1024;
+
+    public static class SearchState extends LibraryBenchmarkState {
+        @Param({"title", "author", "isbn"})
+        public String searchType;
+
+        BookSearchService searchService;
+        private final String[] terms = new String[TERMS];
+        private int next;
+
+        @Override
+        protected void prepare() {
+            searchService = context.getBean(BookSearchService.class);
+            Random random = new Random(42);
+            for (int i = 0; i < TERMS; i++) {
+                int book = random.nextInt(catalogSize);
+                terms[i] = switch (searchType) {
+                    case "title" -> "volume " + book;
+                    case "author" -> CatalogSeeder.author(book);
+                    default -> CatalogSeeder.isbn(book);
+                };
+            }
+        }
+
+        String nextTerm() {
+            next = (next + 1) & (TERMS - 1);
+            return terms[next];
+        }
+    }
+
+    @Benchmark
+    public List<Book> searchBooks(SearchState state) {
+        return state.searchService.searchBooks(state.nextTerm(), state.searchType);
+    }
+}
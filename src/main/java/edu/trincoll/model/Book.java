@@ -1,18 +1,35 @@
 package edu.trincoll.model;
 
+import edu.trincoll.repository.BookEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_status_due_date", columnList = "status, due_date, id"),
+        @Index(name = "idx_books_status_id", columnList = "status, id"),
+        @Index(name = "idx_books_due_date", columnList = "due_date"),
+        @Index(name = "idx_books_checked_out_by", columnList = "checked_out_by"),
+        @Index(name = "idx_books_author", columnList = "author")
+})
+@EntityListeners(BookEntityListener.class)
 public class Book {
+    /**
+     * Taken from a sequence 50 values at a time, so inserts need no round trip per row to learn their
+     * id and Hibernate can send them as JDBC batches
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank(message = "ISBN is required")
     @Column(unique = true, nullable = false)
     private String isbn;
@@ -21,6 +38,12 @@ public class Book {
     @Column(nullable = false)
     private String title;
 
+    /**
+     * Lower-cased copy of the title so case-insensitive title searches compare the stored value directly
+     */
+    @Column(name = "normalized_title", nullable = false)
+    private String normalizedTitle;
+
     @NotBlank(message = "Author is required")
     @Column(nullable = false)
     private String author;
@@ -45,10 +68,24 @@ public class Book {
     public Book(String isbn, String title, String author, LocalDate publicationDate) {
         this.isbn = isbn;
         this.title = title;
+        this.normalizedTitle = normalizeTitle(title);
         this.author = author;
         this.publicationDate = publicationDate;
     }
 
+    /**
+     * Form in which titles are stored in the normalized_title column and compared when searching
+     */
+    public static String normalizeTitle(String title) {
+        return title == null ? null : title.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalize() {
+        normalizedTitle = normalizeTitle(title);
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -58,6 +95,14 @@ public class Book {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getIsbn() {
         return isbn;
     }
@@ -72,6 +117,11 @@ public class Book {
 
     public void setTitle(String title) {
         this.title = title;
+        this.normalizedTitle = normalizeTitle(title);
+    }
+
+    public String getNormalizedTitle() {
+        return normalizedTitle;
     }
 
     public String getAuthor() {
@@ -0,0 +1,102 @@
+package edu.trincoll.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One late fee charged to a member, written when the book is returned.
+ * Entries are never changed or deleted; a member's balance is the sum of their entries.
+ */
+@Entity
+@Immutable
+@Table(name = "fee_ledger", indexes = {
+        @Index(name = "idx_fee_ledger_member_id", columnList = "member_email, id")
+})
+public class FeeLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "member_email", nullable = false, updatable = false)
+    private String memberEmail;
+
+    @Column(nullable = false, updatable = false)
+    private String isbn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "membership_type", nullable = false, updatable = false)
+    private MembershipType membershipType;
+
+    @Column(name = "due_date", nullable = false, updatable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "returned_on", nullable = false, updatable = false)
+    private LocalDate returnedOn;
+
+    @Column(name = "amount_cents", nullable = false, updatable = false)
+    private long amountCents;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private Instant recordedAt = Instant.now();
+
+    // Constructors
+    protected FeeLedgerEntry() {
+    }
+
+    public FeeLedgerEntry(String memberEmail, String isbn, MembershipType membershipType,
+                          LocalDate dueDate, LocalDate returnedOn, long amountCents) {
+        this.memberEmail = memberEmail;
+        this.isbn = isbn;
+        this.membershipType = membershipType;
+        this.dueDate = dueDate;
+        this.returnedOn = returnedOn;
+        this.amountCents = amountCents;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getMemberEmail() {
+        return memberEmail;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public MembershipType getMembershipType() {
+        return membershipType;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDate getReturnedOn() {
+        return returnedOn;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "FeeLedgerEntry{" +
+                "id=" + id +
+                ", memberEmail='" + memberEmail + '\'' +
+                ", isbn='" + isbn + '\'' +
+                ", amountCents=" + amountCents +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package edu.trincoll.model;
 
+import edu.trincoll.repository.MemberEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,12 +8,22 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "members")
+@Table(name = "members", indexes = {
+        @Index(name = "idx_members_fee_balance", columnList = "fee_balance_cents")
+})
+@EntityListeners(MemberEntityListener.class)
 public class Member {
+    /**
+     * Taken from a sequence 50 values at a time, like book ids, so bulk member syncs insert in JDBC batches
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "members_seq")
+    @SequenceGenerator(name = "members_seq", sequenceName = "members_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotBlank(message = "Name is required")
     @Column(nullable = false)
     private String name;
@@ -32,6 +43,25 @@ public class Member {
     @Column(name = "books_checked_out")
     private int booksCheckedOut = 0;
 
+    /**
+     * Late fees owed, in cents. Kept equal to the member's entries in the fee ledger.
+     */
+    @Column(name = "fee_balance_cents", nullable = false)
+    private long feeBalanceCents = 0;
+
+    /**
+     * Day a registrar sync first found the member missing from the roster, null while enrolled
+     */
+    @Column(name = "lapsed_on")
+    private LocalDate lapsedOn;
+
+    /**
+     * Sweep date of the last overdue digest sent to the member. Written only by the overdue sweep's
+     * bulk update, so saving a member loaded earlier never puts back an older date.
+     */
+    @Column(name = "overdue_notified_on", insertable = false, updatable = false)
+    private LocalDate overdueNotifiedOn;
+
     // Constructors
     public Member() {
     }
@@ -56,6 +86,14 @@ public class Member {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getName() {
         return name;
     }
@@ -96,6 +134,30 @@ public class Member {
         this.booksCheckedOut = booksCheckedOut;
     }
 
+    public long getFeeBalanceCents() {
+        return feeBalanceCents;
+    }
+
+    public void setFeeBalanceCents(long feeBalanceCents) {
+        this.feeBalanceCents = feeBalanceCents;
+    }
+
+    public LocalDate getLapsedOn() {
+        return lapsedOn;
+    }
+
+    public void setLapsedOn(LocalDate lapsedOn) {
+        this.lapsedOn = lapsedOn;
+    }
+
+    public LocalDate getOverdueNotifiedOn() {
+        return overdueNotifiedOn;
+    }
+
+    public void setOverdueNotifiedOn(LocalDate overdueNotifiedOn) {
+        this.overdueNotifiedOn = overdueNotifiedOn;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
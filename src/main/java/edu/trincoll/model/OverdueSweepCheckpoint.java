@@ -0,0 +1,132 @@
+package edu.trincoll.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of the overdue notification sweep for one sweep date.
+ * The position is the (due date, book id) key of the last overdue loan the sweep has processed, so a
+ * sweep that stops part way resumes after it instead of notifying members twice.
+ */
+@Entity
+@Table(name = "overdue_sweep_checkpoints")
+public class OverdueSweepCheckpoint {
+
+    /** Position before the first overdue loan */
+    public static final LocalDate START_DUE_DATE = LocalDate.of(1, 1, 1);
+    public static final long START_BOOK_ID = 0;
+
+    @Id
+    private String name;
+
+    @Version
+    private Long version;
+
+    @Column(name = "sweep_date", nullable = false)
+    private LocalDate sweepDate;
+
+    @Column(name = "last_due_date", nullable = false)
+    private LocalDate lastDueDate = START_DUE_DATE;
+
+    @Column(name = "last_book_id", nullable = false)
+    private long lastBookId = START_BOOK_ID;
+
+    @Column(name = "members_notified", nullable = false)
+    private long membersNotified;
+
+    @Column(name = "loans_notified", nullable = false)
+    private long loansNotified;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    // Constructors
+    protected OverdueSweepCheckpoint() {
+    }
+
+    public OverdueSweepCheckpoint(String name, LocalDate sweepDate) {
+        this.name = name;
+        this.sweepDate = sweepDate;
+    }
+
+    /**
+     * Start over from the first overdue loan for a new sweep date
+     */
+    public void restart(LocalDate sweepDate) {
+        this.sweepDate = sweepDate;
+        lastDueDate = START_DUE_DATE;
+        lastBookId = START_BOOK_ID;
+        membersNotified = 0;
+        loansNotified = 0;
+        completed = false;
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Move the position past a processed chunk, counting the members it notified and their loans
+     */
+    public void advance(LocalDate dueDate, long bookId, int members, int loans) {
+        lastDueDate = dueDate;
+        lastBookId = bookId;
+        membersNotified += members;
+        loansNotified += loans;
+        updatedAt = Instant.now();
+    }
+
+    public void complete() {
+        completed = true;
+        updatedAt = Instant.now();
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDate getSweepDate() {
+        return sweepDate;
+    }
+
+    public LocalDate getLastDueDate() {
+        return lastDueDate;
+    }
+
+    public long getLastBookId() {
+        return lastBookId;
+    }
+
+    public long getMembersNotified() {
+        return membersNotified;
+    }
+
+    public long getLoansNotified() {
+        return loansNotified;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OverdueSweepCheckpoint{" +
+                "name='" + name + '\'' +
+                ", sweepDate=" + sweepDate +
+                ", membersNotified=" + membersNotified +
+                ", loansNotified=" + loansNotified +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+
+/**
+ * Callback for components that keep an in-memory view of the books table.
+ * Implementations are Spring beans and are notified by {@link BookEntityListener}
+ * whenever a book is inserted, updated or deleted through JPA.
+ */
+public interface BookChangeObserver {
+
+    /**
+     * Called after a book has been inserted or updated
+     */
+    void bookSaved(Book book);
+
+    /**
+     * Called after a book has been deleted
+     */
+    void bookRemoved(Book book);
+}
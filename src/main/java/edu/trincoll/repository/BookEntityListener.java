@@ -0,0 +1,32 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that forwards book lifecycle events to every {@link BookChangeObserver}.
+ * Hibernate creates this listener through Spring, so observers are resolved lazily to avoid
+ * a dependency cycle with the EntityManagerFactory.
+ */
+public class BookEntityListener {
+
+    private final ObjectProvider<BookChangeObserver> observers;
+
+    public BookEntityListener(ObjectProvider<BookChangeObserver> observers) {
+        this.observers = observers;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Book book) {
+        observers.orderedStream().forEach(observer -> observer.bookSaved(book));
+    }
+
+    @PostRemove
+    void onRemoved(Book book) {
+        observers.orderedStream().forEach(observer -> observer.bookRemoved(book));
+    }
+}
@@ -2,27 +2,125 @@ package edu.trincoll.repository;
 
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
     Optional<Book> findByIsbn(String isbn);
 
+    List<Book> findByIsbnIn(Collection<String> isbns);
+
     List<Book> findByStatus(BookStatus status);
 
     List<Book> findByAuthor(String author);
 
-    List<Book> findByTitleContainingIgnoreCase(String title);
+    /**
+     * Case-insensitive title search against the pre-lowered normalized_title column,
+     * so the database does not apply LOWER() to every row
+     */
+    default List<Book> findByTitleContainingIgnoreCase(String title) {
+        return findByNormalizedTitleContaining(Book.normalizeTitle(title));
+    }
+
+    List<Book> findByNormalizedTitleContaining(String normalizedTitle);
 
     List<Book> findByDueDateBefore(LocalDate date);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT b FROM Book b WHERE b.dueDate < :date")
+    Stream<Book> streamByDueDateBefore(@Param("date") LocalDate date);
+
     List<Book> findByCheckedOutBy(String memberEmail);
 
+    /**
+     * Next chunk of loans overdue before the given date, in (due date, book id) order, starting after
+     * the given key. Ordering by the constant status as well lets the database read the chunk in
+     * idx_books_status_due_date order and stop at the limit, so every chunk costs the same however
+     * far into the loans the sweep is.
+     */
+    @Query("""
+            SELECT b.id AS id, b.title AS title, b.checkedOutBy AS checkedOutBy, b.dueDate AS dueDate
+            FROM Book b
+            WHERE b.status = edu.trincoll.model.BookStatus.CHECKED_OUT AND b.dueDate < :today
+              AND b.dueDate >= :afterDueDate AND (b.dueDate > :afterDueDate OR b.id > :afterId)
+            ORDER BY b.status, b.dueDate, b.id
+            """)
+    List<OverdueLoanView> findOverdueLoansAfter(@Param("today") LocalDate today,
+                                                @Param("afterDueDate") LocalDate afterDueDate,
+                                                @Param("afterId") long afterId,
+                                                Limit limit);
+
+    /**
+     * Next page of loans of the given members overdue before the given date, in (member, due date,
+     * book id) order, starting after the given key
+     */
+    @Query("""
+            SELECT b.id AS id, b.title AS title, b.checkedOutBy AS checkedOutBy, b.dueDate AS dueDate
+            FROM Book b
+            WHERE b.status = edu.trincoll.model.BookStatus.CHECKED_OUT AND b.dueDate < :today
+              AND b.checkedOutBy IN :memberEmails
+              AND (b.checkedOutBy > :afterMember OR (b.checkedOutBy = :afterMember
+                  AND (b.dueDate > :afterDueDate OR (b.dueDate = :afterDueDate AND b.id > :afterId))))
+            ORDER BY b.checkedOutBy, b.dueDate, b.id
+            """)
+    List<OverdueLoanView> findOverdueLoansOfMembersAfter(@Param("today") LocalDate today,
+                                                         @Param("memberEmails") Collection<String> memberEmails,
+                                                         @Param("afterMember") String afterMember,
+                                                         @Param("afterDueDate") LocalDate afterDueDate,
+                                                         @Param("afterId") long afterId,
+                                                         Limit limit);
+
     long countByStatus(BookStatus status);
+
+    List<BookStatusView> findStatusViewsByIdGreaterThanOrderById(Long id, Limit limit);
+
+    List<Book> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    /**
+     * Next page of books in the status after the given id.
+     * Ordering by the constant status as well lets the database read the page in idx_books_status_id
+     * order and stop at the limit instead of sorting every book in the status.
+     */
+    @Query("SELECT b FROM Book b WHERE b.status = :status AND b.id > :afterId ORDER BY b.status, b.id")
+    List<Book> findPageByStatus(@Param("status") BookStatus status, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Next page of books due before the given date after the given id. Only checked out books have a
+     * due date, so the page is read in idx_books_status_id order like {@link #findPageByStatus}.
+     */
+    @Query("""
+            SELECT b FROM Book b
+            WHERE b.status = edu.trincoll.model.BookStatus.CHECKED_OUT AND b.dueDate < :date AND b.id > :afterId
+            ORDER BY b.status, b.id
+            """)
+    List<Book> findPageDueBefore(@Param("date") LocalDate date, @Param("afterId") long afterId, Limit limit);
+
+    List<Book> findByNormalizedTitleContainingAndIdGreaterThanOrderById(String normalizedTitle, Long id,
+                                                                        Limit limit);
+
+    @Query("""
+            SELECT b.status AS status, COUNT(b) AS total,
+                   SUM(CASE WHEN b.dueDate < :today THEN 1 ELSE 0 END) AS matching
+            FROM Book b GROUP BY b.status
+            UNION ALL
+            SELECT NULL, COUNT(m), SUM(CASE WHEN m.booksCheckedOut > 0 THEN 1 ELSE 0 END)
+            FROM Member m
+            """)
+    List<LibraryStatisticsRow> summarizeLibrary(@Param("today") LocalDate today);
 }
@@ -0,0 +1,14 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.BookStatus;
+
+/**
+ * Projection of the columns needed to track book availability without loading entities
+ */
+public interface BookStatusView {
+    Long getId();
+
+    String getIsbn();
+
+    BookStatus getStatus();
+}
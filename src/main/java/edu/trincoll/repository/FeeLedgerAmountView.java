@@ -0,0 +1,12 @@
+package edu.trincoll.repository;
+
+/**
+ * Key and amount of a fee ledger entry, all that reconciliation reads
+ */
+public interface FeeLedgerAmountView {
+    Long getId();
+
+    String getMemberEmail();
+
+    long getAmountCents();
+}
@@ -0,0 +1,39 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.FeeLedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeeLedgerRepository extends JpaRepository<FeeLedgerEntry, Long> {
+
+    /**
+     * Entries after the given (member email, id) key in key order, read along idx_fee_ledger_member_id
+     * so each chunk of a ledger scan starts where the last one stopped
+     */
+    @Query("""
+            SELECT e.id AS id, e.memberEmail AS memberEmail, e.amountCents AS amountCents
+            FROM FeeLedgerEntry e
+            WHERE e.memberEmail >= :afterEmail AND (e.memberEmail > :afterEmail OR e.id > :afterId)
+            ORDER BY e.memberEmail, e.id
+            """)
+    List<FeeLedgerAmountView> findAmountsAfter(@Param("afterEmail") String afterEmail,
+                                               @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Those of the given members that have at least one ledger entry
+     */
+    @Query("SELECT DISTINCT e.memberEmail FROM FeeLedgerEntry e WHERE e.memberEmail IN :emails")
+    List<String> findMemberEmailsWithEntries(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT COALESCE(SUM(e.amountCents), 0) FROM FeeLedgerEntry e WHERE e.memberEmail = :email")
+    long sumAmountCentsByMemberEmail(@Param("email") String email);
+
+    List<FeeLedgerEntry> findByMemberEmailOrderById(String memberEmail);
+}
@@ -0,0 +1,16 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.BookStatus;
+
+/**
+ * One row of the grouped library statistics query.
+ * Book rows carry a status, the number of books in it and how many of those are overdue.
+ * The single member row has no status and carries the member count and how many members have books out.
+ */
+public interface LibraryStatisticsRow {
+    BookStatus getStatus();
+
+    Long getTotal();
+
+    Long getMatching();
+}
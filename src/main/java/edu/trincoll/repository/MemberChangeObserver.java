@@ -0,0 +1,22 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Member;
+
+/**
+ * Callback for components that keep an in-memory view of the members table.
+ * Implementations are Spring beans and are notified by {@link MemberEntityListener}
+ * whenever a member is inserted, updated or deleted through JPA. Bulk JPQL updates
+ * bypass entity listeners, so their callers notify the view themselves.
+ */
+public interface MemberChangeObserver {
+
+    /**
+     * Called after a member has been inserted or updated
+     */
+    void memberSaved(Member member);
+
+    /**
+     * Called after a member has been deleted
+     */
+    void memberRemoved(Member member);
+}
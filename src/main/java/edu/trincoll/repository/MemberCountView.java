@@ -0,0 +1,12 @@
+package edu.trincoll.repository;
+
+/**
+ * Projection of a member's checked out count and the version it belongs to
+ */
+public interface MemberCountView {
+    Long getId();
+
+    Long getVersion();
+
+    int getBooksCheckedOut();
+}
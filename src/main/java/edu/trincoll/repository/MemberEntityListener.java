@@ -0,0 +1,32 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.Member;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that forwards member lifecycle events to every {@link MemberChangeObserver}.
+ * Like {@link BookEntityListener}, observers are resolved lazily to avoid a dependency cycle with
+ * the EntityManagerFactory.
+ */
+public class MemberEntityListener {
+
+    private final ObjectProvider<MemberChangeObserver> observers;
+
+    public MemberEntityListener(ObjectProvider<MemberChangeObserver> observers) {
+        this.observers = observers;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onSaved(Member member) {
+        observers.orderedStream().forEach(observer -> observer.memberSaved(member));
+    }
+
+    @PostRemove
+    void onRemoved(Member member) {
+        observers.orderedStream().forEach(observer -> observer.memberRemoved(member));
+    }
+}
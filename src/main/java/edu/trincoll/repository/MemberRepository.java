@@ -2,9 +2,17 @@ package edu.trincoll.repository;
 
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +21,116 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Optional<Member> findByEmail(String email);
 
+    boolean existsByEmail(String email);
+
+    List<Member> findByEmailIn(Collection<String> emails);
+
     List<Member> findByMembershipType(MembershipType membershipType);
 
     List<Member> findByBooksCheckedOutGreaterThan(int count);
+
+    List<Member> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    /**
+     * The synced columns of every member, in a single query
+     */
+    @Query("""
+            SELECT m.id AS id, m.email AS email, m.name AS name, m.membershipType AS membershipType,
+                m.lapsedOn AS lapsedOn
+            FROM Member m
+            """)
+    List<MemberSyncView> findSyncViews();
+
+    /**
+     * The member's checked out count and version as this transaction sees them, e.g. right after a
+     * relative update
+     */
+    @Query("""
+            SELECT m.id AS id, m.version AS version, m.booksCheckedOut AS booksCheckedOut
+            FROM Member m WHERE m.email = :email
+            """)
+    Optional<MemberCountView> findCountViewByEmail(@Param("email") String email);
+
+    /**
+     * Mark the given members lapsed as of a day, leaving members already lapsed alone
+     *
+     * @return number of members marked
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Member m SET m.lapsedOn = :lapsedOn, m.version = m.version + 1
+            WHERE m.id IN :ids AND m.lapsedOn IS NULL
+            """)
+    int markLapsed(@Param("ids") Collection<Long> ids, @Param("lapsedOn") LocalDate lapsedOn);
+
+    /**
+     * Emails among the given ones of members not yet sent an overdue digest for the sweep date
+     */
+    @Query("""
+            SELECT m.email FROM Member m
+            WHERE m.email IN :emails AND (m.overdueNotifiedOn IS NULL OR m.overdueNotifiedOn <> :sweepDate)
+            """)
+    List<String> findEmailsNotNotifiedOverdueOn(@Param("emails") Collection<String> emails,
+                                               @Param("sweepDate") LocalDate sweepDate);
+
+    /**
+     * Record that the members were sent their overdue digest for the sweep date. Leaves the version
+     * alone: the column is never written through the entity, so no save can overwrite it.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Member m SET m.overdueNotifiedOn = :sweepDate WHERE m.email IN :emails")
+    int markOverdueNotified(@Param("emails") Collection<String> emails, @Param("sweepDate") LocalDate sweepDate);
+
+    /**
+     * Add to a member's checked out count only if the result stays within the limit, in one statement
+     *
+     * @return 1 if the count was raised, 0 if the member is unknown or the limit would be exceeded
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Member m SET m.booksCheckedOut = m.booksCheckedOut + :count, m.version = m.version + 1
+            WHERE m.email = :email AND m.booksCheckedOut + :count <= :limit
+            """)
+    int incrementBooksCheckedOutWithinLimit(@Param("email") String email, @Param("count") int count,
+                                            @Param("limit") int limit);
+
+    /**
+     * Shift a member's checked out count by a delta in one statement, never going below zero
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Member m SET m.booksCheckedOut =
+                CASE WHEN m.booksCheckedOut + :delta < 0 THEN 0 ELSE m.booksCheckedOut + :delta END,
+                m.version = m.version + 1
+            WHERE m.email = :email
+            """)
+    int adjustBooksCheckedOut(@Param("email") String email, @Param("delta") int delta);
+
+    /**
+     * Add to a member's late fee balance in one statement
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Member m SET m.feeBalanceCents = m.feeBalanceCents + :cents, m.version = m.version + 1
+            WHERE m.email = :email
+            """)
+    int addFeeBalance(@Param("email") String email, @Param("cents") long cents);
+
+    /**
+     * Emails of members with a nonzero fee balance after the given email, in email order
+     */
+    @Query("SELECT m.email FROM Member m WHERE m.feeBalanceCents <> 0 AND m.email > :afterEmail ORDER BY m.email")
+    List<String> findEmailsWithFeeBalanceAfter(@Param("afterEmail") String afterEmail, Limit limit);
+
+    /**
+     * Members owing late fees, by email
+     */
+    List<Member> findByFeeBalanceCentsGreaterThanOrderByEmail(long cents);
+
+    /**
+     * Load a member and lock its row until the transaction ends, holding off concurrent returns
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Member m WHERE m.email = :email")
+    Optional<Member> lockByEmail(@Param("email") String email);
 }
@@ -0,0 +1,20 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.MembershipType;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the columns a registrar sync compares, read for every member in one query
+ */
+public interface MemberSyncView {
+    Long getId();
+
+    String getEmail();
+
+    String getName();
+
+    MembershipType getMembershipType();
+
+    LocalDate getLapsedOn();
+}
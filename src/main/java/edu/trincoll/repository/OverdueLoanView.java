@@ -0,0 +1,16 @@
+package edu.trincoll.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the columns the overdue sweep needs to notify a member about one loan
+ */
+public interface OverdueLoanView {
+    Long getId();
+
+    String getTitle();
+
+    String getCheckedOutBy();
+
+    LocalDate getDueDate();
+}
@@ -0,0 +1,9 @@
+package edu.trincoll.repository;
+
+import edu.trincoll.model.OverdueSweepCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OverdueSweepCheckpointRepository extends JpaRepository<OverdueSweepCheckpoint, String> {
+}
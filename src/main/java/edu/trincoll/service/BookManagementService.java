@@ -3,96 +3,223 @@ package edu.trincoll.service;
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.availability.BookStatusTable;
+import edu.trincoll.service.cache.BookCache;
+import edu.trincoll.service.catalog.CatalogEntry;
+import edu.trincoll.service.catalog.CompactCatalog;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service responsible for book management operations.
  * Follows Single Responsibility Principle - handles only book-related operations.
+ *
+ * Lookups by ISBN are served from the {@link BookCache}, and every write through this service
+ * writes the new state through to it. Listings by status, due date and borrower are answered from
+ * the off-heap {@link CompactCatalog} once it is loaded.
+ *
+ * Those catalog listings are read uncommitted. The catalog takes a change when it is flushed, not
+ * when it commits, so a listing flushes the caller's pending changes first and then also sees what
+ * concurrent transactions have flushed but not yet committed; that state is taken back out only if
+ * they roll back. The books returned are detached copies built from the catalog, not managed
+ * entities. Callers that must see committed state only use the keyset-paged listings, which always
+ * query the database.
  */
 @Service
 @Transactional
 public class BookManagementService {
 
     private final BookRepository bookRepository;
+    private final BookStatusTable statusTable;
+    private final EntityManager entityManager;
+    private final BookCache bookCache;
+    private final CompactCatalog catalog;
 
-    public BookManagementService(BookRepository bookRepository) {
+    public BookManagementService(BookRepository bookRepository, BookStatusTable statusTable,
+                                 EntityManager entityManager, BookCache bookCache, CompactCatalog catalog) {
         this.bookRepository = bookRepository;
+        this.statusTable = statusTable;
+        this.entityManager = entityManager;
+        this.bookCache = bookCache;
+        this.catalog = catalog;
     }
 
     /**
      * Find a book by ISBN
      */
     public Optional<Book> findByIsbn(String isbn) {
-        return bookRepository.findByIsbn(isbn);
+        return bookCache.find(isbn, bookRepository::findByIsbn);
     }
 
     /**
      * Find a book by ISBN or throw exception if not found
      */
     public Book findByIsbnOrThrow(String isbn) {
-        return bookRepository.findByIsbn(isbn)
+        return findByIsbn(isbn)
                 .orElseThrow(() -> new IllegalArgumentException("Book not found"));
     }
 
+    /**
+     * Find several books by ISBN in a single query, keyed by ISBN
+     */
+    public Map<String, Book> findAllByIsbn(Collection<String> isbns) {
+        return bookRepository.findByIsbnIn(isbns).stream()
+                .collect(Collectors.toMap(Book::getIsbn, Function.identity()));
+    }
+
     /**
      * Get all books by status
      */
     public List<Book> findByStatus(BookStatus status) {
+        if (catalogReady()) {
+            return catalog.findByStatus(status);
+        }
         return bookRepository.findByStatus(status);
     }
 
+    /**
+     * Get one page of the books in a status, in id order after the given id
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Book> findByStatus(BookStatus status, long afterId, int limit) {
+        return page(bookRepository.findPageByStatus(status, afterId, pageLimit(limit)), limit);
+    }
+
     /**
      * Get all available books
      */
     public List<Book> findAvailableBooks() {
-        return bookRepository.findByStatus(BookStatus.AVAILABLE);
+        return findByStatus(BookStatus.AVAILABLE);
     }
 
     /**
      * Get all checked out books
      */
     public List<Book> findCheckedOutBooks() {
-        return bookRepository.findByStatus(BookStatus.CHECKED_OUT);
+        return findByStatus(BookStatus.CHECKED_OUT);
     }
 
     /**
      * Get overdue books
      */
     public List<Book> findOverdueBooks() {
+        if (catalogReady()) {
+            return catalog.findDueBefore(LocalDate.now());
+        }
         return bookRepository.findByDueDateBefore(LocalDate.now());
     }
 
+    /**
+     * Get one page of the overdue books, in id order after the given id
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Book> findOverdueBooks(long afterId, int limit) {
+        return page(bookRepository.findPageDueBefore(LocalDate.now(), afterId, pageLimit(limit)), limit);
+    }
+
+    /**
+     * Hand each overdue book to the action as it is read from a database cursor.
+     * Books are detached once handled so memory stays flat however many are overdue.
+     *
+     * @return the number of overdue books visited
+     */
+    @Transactional(readOnly = true)
+    public long forEachOverdueBook(Consumer<Book> action) {
+        long visited = 0;
+        try (Stream<Book> books = bookRepository.streamByDueDateBefore(LocalDate.now())) {
+            for (Book book : (Iterable<Book>) books::iterator) {
+                action.accept(book);
+                entityManager.detach(book);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Hand the catalog columns of each overdue book to the action.
+     * Scanned from the off-heap catalog once it is loaded, so no entities are created at all;
+     * otherwise read from a database cursor like {@link #forEachOverdueBook(Consumer)}.
+     *
+     * @return the number of overdue books visited
+     */
+    @Transactional(readOnly = true)
+    public long forEachOverdueEntry(Consumer<CatalogEntry> action) {
+        if (catalogReady()) {
+            return catalog.forEachDueBefore(LocalDate.now(), action);
+        }
+        return forEachOverdueBook(book -> action.accept(CatalogEntry.of(book)));
+    }
+
     /**
      * Get books checked out by a specific member
      */
     public List<Book> findBooksByMember(String memberEmail) {
+        if (catalogReady()) {
+            return catalog.findByCheckedOutBy(memberEmail);
+        }
         return bookRepository.findByCheckedOutBy(memberEmail);
     }
 
     /**
-     * Count books by status
+     * Count books by status.
+     * Read from the in-memory status table once it is loaded, otherwise from the database.
      */
     public long countByStatus(BookStatus status) {
+        if (statusTable.isReady()) {
+            return statusTable.count(status);
+        }
         return bookRepository.countByStatus(status);
     }
 
+    /**
+     * Get book counts per status, the overdue count and member counts in one grouped query,
+     * without loading any entities
+     */
+    @Transactional(readOnly = true)
+    public LibraryStatistics getLibraryStatistics() {
+        return LibraryStatistics.from(bookRepository.summarizeLibrary(LocalDate.now()));
+    }
+
+    /**
+     * Get the status of a book from the in-memory status table without a database round trip.
+     * Empty if the table is not loaded yet or does not know the book.
+     */
+    public Optional<BookStatus> peekStatus(String isbn) {
+        if (!statusTable.isReady()) {
+            return Optional.empty();
+        }
+        return statusTable.statusOf(isbn);
+    }
+
     /**
      * Save a book
      */
     public Book save(Book book) {
-        return bookRepository.save(book);
+        return writeThrough(bookRepository.save(book));
     }
 
     /**
-     * Check if a book is available for checkout
+     * Check if a book is available for checkout.
+     * Read from the in-memory status table once it is loaded, otherwise from the database.
      */
     public boolean isBookAvailable(String isbn) {
-        return bookRepository.findByIsbn(isbn)
+        if (statusTable.isReady()) {
+            return statusTable.isAvailable(isbn);
+        }
+        return findByIsbn(isbn)
                 .map(book -> book.getStatus() == BookStatus.AVAILABLE)
                 .orElse(false);
     }
@@ -104,7 +231,31 @@ public class BookManagementService {
         book.setStatus(BookStatus.CHECKED_OUT);
         book.setCheckedOutBy(memberEmail);
         book.setDueDate(dueDate);
-        return bookRepository.save(book);
+        return writeThrough(bookRepository.save(book));
+    }
+
+    /**
+     * Update the status of several books to checked out in one batch
+     */
+    public List<Book> checkoutBooks(List<Book> books, String memberEmail, LocalDate dueDate) {
+        for (Book book : books) {
+            book.setStatus(BookStatus.CHECKED_OUT);
+            book.setCheckedOutBy(memberEmail);
+            book.setDueDate(dueDate);
+        }
+        return writeThrough(bookRepository.saveAll(books));
+    }
+
+    /**
+     * Update the status of several books to available in one batch
+     */
+    public List<Book> returnBooks(List<Book> books) {
+        for (Book book : books) {
+            book.setStatus(BookStatus.AVAILABLE);
+            book.setCheckedOutBy(null);
+            book.setDueDate(null);
+        }
+        return writeThrough(bookRepository.saveAll(books));
     }
 
     /**
@@ -114,7 +265,7 @@ public class BookManagementService {
         book.setStatus(BookStatus.AVAILABLE);
         book.setCheckedOutBy(null);
         book.setDueDate(null);
-        return bookRepository.save(book);
+        return writeThrough(bookRepository.save(book));
     }
 
     /**
@@ -124,10 +275,61 @@ public class BookManagementService {
         return bookRepository.findAll();
     }
 
+    /**
+     * Get one page of all books, in id order after the given id
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Book> findAll(long afterId, int limit) {
+        return page(bookRepository.findByIdGreaterThanOrderById(afterId, pageLimit(limit)), limit);
+    }
+
     /**
      * Delete a book
      */
     public void deleteById(Long id) {
+        bookRepository.findById(id).ifPresent(bookCache::bookRemoved);
         bookRepository.deleteById(id);
     }
+
+    /**
+     * Read one more book than the page holds, so the page knows whether another follows
+     */
+    private static Limit pageLimit(int limit) {
+        return Limit.of(KeysetPage.checkLimit(limit) + 1);
+    }
+
+    private static KeysetPage<Book> page(List<Book> books, int limit) {
+        return KeysetPage.of(books, limit, Book::getId);
+    }
+
+    /**
+     * Whether the catalog is loaded. Entity listeners only report changes when they are flushed,
+     * so pending changes of the surrounding transaction are flushed first to reach the catalog; see
+     * the class comment for what that means for isolation.
+     */
+    private boolean catalogReady() {
+        if (!catalog.isReady()) {
+            return false;
+        }
+        entityManager.flush();
+        return true;
+    }
+
+    /**
+     * Entity listeners only report an update when it is flushed, so put the saved state into the
+     * cache right away for later reads in this transaction
+     */
+    private Book writeThrough(Book book) {
+        if (book != null) {
+            bookCache.bookSaved(book);
+        }
+        return book;
+    }
+
+    private List<Book> writeThrough(List<Book> books) {
+        if (books != null) {
+            books.forEach(bookCache::bookSaved);
+        }
+        return books;
+    }
 }
@@ -1,9 +1,16 @@
 package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.catalog.CompactCatalog;
+import edu.trincoll.service.metrics.OperationType;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import edu.trincoll.service.search.BookSearchIndex;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -15,66 +22,111 @@ import java.util.List;
 public class BookSearchService {
 
     private final BookRepository bookRepository;
+    private final BookSearchIndex searchIndex;
+    private final CompactCatalog catalog;
+    private final LibraryReadModel readModel;
 
-    public BookSearchService(BookRepository bookRepository) {
+    public BookSearchService(BookRepository bookRepository, BookSearchIndex searchIndex, CompactCatalog catalog,
+                             LibraryReadModel readModel) {
         this.bookRepository = bookRepository;
+        this.searchIndex = searchIndex;
+        this.catalog = catalog;
+        this.readModel = readModel;
     }
 
     /**
-     * Search books by title (case-insensitive partial match)
+     * Search books by title (case-insensitive partial match).
+     * Answered from the in-memory index once it is built, otherwise from the database.
      */
     public List<Book> searchByTitle(String title) {
+        if (searchIndex.isReady()) {
+            return searchIndex.searchByTitle(title);
+        }
         return bookRepository.findByTitleContainingIgnoreCase(title);
     }
 
     /**
-     * Search books by author
+     * One page of the books whose title contains the given text, in id order after the given id.
+     * Answered from the in-memory index once it is built, otherwise from the database.
+     */
+    public KeysetPage<Book> searchByTitle(String title, long afterId, int limit) {
+        int fetch = KeysetPage.checkLimit(limit) + 1;
+        List<Book> books = searchIndex.isReady()
+                ? searchIndex.searchByTitle(title, afterId, fetch)
+                : bookRepository.findByNormalizedTitleContainingAndIdGreaterThanOrderById(
+                        Book.normalizeTitle(title), afterId, Limit.of(fetch));
+        return KeysetPage.of(books, limit, Book::getId);
+    }
+
+    /**
+     * Search books by author.
+     * Answered from the in-memory index once it is built, otherwise from the database.
      */
     public List<Book> searchByAuthor(String author) {
+        if (searchIndex.isReady()) {
+            return searchIndex.searchByAuthor(author);
+        }
         return bookRepository.findByAuthor(author);
     }
 
     /**
-     * Search book by ISBN
+     * Search book by ISBN.
+     * Answered from the read model while it is enabled and current, otherwise from the database.
      */
     public List<Book> searchByIsbn(String isbn) {
-        return bookRepository.findByIsbn(isbn)
+        return readModel.searchByIsbn(isbn).orElseGet(() -> bookRepository.findByIsbn(isbn)
                 .map(List::of)
-                .orElse(List.of());
+                .orElse(List.of()));
     }
 
     /**
-     * Get all available books
+     * Get all available books.
+     * Answered from the off-heap catalog once it is loaded, otherwise from the database.
      */
     public List<Book> getAvailableBooks() {
-        return bookRepository.findByStatus(edu.trincoll.model.BookStatus.AVAILABLE);
+        if (catalog.isReady()) {
+            return catalog.findByStatus(BookStatus.AVAILABLE);
+        }
+        return bookRepository.findByStatus(BookStatus.AVAILABLE);
     }
 
     /**
-     * Get all checked out books
+     * Get all checked out books.
+     * Answered from the off-heap catalog once it is loaded, otherwise from the database.
      */
     public List<Book> getCheckedOutBooks() {
-        return bookRepository.findByStatus(edu.trincoll.model.BookStatus.CHECKED_OUT);
+        if (catalog.isReady()) {
+            return catalog.findByStatus(BookStatus.CHECKED_OUT);
+        }
+        return bookRepository.findByStatus(BookStatus.CHECKED_OUT);
     }
 
     /**
-     * Get overdue books
+     * Get overdue books.
+     * Answered from the off-heap catalog once it is loaded, otherwise from the database.
      */
     public List<Book> getOverdueBooks() {
-        return bookRepository.findByDueDateBefore(java.time.LocalDate.now());
+        if (catalog.isReady()) {
+            return catalog.findDueBefore(LocalDate.now());
+        }
+        return bookRepository.findByDueDateBefore(LocalDate.now());
     }
 
     /**
-     * Get books checked out by a specific member
+     * Get books checked out by a specific member.
+     * Answered from the off-heap catalog once it is loaded, otherwise from the database.
      */
     public List<Book> getBooksByMember(String memberEmail) {
+        if (catalog.isReady()) {
+            return catalog.findByCheckedOutBy(memberEmail);
+        }
         return bookRepository.findByCheckedOutBy(memberEmail);
     }
 
     /**
      * Generic search method that delegates to specific search methods
      */
-    public List<Book> searchBooks(String searchTerm, String searchType) {
+    public List<Book> searchBooks(String searchTerm, @OperationType String searchType) {
         return switch (searchType.toLowerCase()) {
             case "title" -> searchByTitle(searchTerm);
             case "author" -> searchByAuthor(searchTerm);
@@ -0,0 +1,15 @@
+package edu.trincoll.service;
+
+/**
+ * Outcome of checking out or returning a single book within a batch
+ */
+public record CheckoutResult(String isbn, boolean successful, String message) {
+
+    static CheckoutResult success(String isbn, String message) {
+        return new CheckoutResult(isbn, true, message);
+    }
+
+    static CheckoutResult failure(String isbn, String message) {
+        return new CheckoutResult(isbn, false, message);
+    }
+}
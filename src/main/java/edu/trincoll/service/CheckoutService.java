@@ -1,20 +1,39 @@
 package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
+import edu.trincoll.model.FeeLedgerEntry;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
 import edu.trincoll.service.api.ICheckoutService;
-import edu.trincoll.service.fee.LateFeeStrategy;
-import edu.trincoll.service.fee.LateFeeStrategyFactory;
+import edu.trincoll.service.event.BookCheckedOut;
+import edu.trincoll.service.event.BookReturned;
+import edu.trincoll.service.event.LateFeeAssessed;
+import edu.trincoll.service.event.LibraryEventBus;
+import edu.trincoll.service.event.MemberLimitReached;
+import edu.trincoll.service.fee.FeeLedgerService;
+import edu.trincoll.service.fee.LateFeeRateTable;
+import edu.trincoll.service.metrics.CheckoutOutcome;
+import edu.trincoll.service.metrics.LibraryMetrics;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for book checkout and return operations.
  * Follows Single Responsibility Principle - handles only checkout/return operations.
+ *
+ * Checkouts, returns, late fees and refusals at the checkout limit are published on the
+ * {@link LibraryEventBus} once the transaction commits.
  */
 @Service
 @Transactional
@@ -23,30 +42,58 @@ public class CheckoutService implements ICheckoutService {
     private final BookManagementService bookManagementService;
     private final MemberService memberService;
     private final NotificationService notificationService;
-    private final LateFeeStrategyFactory lateFeeStrategyFactory;
+    private final LateFeeRateTable lateFeeRateTable;
+    private final FeeLedgerService feeLedgerService;
+    private final LibraryMetrics libraryMetrics;
+    private final LibraryEventBus eventBus;
 
     public CheckoutService(BookManagementService bookManagementService, 
                           MemberService memberService,
                           NotificationService notificationService,
-                          LateFeeStrategyFactory lateFeeStrategyFactory) {
+                          LateFeeRateTable lateFeeRateTable,
+                          FeeLedgerService feeLedgerService,
+                          LibraryMetrics libraryMetrics,
+                          LibraryEventBus eventBus) {
         this.bookManagementService = bookManagementService;
         this.memberService = memberService;
         this.notificationService = notificationService;
-        this.lateFeeStrategyFactory = lateFeeStrategyFactory;
+        this.lateFeeRateTable = lateFeeRateTable;
+        this.feeLedgerService = feeLedgerService;
+        this.libraryMetrics = libraryMetrics;
+        this.eventBus = eventBus;
     }
 
     /**
      * Checkout a book for a member
      */
     public String checkoutBook(String isbn, String memberEmail) {
+        // Reject books known to be unavailable before loading any entities
+        if (bookManagementService.peekStatus(isbn).filter(status -> status != BookStatus.AVAILABLE).isPresent()) {
+            libraryMetrics.recordOutcome(CheckoutOutcome.NOT_AVAILABLE);
+            return "Book is not available";
+        }
+
         // Find book and member
         Book book = bookManagementService.findByIsbnOrThrow(isbn);
         Member member = memberService.findByEmailOrThrow(memberEmail);
 
         // Validate checkout eligibility
-        String validationResult = validateCheckoutEligibility(book, member);
-        if (validationResult != null) {
-            return validationResult;
+        CheckoutOutcome ineligible = validateCheckoutEligibility(book, member);
+        if (ineligible != null) {
+            libraryMetrics.recordOutcome(ineligible);
+            if (ineligible == CheckoutOutcome.LIMIT_REACHED) {
+                publishLimitReached(member);
+            }
+            return ineligible == CheckoutOutcome.NOT_AVAILABLE
+                    ? "Book is not available"
+                    : "Member has reached checkout limit";
+        }
+
+        // Claim a checkout slot; the limit is re-checked atomically in case of a concurrent checkout
+        if (!memberService.tryIncrementBooksCheckedOut(member, 1, getMaxCheckoutLimit(member.getMembershipType()))) {
+            libraryMetrics.recordOutcome(CheckoutOutcome.LIMIT_REACHED);
+            publishLimitReached(member);
+            return "Member has reached checkout limit";
         }
 
         // Calculate loan period based on membership type
@@ -56,12 +103,11 @@ public class CheckoutService implements ICheckoutService {
         // Update book status
         bookManagementService.checkoutBook(book, member.getEmail(), dueDate);
 
-        // Update member's checked out count
-        memberService.incrementBooksCheckedOut(member);
-
         // Send notification
         notificationService.sendCheckoutNotification(member.getEmail(), book.getTitle(), dueDate);
 
+        libraryMetrics.recordOutcome(CheckoutOutcome.CHECKED_OUT);
+        eventBus.publish(new BookCheckedOut(book.getIsbn(), member.getEmail(), dueDate, Instant.now()));
         return "Book checked out successfully. Due date: " + dueDate;
     }
 
@@ -73,6 +119,7 @@ public class CheckoutService implements ICheckoutService {
         Book book = bookManagementService.findByIsbnOrThrow(isbn);
 
         if (book.getStatus() != BookStatus.CHECKED_OUT) {
+            libraryMetrics.recordOutcome(CheckoutOutcome.NOT_CHECKED_OUT);
             return "Book is not checked out";
         }
 
@@ -80,8 +127,10 @@ public class CheckoutService implements ICheckoutService {
         String memberEmail = book.getCheckedOutBy();
         Member member = memberService.findByEmailOrThrow(memberEmail);
 
-        // Calculate late fee
-        double lateFee = calculateLateFee(book, member);
+        // Calculate late fee, capturing the due date before the return clears it
+        long daysLate = daysLate(book);
+        long lateFeeCents = calculateLateFeeCents(daysLate, member);
+        List<FeeLedgerEntry> fees = lateFeeCents > 0 ? List.of(lateFeeEntry(book, member, lateFeeCents)) : List.of();
 
         // Update book status
         bookManagementService.returnBook(book);
@@ -89,29 +138,164 @@ public class CheckoutService implements ICheckoutService {
         // Update member's checked out count
         memberService.decrementBooksCheckedOut(member);
 
+        // Charge the late fee to the member's ledger and balance
+        feeLedgerService.recordLateFees(member, fees);
+
         // Send notification
-        notificationService.sendReturnNotification(member.getEmail(), book.getTitle(), lateFee);
+        notificationService.sendReturnNotification(member.getEmail(), book.getTitle(), dollars(lateFeeCents));
 
-        if (lateFee > 0) {
-            return "Book returned. Late fee: $" + String.format("%.2f", lateFee);
+        recordReturn(lateFeeCents);
+        publishReturn(book.getIsbn(), member, daysLate, lateFeeCents);
+        if (lateFeeCents > 0) {
+            return "Book returned. Late fee: $" + String.format("%.2f", dollars(lateFeeCents));
         }
 
         return "Book returned successfully";
     }
 
+    /**
+     * Checkout several books for one member.
+     * Books are loaded in one query, the checkout limit is validated once, book updates are
+     * written as one batch and the member's counter is raised once for the whole batch.
+     * If a concurrent checkout takes the member's remaining slots first, the batch is rejected.
+     * A batch refusing any book for the limit publishes one {@link MemberLimitReached}.
+     */
+    public List<CheckoutResult> checkoutBooks(List<String> isbns, String memberEmail) {
+        Member member = memberService.findByEmailOrThrow(memberEmail);
+        Map<String, Book> books = bookManagementService.findAllByIsbn(isbns);
+
+        int limit = getMaxCheckoutLimit(member.getMembershipType());
+        int remaining = limit - member.getBooksCheckedOut();
+        LocalDate dueDate = LocalDate.now().plusDays(getLoanPeriodDays(member.getMembershipType()));
+
+        List<CheckoutResult> results = new ArrayList<>(isbns.size());
+        List<Book> accepted = new ArrayList<>();
+        Set<String> claimed = new HashSet<>();
+        boolean limitReached = false;
+        for (String isbn : isbns) {
+            Book book = books.get(isbn);
+            if (book == null) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.NOT_FOUND);
+                results.add(CheckoutResult.failure(isbn, "Book not found"));
+            } else if (book.getStatus() != BookStatus.AVAILABLE || !claimed.add(isbn)) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.NOT_AVAILABLE);
+                results.add(CheckoutResult.failure(isbn, "Book is not available"));
+            } else if (remaining <= 0) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.LIMIT_REACHED);
+                results.add(CheckoutResult.failure(isbn, "Member has reached checkout limit"));
+                limitReached = true;
+            } else {
+                accepted.add(book);
+                remaining--;
+                results.add(CheckoutResult.success(isbn, "Book checked out successfully. Due date: " + dueDate));
+            }
+        }
+
+        if (!accepted.isEmpty() && !memberService.tryIncrementBooksCheckedOut(member, accepted.size(), limit)) {
+            accepted.forEach(book -> libraryMetrics.recordOutcome(CheckoutOutcome.LIMIT_REACHED));
+            publishLimitReached(member);
+            results.replaceAll(result -> result.successful()
+                    ? CheckoutResult.failure(result.isbn(), "Member has reached checkout limit")
+                    : result);
+            return results;
+        }
+
+        if (limitReached) {
+            publishLimitReached(member);
+        }
+        if (!accepted.isEmpty()) {
+            bookManagementService.checkoutBooks(accepted, member.getEmail(), dueDate);
+            accepted.forEach(book -> libraryMetrics.recordOutcome(CheckoutOutcome.CHECKED_OUT));
+            Instant now = Instant.now();
+            accepted.forEach(book -> eventBus.publish(
+                    new BookCheckedOut(book.getIsbn(), member.getEmail(), dueDate, now)));
+            notificationService.sendNotification(member.getEmail(), "Books checked out",
+                    "You have checked out " + titles(accepted) + ". Due date: " + dueDate);
+        }
+
+        return results;
+    }
+
+    /**
+     * Return several books.
+     * Books and their borrowers are each loaded in one query, book updates are written as one
+     * batch and each borrower's counter is updated once for the whole batch.
+     */
+    public List<CheckoutResult> returnBooks(List<String> isbns) {
+        Map<String, Book> books = bookManagementService.findAllByIsbn(isbns);
+        Map<String, Member> members = memberService.findAllByEmail(books.values().stream()
+                .filter(book -> book.getStatus() == BookStatus.CHECKED_OUT)
+                .map(Book::getCheckedOutBy)
+                .collect(Collectors.toSet()));
+
+        List<CheckoutResult> results = new ArrayList<>(isbns.size());
+        List<Book> accepted = new ArrayList<>();
+        Set<String> claimed = new HashSet<>();
+        Map<Member, List<Book>> returnedByMember = new LinkedHashMap<>();
+        Map<Member, List<FeeLedgerEntry>> feesByMember = new LinkedHashMap<>();
+        for (String isbn : isbns) {
+            Book book = books.get(isbn);
+            if (book == null) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.NOT_FOUND);
+                results.add(CheckoutResult.failure(isbn, "Book not found"));
+                continue;
+            }
+            if (book.getStatus() != BookStatus.CHECKED_OUT || !claimed.add(isbn)) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.NOT_CHECKED_OUT);
+                results.add(CheckoutResult.failure(isbn, "Book is not checked out"));
+                continue;
+            }
+            Member member = members.get(book.getCheckedOutBy());
+            if (member == null) {
+                libraryMetrics.recordOutcome(CheckoutOutcome.NOT_FOUND);
+                results.add(CheckoutResult.failure(isbn, "Member not found"));
+                continue;
+            }
+
+            long daysLate = daysLate(book);
+            long lateFeeCents = calculateLateFeeCents(daysLate, member);
+            accepted.add(book);
+            recordReturn(lateFeeCents);
+            publishReturn(isbn, member, daysLate, lateFeeCents);
+            returnedByMember.computeIfAbsent(member, key -> new ArrayList<>()).add(book);
+            if (lateFeeCents > 0) {
+                feesByMember.computeIfAbsent(member, key -> new ArrayList<>())
+                        .add(lateFeeEntry(book, member, lateFeeCents));
+            }
+            results.add(CheckoutResult.success(isbn, lateFeeCents > 0
+                    ? "Book returned. Late fee: $" + String.format("%.2f", dollars(lateFeeCents))
+                    : "Book returned successfully"));
+        }
+
+        if (!accepted.isEmpty()) {
+            bookManagementService.returnBooks(accepted);
+            returnedByMember.forEach((member, returned) -> {
+                memberService.adjustBooksCheckedOut(member, -returned.size());
+                List<FeeLedgerEntry> fees = feesByMember.getOrDefault(member, List.of());
+                feeLedgerService.recordLateFees(member, fees);
+                long feeCents = fees.stream().mapToLong(FeeLedgerEntry::getAmountCents).sum();
+                notificationService.sendReturnNotification(member.getEmail(), titles(returned), dollars(feeCents));
+            });
+        }
+
+        return results;
+    }
+
     /**
      * Validate if checkout is eligible
+     *
+     * @return the reason the checkout is refused, or null if it is eligible
      */
-    private String validateCheckoutEligibility(Book book, Member member) {
+    private CheckoutOutcome validateCheckoutEligibility(Book book, Member member) {
         // Check if book is available
         if (book.getStatus() != BookStatus.AVAILABLE) {
-            return "Book is not available";
+            return CheckoutOutcome.NOT_AVAILABLE;
         }
 
         // Check checkout limits
         int maxBooks = getMaxCheckoutLimit(member.getMembershipType());
         if (member.getBooksCheckedOut() >= maxBooks) {
-            return "Member has reached checkout limit";
+            return CheckoutOutcome.LIMIT_REACHED;
         }
 
         return null; // Eligible for checkout
@@ -140,14 +324,60 @@ public class CheckoutService implements ICheckoutService {
     }
 
     /**
-     * Calculate late fee using the appropriate strategy based on membership type
+     * Join book titles for a batch notification
+     */
+    private String titles(List<Book> books) {
+        return books.stream().map(Book::getTitle).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Days past the book's due date, 0 if it is not overdue
+     */
+    private static long daysLate(Book book) {
+        return Math.max(0, LocalDate.now().toEpochDay() - book.getDueDate().toEpochDay());
+    }
+
+    /**
+     * Calculate the late fee in cents from the rate table for the member's membership type
      */
-    private double calculateLateFee(Book book, Member member) {
-        if (book.getDueDate().isBefore(LocalDate.now())) {
-            long daysLate = LocalDate.now().toEpochDay() - book.getDueDate().toEpochDay();
-            LateFeeStrategy strategy = lateFeeStrategyFactory.getStrategy(member.getMembershipType());
-            return strategy.calculateLateFee(daysLate);
+    private long calculateLateFeeCents(long daysLate, Member member) {
+        if (daysLate > 0) {
+            return lateFeeRateTable.feeCents(member.getMembershipType(), daysLate);
         }
-        return 0.0;
+        return 0;
+    }
+
+    private void publishLimitReached(Member member) {
+        eventBus.publish(new MemberLimitReached(member.getEmail(), getMaxCheckoutLimit(member.getMembershipType()),
+                Instant.now()));
+    }
+
+    private void publishReturn(String isbn, Member member, long daysLate, long lateFeeCents) {
+        Instant now = Instant.now();
+        eventBus.publish(new BookReturned(isbn, member.getEmail(), daysLate > 0, now));
+        if (lateFeeCents > 0) {
+            eventBus.publish(new LateFeeAssessed(member.getEmail(), isbn, lateFeeCents, daysLate, now));
+        }
+    }
+
+    /**
+     * Count a completed return, separating returns that were charged a late fee
+     */
+    private void recordReturn(long lateFeeCents) {
+        if (lateFeeCents > 0) {
+            libraryMetrics.recordOutcome(CheckoutOutcome.RETURNED_LATE);
+            libraryMetrics.recordLateFee(lateFeeCents);
+        } else {
+            libraryMetrics.recordOutcome(CheckoutOutcome.RETURNED);
+        }
+    }
+
+    private static FeeLedgerEntry lateFeeEntry(Book book, Member member, long cents) {
+        return new FeeLedgerEntry(member.getEmail(), book.getIsbn(), member.getMembershipType(),
+                book.getDueDate(), LocalDate.now(), cents);
+    }
+
+    private static double dollars(long cents) {
+        return cents / 100.0;
     }
 }
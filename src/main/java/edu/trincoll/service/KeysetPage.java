@@ -0,0 +1,74 @@
+package edu.trincoll.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a listing read in ascending id order.
+ *
+ * Pages are read with "id > after ORDER BY id LIMIT n", so a page costs the same however deep into the
+ * listing it is, unlike an offset that makes the database skip every earlier row. The continuation token
+ * is an opaque form of the last id on the page; pass it back to read the next page. It is null on the
+ * last page.
+ */
+public record KeysetPage<T>(List<T> items, String nextToken) {
+
+    /** Largest page a caller may ask for */
+    public static final int MAX_LIMIT = 1000;
+
+    private static final String TOKEN_PREFIX = "after:";
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    /**
+     * Id to read after for a continuation token; 0, the start of the listing, for a null or blank token
+     */
+    public static long afterId(String token) {
+        if (token == null || token.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (decoded.startsWith(TOKEN_PREFIX)) {
+                return Long.parseLong(decoded.substring(TOKEN_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not base64 or not a number; rejected below
+        }
+        throw new IllegalArgumentException("Invalid continuation token");
+    }
+
+    /**
+     * Continuation token reading after the given id
+     */
+    public static String tokenAfter(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TOKEN_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reject page sizes outside 1 to {@link #MAX_LIMIT}
+     */
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    /**
+     * Page from the items read for it. Callers read one item more than the limit, so a full page
+     * knows whether another follows without a further query.
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int limit, ToLongFunction<T> idOf) {
+        if (fetched.size() <= limit) {
+            return new KeysetPage<>(List.copyOf(fetched), null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, limit));
+        return new KeysetPage<>(items, tokenAfter(idOf.applyAsLong(items.get(limit - 1))));
+    }
+}
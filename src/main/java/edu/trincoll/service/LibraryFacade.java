@@ -1,8 +1,20 @@
 package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.service.fee.FeeLedgerService;
+import edu.trincoll.service.importer.BookImportFormat;
+import edu.trincoll.service.importer.BookImportResult;
+import edu.trincoll.service.importer.BookImportService;
+import edu.trincoll.service.importer.MemberSyncResult;
+import edu.trincoll.service.importer.MemberSyncService;
+import edu.trincoll.service.support.ConcurrencyRetry;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -62,38 +74,78 @@ import java.util.List;
 @Service
 public class LibraryFacade {
 
+    static final String CHECKOUT_CONFLICT = "Book could not be checked out because of a concurrent update, please try again";
+    static final String RETURN_CONFLICT = "Book could not be returned because of a concurrent update, please try again";
+
     private final BookManagementService bookManagementService;
     private final MemberService memberService;
     private final CheckoutService checkoutService;
     private final BookSearchService bookSearchService;
     private final ReportService reportService;
+    private final ConcurrencyRetry concurrencyRetry;
+    private final FeeLedgerService feeLedgerService;
+    private final BookImportService bookImportService;
+    private final MemberSyncService memberSyncService;
 
     public LibraryFacade(BookManagementService bookManagementService,
                         MemberService memberService,
                         CheckoutService checkoutService,
                         BookSearchService bookSearchService,
-                        ReportService reportService) {
+                        ReportService reportService,
+                        ConcurrencyRetry concurrencyRetry,
+                        FeeLedgerService feeLedgerService,
+                        BookImportService bookImportService,
+                        MemberSyncService memberSyncService) {
         this.bookManagementService = bookManagementService;
         this.memberService = memberService;
         this.checkoutService = checkoutService;
         this.bookSearchService = bookSearchService;
         this.reportService = reportService;
+        this.concurrencyRetry = concurrencyRetry;
+        this.feeLedgerService = feeLedgerService;
+        this.bookImportService = bookImportService;
+        this.memberSyncService = memberSyncService;
     }
 
     /**
      * Checkout a book for a member
-     * Delegates to CheckoutService which handles the complete checkout process
+     * Delegates to CheckoutService which handles the complete checkout process,
+     * retrying the transaction if it collides with a concurrent update of the same book or member
      */
     public String checkoutBook(String isbn, String memberEmail) {
-        return checkoutService.checkoutBook(isbn, memberEmail);
+        return concurrencyRetry.execute(() -> checkoutService.checkoutBook(isbn, memberEmail),
+                () -> CHECKOUT_CONFLICT);
     }
 
     /**
      * Return a book
-     * Delegates to CheckoutService which handles the complete return process
+     * Delegates to CheckoutService which handles the complete return process,
+     * retrying the transaction if it collides with a concurrent update of the same book or member
      */
     public String returnBook(String isbn) {
-        return checkoutService.returnBook(isbn);
+        return concurrencyRetry.execute(() -> checkoutService.returnBook(isbn), () -> RETURN_CONFLICT);
+    }
+
+    /**
+     * Checkout several books for one member
+     * Delegates to CheckoutService which validates the limit once and writes in one batch
+     */
+    public List<CheckoutResult> checkoutBooks(List<String> isbns, String memberEmail) {
+        return concurrencyRetry.execute(() -> checkoutService.checkoutBooks(isbns, memberEmail),
+                () -> conflicts(isbns, CHECKOUT_CONFLICT));
+    }
+
+    /**
+     * Return several books
+     * Delegates to CheckoutService which writes all returns in one batch
+     */
+    public List<CheckoutResult> returnBooks(List<String> isbns) {
+        return concurrencyRetry.execute(() -> checkoutService.returnBooks(isbns),
+                () -> conflicts(isbns, RETURN_CONFLICT));
+    }
+
+    private static List<CheckoutResult> conflicts(List<String> isbns, String message) {
+        return isbns.stream().map(isbn -> CheckoutResult.failure(isbn, message)).toList();
     }
 
     /**
@@ -112,6 +164,13 @@ public class LibraryFacade {
         return reportService.generateReport(reportType);
     }
 
+    /**
+     * Stream the overdue books report to the writer without building it in memory
+     */
+    public long writeOverdueBooksReport(Writer writer) throws IOException {
+        return reportService.writeOverdueBooksReport(writer);
+    }
+
     // Additional convenience methods that demonstrate the power of the refactored services
 
     /**
@@ -135,6 +194,63 @@ public class LibraryFacade {
         return bookManagementService.findBooksByMember(memberEmail);
     }
 
+    /**
+     * Get one page of all books.
+     * Pass a null token for the first page and the page's next token for each following one.
+     */
+    public KeysetPage<Book> getBooks(String continuationToken, int limit) {
+        return bookManagementService.findAll(KeysetPage.afterId(continuationToken), limit);
+    }
+
+    /**
+     * Get one page of the available books
+     */
+    public KeysetPage<Book> getAvailableBooks(String continuationToken, int limit) {
+        return bookManagementService.findByStatus(BookStatus.AVAILABLE, KeysetPage.afterId(continuationToken), limit);
+    }
+
+    /**
+     * Get one page of the overdue books
+     */
+    public KeysetPage<Book> getOverdueBooks(String continuationToken, int limit) {
+        return bookManagementService.findOverdueBooks(KeysetPage.afterId(continuationToken), limit);
+    }
+
+    /**
+     * Get one page of all members
+     */
+    public KeysetPage<Member> getMembers(String continuationToken, int limit) {
+        return memberService.findAll(KeysetPage.afterId(continuationToken), limit);
+    }
+
+    /**
+     * Get one page of the books whose title contains the given text
+     */
+    public KeysetPage<Book> searchBooksByTitle(String title, String continuationToken, int limit) {
+        return bookSearchService.searchByTitle(title, KeysetPage.afterId(continuationToken), limit);
+    }
+
+    /**
+     * Add every book in a CSV or JSON lines source to the catalog, reporting the rows that were rejected
+     */
+    public BookImportResult importBooks(Reader source, BookImportFormat format) {
+        return bookImportService.importBooks(source, format);
+    }
+
+    /**
+     * Create and update members from a registrar roster in CSV, optionally marking members missing from it lapsed
+     */
+    public MemberSyncResult syncMembers(Reader roster, boolean markMissing) {
+        return memberSyncService.syncMembers(roster, markMissing);
+    }
+
+    /**
+     * Late fees the member owes, in cents
+     */
+    public long getMemberFeeBalanceCents(String memberEmail) {
+        return feeLedgerService.balanceCents(memberEmail);
+    }
+
     /**
      * Check if a member can checkout more books
      */
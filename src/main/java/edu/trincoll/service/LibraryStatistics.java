@@ -0,0 +1,52 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.LibraryStatisticsRow;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Book and member counts for the whole library, taken in a single query
+ */
+public record LibraryStatistics(long totalBooks, Map<BookStatus, Long> booksByStatus, long overdueBooks,
+                                long totalMembers, long membersWithBooks) {
+
+    public LibraryStatistics {
+        booksByStatus = Collections.unmodifiableMap(new EnumMap<>(booksByStatus));
+    }
+
+    /**
+     * Number of books in the given status
+     */
+    public long count(BookStatus status) {
+        return booksByStatus.getOrDefault(status, 0L);
+    }
+
+    static LibraryStatistics from(List<LibraryStatisticsRow> rows) {
+        Map<BookStatus, Long> booksByStatus = new EnumMap<>(BookStatus.class);
+        long totalBooks = 0;
+        long overdueBooks = 0;
+        long totalMembers = 0;
+        long membersWithBooks = 0;
+        for (LibraryStatisticsRow row : rows) {
+            long total = valueOf(row.getTotal());
+            long matching = valueOf(row.getMatching());
+            if (row.getStatus() == null) {
+                totalMembers += total;
+                membersWithBooks += matching;
+            } else {
+                booksByStatus.merge(row.getStatus(), total, Long::sum);
+                totalBooks += total;
+                overdueBooks += matching;
+            }
+        }
+        return new LibraryStatistics(totalBooks, booksByStatus, overdueBooks, totalMembers, membersWithBooks);
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -3,41 +3,68 @@ package edu.trincoll.service;
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
 import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.cache.MemberCache;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for member management operations.
  * Follows Single Responsibility Principle - handles only member-related operations.
+ *
+ * Lookups by email are served from the {@link MemberCache}; every write through this service
+ * invalidates the member it touches.
  */
 @Service
 @Transactional
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final EntityManager entityManager;
+    private final MemberCache memberCache;
+    private final LibraryReadModel readModel;
 
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, EntityManager entityManager, MemberCache memberCache,
+                         LibraryReadModel readModel) {
         this.memberRepository = memberRepository;
+        this.entityManager = entityManager;
+        this.memberCache = memberCache;
+        this.readModel = readModel;
     }
 
     /**
      * Find a member by email
      */
     public Optional<Member> findByEmail(String email) {
-        return memberRepository.findByEmail(email);
+        return memberCache.find(email, memberRepository::findByEmail);
     }
 
     /**
      * Find a member by email or throw exception if not found
      */
     public Member findByEmailOrThrow(String email) {
-        return memberRepository.findByEmail(email)
+        return findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found"));
     }
 
+    /**
+     * Find several members by email in a single query, keyed by email
+     */
+    public Map<String, Member> findAllByEmail(Collection<String> emails) {
+        return memberRepository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Member::getEmail, Function.identity()));
+    }
+
     /**
      * Get all members
      */
@@ -45,6 +72,16 @@ public class MemberService {
         return memberRepository.findAll();
     }
 
+    /**
+     * Get one page of all members, in id order after the given id
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Member> findAll(long afterId, int limit) {
+        List<Member> members = memberRepository.findByIdGreaterThanOrderById(afterId,
+                Limit.of(KeysetPage.checkLimit(limit) + 1));
+        return KeysetPage.of(members, limit, Member::getId);
+    }
+
     /**
      * Get members by membership type
      */
@@ -63,6 +100,7 @@ public class MemberService {
      * Save a member
      */
     public Member save(Member member) {
+        memberCache.memberSaved(member);
         return memberRepository.save(member);
     }
 
@@ -87,26 +125,83 @@ public class MemberService {
      */
     public Member updateBooksCheckedOut(Member member, int newCount) {
         member.setBooksCheckedOut(newCount);
-        return memberRepository.save(member);
+        return save(member);
+    }
+
+    /**
+     * Raise member's books checked out count by the given number of books if that keeps it within the limit.
+     * The limit check and the increment are one conditional UPDATE, so concurrent checkouts for the
+     * same member cannot both take the last slot.
+     *
+     * @return false if the member has no room for that many more books
+     */
+    public boolean tryIncrementBooksCheckedOut(Member member, int count, int limit) {
+        if (memberRepository.incrementBooksCheckedOutWithinLimit(member.getEmail(), count, limit) == 0) {
+            return false;
+        }
+        applyChange(member, changed -> changed.setBooksCheckedOut(changed.getBooksCheckedOut() + count));
+        reportBooksCheckedOut(member);
+        return true;
     }
 
     /**
      * Increment member's books checked out count
      */
     public Member incrementBooksCheckedOut(Member member) {
-        member.setBooksCheckedOut(member.getBooksCheckedOut() + 1);
-        return memberRepository.save(member);
+        return adjustBooksCheckedOut(member, 1);
     }
 
     /**
      * Decrement member's books checked out count
      */
     public Member decrementBooksCheckedOut(Member member) {
-        int currentCount = member.getBooksCheckedOut();
-        if (currentCount > 0) {
-            member.setBooksCheckedOut(currentCount - 1);
+        return adjustBooksCheckedOut(member, -1);
+    }
+
+    /**
+     * Adjust member's books checked out count by a delta, never going below zero.
+     * Applied as a single UPDATE relative to the stored count rather than a read-modify-write.
+     */
+    public Member adjustBooksCheckedOut(Member member, int delta) {
+        memberRepository.adjustBooksCheckedOut(member.getEmail(), delta);
+        applyChange(member, changed -> changed.setBooksCheckedOut(Math.max(0, changed.getBooksCheckedOut() + delta)));
+        reportBooksCheckedOut(member);
+        return member;
+    }
+
+    /**
+     * Add late fees in cents to member's balance.
+     * Applied as a single UPDATE relative to the stored balance, like the checked out count.
+     */
+    public Member addFeeBalance(Member member, long cents) {
+        memberRepository.addFeeBalance(member.getEmail(), cents);
+        applyChange(member, changed -> changed.setFeeBalanceCents(changed.getFeeBalanceCents() + cents));
+        return member;
+    }
+
+    /**
+     * A relative UPDATE bypasses the persistence context, so detach the member to make later reads in
+     * this transaction load the stored row, and mirror the change and version bump on the caller's copy.
+     * Entity listeners do not see bulk updates either, so the cached member is invalidated here.
+     */
+    private void applyChange(Member member, Consumer<Member> change) {
+        memberCache.memberChanged(member.getEmail());
+        entityManager.detach(member);
+        change.accept(member);
+        if (member.getVersion() != null) {
+            member.setVersion(member.getVersion() + 1);
+        }
+    }
+
+    /**
+     * Hand the read model the count and version the update left, read back while this transaction
+     * still holds the row, so it can order the change against other transactions and its own load
+     */
+    private void reportBooksCheckedOut(Member member) {
+        if (readModel.isEnabled()) {
+            memberRepository.findCountViewByEmail(member.getEmail()).ifPresent(count ->
+                    readModel.booksCheckedOutChanged(count.getId(), count.getVersion(), count.getBooksCheckedOut()));
         }
-        return memberRepository.save(member);
     }
 
     /**
@@ -114,13 +209,14 @@ public class MemberService {
      */
     public Member updateMembershipType(Member member, MembershipType membershipType) {
         member.setMembershipType(membershipType);
-        return memberRepository.save(member);
+        return save(member);
     }
 
     /**
      * Delete a member
      */
     public void deleteById(Long id) {
+        memberRepository.findById(id).ifPresent(memberCache::memberRemoved);
         memberRepository.deleteById(id);
     }
 
@@ -132,9 +228,9 @@ public class MemberService {
     }
 
     /**
-     * Check if member exists by email
+     * Check if member exists by email, probing the cache before running an exists query
      */
     public boolean existsByEmail(String email) {
-        return memberRepository.findByEmail(email).isPresent();
+        return memberCache.contains(email) || memberRepository.existsByEmail(email);
     }
 }
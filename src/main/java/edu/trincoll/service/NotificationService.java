@@ -1,67 +1,98 @@
 package edu.trincoll.service;
 
+import edu.trincoll.repository.OverdueLoanView;
 import edu.trincoll.service.api.INotificationService;
+import edu.trincoll.service.notification.NotificationDispatcher;
+import edu.trincoll.service.notification.NotificationMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Service responsible for sending notifications.
  * Follows Single Responsibility Principle - handles only notification operations.
  * Follows Dependency Inversion Principle - depends on abstraction, not concrete implementation.
+ *
+ * Messages are handed to the asynchronous {@link NotificationDispatcher} only after the calling
+ * transaction commits, so slow delivery never holds a database transaction open and rolled back
+ * checkouts or returns never notify anyone.
  */
 @Service
 public class NotificationService implements INotificationService {
 
+    private final NotificationDispatcher dispatcher;
+
+    public NotificationService(NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
     /**
      * Send checkout notification to member
      */
     public void sendCheckoutNotification(String memberEmail, String bookTitle, LocalDate dueDate) {
-        System.out.println("Sending email to: " + memberEmail);
-        System.out.println("Subject: Book checked out");
-        System.out.println("Message: You have checked out " + bookTitle + ". Due date: " + dueDate);
-        
-        // In a real application, this would integrate with an email service
-        // For now, we're just printing to console as per the original implementation
+        dispatchAfterCommit(memberEmail, "Book checked out",
+                "You have checked out " + bookTitle + ". Due date: " + dueDate);
     }
 
     /**
      * Send return notification to member
      */
     public void sendReturnNotification(String memberEmail, String bookTitle, double lateFee) {
-        System.out.println("Sending email to: " + memberEmail);
-        System.out.println("Subject: Book returned");
-        
         String message = "You have returned " + bookTitle;
         if (lateFee > 0) {
             message += ". Late fee: $" + String.format("%.2f", lateFee);
         }
-        
-        System.out.println("Message: " + message);
-        
-        // In a real application, this would integrate with an email service
-        // For now, we're just printing to console as per the original implementation
+
+        dispatchAfterCommit(memberEmail, "Book returned", message);
     }
 
     /**
      * Send overdue notification to member
      */
     public void sendOverdueNotification(String memberEmail, String bookTitle, LocalDate dueDate) {
-        System.out.println("Sending email to: " + memberEmail);
-        System.out.println("Subject: Book overdue");
-        System.out.println("Message: Your book " + bookTitle + " was due on " + dueDate + " and is now overdue.");
-        
-        // In a real application, this would integrate with an email service
+        dispatchAfterCommit(memberEmail, "Book overdue",
+                "Your book " + bookTitle + " was due on " + dueDate + " and is now overdue.");
+    }
+
+    /**
+     * Send one message listing every overdue loan of a member
+     */
+    public void sendOverdueDigest(String memberEmail, List<OverdueLoanView> loans) {
+        if (loans.size() == 1) {
+            sendOverdueNotification(memberEmail, loans.get(0).getTitle(), loans.get(0).getDueDate());
+            return;
+        }
+        String body = loans.stream()
+                .map(loan -> loan.getTitle() + " was due on " + loan.getDueDate())
+                .collect(Collectors.joining("\n", "The following books are overdue:\n", ""));
+        dispatchAfterCommit(memberEmail, "You have " + loans.size() + " overdue books", body);
     }
 
     /**
      * Send general notification to member
      */
     public void sendNotification(String memberEmail, String subject, String message) {
-        System.out.println("Sending email to: " + memberEmail);
-        System.out.println("Subject: " + subject);
-        System.out.println("Message: " + message);
-        
-        // In a real application, this would integrate with an email service
+        dispatchAfterCommit(memberEmail, subject, message);
+    }
+
+    /**
+     * Queue the message once the current transaction commits, or right away outside a transaction
+     */
+    private void dispatchAfterCommit(String memberEmail, String subject, String body) {
+        NotificationMessage message = new NotificationMessage(memberEmail, subject, body);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.submit(message);
+                }
+            });
+        } else {
+            dispatcher.submit(message);
+        }
     }
 }
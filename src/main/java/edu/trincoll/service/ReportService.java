@@ -2,54 +2,117 @@ package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
+import edu.trincoll.service.catalog.CatalogEntry;
+import edu.trincoll.service.fee.FeeLedgerService;
+import edu.trincoll.service.metrics.OperationType;
+import edu.trincoll.service.readmodel.LibraryReadModel;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service responsible for generating reports.
  * Follows Single Responsibility Principle - handles only report generation.
+ *
+ * Book and member figures come from the {@link LibraryReadModel} while it is enabled and current,
+ * so reports do not hold connections the checkouts need, and from the database otherwise.
  */
 @Service
 public class ReportService {
 
     private final BookManagementService bookManagementService;
-    private final MemberService memberService;
+    private final FeeLedgerService feeLedgerService;
+    private final LibraryReadModel readModel;
 
-    public ReportService(BookManagementService bookManagementService, MemberService memberService) {
+    public ReportService(BookManagementService bookManagementService, FeeLedgerService feeLedgerService,
+                         LibraryReadModel readModel) {
         this.bookManagementService = bookManagementService;
-        this.memberService = memberService;
+        this.feeLedgerService = feeLedgerService;
+        this.readModel = readModel;
     }
 
     /**
      * Generate overdue books report
      */
     public String generateOverdueBooksReport() {
-        List<Book> overdueBooks = bookManagementService.findOverdueBooks();
-        
         StringBuilder report = new StringBuilder("OVERDUE BOOKS REPORT\n");
         report.append("====================\n");
-        
-        if (overdueBooks.isEmpty()) {
-            report.append("No overdue books found.\n");
+
+        int total;
+        Optional<List<CatalogEntry>> overdueEntries = readModel.findDueBefore(LocalDate.now());
+        if (overdueEntries.isPresent()) {
+            overdueEntries.get().forEach(entry -> appendOverdueRow(report, entry));
+            total = overdueEntries.get().size();
         } else {
+            List<Book> overdueBooks = bookManagementService.findOverdueBooks();
             for (Book book : overdueBooks) {
                 report.append(String.format("%s by %s - Due: %s - Checked out by: %s\n",
                         book.getTitle(), book.getAuthor(), book.getDueDate(), book.getCheckedOutBy()));
             }
+            total = overdueBooks.size();
         }
-        
-        report.append(String.format("\nTotal overdue books: %d\n", overdueBooks.size()));
+
+        if (total == 0) {
+            report.append("No overdue books found.\n");
+        }
+        report.append(String.format("\nTotal overdue books: %d\n", total));
         return report.toString();
     }
 
+    /**
+     * Write the overdue books report to the writer row by row as books are read from the off-heap
+     * catalog or a database cursor, so the report never has to be held in memory. The read model is
+     * not used here: it can only answer with every overdue book at once.
+     * Produces the same text as {@link #generateOverdueBooksReport()}.
+     *
+     * @return the number of overdue books written
+     */
+    public long writeOverdueBooksReport(Writer writer) throws IOException {
+        BufferedWriter out = new BufferedWriter(writer);
+        out.write("OVERDUE BOOKS REPORT\n");
+        out.write("====================\n");
+
+        long total;
+        try {
+            total = bookManagementService.forEachOverdueEntry(entry -> appendOverdueRow(out, entry));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (total == 0) {
+            out.write("No overdue books found.\n");
+        }
+        out.write("\nTotal overdue books: " + total + "\n");
+        out.flush();
+        return total;
+    }
+
+    private static void appendOverdueRow(Appendable out, CatalogEntry entry) {
+        try {
+            out.append(entry.title()).append(" by ").append(entry.author())
+                    .append(" - Due: ").append(String.valueOf(entry.dueDate()))
+                    .append(" - Checked out by: ").append(entry.checkedOutBy())
+                    .append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Generate available books report
      */
     public String generateAvailableBooksReport() {
-        long availableCount = bookManagementService.countByStatus(BookStatus.AVAILABLE);
-        long totalBooks = bookManagementService.findAll().size();
+        LibraryStatistics statistics = statistics();
+        long availableCount = statistics.count(BookStatus.AVAILABLE);
+        long totalBooks = statistics.totalBooks();
         
         StringBuilder report = new StringBuilder("AVAILABLE BOOKS REPORT\n");
         report.append("=====================\n");
@@ -65,8 +128,9 @@ public class ReportService {
      * Generate members report
      */
     public String generateMembersReport() {
-        long totalMembers = memberService.count();
-        long membersWithBooks = memberService.findMembersWithCheckedOutBooks().size();
+        LibraryStatistics statistics = statistics();
+        long totalMembers = statistics.totalMembers();
+        long membersWithBooks = statistics.membersWithBooks();
         
         StringBuilder report = new StringBuilder("MEMBERS REPORT\n");
         report.append("==============\n");
@@ -82,11 +146,12 @@ public class ReportService {
      * Generate library summary report
      */
     public String generateLibrarySummaryReport() {
-        long totalBooks = bookManagementService.findAll().size();
-        long availableBooks = bookManagementService.countByStatus(BookStatus.AVAILABLE);
-        long checkedOutBooks = bookManagementService.countByStatus(BookStatus.CHECKED_OUT);
-        long overdueBooks = bookManagementService.findOverdueBooks().size();
-        long totalMembers = memberService.count();
+        LibraryStatistics statistics = statistics();
+        long totalBooks = statistics.totalBooks();
+        long availableBooks = statistics.count(BookStatus.AVAILABLE);
+        long checkedOutBooks = statistics.count(BookStatus.CHECKED_OUT);
+        long overdueBooks = statistics.overdueBooks();
+        long totalMembers = statistics.totalMembers();
         
         StringBuilder report = new StringBuilder("LIBRARY SUMMARY REPORT\n");
         report.append("======================\n");
@@ -100,16 +165,52 @@ public class ReportService {
         return report.toString();
     }
 
+    /**
+     * Outstanding late fees in dollars by member email, read from the maintained member balances
+     * rather than summed from the fee ledger
+     */
+    public Map<String, Double> generateLateFeeReport() {
+        Map<String, Double> report = new LinkedHashMap<>();
+        feeLedgerService.outstandingBalances().forEach((email, cents) -> report.put(email, cents / 100.0));
+        return report;
+    }
+
+    /**
+     * Generate outstanding late fees report
+     */
+    public String generateOutstandingFeesReport() {
+        Map<String, Long> balances = feeLedgerService.outstandingBalances();
+
+        StringBuilder report = new StringBuilder("LATE FEES REPORT\n");
+        report.append("================\n");
+        long total = 0;
+        for (Map.Entry<String, Long> balance : balances.entrySet()) {
+            report.append(String.format("%s owes $%.2f\n", balance.getKey(), balance.getValue() / 100.0));
+            total += balance.getValue();
+        }
+        if (balances.isEmpty()) {
+            report.append("No outstanding late fees.\n");
+        }
+        report.append(String.format("\nMembers owing fees: %d\n", balances.size()));
+        report.append(String.format("Total outstanding: $%.2f\n", total / 100.0));
+        return report.toString();
+    }
+
     /**
      * Generate report by type
      */
-    public String generateReport(String reportType) {
+    public String generateReport(@OperationType String reportType) {
         return switch (reportType.toLowerCase()) {
             case "overdue" -> generateOverdueBooksReport();
             case "available" -> generateAvailableBooksReport();
             case "members" -> generateMembersReport();
             case "summary" -> generateLibrarySummaryReport();
+            case "fees" -> generateOutstandingFeesReport();
             default -> throw new IllegalArgumentException("Invalid report type: " + reportType);
         };
     }
+
+    private LibraryStatistics statistics() {
+        return readModel.statistics(LocalDate.now()).orElseGet(bookManagementService::getLibraryStatistics);
+    }
 }
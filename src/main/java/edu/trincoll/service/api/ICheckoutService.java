@@ -1,9 +1,15 @@
 package edu.trincoll.service.api;
 
+import edu.trincoll.service.CheckoutResult;
+
+import java.util.List;
+
 /**
  * Interface defining checkout operations
  */
 public interface ICheckoutService {
     String checkoutBook(String isbn, String memberEmail);
     String returnBook(String isbn);
+    List<CheckoutResult> checkoutBooks(List<String> isbns, String memberEmail);
+    List<CheckoutResult> returnBooks(List<String> isbns);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package edu.trincoll.service.api;
 
+import edu.trincoll.repository.OverdueLoanView;
+
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Interface defining notification operations
@@ -9,5 +12,6 @@ public interface INotificationService {
     void sendCheckoutNotification(String memberEmail, String bookTitle, LocalDate dueDate);
     void sendReturnNotification(String memberEmail, String bookTitle, double lateFee);
     void sendOverdueNotification(String memberEmail, String bookTitle, LocalDate dueDate);
+    void sendOverdueDigest(String memberEmail, List<OverdueLoanView> loans);
     void sendNotification(String memberEmail, String subject, String message);
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package edu.trincoll.service.availability;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookChangeObserver;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookStatusView;
+import edu.trincoll.service.support.RollbackJournal;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact in-memory table holding one status byte per book id.
+ * Reads are lock-free volatile byte loads and status transitions are compare-and-set,
+ * so availability checks and per-status counts never touch the database. ISBNs are resolved to
+ * ids through an {@link IsbnIdTable}, which is also read without locking or boxing.
+ *
+ * The table is loaded from the books table once the application is ready and kept current by
+ * {@link edu.trincoll.repository.BookEntityListener}. A transition is applied when the writing
+ * transaction flushes, so other threads see it before that transaction commits; this lets a
+ * concurrent checkout of the same book fail fast. Transitions made inside a transaction are
+ * reverted if that transaction rolls back.
+ *
+ * Per-status counts are adjusted right after the status byte changes, from the value the
+ * compare-and-set replaced, so they always agree with the table once no transition is in flight.
+ * A count read during a transition may briefly lag that one book.
+ */
+@Component
+public class BookStatusTable implements BookChangeObserver {
+
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final byte UNKNOWN = 0;
+    private static final BookStatus[] STATUSES = BookStatus.values();
+
+    private final BookRepository bookRepository;
+    private final IsbnIdTable idsByIsbn = new IsbnIdTable();
+    private final AtomicLongArray counts = new AtomicLongArray(STATUSES.length);
+    private volatile byte[][] chunks = new byte[0][];
+    private volatile boolean ready;
+
+    public BookStatusTable(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Load the status of every book from the repository
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        long lastId = 0;
+        List<BookStatusView> page;
+        do {
+            page = bookRepository.findStatusViewsByIdGreaterThanOrderById(lastId, Limit.of(REBUILD_PAGE_SIZE));
+            for (BookStatusView view : page) {
+                idsByIsbn.put(view.getIsbn(), view.getId());
+                transition(view.getId(), encode(view.getStatus()));
+                lastId = view.getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+    }
+
+    /**
+     * Whether the initial load has completed and the table can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Status of the book with the given ISBN, or empty if the table does not know the book
+     */
+    public Optional<BookStatus> statusOf(String isbn) {
+        long id = idsByIsbn.get(isbn);
+        return id == IsbnIdTable.NO_ID ? Optional.empty() : Optional.ofNullable(decode(read(id)));
+    }
+
+    /**
+     * Whether the book with the given ISBN is known and available
+     */
+    public boolean isAvailable(String isbn) {
+        return statusOf(isbn).orElse(null) == BookStatus.AVAILABLE;
+    }
+
+    /**
+     * Number of books currently in the given status
+     */
+    public long count(BookStatus status) {
+        return counts.get(status.ordinal());
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        String isbn = book.getIsbn();
+        long previousId = idsByIsbn.put(isbn, book.getId());
+        byte next = encode(book.getStatus());
+        byte previous = transition(book.getId(), next);
+        RollbackJournal.record(this, () -> {
+            revert(book.getId(), next, previous);
+            if (previousId == IsbnIdTable.NO_ID) {
+                idsByIsbn.remove(isbn, book.getId());
+            } else {
+                idsByIsbn.put(isbn, previousId);
+            }
+        });
+    }
+
+    @Override
+    public void bookRemoved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        String isbn = book.getIsbn();
+        boolean mapped = idsByIsbn.remove(isbn, book.getId());
+        byte previous = transition(book.getId(), UNKNOWN);
+        RollbackJournal.record(this, () -> {
+            revert(book.getId(), UNKNOWN, previous);
+            if (mapped) {
+                idsByIsbn.put(isbn, book.getId());
+            }
+        });
+    }
+
+    /**
+     * Atomically replace the status byte of a book and move it between the per-status counts,
+     * only if the byte actually changed.
+     *
+     * @return the previous status byte
+     */
+    private byte transition(long id, byte next) {
+        byte[] chunk = chunkFor(id, next != UNKNOWN);
+        if (chunk == null) {
+            return UNKNOWN;
+        }
+        int slot = (int) (id & CHUNK_MASK);
+        byte previous;
+        do {
+            previous = (byte) SLOT.getVolatile(chunk, slot);
+        } while (previous != next && !SLOT.compareAndSet(chunk, slot, previous, next));
+
+        if (previous == next) {
+            return previous;
+        }
+        if (previous != UNKNOWN) {
+            counts.decrementAndGet(previous - 1);
+        }
+        if (next != UNKNOWN) {
+            counts.incrementAndGet(next - 1);
+        }
+        return previous;
+    }
+
+    /**
+     * Put back the previous status byte unless a later transaction has already moved the book on
+     */
+    private void revert(long id, byte written, byte previous) {
+        byte[] chunk = chunkFor(id, previous != UNKNOWN);
+        if (written == previous || chunk == null
+                || !SLOT.compareAndSet(chunk, (int) (id & CHUNK_MASK), written, previous)) {
+            return;
+        }
+        if (written != UNKNOWN) {
+            counts.decrementAndGet(written - 1);
+        }
+        if (previous != UNKNOWN) {
+            counts.incrementAndGet(previous - 1);
+        }
+    }
+
+    private byte read(long id) {
+        byte[][] current = chunks;
+        int index = (int) (id >>> CHUNK_BITS);
+        if (index >= current.length || current[index] == null) {
+            return UNKNOWN;
+        }
+        return (byte) SLOT.getVolatile(current[index], (int) (id & CHUNK_MASK));
+    }
+
+    private byte[] chunkFor(long id, boolean create) {
+        int index = (int) (id >>> CHUNK_BITS);
+        byte[][] current = chunks;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        if (!create) {
+            return null;
+        }
+        synchronized (this) {
+            current = chunks;
+            if (index >= current.length) {
+                byte[][] grown = new byte[Math.max(index + 1, current.length * 2)][];
+                System.arraycopy(current, 0, grown, 0, current.length);
+                current = grown;
+            }
+            if (current[index] == null) {
+                current[index] = new byte[CHUNK_SIZE];
+            }
+            chunks = current;
+            return current[index];
+        }
+    }
+
+    private static byte encode(BookStatus status) {
+        return status == null ? UNKNOWN : (byte) (status.ordinal() + 1);
+    }
+
+    private static BookStatus decode(byte code) {
+        return code == UNKNOWN ? null : STATUSES[code - 1];
+    }
+}
@@ -0,0 +1,165 @@
+package edu.trincoll.service.availability;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * ISBN to book id map behind the {@link BookStatusTable}.
+ *
+ * ISBNs and ids live in two parallel arrays and collide by linear probing, so a lookup is one hash
+ * and a short run of adjacent slots, with no boxed Long and no entry node per book. Removal shifts
+ * the rest of the probe run back instead of leaving tombstones.
+ *
+ * Lookups take no lock: they read optimistically under a {@link StampedLock} and only retry under
+ * the read lock if a writer got in meanwhile. Writers are serialized by the write lock.
+ */
+final class IsbnIdTable {
+
+    static final long NO_ID = -1;
+    private static final int MIN_CAPACITY = 16;
+
+    /** Both arrays, swapped together when the table grows */
+    private record Slots(String[] isbns, long[] ids) {
+        Slots(int capacity) {
+            this(new String[capacity], new long[capacity]);
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private Slots slots = new Slots(MIN_CAPACITY);
+    private int size;
+
+    /**
+     * Id of the book with the ISBN, or {@link #NO_ID}
+     */
+    long get(String isbn) {
+        long stamp = lock.tryOptimisticRead();
+        long id = find(slots, isbn);
+        if (lock.validate(stamp)) {
+            return id;
+        }
+        stamp = lock.readLock();
+        try {
+            return find(slots, isbn);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return the id previously mapped to the ISBN, or {@link #NO_ID}
+     */
+    long put(String isbn, long id) {
+        long stamp = lock.writeLock();
+        try {
+            String[] isbns = slots.isbns();
+            int slot = slotOf(isbns, isbn);
+            if (isbns[slot] != null) {
+                long previous = slots.ids()[slot];
+                slots.ids()[slot] = id;
+                return previous;
+            }
+            if ((size + 1) * 2 > isbns.length) {
+                grow();
+                slot = slotOf(slots.isbns(), isbn);
+            }
+            slots.isbns()[slot] = isbn;
+            slots.ids()[slot] = id;
+            size++;
+            return NO_ID;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Remove the ISBN only while it still maps to the given id
+     *
+     * @return true if it was removed
+     */
+    boolean remove(String isbn, long id) {
+        long stamp = lock.writeLock();
+        try {
+            String[] isbns = slots.isbns();
+            long[] ids = slots.ids();
+            int hole = slotOf(isbns, isbn);
+            if (isbns[hole] == null || ids[hole] != id) {
+                return false;
+            }
+            int mask = isbns.length - 1;
+            for (int next = (hole + 1) & mask; isbns[next] != null; next = (next + 1) & mask) {
+                // Move an entry back into the hole unless its home slot lies between the hole and it
+                int home = home(isbns[next], mask);
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    isbns[hole] = isbns[next];
+                    ids[hole] = ids[next];
+                    hole = next;
+                }
+            }
+            isbns[hole] = null;
+            ids[hole] = 0;
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Probe for the ISBN. Tolerates arrays a writer is changing underneath an optimistic read: the
+     * probe is bounded and the caller discards the answer if the read does not validate.
+     */
+    private static long find(Slots current, String isbn) {
+        String[] isbns = current.isbns();
+        int mask = isbns.length - 1;
+        int slot = home(isbn, mask);
+        for (int probes = 0; probes < isbns.length; probes++) {
+            String candidate = isbns[slot];
+            if (candidate == null) {
+                return NO_ID;
+            }
+            if (candidate.equals(isbn)) {
+                return current.ids()[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_ID;
+    }
+
+    /** Slot holding the ISBN, or the free slot where it would go; callers hold the write lock */
+    private static int slotOf(String[] isbns, String isbn) {
+        int mask = isbns.length - 1;
+        int slot = home(isbn, mask);
+        while (isbns[slot] != null && !isbns[slot].equals(isbn)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        Slots previous = slots;
+        Slots grown = new Slots(previous.isbns().length * 2);
+        for (int i = 0; i < previous.isbns().length; i++) {
+            String isbn = previous.isbns()[i];
+            if (isbn != null) {
+                int slot = slotOf(grown.isbns(), isbn);
+                grown.isbns()[slot] = isbn;
+                grown.ids()[slot] = previous.ids()[i];
+            }
+        }
+        slots = grown;
+    }
+
+    private static int home(String isbn, int mask) {
+        int hash = isbn.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,171 @@
+package edu.trincoll.service.cache;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.repository.BookChangeObserver;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through, write-through cache of books keyed by ISBN, bounded by an estimated memory budget.
+ *
+ * Entries are detached copies of committed books, and every hit hands out a fresh copy so callers
+ * may change it freely. A write, reported by {@link edu.trincoll.repository.BookEntityListener} or
+ * written through by {@link edu.trincoll.service.BookManagementService}, invalidates the book at
+ * once and puts its final state into the cache when the writing transaction commits. Until then the
+ * writing transaction reads that book from the database so it sees its own writes, and other
+ * transactions never see uncommitted state, so a rollback has nothing to undo. A cached copy can
+ * still trail a commit briefly; books carry a version, so that only causes an optimistic locking
+ * failure, never a lost update.
+ *
+ * ISBNs are treated as immutable keys: changing the ISBN of a cached book leaves the old key in
+ * place until it is evicted or expires.
+ */
+@Component
+public class BookCache implements BookChangeObserver {
+
+    /** Rough heap cost of a cached Book copy and its map entry, excluding strings */
+    static final long BOOK_OVERHEAD = 192;
+    /** Rough heap cost of a String and its byte array header; contents are one byte per Latin-1 character */
+    static final long STRING_OVERHEAD = 40;
+
+    private final BoundedCache<String, Book> cache;
+
+    public BookCache(@Value("${library.cache.books.max-memory:64MB}") DataSize maxMemory,
+                     @Value("${library.cache.books.ttl:30m}") Duration ttl) {
+        this.cache = new BoundedCache<>(maxMemory.toBytes(), BookCache::estimateSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * Find a book by ISBN, loading and caching it on a miss.
+     * Hits return a detached copy; misses return whatever the loader returned.
+     */
+    public Optional<Book> find(String isbn, Function<String, Optional<Book>> loader) {
+        Map<String, Book> written = currentWrites();
+        if (written != null && written.containsKey(isbn)) {
+            return loader.apply(isbn);
+        }
+        Book cached = cache.get(isbn);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        long invalidations = cache.invalidations();
+        long started = System.nanoTime();
+        Optional<Book> loaded = loader.apply(isbn);
+        cache.recordLoad(System.nanoTime() - started);
+        loaded.ifPresent(book -> cache.putIfNotInvalidatedSince(isbn, copyOf(book), invalidations));
+        return loaded;
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        written(book.getIsbn(), book);
+    }
+
+    @Override
+    public void bookRemoved(Book book) {
+        written(book.getIsbn(), null);
+    }
+
+    /**
+     * Drop every cached book
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Snapshot of the hit, miss, eviction and load counters; weight is the estimated bytes held
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Estimated heap bytes taken by a cached copy of the book
+     */
+    static long estimateSize(Book book) {
+        return BOOK_OVERHEAD + sizeOf(book.getIsbn()) + sizeOf(book.getTitle()) + sizeOf(book.getAuthor())
+                + sizeOf(book.getNormalizedTitle()) + sizeOf(book.getCheckedOutBy());
+    }
+
+    /**
+     * Invalidate the book now and publish its state, or its removal, once the transaction commits
+     */
+    private void written(String isbn, Book book) {
+        if (isbn == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(isbn, book);
+            return;
+        }
+        cache.invalidate(isbn);
+        @SuppressWarnings("unchecked")
+        Map<String, Book> written = (Map<String, Book>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            Map<String, Book> books = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, books);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BookCache.this);
+                    books.forEach((key, value) -> publish(key, status == STATUS_COMMITTED ? value : null));
+                }
+            });
+            written = books;
+        }
+        // The latest entity wins; it is copied only at commit, after its version has been bumped
+        written.put(isbn, book);
+    }
+
+    /**
+     * Cache the committed state of a book, or just invalidate it if it was removed or rolled back.
+     * The invalidation makes any load that started before the commit discard its result, and an
+     * entry from a later commit that was published first is kept.
+     */
+    private void publish(String isbn, Book book) {
+        synchronized (cache) {
+            Book current = cache.peek(isbn);
+            cache.invalidate(isbn);
+            if (book == null) {
+                return;
+            }
+            cache.put(isbn, current != null && versionOf(current) > versionOf(book) ? current : copyOf(book));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Book> currentWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (Map<String, Book>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private static long versionOf(Book book) {
+        return book.getVersion() == null ? -1 : book.getVersion();
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD + value.length();
+    }
+
+    private static Book copyOf(Book book) {
+        Book copy = new Book(book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublicationDate());
+        copy.setId(book.getId());
+        copy.setVersion(book.getVersion());
+        copy.setStatus(book.getStatus());
+        copy.setCheckedOutBy(book.getCheckedOutBy());
+        copy.setDueDate(book.getDueDate());
+        return copy;
+    }
+}
@@ -0,0 +1,180 @@
+package edu.trincoll.service.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe cache holding entries up to a fixed total weight, each for at most a fixed time.
+ * Every entry weighs one unless a weigher is given, so the limit is then an entry count.
+ * When full, least recently used entries are evicted; expired entries are evicted when read.
+ *
+ * Every invalidation advances a counter. A caller that loads a value from the database reads
+ * {@link #invalidations()} first and stores the value with {@link #putIfNotInvalidatedSince}, so a
+ * load that raced with a concurrent write never caches the state from before that write.
+ */
+public class BoundedCache<K, V> {
+
+    private record Entry<V>(V value, long weight, long expiresAt) {
+    }
+
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    private long loads;
+    private long loadNanos;
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    public BoundedCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        this(maxSize, value -> 1, ttl, ticker);
+    }
+
+    public BoundedCache(long maxWeight, ToLongFunction<V> weigher, Duration ttl, LongSupplier ticker) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    /**
+     * Cached value for the key, or null if absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && ticker.getAsLong() - entry.expiresAt() >= 0) {
+            remove(key);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    /**
+     * Value for the key without touching recency or the hit and miss counters, or null if absent or expired
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || ticker.getAsLong() - entry.expiresAt() >= 0 ? null : entry.value();
+    }
+
+    /**
+     * Cache a value, replacing any previous value for the key and evicting least recently used
+     * entries until the total weight fits again. A value heavier than the whole cache is not kept.
+     */
+    public synchronized void put(K key, V value) {
+        remove(key);
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value), ticker.getAsLong() + ttlNanos);
+        entries.put(key, entry);
+        weight += entry.weight();
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Cache a value unless anything was invalidated after the given {@link #invalidations()} reading
+     *
+     * @return true if the value was cached
+     */
+    public synchronized boolean putIfNotInvalidatedSince(K key, V value, long invalidationCount) {
+        if (invalidations != invalidationCount) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    /**
+     * Drop the entry for the key
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        remove(key);
+    }
+
+    /**
+     * Drop every entry matching the predicate
+     */
+    public synchronized void invalidateIf(BiPredicate<K, V> predicate) {
+        invalidations++;
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue().value())) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drop every entry
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Record the time spent loading a value after a miss
+     */
+    public synchronized void recordLoad(long nanos) {
+        loads++;
+        loadNanos += nanos;
+    }
+
+    /**
+     * Number of invalidations so far
+     */
+    public synchronized long invalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Number of entries currently held, including expired entries not yet read
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Snapshot of the hit, miss and eviction counters
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hits, misses, evictions, entries.size(), weight, loads, loadNanos);
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package edu.trincoll.service.cache;
+
+/**
+ * Snapshot of a cache's counters
+ *
+ * @param hits          lookups answered from the cache
+ * @param misses        lookups that found no live entry
+ * @param evictions     entries dropped because the cache was full or the entry expired
+ * @param size          entries currently held
+ * @param weight        total weight of the entries held, equal to size unless the cache weighs entries
+ * @param loads         values loaded from the database after a miss
+ * @param totalLoadTime nanoseconds spent in those loads
+ */
+public record CacheStats(long hits, long misses, long evictions, long size, long weight,
+                         long loads, long totalLoadTime) {
+
+    /**
+     * Share of lookups answered from the cache, 0 before the first lookup
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Mean nanoseconds per load, 0 before the first load
+     */
+    public double averageLoadPenalty() {
+        return loads == 0 ? 0 : (double) totalLoadTime / loads;
+    }
+}
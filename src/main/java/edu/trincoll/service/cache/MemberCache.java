@@ -0,0 +1,159 @@
+package edu.trincoll.service.cache;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.MemberChangeObserver;
+import edu.trincoll.service.support.collection.LongHashSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of committed members keyed by email.
+ *
+ * Entries are detached copies, and every hit hands out a fresh copy so callers may change it freely.
+ * A member is invalidated as soon as it is written (through JPA, reported by
+ * {@link edu.trincoll.repository.MemberEntityListener}, or through a bulk update reported by
+ * {@link #memberChanged(String)}) and again when the writing transaction completes, so neither a
+ * rollback nor a reader racing the commit can leave the uncommitted or the superseded state cached.
+ * A transaction that has written members bypasses the cache for the rest of its lifetime so it
+ * always reads its own writes.
+ */
+@Component
+public class MemberCache implements MemberChangeObserver {
+
+    /** Members written by the current transaction, invalidated again once it completes */
+    private record Written(Set<String> emails, LongHashSet ids) {
+    }
+
+    private final BoundedCache<String, Member> cache;
+
+    public MemberCache(@Value("${library.cache.members.max-size:10000}") int maxSize,
+                       @Value("${library.cache.members.ttl:10m}") Duration ttl) {
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    /**
+     * Find a member by email, loading and caching it on a miss.
+     * Hits return a detached copy; misses return whatever the loader returned.
+     */
+    public Optional<Member> find(String email, Function<String, Optional<Member>> loader) {
+        if (writtenInCurrentTransaction()) {
+            return loader.apply(email);
+        }
+        Member cached = cache.get(email);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        long invalidations = cache.invalidations();
+        long started = System.nanoTime();
+        Optional<Member> loaded = loader.apply(email);
+        cache.recordLoad(System.nanoTime() - started);
+        loaded.ifPresent(member -> cache.putIfNotInvalidatedSince(email, copyOf(member), invalidations));
+        return loaded;
+    }
+
+    /**
+     * Whether a member with this email is cached; false says nothing about the database
+     */
+    public boolean contains(String email) {
+        return !writtenInCurrentTransaction() && cache.get(email) != null;
+    }
+
+    /**
+     * Invalidate a member changed without going through JPA entity events, such as by a bulk update
+     */
+    public void memberChanged(String email) {
+        cache.invalidate(email);
+        written().ifPresent(written -> written.emails().add(email));
+    }
+
+    @Override
+    public void memberSaved(Member member) {
+        invalidateMember(member);
+    }
+
+    @Override
+    public void memberRemoved(Member member) {
+        invalidateMember(member);
+    }
+
+    /**
+     * Drop every cached member
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Snapshot of the hit, miss and eviction counters
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Drop the member under its email and, in case its email changed, under any other key holding its id
+     */
+    private void invalidateMember(Member member) {
+        String email = member.getEmail();
+        Long id = member.getId();
+        cache.invalidateIf((key, cached) -> key.equals(email) || (id != null && id.equals(cached.getId())));
+        written().ifPresent(written -> {
+            written.emails().add(email);
+            if (id != null) {
+                written.ids().add(id);
+            }
+        });
+    }
+
+    private boolean writtenInCurrentTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.hasResource(this);
+    }
+
+    /**
+     * The current transaction's written members, registering the completion callback on first use
+     */
+    private Optional<Written> written() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.empty();
+        }
+        Written written = (Written) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            Written members = new Written(new HashSet<>(), new LongHashSet());
+            TransactionSynchronizationManager.bindResource(this, members);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberCache.this);
+                    members.emails().forEach(cache::invalidate);
+                    if (!members.ids().isEmpty()) {
+                        cache.invalidateIf((key, cached) ->
+                                cached.getId() != null && members.ids().contains(cached.getId()));
+                    }
+                }
+            });
+            written = members;
+        }
+        return Optional.of(written);
+    }
+
+    private static Member copyOf(Member member) {
+        Member copy = new Member(member.getName(), member.getEmail(), member.getMembershipType());
+        copy.setId(member.getId());
+        copy.setVersion(member.getVersion());
+        copy.setMemberSince(member.getMemberSince());
+        copy.setBooksCheckedOut(member.getBooksCheckedOut());
+        copy.setFeeBalanceCents(member.getFeeBalanceCents());
+        copy.setLapsedOn(member.getLapsedOn());
+        copy.setOverdueNotifiedOn(member.getOverdueNotifiedOn());
+        return copy;
+    }
+}
@@ -0,0 +1,37 @@
+package edu.trincoll.service.catalog;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of the catalog columns of one book, decoded from the {@link CompactCatalog}
+ * or taken from a loaded Book
+ */
+public record CatalogEntry(long id, Long version, String isbn, String title, String author,
+                           LocalDate publicationDate, BookStatus status, String checkedOutBy,
+                           LocalDate dueDate) {
+
+    /**
+     * Catalog columns of a Book
+     */
+    public static CatalogEntry of(Book book) {
+        return new CatalogEntry(book.getId(), book.getVersion(), book.getIsbn(), book.getTitle(),
+                book.getAuthor(), book.getPublicationDate(), book.getStatus(), book.getCheckedOutBy(),
+                book.getDueDate());
+    }
+
+    /**
+     * Detached Book holding this entry's values
+     */
+    public Book toBook() {
+        Book book = new Book(isbn, title, author, publicationDate);
+        book.setId(id);
+        book.setVersion(version);
+        book.setStatus(status);
+        book.setCheckedOutBy(checkedOutBy);
+        book.setDueDate(dueDate);
+        return book;
+    }
+}
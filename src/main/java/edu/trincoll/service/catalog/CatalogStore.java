@@ -0,0 +1,315 @@
+package edu.trincoll.service.catalog;
+
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.service.support.collection.LongIntHashMap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Off-heap storage behind {@link CompactCatalog}. Not thread-safe; the catalog guards it with a lock.
+ *
+ * Every book takes one fixed-width record in chunks of direct ByteBuffers:
+ * <pre>
+ *  0 id          long
+ *  8 version     long, -1 if the book had none
+ * 16 isbn        long reference into the string heap
+ * 24 title       long reference into the string heap
+ * 32 author      int code in the author dictionary
+ * 36 borrower    int code in the borrower dictionary
+ * 40 published   int epoch day, or NO_DATE
+ * 44 due         int epoch day, or NO_DATE
+ * 48 status      byte, status ordinal + 1, or REMOVED
+ * </pre>
+ * ISBNs and titles are stored once as UTF-8 in an append-only string heap, also off-heap. A string
+ * replaced by an update stays behind as garbage until the store is compacted. Authors and borrowers
+ * repeat across many books, so they are dictionary encoded and kept on the heap once per value.
+ */
+final class CatalogStore {
+
+    static final int RECORD_SIZE = 56;
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int ISBN = 16;
+    private static final int TITLE = 24;
+    private static final int AUTHOR = 32;
+    private static final int BORROWER = 36;
+    private static final int PUBLISHED = 40;
+    private static final int DUE = 44;
+    private static final int STATUS = 48;
+
+    private static final byte REMOVED = 0;
+    private static final long NO_STRING = -1;
+    private static final int NO_SLOT = -1;
+    private static final int RECORD_BITS = 14;
+    private static final int RECORD_MASK = (1 << RECORD_BITS) - 1;
+    private static final int STRING_CHUNK_SIZE = 1 << 20;
+    private static final BookStatus[] STATUSES = BookStatus.values();
+
+    private final LongIntHashMap slotsById = new LongIntHashMap(0, NO_SLOT);
+    private final StringDictionary authors = new StringDictionary();
+    private final StringDictionary borrowers = new StringDictionary();
+    private ByteBuffer[] records = new ByteBuffer[0];
+    private ByteBuffer[] strings = new ByteBuffer[0];
+    private int slots;
+    private int liveRows;
+    private int stringPosition;
+    private long stringBytes;
+    private long garbageBytes;
+
+    /**
+     * Insert or overwrite the record of the entry's book
+     */
+    void put(CatalogEntry entry) {
+        int existing = slotsById.get(entry.id());
+        int slot = existing == NO_SLOT ? appendSlot(entry.id()) : existing;
+        ByteBuffer chunk = records[slot >>> RECORD_BITS];
+        int base = (slot & RECORD_MASK) * RECORD_SIZE;
+        boolean live = existing != NO_SLOT && chunk.get(base + STATUS) != REMOVED;
+
+        chunk.putLong(base + ID, entry.id());
+        chunk.putLong(base + VERSION, entry.version() == null ? -1 : entry.version());
+        // A removed record's strings were counted as garbage when it was removed
+        chunk.putLong(base + ISBN, replaceString(live ? chunk.getLong(base + ISBN) : NO_STRING, entry.isbn()));
+        chunk.putLong(base + TITLE, replaceString(live ? chunk.getLong(base + TITLE) : NO_STRING, entry.title()));
+        chunk.putInt(base + AUTHOR, authors.encode(entry.author()));
+        chunk.putInt(base + BORROWER, borrowers.encode(entry.checkedOutBy()));
+        chunk.putInt(base + PUBLISHED, encodeDate(entry.publicationDate()));
+        chunk.putInt(base + DUE, encodeDate(entry.dueDate()));
+        chunk.put(base + STATUS, encodeStatus(entry.status()));
+        if (!live) {
+            liveRows++;
+        }
+    }
+
+    /**
+     * Mark the book's record removed. The slot keeps its id so a rolled back removal can be undone.
+     */
+    void remove(long id) {
+        int slot = slotsById.get(id);
+        if (slot == NO_SLOT || !isLive(slot)) {
+            return;
+        }
+        ByteBuffer chunk = records[slot >>> RECORD_BITS];
+        int base = (slot & RECORD_MASK) * RECORD_SIZE;
+        chunk.put(base + STATUS, REMOVED);
+        garbageBytes += stringSize(chunk.getLong(base + ISBN)) + stringSize(chunk.getLong(base + TITLE));
+        liveRows--;
+    }
+
+    /**
+     * Decoded record of the book, or null if the store does not hold it
+     */
+    CatalogEntry entry(long id) {
+        int slot = slotsById.get(id);
+        return slot == NO_SLOT || !isLive(slot) ? null : entryAt(slot);
+    }
+
+    /**
+     * Stored version of the book, -1 if it had none, or Long.MIN_VALUE if the store never held it.
+     * Removed books keep their last version.
+     */
+    long versionOf(long id) {
+        int slot = slotsById.get(id);
+        if (slot == NO_SLOT) {
+            return Long.MIN_VALUE;
+        }
+        return records[slot >>> RECORD_BITS].getLong((slot & RECORD_MASK) * RECORD_SIZE + VERSION);
+    }
+
+    /**
+     * Number of slots in use, including removed records
+     */
+    int slots() {
+        return slots;
+    }
+
+    /**
+     * Number of books held
+     */
+    int size() {
+        return liveRows;
+    }
+
+    boolean isLive(int slot) {
+        return statusCode(slot) != REMOVED;
+    }
+
+    byte statusCode(int slot) {
+        return records[slot >>> RECORD_BITS].get((slot & RECORD_MASK) * RECORD_SIZE + STATUS);
+    }
+
+    int dueDay(int slot) {
+        return records[slot >>> RECORD_BITS].getInt((slot & RECORD_MASK) * RECORD_SIZE + DUE);
+    }
+
+    int authorCode(int slot) {
+        return records[slot >>> RECORD_BITS].getInt((slot & RECORD_MASK) * RECORD_SIZE + AUTHOR);
+    }
+
+    int borrowerCode(int slot) {
+        return records[slot >>> RECORD_BITS].getInt((slot & RECORD_MASK) * RECORD_SIZE + BORROWER);
+    }
+
+    /**
+     * Dictionary code of the author, or {@link StringDictionary#NO_CODE} if no book has that author
+     */
+    int authorCodeOf(String author) {
+        return authors.codeOf(author);
+    }
+
+    /**
+     * Dictionary code of the borrower, or {@link StringDictionary#NO_CODE} if no book was lent to them
+     */
+    int borrowerCodeOf(String email) {
+        return borrowers.codeOf(email);
+    }
+
+    static byte encodeStatus(BookStatus status) {
+        return status == null ? REMOVED : (byte) (status.ordinal() + 1);
+    }
+
+    static int encodeDate(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Decode every column of the record in the slot
+     */
+    CatalogEntry entryAt(int slot) {
+        ByteBuffer chunk = records[slot >>> RECORD_BITS];
+        int base = (slot & RECORD_MASK) * RECORD_SIZE;
+        long version = chunk.getLong(base + VERSION);
+        byte status = chunk.get(base + STATUS);
+        return new CatalogEntry(
+                chunk.getLong(base + ID),
+                version == -1 ? null : version,
+                readString(chunk.getLong(base + ISBN)),
+                readString(chunk.getLong(base + TITLE)),
+                authors.decode(chunk.getInt(base + AUTHOR)),
+                decodeDate(chunk.getInt(base + PUBLISHED)),
+                status == REMOVED ? null : STATUSES[status - 1],
+                borrowers.decode(chunk.getInt(base + BORROWER)),
+                decodeDate(chunk.getInt(base + DUE)));
+    }
+
+    /**
+     * New store holding only the live records, with no garbage in its string heap
+     */
+    CatalogStore compacted() {
+        CatalogStore compacted = new CatalogStore();
+        for (int slot = 0; slot < slots; slot++) {
+            if (isLive(slot)) {
+                compacted.put(entryAt(slot));
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Bytes of strings that are no longer referenced by any live record
+     */
+    long garbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Bytes written to the string heap, including garbage
+     */
+    long stringBytes() {
+        return stringBytes;
+    }
+
+    /**
+     * Off-heap bytes allocated for records and strings
+     */
+    long offHeapBytes() {
+        return (long) records.length * (RECORD_SIZE << RECORD_BITS)
+                + Arrays.stream(strings).mapToLong(ByteBuffer::capacity).sum();
+    }
+
+    private int appendSlot(long id) {
+        int slot = slots++;
+        int chunk = slot >>> RECORD_BITS;
+        if (chunk == records.length) {
+            records = Arrays.copyOf(records, chunk + 1);
+            records[chunk] = ByteBuffer.allocateDirect(RECORD_SIZE << RECORD_BITS).order(ByteOrder.nativeOrder());
+        }
+        slotsById.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Reference to the value in the string heap, reusing the current reference when the value is unchanged
+     */
+    private long replaceString(long current, String value) {
+        if (value == null) {
+            garbageBytes += stringSize(current);
+            return NO_STRING;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (current != NO_STRING && stringEquals(current, bytes)) {
+            return current;
+        }
+        garbageBytes += stringSize(current);
+        return writeString(bytes);
+    }
+
+    private long writeString(byte[] bytes) {
+        int needed = Integer.BYTES + bytes.length;
+        if (strings.length == 0 || stringPosition + needed > strings[strings.length - 1].capacity()) {
+            strings = Arrays.copyOf(strings, strings.length + 1);
+            strings[strings.length - 1] = ByteBuffer.allocateDirect(Math.max(STRING_CHUNK_SIZE, needed))
+                    .order(ByteOrder.nativeOrder());
+            stringPosition = 0;
+        }
+        ByteBuffer chunk = strings[strings.length - 1];
+        long reference = ((long) (strings.length - 1) << 32) | stringPosition;
+        chunk.putInt(stringPosition, bytes.length);
+        chunk.put(stringPosition + Integer.BYTES, bytes);
+        stringPosition += needed;
+        stringBytes += needed;
+        return reference;
+    }
+
+    private String readString(long reference) {
+        if (reference == NO_STRING) {
+            return null;
+        }
+        ByteBuffer chunk = strings[(int) (reference >>> 32)];
+        int offset = (int) reference;
+        byte[] bytes = new byte[chunk.getInt(offset)];
+        chunk.get(offset + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(long reference, byte[] bytes) {
+        ByteBuffer chunk = strings[(int) (reference >>> 32)];
+        int offset = (int) reference;
+        if (chunk.getInt(offset) != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (chunk.get(offset + Integer.BYTES + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long stringSize(long reference) {
+        if (reference == NO_STRING) {
+            return 0;
+        }
+        return Integer.BYTES + strings[(int) (reference >>> 32)].getInt((int) reference);
+    }
+
+    private static LocalDate decodeDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,311 @@
+package edu.trincoll.service.catalog;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookChangeObserver;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.support.RollbackJournal;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Read-optimized snapshot of the book catalog held off the Java heap.
+ * Each book is a 56 byte record in direct ByteBuffers instead of an entity with String and LocalDate
+ * fields, so scans over millions of books for status, due date, author or borrower compare ints and
+ * bytes in place and only decode the rows that match. See {@link CatalogStore} for the layout.
+ *
+ * The catalog is loaded from the books table in id order once the application is ready and kept
+ * current by {@link edu.trincoll.repository.BookEntityListener}. A change is applied when it is
+ * flushed, before its transaction commits, so readers see other transactions' uncommitted changes;
+ * they are undone if that transaction rolls back. Strings left behind by updates are reclaimed by
+ * compacting the store once they outweigh the live ones.
+ */
+@Component
+public class CompactCatalog implements BookChangeObserver {
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final int SCAN_BLOCK_SIZE = 1024;
+    private static final long MIN_GARBAGE_TO_COMPACT = 1 << 20;
+
+    /** Test on the encoded columns of one slot, run under the read lock */
+    @FunctionalInterface
+    private interface SlotFilter {
+        boolean test(CatalogStore store, int slot);
+    }
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger activeScans = new AtomicInteger();
+    private CatalogStore store = new CatalogStore();
+    private volatile boolean ready;
+
+    public CompactCatalog(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Load every book from the repository, a keyset page at a time. Changes reported while loading
+     * are kept; a page row never replaces a newer version of the same book.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        update(() -> store = new CatalogStore());
+        long lastId = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderById(lastId, Limit.of(REBUILD_PAGE_SIZE));
+            List<Book> books = page;
+            update(() -> {
+                for (Book book : books) {
+                    if (store.versionOf(book.getId()) < versionOf(book)) {
+                        store.put(CatalogEntry.of(book));
+                    }
+                }
+            });
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+    }
+
+    /**
+     * Whether the initial load has completed and queries can be answered from the catalog
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of books held
+     */
+    public int size() {
+        return read(() -> store.size());
+    }
+
+    /**
+     * Off-heap bytes allocated for records and strings
+     */
+    public long offHeapBytes() {
+        return read(() -> store.offHeapBytes());
+    }
+
+    /**
+     * Books in the given status
+     */
+    public List<Book> findByStatus(BookStatus status) {
+        byte code = CatalogStore.encodeStatus(status);
+        return collect((store, slot) -> store.statusCode(slot) == code);
+    }
+
+    /**
+     * Books due strictly before the given date
+     */
+    public List<Book> findDueBefore(LocalDate date) {
+        return collect(dueBefore(date));
+    }
+
+    /**
+     * Books with exactly this author
+     */
+    public List<Book> findByAuthor(String author) {
+        return collect(hasCode(author, CatalogStore::authorCodeOf, CatalogStore::authorCode));
+    }
+
+    /**
+     * Books checked out by the member
+     */
+    public List<Book> findByCheckedOutBy(String memberEmail) {
+        return collect(hasCode(memberEmail, CatalogStore::borrowerCodeOf, CatalogStore::borrowerCode));
+    }
+
+    /**
+     * Hand each book due strictly before the given date to the action, in catalog order.
+     * Only matching rows are decoded, a block at a time, and the action runs outside the lock.
+     *
+     * @return the number of books visited
+     */
+    public long forEachDueBefore(LocalDate date, Consumer<CatalogEntry> action) {
+        return scan(dueBefore(date), action);
+    }
+
+    /**
+     * Rewrite the store without the garbage left by updates and removals
+     *
+     * @return false if skipped because a scan is walking the current slots
+     */
+    public boolean compact() {
+        return updateAndGet(() -> {
+            if (activeScans.get() > 0) {
+                return false;
+            }
+            store = store.compacted();
+            return true;
+        });
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        CatalogEntry written = CatalogEntry.of(book);
+        CatalogEntry previous = updateAndGet(() -> {
+            CatalogEntry current = store.entry(written.id());
+            store.put(written);
+            compactIfWasteful();
+            return current;
+        });
+        RollbackJournal.record(this, () -> revert(written.id(), written, previous));
+    }
+
+    @Override
+    public void bookRemoved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        CatalogEntry previous = updateAndGet(() -> {
+            CatalogEntry current = store.entry(book.getId());
+            store.remove(book.getId());
+            return current;
+        });
+        RollbackJournal.record(this, () -> revert(book.getId(), null, previous));
+    }
+
+    /**
+     * Put back the previous entry unless a later transaction has already changed the book again
+     */
+    private void revert(long id, CatalogEntry written, CatalogEntry previous) {
+        update(() -> {
+            if (!Objects.equals(store.entry(id), written)) {
+                return;
+            }
+            if (previous == null) {
+                store.remove(id);
+            } else {
+                store.put(previous);
+            }
+        });
+    }
+
+    /**
+     * Compact once garbage strings outweigh live ones, unless a scan is walking the current slots
+     */
+    private void compactIfWasteful() {
+        long garbage = store.garbageBytes();
+        if (garbage >= MIN_GARBAGE_TO_COMPACT && garbage * 2 > store.stringBytes() && activeScans.get() == 0) {
+            store = store.compacted();
+        }
+    }
+
+    private List<Book> collect(SlotFilter filter) {
+        List<Book> books = new ArrayList<>();
+        scan(filter, entry -> books.add(entry.toBook()));
+        return books;
+    }
+
+    /**
+     * Walk the slots a block at a time under the read lock, so writers are never held up for a
+     * whole scan, and decode the matches of each block for the action
+     */
+    private long scan(SlotFilter filter, Consumer<CatalogEntry> action) {
+        activeScans.incrementAndGet();
+        try {
+            long visited = 0;
+            int next = 0;
+            List<CatalogEntry> matches = new ArrayList<>();
+            while (true) {
+                int from = next;
+                boolean more = read(() -> {
+                    int end = Math.min(store.slots(), from + SCAN_BLOCK_SIZE);
+                    for (int slot = from; slot < end; slot++) {
+                        if (store.isLive(slot) && filter.test(store, slot)) {
+                            matches.add(store.entryAt(slot));
+                        }
+                    }
+                    return end < store.slots();
+                });
+                matches.forEach(action);
+                visited += matches.size();
+                matches.clear();
+                if (!more) {
+                    return visited;
+                }
+                next = from + SCAN_BLOCK_SIZE;
+            }
+        } finally {
+            activeScans.decrementAndGet();
+        }
+    }
+
+    private static SlotFilter dueBefore(LocalDate date) {
+        int day = CatalogStore.encodeDate(date);
+        return (store, slot) -> {
+            int due = store.dueDay(slot);
+            return due != CatalogStore.NO_DATE && due < day;
+        };
+    }
+
+    /**
+     * Match a dictionary encoded column against one value, looking its code up once per store
+     */
+    private static SlotFilter hasCode(String value, ToIntBiFunction<CatalogStore, String> codeOf,
+                                      ToIntBiFunction<CatalogStore, Integer> column) {
+        return new SlotFilter() {
+            private CatalogStore codedFor;
+            private int code;
+
+            @Override
+            public boolean test(CatalogStore store, int slot) {
+                if (store != codedFor) {
+                    codedFor = store;
+                    code = codeOf.applyAsInt(store, value);
+                }
+                return code != StringDictionary.NO_CODE && column.applyAsInt(store, slot) == code;
+            }
+        };
+    }
+
+    private static long versionOf(Book book) {
+        return book.getVersion() == null ? -1 : book.getVersion();
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Runnable action) {
+        updateAndGet(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T updateAndGet(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.trincoll.service.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each distinct string a dense int code, so a column with few distinct values
+ * costs four bytes per row and one String per value
+ */
+final class StringDictionary {
+
+    static final int NO_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Code of the value, assigning the next free code to a value not seen before
+     */
+    int encode(String value) {
+        if (value == null) {
+            return NO_CODE;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    /**
+     * Code of the value, or {@link #NO_CODE} if it was never encoded
+     */
+    int codeOf(String value) {
+        return value == null ? NO_CODE : codes.getOrDefault(value, NO_CODE);
+    }
+
+    String decode(int code) {
+        return code == NO_CODE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,11 @@
+package edu.trincoll.service.event;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A member checked out a book
+ */
+public record BookCheckedOut(String isbn, String memberEmail, LocalDate dueDate, Instant occurredAt)
+        implements LibraryEvent {
+}
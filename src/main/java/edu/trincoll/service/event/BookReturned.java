@@ -0,0 +1,13 @@
+package edu.trincoll.service.event;
+
+import java.time.Instant;
+
+/**
+ * A checked out book came back
+ *
+ * @param memberEmail the member who had the book
+ * @param late        whether the book came back after its due date
+ */
+public record BookReturned(String isbn, String memberEmail, boolean late, Instant occurredAt)
+        implements LibraryEvent {
+}
@@ -0,0 +1,12 @@
+package edu.trincoll.service.event;
+
+/**
+ * Point-in-time counters of the {@link LibraryEventBus}
+ *
+ * @param published events written to the ring
+ * @param dropped   events discarded because the slowest subscriber was a full ring behind
+ * @param failed    events a subscriber threw on; the subscriber carries on with the next one
+ * @param backlog   events the slowest subscriber has yet to handle
+ */
+public record EventBusStats(long published, long dropped, long failed, long backlog) {
+}
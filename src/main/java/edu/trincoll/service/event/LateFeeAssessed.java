@@ -0,0 +1,10 @@
+package edu.trincoll.service.event;
+
+import java.time.Instant;
+
+/**
+ * A late return was charged to the member's fee balance
+ */
+public record LateFeeAssessed(String memberEmail, String isbn, long amountCents, long daysLate, Instant occurredAt)
+        implements LibraryEvent {
+}
@@ -0,0 +1,15 @@
+package edu.trincoll.service.event;
+
+import java.time.Instant;
+
+/**
+ * Something that happened to the library, published on the {@link LibraryEventBus} once the
+ * transaction that made it happen has committed
+ */
+public sealed interface LibraryEvent permits BookCheckedOut, BookReturned, LateFeeAssessed, MemberLimitReached {
+
+    /**
+     * When the change was made, which can be shortly before subscribers see it
+     */
+    Instant occurredAt();
+}
@@ -0,0 +1,215 @@
+package edu.trincoll.service.event;
+
+import edu.trincoll.service.support.CommitJournal;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus for {@link LibraryEvent}s, built like a Disruptor: a fixed ring of slots that
+ * publishers claim by sequence number with a compare-and-set, and one thread per subscriber that
+ * follows the ring at its own pace.
+ *
+ * Events are published once the transaction that raised them commits, and nothing is published for
+ * a transaction that rolls back. Publishing claims a slot and stores the event; it never waits and
+ * never wakes a subscriber, which poll the ring and park briefly when they have caught up. Memory is
+ * bounded by the ring size: when the slowest subscriber is a whole ring behind, new events are
+ * dropped and counted rather than holding up the publisher. Anything a subscriber throws, Errors
+ * included, is counted as a failure and delivery goes on; a subscriber thread that ends for any
+ * reason gives up its hold on the ring, so it can never block the bus for the others.
+ */
+@Component
+public class LibraryEventBus {
+
+    private static final int SPINS_BEFORE_PARKING = 100;
+
+    private final ObjectProvider<LibraryEventSubscriber> subscriberBeans;
+    private final LibraryEvent[] entries;
+    /** Sequence last published into each slot; a slot's entry is readable once this reaches the wanted sequence */
+    private final AtomicLongArray available;
+    private final int mask;
+    private final long idleWaitNanos;
+    /** Highest sequence claimed by a publisher */
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running = true;
+    private boolean beansSubscribed;
+
+    public LibraryEventBus(ObjectProvider<LibraryEventSubscriber> subscriberBeans,
+                           @Value("${library.events.ring-size:8192}") int ringSize,
+                           @Value("${library.events.idle-wait:1ms}") Duration idleWait) {
+        if (ringSize < 1 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two: " + ringSize);
+        }
+        this.subscriberBeans = subscriberBeans;
+        this.entries = new LibraryEvent[ringSize];
+        this.available = new AtomicLongArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            available.set(i, -1);
+        }
+        this.mask = ringSize - 1;
+        this.idleWaitNanos = idleWait.toNanos();
+    }
+
+    /**
+     * Subscribe the LibraryEventSubscriber beans, once every bean exists so subscribers may depend on
+     * services that publish
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public synchronized void subscribeBeans() {
+        if (beansSubscribed) {
+            return;
+        }
+        beansSubscribed = true;
+        subscriberBeans.orderedStream()
+                .forEach(subscriber -> subscribe(subscriber.getClass().getSimpleName(), subscriber));
+    }
+
+    /**
+     * Start delivering events published from now on to the subscriber, on a thread named after it
+     */
+    public Subscription subscribe(String name, LibraryEventSubscriber subscriber) {
+        Subscription subscription = new Subscription(name, subscriber, claimed.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Publish the event once the current transaction commits, or right away outside a transaction
+     */
+    public void publish(LibraryEvent event) {
+        CommitJournal.record(this, event, events -> events.forEach(this::publishNow));
+    }
+
+    /**
+     * Write the event to the next free slot
+     *
+     * @return false if the event was dropped because the slowest subscriber is a full ring behind
+     */
+    boolean publishNow(LibraryEvent event) {
+        long sequence;
+        do {
+            long current = claimed.get();
+            sequence = current + 1;
+            if (sequence - entries.length > slowestSequence(current)) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence - 1, sequence));
+
+        int slot = (int) (sequence & mask);
+        entries[slot] = event;
+        // The volatile write hands the entry over to subscribers reading the same slot's sequence
+        available.set(slot, sequence);
+        published.increment();
+        return true;
+    }
+
+    /**
+     * Last sequence every subscriber has handled; with no subscribers nothing holds publishers back
+     */
+    private long slowestSequence(long claimedSequence) {
+        long slowest = claimedSequence;
+        for (Subscription subscription : subscriptions) {
+            slowest = Math.min(slowest, subscription.sequence.get());
+        }
+        return slowest;
+    }
+
+    public EventBusStats stats() {
+        long head = claimed.get();
+        return new EventBusStats(published.sum(), dropped.sum(), failed.sum(), head - slowestSequence(head));
+    }
+
+    /**
+     * Stop every subscriber after it has handled the events already published
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Subscription subscription : subscriptions) {
+            subscription.thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * One subscriber's position in the ring and the thread delivering to it
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final LibraryEventSubscriber subscriber;
+        /** Last sequence handed to the subscriber */
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean open = true;
+
+        private Subscription(String name, LibraryEventSubscriber subscriber, long startAfter) {
+            this.subscriber = subscriber;
+            this.sequence = new AtomicLong(startAfter);
+            this.thread = new Thread(this::follow, "library-events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        private void follow() {
+            try {
+                long next = sequence.get() + 1;
+                int idleSpins = 0;
+                while (open) {
+                    int slot = (int) (next & mask);
+                    if (available.get(slot) == next) {
+                        deliver(entries[slot]);
+                        sequence.set(next);
+                        next++;
+                        idleSpins = 0;
+                    } else if (!running) {
+                        return;
+                    } else if (idleSpins++ < SPINS_BEFORE_PARKING) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(idleWaitNanos);
+                    }
+                }
+            } finally {
+                // A subscriber no longer followed must not pin the slowest sequence
+                subscriptions.remove(this);
+            }
+        }
+
+        private void deliver(LibraryEvent event) {
+            try {
+                subscriber.onEvent(event);
+            } catch (Throwable e) {
+                failed.increment();
+            }
+        }
+
+        /**
+         * Stop delivering and release the subscriber's hold on the ring
+         */
+        @Override
+        public void close() {
+            open = false;
+            subscriptions.remove(this);
+            LockSupport.unpark(thread);
+        }
+    }
+}
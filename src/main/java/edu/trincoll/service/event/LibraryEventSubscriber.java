@@ -0,0 +1,11 @@
+package edu.trincoll.service.event;
+
+/**
+ * Receives every event published on the {@link LibraryEventBus}, in publication order, on a thread
+ * of its own. Spring beans implementing this interface are subscribed when the context starts.
+ */
+@FunctionalInterface
+public interface LibraryEventSubscriber {
+
+    void onEvent(LibraryEvent event);
+}
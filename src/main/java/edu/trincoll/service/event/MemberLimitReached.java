@@ -0,0 +1,11 @@
+package edu.trincoll.service.event;
+
+import java.time.Instant;
+
+/**
+ * A checkout was refused because the member already has as many books as their membership allows
+ *
+ * @param limit books the member's membership type allows at once
+ */
+public record MemberLimitReached(String memberEmail, int limit, Instant occurredAt) implements LibraryEvent {
+}
@@ -0,0 +1,167 @@
+package edu.trincoll.service.fee;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.FeeLedgerAmountView;
+import edu.trincoll.service.MemberService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Streams the fee ledger in (member email, id) order, a chunk per read-only transaction, and checks
+ * each member's summed entries against their stored balance. Only one chunk and the running total
+ * of the member it ends in are held at a time, however long the ledger grows. Members with a nonzero
+ * balance but no entries at all never appear in the ledger, so a second pass pages through the members
+ * with a nonzero balance in email order and checks those without entries against a ledger total of
+ * zero.
+ *
+ * Entries written while the scan runs can make a balance look wrong, so a difference is confirmed
+ * under the member's row lock before it counts. Reconciliation runs nightly and only reports;
+ * backfill rewrites every differing balance from the ledger, e.g. after loading historical entries.
+ * Set library.fee-ledger.reconcile-cron to "-" to disable the nightly run.
+ */
+@Component
+public class FeeLedgerReconciliationJob {
+
+    private final FeeLedgerService ledgerService;
+    private final MemberService memberService;
+    private final int chunkSize;
+    private volatile FeeReconciliation lastReconciliation;
+
+    public FeeLedgerReconciliationJob(FeeLedgerService ledgerService, MemberService memberService,
+                                      @Value("${library.fee-ledger.chunk-size:1000}") int chunkSize) {
+        this.ledgerService = ledgerService;
+        this.memberService = memberService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${library.fee-ledger.reconcile-cron:0 30 3 * * *}")
+    public void reconcileNightly() {
+        lastReconciliation = reconcile();
+    }
+
+    /**
+     * Outcome of the last nightly reconciliation, empty until one has run
+     */
+    public Optional<FeeReconciliation> lastReconciliation() {
+        return Optional.ofNullable(lastReconciliation);
+    }
+
+    /**
+     * Check every balance against the ledger without changing anything
+     */
+    public FeeReconciliation reconcile() {
+        return scan(false);
+    }
+
+    /**
+     * Set every balance that differs from the ledger to the ledger total
+     */
+    public FeeReconciliation backfill() {
+        return scan(true);
+    }
+
+    private FeeReconciliation scan(boolean repair) {
+        Tally tally = new Tally(repair);
+        String afterEmail = "";
+        long afterId = 0;
+        String member = null;
+        long memberTotal = 0;
+        List<FeeLedgerAmountView> chunk;
+        do {
+            chunk = ledgerService.readChunk(afterEmail, afterId, chunkSize);
+            // Totals of the members whose last entry is in this chunk
+            Map<String, Long> completed = new LinkedHashMap<>();
+            for (FeeLedgerAmountView entry : chunk) {
+                if (!entry.getMemberEmail().equals(member)) {
+                    if (member != null) {
+                        completed.put(member, memberTotal);
+                    }
+                    member = entry.getMemberEmail();
+                    memberTotal = 0;
+                }
+                memberTotal += entry.getAmountCents();
+            }
+            if (chunk.size() < chunkSize && member != null) {
+                completed.put(member, memberTotal);
+            }
+            tally.entriesRead += chunk.size();
+            check(completed, tally);
+            if (!chunk.isEmpty()) {
+                FeeLedgerAmountView last = chunk.get(chunk.size() - 1);
+                afterEmail = last.getMemberEmail();
+                afterId = last.getId();
+            }
+        } while (chunk.size() == chunkSize);
+        checkBalancesWithoutEntries(tally);
+        return new FeeReconciliation(tally.entriesRead, tally.membersChecked, tally.mismatches, tally.repaired);
+    }
+
+    /**
+     * Check the members with a nonzero balance that the ledger pass could not see, having no entries
+     */
+    private void checkBalancesWithoutEntries(Tally tally) {
+        String afterEmail = "";
+        List<String> chunk;
+        do {
+            chunk = ledgerService.readBalanceChunk(afterEmail, chunkSize);
+            Set<String> withEntries = ledgerService.membersWithEntries(chunk);
+            Map<String, Long> withoutEntries = new LinkedHashMap<>();
+            for (String email : chunk) {
+                if (!withEntries.contains(email)) {
+                    withoutEntries.put(email, 0L);
+                }
+            }
+            check(withoutEntries, tally);
+            if (!chunk.isEmpty()) {
+                afterEmail = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+    }
+
+    /**
+     * Compare the streamed totals with the stored balances, loading the members in one query, and
+     * confirm each difference under the member's lock
+     */
+    private void check(Map<String, Long> ledgerTotals, Tally tally) {
+        if (ledgerTotals.isEmpty()) {
+            return;
+        }
+        Map<String, Member> members = memberService.findAllByEmail(ledgerTotals.keySet());
+        ledgerTotals.forEach((email, ledgerCents) -> {
+            Member member = members.get(email);
+            if (member == null) {
+                return;
+            }
+            tally.membersChecked++;
+            if (member.getFeeBalanceCents() == ledgerCents) {
+                return;
+            }
+            FeeLedgerService.BalanceCheck confirmed = ledgerService.verifyBalance(email, tally.repair);
+            if (confirmed != null && !confirmed.matches()) {
+                tally.mismatches++;
+                if (tally.repair) {
+                    tally.repaired++;
+                }
+            }
+        });
+    }
+
+    private static final class Tally {
+        final boolean repair;
+        long entriesRead;
+        long membersChecked;
+        long mismatches;
+        long repaired;
+
+        Tally(boolean repair) {
+            this.repair = repair;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package edu.trincoll.service.fee;
+
+import edu.trincoll.model.FeeLedgerEntry;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.FeeLedgerAmountView;
+import edu.trincoll.repository.FeeLedgerRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.MemberService;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only ledger of late fees and the per-member balances kept from it.
+ *
+ * Every charge is written to the ledger and added to the member's fee_balance_cents in the same
+ * transaction, so a balance or the outstanding-balance report is read directly instead of summing
+ * the ledger. {@link FeeLedgerReconciliationJob} checks the balances against the ledger.
+ */
+@Service
+@Transactional
+public class FeeLedgerService {
+
+    /** A member's stored balance and the sum of their ledger entries */
+    public record BalanceCheck(String memberEmail, long storedCents, long ledgerCents) {
+        public boolean matches() {
+            return storedCents == ledgerCents;
+        }
+    }
+
+    private final FeeLedgerRepository ledgerRepository;
+    private final MemberRepository memberRepository;
+    private final MemberService memberService;
+
+    public FeeLedgerService(FeeLedgerRepository ledgerRepository, MemberRepository memberRepository,
+                            MemberService memberService) {
+        this.ledgerRepository = ledgerRepository;
+        this.memberRepository = memberRepository;
+        this.memberService = memberService;
+    }
+
+    /**
+     * Append a member's late fees to the ledger and add their total to the member's balance
+     *
+     * @return the total charged in cents
+     */
+    public long recordLateFees(Member member, List<FeeLedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        ledgerRepository.saveAll(entries);
+        long total = entries.stream().mapToLong(FeeLedgerEntry::getAmountCents).sum();
+        memberService.addFeeBalance(member, total);
+        return total;
+    }
+
+    /**
+     * Late fees the member owes, in cents
+     */
+    @Transactional(readOnly = true)
+    public long balanceCents(String memberEmail) {
+        return memberService.findByEmailOrThrow(memberEmail).getFeeBalanceCents();
+    }
+
+    /**
+     * Balance in cents of every member owing late fees, by email
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> outstandingBalances() {
+        Map<String, Long> balances = new LinkedHashMap<>();
+        for (Member member : memberRepository.findByFeeBalanceCentsGreaterThanOrderByEmail(0)) {
+            balances.put(member.getEmail(), member.getFeeBalanceCents());
+        }
+        return balances;
+    }
+
+    /**
+     * A member's ledger entries, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<FeeLedgerEntry> findEntries(String memberEmail) {
+        return ledgerRepository.findByMemberEmailOrderById(memberEmail);
+    }
+
+    /**
+     * The next chunk of ledger amounts after the given (member email, id) key
+     */
+    @Transactional(readOnly = true)
+    public List<FeeLedgerAmountView> readChunk(String afterEmail, long afterId, int limit) {
+        return ledgerRepository.findAmountsAfter(afterEmail, afterId, Limit.of(limit));
+    }
+
+    /**
+     * The next chunk of emails of members with a nonzero balance after the given email
+     */
+    @Transactional(readOnly = true)
+    public List<String> readBalanceChunk(String afterEmail, int limit) {
+        return memberRepository.findEmailsWithFeeBalanceAfter(afterEmail, Limit.of(limit));
+    }
+
+    /**
+     * Those of the given members that have ledger entries
+     */
+    @Transactional(readOnly = true)
+    public Set<String> membersWithEntries(Collection<String> memberEmails) {
+        if (memberEmails.isEmpty()) {
+            return Set.of();
+        }
+        return Set.copyOf(ledgerRepository.findMemberEmailsWithEntries(memberEmails));
+    }
+
+    /**
+     * Compare a member's balance with their ledger while holding the member's row lock, so no return
+     * can change either in between, and optionally overwrite the balance with the ledger total
+     *
+     * @return the comparison, or null if the member no longer exists
+     */
+    public BalanceCheck verifyBalance(String memberEmail, boolean repair) {
+        Member member = memberRepository.lockByEmail(memberEmail).orElse(null);
+        if (member == null) {
+            return null;
+        }
+        BalanceCheck check = new BalanceCheck(memberEmail, member.getFeeBalanceCents(),
+                ledgerRepository.sumAmountCentsByMemberEmail(memberEmail));
+        if (repair && !check.matches()) {
+            member.setFeeBalanceCents(check.ledgerCents());
+        }
+        return check;
+    }
+}
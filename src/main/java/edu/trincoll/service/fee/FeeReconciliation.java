@@ -0,0 +1,12 @@
+package edu.trincoll.service.fee;
+
+/**
+ * Outcome of a pass over the fee ledger
+ *
+ * @param entriesRead    ledger entries streamed
+ * @param membersChecked members whose balance was compared with their entries
+ * @param mismatches     members whose balance differed from their ledger total
+ * @param repaired       mismatched balances overwritten with the ledger total
+ */
+public record FeeReconciliation(long entriesRead, long membersChecked, long mismatches, long repaired) {
+}
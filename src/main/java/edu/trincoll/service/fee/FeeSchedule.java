@@ -0,0 +1,83 @@
+package edu.trincoll.service.fee;
+
+import java.util.List;
+
+/**
+ * How a membership type is charged for a late return, in cents.
+ *
+ * The first {@code graceDays} days late are free. Each chargeable day after that is billed at the
+ * rate of the last tier starting on or before it, counting the first chargeable day as day 1, and
+ * the total never exceeds {@code capCents}.
+ *
+ * @param graceDays days late before any fee is charged
+ * @param tiers     rates by chargeable day, the first starting on day 1, in ascending order
+ * @param capCents  largest fee charged for one loan, or {@link #NO_CAP}
+ */
+public record FeeSchedule(int graceDays, List<Tier> tiers, long capCents) {
+
+    public static final long NO_CAP = Long.MAX_VALUE;
+
+    /**
+     * Daily rate from the given chargeable day on
+     */
+    public record Tier(int fromDay, long centsPerDay) {
+    }
+
+    public FeeSchedule {
+        if (graceDays < 0 || capCents < 0) {
+            throw new IllegalArgumentException("Grace days and cap must not be negative");
+        }
+        tiers = List.copyOf(tiers);
+        if (tiers.isEmpty() || tiers.get(0).fromDay() != 1) {
+            throw new IllegalArgumentException("The first tier must start on day 1");
+        }
+        for (int i = 0; i < tiers.size(); i++) {
+            if (tiers.get(i).centsPerDay() < 0) {
+                throw new IllegalArgumentException("Daily rates must not be negative");
+            }
+            if (i > 0 && tiers.get(i).fromDay() <= tiers.get(i - 1).fromDay()) {
+                throw new IllegalArgumentException("Tiers must start on ascending days");
+            }
+        }
+    }
+
+    /**
+     * Flat daily rate with no grace period and no cap
+     */
+    public static FeeSchedule daily(long centsPerDay) {
+        return new FeeSchedule(0, List.of(new Tier(1, centsPerDay)), NO_CAP);
+    }
+
+    /**
+     * No fee however late
+     */
+    public static FeeSchedule free() {
+        return daily(0);
+    }
+
+    /**
+     * Fee in cents for a loan returned the given number of days late, summed day by day.
+     * This is the reference definition; {@link LateFeeRateTable} answers the same in constant time.
+     */
+    public long feeCents(long daysLate) {
+        long fee = 0;
+        for (long day = 1; day <= daysLate - graceDays && fee < capCents; day++) {
+            fee = Math.min(capCents, fee + rateOn(day));
+        }
+        return fee;
+    }
+
+    /**
+     * Rate of the last tier starting on or before the chargeable day
+     */
+    long rateOn(long day) {
+        long rate = 0;
+        for (Tier tier : tiers) {
+            if (tier.fromDay() > day) {
+                break;
+            }
+            rate = tier.centsPerDay();
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,89 @@
+package edu.trincoll.service.fee;
+
+import edu.trincoll.model.MembershipType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Late fees in cents from a rate table compiled once from the strategies' fee schedules.
+ *
+ * For each membership type the table holds the fee owed after every chargeable day up to the start
+ * of the last tier; past that the fee grows by the last tier's rate until it reaches the cap. A fee
+ * is then an array read or one multiplication, with no strategy lookup, no allocation and no
+ * floating point rounding. Tables are indexed by membership ordinal.
+ */
+@Component
+public class LateFeeRateTable {
+
+    private static final MembershipType[] TYPES = MembershipType.values();
+
+    private final int[] graceDays = new int[TYPES.length];
+    private final long[][] feeAfterDay = new long[TYPES.length][];
+    private final long[] tailRate = new long[TYPES.length];
+    private final long[] capCents = new long[TYPES.length];
+
+    public LateFeeRateTable(LateFeeStrategyFactory lateFeeStrategyFactory) {
+        for (MembershipType type : TYPES) {
+            compile(type.ordinal(), lateFeeStrategyFactory.getStrategy(type).schedule());
+        }
+    }
+
+    private void compile(int index, FeeSchedule schedule) {
+        int lastTierStart = schedule.tiers().get(schedule.tiers().size() - 1).fromDay();
+        long[] fees = new long[lastTierStart];
+        for (int day = 1; day < lastTierStart; day++) {
+            fees[day] = Math.min(schedule.capCents(), fees[day - 1] + schedule.rateOn(day));
+        }
+        graceDays[index] = schedule.graceDays();
+        feeAfterDay[index] = fees;
+        tailRate[index] = schedule.rateOn(lastTierStart);
+        capCents[index] = schedule.capCents();
+    }
+
+    /**
+     * Fee in cents for a loan returned the given number of days late
+     */
+    public long feeCents(MembershipType membershipType, long daysLate) {
+        return feeCents(membershipType.ordinal(), daysLate);
+    }
+
+    /**
+     * Fee in cents for each (membership, days late) pair, for billing runs over many loans at once
+     *
+     * @param feesCents filled with the fee of each pair; must be as long as the inputs
+     * @return the total of all fees in cents
+     */
+    public long feesCents(MembershipType[] memberships, long[] daysLate, long[] feesCents) {
+        if (memberships.length != daysLate.length || feesCents.length != daysLate.length) {
+            throw new IllegalArgumentException("Memberships, days late and fees must be the same length");
+        }
+        long total = 0;
+        for (int i = 0; i < daysLate.length; i++) {
+            long fee = feeCents(memberships[i].ordinal(), daysLate[i]);
+            feesCents[i] = fee;
+            total += fee;
+        }
+        return total;
+    }
+
+    private long feeCents(int index, long daysLate) {
+        long chargeableDays = daysLate - graceDays[index];
+        if (chargeableDays <= 0) {
+            return 0;
+        }
+        long[] fees = feeAfterDay[index];
+        if (chargeableDays < fees.length) {
+            return fees[(int) chargeableDays];
+        }
+        // Every day from the last tier on costs the tail rate; stop at the cap without overflowing
+        long base = fees[fees.length - 1];
+        long rate = tailRate[index];
+        long tailDays = chargeableDays - (fees.length - 1);
+        if (rate == 0) {
+            return base;
+        }
+        if (tailDays > (capCents[index] - base) / rate) {
+            return capCents[index];
+        }
+        return base + tailDays * rate;
+    }
+}
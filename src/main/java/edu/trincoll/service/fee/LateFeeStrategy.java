@@ -4,12 +4,23 @@ package edu.trincoll.service.fee;
  * Strategy interface for calculating late fees.
  * This interface follows the Open-Closed Principle by allowing new fee calculation
  * strategies to be added without modifying existing code.
+ *
+ * A strategy declares its fees as a {@link FeeSchedule}, which {@link LateFeeRateTable} compiles
+ * into a rate table for checkouts and billing runs.
  */
 public interface LateFeeStrategy {
+
+    /**
+     * Grace period, daily rates and cap of this strategy
+     */
+    FeeSchedule schedule();
+
     /**
      * Calculate the late fee based on the number of days late
      * @param daysLate number of days the book is overdue
      * @return the calculated late fee
      */
-    double calculateLateFee(long daysLate);
-}
\ No newline at end of file
+    default double calculateLateFee(long daysLate) {
+        return schedule().feeCents(daysLate) / 100.0;
+    }
+}
@@ -8,8 +8,10 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class PremiumLateFeeStrategy implements LateFeeStrategy {
+    private static final FeeSchedule SCHEDULE = FeeSchedule.free();
+
     @Override
-    public double calculateLateFee(long daysLate) {
-        return 0.0;
+    public FeeSchedule schedule() {
+        return SCHEDULE;
     }
-}
\ No newline at end of file
+}
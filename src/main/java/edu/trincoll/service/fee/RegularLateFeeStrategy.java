@@ -8,10 +8,10 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class RegularLateFeeStrategy implements LateFeeStrategy {
-    private static final double DAILY_RATE = 0.50;
+    private static final FeeSchedule SCHEDULE = FeeSchedule.daily(50);
 
     @Override
-    public double calculateLateFee(long daysLate) {
-        return daysLate * DAILY_RATE;
+    public FeeSchedule schedule() {
+        return SCHEDULE;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,10 @@
+package edu.trincoll.service.importer;
+
+/**
+ * A source line that was not imported
+ *
+ * @param line    line of the source, counting from 1
+ * @param message why the line was rejected
+ */
+public record BookImportError(long line, String message) {
+}
@@ -0,0 +1,35 @@
+package edu.trincoll.service.importer;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Line formats the import pipeline reads
+ */
+public enum BookImportFormat {
+    /** Comma-separated values with a header row naming the isbn, title, author and publication_date columns */
+    CSV(MediaType.parseMediaType("text/csv")),
+    /** One JSON object per line with isbn, title, author and publication_date fields */
+    JSON_LINES(MediaType.parseMediaType("application/x-ndjson"));
+
+    private final MediaType mediaType;
+
+    BookImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Format of a request body with the given content type
+     */
+    public static BookImportFormat forMediaType(MediaType mediaType) {
+        for (BookImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + mediaType);
+    }
+}
@@ -0,0 +1,91 @@
+package edu.trincoll.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Turns source lines into validated rows. Not thread-safe: a CSV parser remembers the column order
+ * from the header line.
+ *
+ * A line that cannot be imported throws IllegalArgumentException with the reason, so the pipeline
+ * can report it and carry on with the next line. ISBNs are only required to be present, as when a
+ * book is created through the API, unless strict checking rejects malformed ones and wrong check
+ * digits. The publication date may be named publication_date or publicationDate in either format.
+ */
+final class BookImportParser {
+
+    private static final String[] COLUMNS = {"isbn", "title", "author", "publication_date"};
+
+    private final BookImportFormat format;
+    private final ObjectMapper objectMapper;
+    private final boolean strictIsbn;
+    private int[] columnIndexes;
+
+    BookImportParser(BookImportFormat format, ObjectMapper objectMapper, boolean strictIsbn) {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.strictIsbn = strictIsbn;
+    }
+
+    /**
+     * Whether the next line is a CSV header still to be read with {@link #readHeader(String)}
+     */
+    boolean expectsHeader() {
+        return format == BookImportFormat.CSV && columnIndexes == null;
+    }
+
+    /**
+     * Locate the columns by name; publicationDate is accepted for publication_date
+     */
+    void readHeader(String line) {
+        columnIndexes = Csv.columnIndexes(line, COLUMNS);
+    }
+
+    BookImportRow parse(long lineNumber, String line) {
+        String[] values = format == BookImportFormat.CSV ? Csv.values(line, columnIndexes) : jsonValues(line);
+        String isbn = Csv.required(values[0], "ISBN");
+        if (strictIsbn && Isbn.key(isbn) == Isbn.INVALID) {
+            throw new IllegalArgumentException("Invalid ISBN: " + isbn);
+        }
+        return new BookImportRow(lineNumber, isbn, Csv.required(values[1], "Title"), Csv.required(values[2], "Author"),
+                parseDate(Csv.required(values[3], "Publication date")));
+    }
+
+    private String[] jsonValues(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        String publicationDate = text(node, "publication_date");
+        return new String[]{text(node, "isbn"), text(node, "title"), text(node, "author"),
+                publicationDate != null ? publicationDate : text(node, "publicationDate")};
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * ISO date, or a bare year as catalog exports often carry, taken as January 1
+     */
+    private static LocalDate parseDate(String value) {
+        try {
+            if (value.length() == 4 && value.chars().allMatch(Character::isDigit)) {
+                return LocalDate.of(Integer.parseInt(value), 1, 1);
+            }
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid publication date: " + value);
+        }
+    }
+}
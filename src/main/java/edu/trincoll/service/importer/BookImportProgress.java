@@ -0,0 +1,11 @@
+package edu.trincoll.service.importer;
+
+/**
+ * Running totals of an import, reported after every written batch
+ *
+ * @param rowsRead rows parsed so far, excluding the CSV header and blank lines
+ * @param imported books written so far
+ * @param rejected rows rejected so far, while parsing or writing
+ */
+public record BookImportProgress(long rowsRead, long imported, long rejected) {
+}
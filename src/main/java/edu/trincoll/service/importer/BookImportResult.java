@@ -0,0 +1,16 @@
+package edu.trincoll.service.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import
+ *
+ * @param rowsRead      rows in the source, excluding the CSV header and blank lines
+ * @param imported      books written
+ * @param rejected      rows not imported
+ * @param errors        rejected rows in line order, up to the configured number
+ * @param elapsedMillis time taken by the whole import
+ */
+public record BookImportResult(long rowsRead, long imported, long rejected, List<BookImportError> errors,
+                               long elapsedMillis) {
+}
@@ -0,0 +1,20 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.model.Book;
+
+import java.time.LocalDate;
+
+/**
+ * One parsed and validated book from an import source
+ *
+ * @param line line of the source the book was read from
+ */
+public record BookImportRow(long line, String isbn, String title, String author, LocalDate publicationDate) {
+
+    /**
+     * New available book for the row
+     */
+    Book toBook() {
+        return new Book(isbn, title, author, publicationDate);
+    }
+}
@@ -0,0 +1,268 @@
+package edu.trincoll.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.repository.BookStatusView;
+import edu.trincoll.service.support.collection.LongHashSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Streams books from a CSV or JSON lines source into the catalog.
+ *
+ * The calling thread reads and parses the source line by line and hands batches of valid rows over a
+ * bounded queue to a few writer threads, so parsing the next batch overlaps writing the previous ones
+ * and the source is never held in memory. ISBNs are checked for duplicates, within the source and
+ * against the catalog, in a primitive set of 13-digit ISBN keys loaded up front.
+ *
+ * ISBNs are accepted as the API accepts them unless library.import.strict-isbn is set, which rejects
+ * malformed ISBNs and wrong check digits. Valid ISBNs are compared by their 13-digit key, anything
+ * else by its exact text.
+ *
+ * A line that cannot be parsed, repeats an ISBN or fails to save is rejected and reported without
+ * stopping the load. When a batch fails to save, its rows are retried one at a time so only the
+ * offending rows are rejected.
+ */
+@Service
+public class BookImportService {
+
+    private static final int ISBN_PAGE_SIZE = 10_000;
+    /** Tells a writer thread that no more batches will come */
+    private static final List<BookImportRow> END_OF_SOURCE = new ArrayList<>(0);
+
+    private final BookImportWriter writer;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int writerThreads;
+    private final int maxReportedErrors;
+    private final boolean strictIsbn;
+
+    public BookImportService(BookImportWriter writer, ObjectMapper objectMapper,
+                             @Value("${library.import.batch-size:1000}") int batchSize,
+                             @Value("${library.import.writer-threads:2}") int writerThreads,
+                             @Value("${library.import.max-reported-errors:1000}") int maxReportedErrors,
+                             @Value("${library.import.strict-isbn:false}") boolean strictIsbn) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.writerThreads = writerThreads;
+        this.maxReportedErrors = maxReportedErrors;
+        this.strictIsbn = strictIsbn;
+    }
+
+    public BookImportResult importBooks(Reader source, BookImportFormat format) {
+        return importBooks(source, format, progress -> { });
+    }
+
+    /**
+     * Import every book in the source
+     *
+     * @param progressListener told the running totals after each batch is written, on a writer thread
+     */
+    public BookImportResult importBooks(Reader source, BookImportFormat format,
+                                        Consumer<BookImportProgress> progressListener) {
+        long started = System.nanoTime();
+        SeenIsbns isbns = loadCatalogIsbns();
+        ImportTally tally = new ImportTally(maxReportedErrors, progressListener);
+        BlockingQueue<List<BookImportRow>> batches = new ArrayBlockingQueue<>(writerThreads * 2);
+        List<Thread> writers = new ArrayList<>(writerThreads);
+        for (int i = 0; i < writerThreads; i++) {
+            Thread thread = new Thread(() -> drain(batches, tally), "book-import-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            writers.add(thread);
+        }
+
+        try {
+            parse(new BufferedReader(source), new BookImportParser(format, objectMapper, strictIsbn), isbns, batches,
+                    tally);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            finish(batches, writers);
+        }
+        return tally.result(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void parse(BufferedReader reader, BookImportParser parser, SeenIsbns isbns,
+                       BlockingQueue<List<BookImportRow>> batches, ImportTally tally) throws IOException {
+        List<BookImportRow> batch = new ArrayList<>(batchSize);
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (parser.expectsHeader()) {
+                parser.readHeader(line);
+                continue;
+            }
+            tally.rowRead();
+            try {
+                BookImportRow row = parser.parse(lineNumber, line);
+                if (!isbns.add(row.isbn())) {
+                    throw new IllegalArgumentException("Duplicate ISBN: " + row.isbn());
+                }
+                batch.add(row);
+            } catch (IllegalArgumentException e) {
+                tally.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            if (batch.size() == batchSize) {
+                put(batches, batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            put(batches, batch);
+        }
+    }
+
+    /**
+     * Writer thread loop: write batches until the end of the source
+     */
+    private void drain(BlockingQueue<List<BookImportRow>> batches, ImportTally tally) {
+        try {
+            for (List<BookImportRow> batch = batches.take(); batch != END_OF_SOURCE; batch = batches.take()) {
+                write(batch, tally);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<BookImportRow> batch, ImportTally tally) {
+        try {
+            tally.imported(writer.writeBatch(batch));
+        } catch (RuntimeException batchFailure) {
+            for (BookImportRow row : batch) {
+                try {
+                    tally.imported(writer.writeBatch(List.of(row)));
+                } catch (RuntimeException rowFailure) {
+                    tally.reject(row.line(), "Could not be saved: "
+                            + NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+        tally.batchWritten();
+    }
+
+    /**
+     * Every ISBN in the catalog, read a page at a time in id order
+     */
+    private SeenIsbns loadCatalogIsbns() {
+        SeenIsbns isbns = new SeenIsbns();
+        long afterId = 0;
+        List<BookStatusView> page;
+        do {
+            page = writer.readIsbns(afterId, ISBN_PAGE_SIZE);
+            for (BookStatusView book : page) {
+                isbns.add(book.getIsbn());
+                afterId = book.getId();
+            }
+        } while (page.size() == ISBN_PAGE_SIZE);
+        return isbns;
+    }
+
+    /**
+     * Tell every writer the source is exhausted and wait for them to write what is queued
+     */
+    private void finish(BlockingQueue<List<BookImportRow>> batches, List<Thread> writers) {
+        for (int i = 0; i < writers.size(); i++) {
+            put(batches, END_OF_SOURCE);
+        }
+        for (Thread thread : writers) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the import to finish", e);
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<List<BookImportRow>> batches, List<BookImportRow> batch) {
+        try {
+            batches.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an import batch", e);
+        }
+    }
+
+    /**
+     * ISBNs already in the catalog or the source: valid ones as 13-digit keys in a primitive set, so
+     * every way of writing one matches, and the few that are not valid ISBNs by their text
+     */
+    private static final class SeenIsbns {
+        private final LongHashSet keys = new LongHashSet();
+        private final Set<String> others = new HashSet<>();
+
+        /**
+         * @return false if the ISBN was seen before
+         */
+        boolean add(String isbn) {
+            long key = Isbn.key(isbn);
+            return key != Isbn.INVALID ? keys.add(key) : others.add(isbn.trim());
+        }
+    }
+
+    /** Totals and reported errors shared by the parsing thread and the writers */
+    private static final class ImportTally {
+        private final int maxReportedErrors;
+        private final Consumer<BookImportProgress> progressListener;
+        private final List<BookImportError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        ImportTally(int maxReportedErrors, Consumer<BookImportProgress> progressListener) {
+            this.maxReportedErrors = maxReportedErrors;
+            this.progressListener = progressListener;
+        }
+
+        synchronized void rowRead() {
+            rowsRead++;
+        }
+
+        synchronized void imported(int books) {
+            imported += books;
+        }
+
+        synchronized void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new BookImportError(line, message));
+            }
+        }
+
+        void batchWritten() {
+            BookImportProgress progress;
+            synchronized (this) {
+                progress = new BookImportProgress(rowsRead, imported, rejected);
+            }
+            progressListener.accept(progress);
+        }
+
+        synchronized BookImportResult result(long elapsedMillis) {
+            List<BookImportError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(BookImportError::line));
+            return new BookImportResult(rowsRead, imported, rejected, List.copyOf(sorted), elapsedMillis);
+        }
+    }
+}
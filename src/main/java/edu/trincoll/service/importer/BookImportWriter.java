@@ -0,0 +1,54 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookStatusView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes import batches, one transaction per batch.
+ *
+ * Book ids come from a pooled sequence, so Hibernate assigns them without a round trip per book and
+ * sends a whole batch as a single JDBC batch of inserts. Books are persisted through the entity
+ * manager so the catalog, search index and caches see them like any other saved book.
+ */
+@Service
+public class BookImportWriter {
+
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+
+    public BookImportWriter(BookRepository bookRepository, EntityManager entityManager) {
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Insert the rows as new available books, all or none
+     *
+     * @return number of books written
+     */
+    @Transactional
+    public int writeBatch(List<BookImportRow> rows) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(rows.size());
+        for (BookImportRow row : rows) {
+            entityManager.persist(row.toBook());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return rows.size();
+    }
+
+    /**
+     * Ids and ISBNs of the books after the given id, in id order
+     */
+    @Transactional(readOnly = true)
+    public List<BookStatusView> readIsbns(long afterId, int limit) {
+        return bookRepository.findStatusViewsByIdGreaterThanOrderById(afterId, Limit.of(limit));
+    }
+}
@@ -0,0 +1,97 @@
+package edu.trincoll.service.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The CSV dialect shared by the importers: comma separated, with double-quoted fields that may
+ * contain commas and doubled quotes.
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields with doubled quotes inside
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Position of each column in a header line. Names match ignoring case and underscores, so
+     * publicationDate is accepted for publication_date.
+     */
+    static int[] columnIndexes(String header, String... columns) {
+        List<String> names = split(header);
+        int[] indexes = new int[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            indexes[column] = -1;
+            for (int i = 0; i < names.size(); i++) {
+                if (normalize(names.get(i)).equals(normalize(columns[column]))) {
+                    indexes[column] = i;
+                }
+            }
+            if (indexes[column] == -1) {
+                throw new IllegalArgumentException("CSV header has no " + columns[column] + " column");
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * The fields of a data line in column order, null where the line is too short
+     */
+    static String[] values(String line, int[] columnIndexes) {
+        List<String> fields = split(line);
+        String[] values = new String[columnIndexes.length];
+        for (int column = 0; column < columnIndexes.length; column++) {
+            int index = columnIndexes[column];
+            values[column] = index < fields.size() ? fields.get(index) : null;
+        }
+        return values;
+    }
+
+    /**
+     * Trimmed value, or IllegalArgumentException naming the missing field
+     */
+    static String required(String value, String name) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value.trim();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace("_", "");
+    }
+}
@@ -0,0 +1,84 @@
+package edu.trincoll.service.importer;
+
+/**
+ * ISBN checks for the import pipeline
+ */
+final class Isbn {
+
+    /** Key of an ISBN that is malformed or fails its check digit */
+    static final long INVALID = -1;
+
+    private Isbn() {
+    }
+
+    /**
+     * The ISBN as a 13-digit number, so the same book written as ISBN-10, ISBN-13, with or without
+     * hyphens and spaces always has the same key.
+     *
+     * @return the key, or {@link #INVALID} if the ISBN is malformed or its check digit is wrong
+     */
+    static long key(String isbn) {
+        if (isbn == null) {
+            return INVALID;
+        }
+        int[] digits = new int[13];
+        int count = 0;
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (count == digits.length) {
+                return INVALID;
+            }
+            if (c >= '0' && c <= '9') {
+                digits[count++] = c - '0';
+            } else if ((c == 'X' || c == 'x') && count == 9) {
+                // X stands for ten and only as the ISBN-10 check digit
+                digits[count++] = 10;
+            } else {
+                return INVALID;
+            }
+        }
+        if (count == 10) {
+            return isbn10Key(digits);
+        }
+        if (count != 13 || digits[12] == 10 || digits[12] != isbn13CheckDigit(digits)) {
+            return INVALID;
+        }
+        return toLong(digits);
+    }
+
+    private static long isbn10Key(int[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            sum += digits[i] * (10 - i);
+        }
+        if (sum % 11 != 0) {
+            return INVALID;
+        }
+        // Every ISBN-10 is the ISBN-13 with prefix 978 and a recomputed check digit
+        System.arraycopy(digits, 0, digits, 3, 9);
+        digits[0] = 9;
+        digits[1] = 7;
+        digits[2] = 8;
+        digits[12] = isbn13CheckDigit(digits);
+        return toLong(digits);
+    }
+
+    private static int isbn13CheckDigit(int[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += digits[i] * (i % 2 == 0 ? 1 : 3);
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static long toLong(int[] digits) {
+        long value = 0;
+        for (int digit : digits) {
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
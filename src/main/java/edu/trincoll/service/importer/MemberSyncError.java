@@ -0,0 +1,10 @@
+package edu.trincoll.service.importer;
+
+/**
+ * A roster line that was not synced
+ *
+ * @param line    line of the roster, counting from 1
+ * @param message why the line was rejected
+ */
+public record MemberSyncError(long line, String message) {
+}
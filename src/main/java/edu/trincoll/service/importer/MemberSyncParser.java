@@ -0,0 +1,46 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.model.MembershipType;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Turns roster lines with name, email and membership_type columns into validated rows. Not
+ * thread-safe: it remembers the column order from the header line.
+ *
+ * A line that cannot be synced throws IllegalArgumentException with the reason.
+ */
+final class MemberSyncParser {
+
+    private static final String[] COLUMNS = {"name", "email", "membership_type"};
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    private int[] columnIndexes;
+
+    boolean expectsHeader() {
+        return columnIndexes == null;
+    }
+
+    void readHeader(String line) {
+        columnIndexes = Csv.columnIndexes(line, COLUMNS);
+    }
+
+    MemberSyncRow parse(long lineNumber, String line) {
+        String[] values = Csv.values(line, columnIndexes);
+        String name = Csv.required(values[0], "Name");
+        String email = Csv.required(values[1], "Email");
+        if (!EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("Invalid email: " + email);
+        }
+        return new MemberSyncRow(lineNumber, name, email, parseType(Csv.required(values[2], "Membership type")));
+    }
+
+    private static MembershipType parseType(String value) {
+        try {
+            return MembershipType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid membership type: " + value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package edu.trincoll.service.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of a member sync
+ *
+ * @param rowsRead      rows in the roster, excluding the header and blank lines
+ * @param inserted      new members created
+ * @param updated       existing members whose name or membership type changed, or who were re-enrolled
+ * @param unchanged     existing members already up to date
+ * @param lapsed        members missing from the roster and newly marked lapsed
+ * @param rejected      rows not synced
+ * @param errors        rejected rows in line order, up to the configured number
+ * @param elapsedMillis time taken by the whole sync
+ */
+public record MemberSyncResult(long rowsRead, long inserted, long updated, long unchanged, long lapsed,
+                               long rejected, List<MemberSyncError> errors, long elapsedMillis) {
+}
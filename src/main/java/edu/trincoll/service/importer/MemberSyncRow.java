@@ -0,0 +1,19 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+
+/**
+ * One parsed and validated member from a registrar roster
+ *
+ * @param line line of the roster the member was read from
+ */
+public record MemberSyncRow(long line, String name, String email, MembershipType membershipType) {
+
+    /**
+     * New member for the row
+     */
+    Member toMember() {
+        return new Member(name, email, membershipType);
+    }
+}
@@ -0,0 +1,208 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.repository.MemberSyncView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Syncs members with a registrar roster in CSV with name, email and membership_type columns.
+ *
+ * The synced columns of every member are read in one query up front, and the roster is streamed line
+ * by line and diffed against them in memory: unknown emails become new members, known ones whose name
+ * or membership type differ are updated, and the rest are left alone. Inserts and updates are written
+ * together in batches of JDBC statements, one transaction per batch. A batch that fails is retried
+ * one row at a time so only the offending rows are rejected.
+ *
+ * Members missing from the roster can optionally be marked lapsed. That only happens when every row
+ * synced, so a rejected row or an empty roster never lapses members who are still enrolled.
+ */
+@Service
+public class MemberSyncService {
+
+    private final MemberSyncWriter writer;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public MemberSyncService(MemberSyncWriter writer,
+                             @Value("${library.member-sync.batch-size:1000}") int batchSize,
+                             @Value("${library.member-sync.max-reported-errors:1000}") int maxReportedErrors) {
+        this.writer = writer;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Bring the members in line with the roster
+     *
+     * @param markMissing mark members not on the roster lapsed as of today
+     */
+    public MemberSyncResult syncMembers(Reader roster, boolean markMissing) {
+        long started = System.nanoTime();
+        Map<String, MemberSyncView> existing = new HashMap<>();
+        for (MemberSyncView member : writer.readMembers()) {
+            existing.put(member.getEmail(), member);
+        }
+        SyncTally tally = new SyncTally(maxReportedErrors);
+        Set<String> onRoster = new HashSet<>();
+        try {
+            diff(new BufferedReader(roster), existing, onRoster, tally);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (markMissing && tally.rowsRead > 0 && tally.rejected == 0) {
+            markLapsed(existing, onRoster, tally);
+        }
+        return tally.result(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void diff(BufferedReader reader, Map<String, MemberSyncView> existing, Set<String> onRoster,
+                      SyncTally tally) throws IOException {
+        MemberSyncParser parser = new MemberSyncParser();
+        List<MemberSyncRow> inserts = new ArrayList<>();
+        Map<Long, MemberSyncRow> updates = new LinkedHashMap<>();
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (parser.expectsHeader()) {
+                parser.readHeader(line);
+                continue;
+            }
+            tally.rowsRead++;
+            MemberSyncRow row;
+            try {
+                row = parser.parse(lineNumber, line);
+            } catch (IllegalArgumentException e) {
+                tally.reject(lineNumber, e.getMessage());
+                continue;
+            }
+            if (!onRoster.add(row.email())) {
+                tally.reject(lineNumber, "Duplicate email: " + row.email());
+                continue;
+            }
+            MemberSyncView member = existing.get(row.email());
+            if (member == null) {
+                inserts.add(row);
+            } else if (changed(member, row)) {
+                updates.put(member.getId(), row);
+            } else {
+                tally.unchanged++;
+            }
+            if (inserts.size() + updates.size() == batchSize) {
+                write(inserts, updates, tally);
+                inserts = new ArrayList<>();
+                updates = new LinkedHashMap<>();
+            }
+        }
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            write(inserts, updates, tally);
+        }
+    }
+
+    private static boolean changed(MemberSyncView member, MemberSyncRow row) {
+        return !row.name().equals(member.getName())
+                || row.membershipType() != member.getMembershipType()
+                || member.getLapsedOn() != null;
+    }
+
+    private void write(List<MemberSyncRow> inserts, Map<Long, MemberSyncRow> updates, SyncTally tally) {
+        try {
+            writer.writeBatch(inserts, updates);
+            tally.inserted += inserts.size();
+            tally.updated += updates.size();
+            return;
+        } catch (RuntimeException batchFailure) {
+            // Fall through to retry each row on its own
+        }
+        for (MemberSyncRow row : inserts) {
+            try {
+                writer.writeBatch(List.of(row), Map.of());
+                tally.inserted++;
+            } catch (RuntimeException rowFailure) {
+                tally.rejectUnsaved(row, rowFailure);
+            }
+        }
+        for (Map.Entry<Long, MemberSyncRow> update : updates.entrySet()) {
+            try {
+                writer.writeBatch(List.of(), Map.of(update.getKey(), update.getValue()));
+                tally.updated++;
+            } catch (RuntimeException rowFailure) {
+                tally.rejectUnsaved(update.getValue(), rowFailure);
+            }
+        }
+    }
+
+    private void markLapsed(Map<String, MemberSyncView> existing, Set<String> onRoster, SyncTally tally) {
+        LocalDate today = LocalDate.now();
+        List<Long> ids = new ArrayList<>(batchSize);
+        List<String> emails = new ArrayList<>(batchSize);
+        for (MemberSyncView member : existing.values()) {
+            if (member.getLapsedOn() != null || onRoster.contains(member.getEmail())) {
+                continue;
+            }
+            ids.add(member.getId());
+            emails.add(member.getEmail());
+            if (ids.size() == batchSize) {
+                tally.lapsed += writer.markLapsed(ids, emails, today);
+                ids = new ArrayList<>(batchSize);
+                emails = new ArrayList<>(batchSize);
+            }
+        }
+        if (!ids.isEmpty()) {
+            tally.lapsed += writer.markLapsed(ids, emails, today);
+        }
+    }
+
+    /** Running totals of a sync and the errors reported so far */
+    private static final class SyncTally {
+        private final int maxReportedErrors;
+        private final List<MemberSyncError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long unchanged;
+        private long lapsed;
+        private long rejected;
+
+        SyncTally(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new MemberSyncError(line, message));
+            }
+        }
+
+        void rejectUnsaved(MemberSyncRow row, RuntimeException failure) {
+            reject(row.line(), "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(failure).getMessage());
+        }
+
+        MemberSyncResult result(long elapsedMillis) {
+            List<MemberSyncError> sorted = new ArrayList<>(errors);
+            sorted.sort(Comparator.comparingLong(MemberSyncError::line));
+            return new MemberSyncResult(rowsRead, inserted, updated, unchanged, lapsed, rejected,
+                    List.copyOf(sorted), elapsedMillis);
+        }
+    }
+}
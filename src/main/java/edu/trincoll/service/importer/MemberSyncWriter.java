@@ -0,0 +1,79 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.repository.MemberSyncView;
+import edu.trincoll.service.cache.MemberCache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes member sync batches, one transaction per batch.
+ *
+ * New members are persisted and changed members are loaded by id and modified, so both go out as
+ * JDBC batches of inserts and versioned updates, and the member cache hears about them through the
+ * entity listener like any other write.
+ */
+@Service
+public class MemberSyncWriter {
+
+    private final MemberRepository memberRepository;
+    private final EntityManager entityManager;
+    private final MemberCache memberCache;
+
+    public MemberSyncWriter(MemberRepository memberRepository, EntityManager entityManager, MemberCache memberCache) {
+        this.memberRepository = memberRepository;
+        this.entityManager = entityManager;
+        this.memberCache = memberCache;
+    }
+
+    /**
+     * Every member's synced columns, to diff the roster against
+     */
+    @Transactional(readOnly = true)
+    public List<MemberSyncView> readMembers() {
+        return memberRepository.findSyncViews();
+    }
+
+    /**
+     * Insert the new members and apply the changed rows to the existing members, all or none
+     *
+     * @param updates rows for existing members, keyed by member id
+     */
+    @Transactional
+    public void writeBatch(List<MemberSyncRow> inserts, Map<Long, MemberSyncRow> updates) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(Math.max(1, Math.max(inserts.size(), updates.size())));
+        for (MemberSyncRow row : inserts) {
+            entityManager.persist(row.toMember());
+        }
+        if (!updates.isEmpty()) {
+            for (Member member : memberRepository.findAllById(updates.keySet())) {
+                MemberSyncRow row = updates.get(member.getId());
+                member.setName(row.name());
+                member.setMembershipType(row.membershipType());
+                member.setLapsedOn(null);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Mark the given members lapsed, in one statement
+     *
+     * @param emails emails of the same members, whose cached copies are invalidated
+     * @return number of members newly marked
+     */
+    @Transactional
+    public int markLapsed(List<Long> ids, List<String> emails, LocalDate lapsedOn) {
+        int marked = memberRepository.markLapsed(ids, lapsedOn);
+        emails.forEach(memberCache::memberChanged);
+        return marked;
+    }
+}
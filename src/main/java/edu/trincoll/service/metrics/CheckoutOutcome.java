@@ -0,0 +1,25 @@
+package edu.trincoll.service.metrics;
+
+import java.util.Locale;
+
+/**
+ * How a single checkout or return ended, counted by {@link LibraryMetrics}
+ */
+public enum CheckoutOutcome {
+    CHECKED_OUT,
+    NOT_AVAILABLE,
+    LIMIT_REACHED,
+    NOT_FOUND,
+    RETURNED,
+    RETURNED_LATE,
+    NOT_CHECKED_OUT;
+
+    private final String label = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Value of the outcome label, e.g. {@code limit_reached}
+     */
+    public String label() {
+        return label;
+    }
+}
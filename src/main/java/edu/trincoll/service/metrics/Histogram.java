@@ -0,0 +1,84 @@
+package edu.trincoll.service.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of recorded values over fixed bucket bounds, exported as a Prometheus histogram.
+ *
+ * Recording finds the bucket with a scan over a handful of longs and bumps two striped LongAdders,
+ * so concurrent callers do not contend on a shared counter and nothing is allocated per value.
+ * Buckets are counted individually and only summed into cumulative counts when read.
+ */
+public final class Histogram {
+
+    private final long[] bounds;
+    private final double unit;
+    private final LongAdder[] buckets;
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * @param bounds ascending inclusive upper bounds of the buckets, in recorded units; a final
+     *               unbounded bucket is added
+     * @param unit   factor converting recorded units to exported units, e.g. 1e-9 for nanoseconds
+     *               exported as seconds
+     */
+    public Histogram(long[] bounds, double unit) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must ascend: " + Arrays.toString(bounds));
+            }
+        }
+        this.bounds = bounds.clone();
+        this.unit = unit;
+        this.buckets = new LongAdder[bounds.length + 1];
+        Arrays.setAll(buckets, i -> new LongAdder());
+    }
+
+    public void record(long value) {
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(value);
+    }
+
+    /**
+     * Number of values recorded
+     */
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Sum of the values recorded, in exported units
+     */
+    public double sum() {
+        return sum.sum() * unit;
+    }
+
+    /**
+     * Upper bounds of the bounded buckets, in exported units
+     */
+    public double[] bounds() {
+        return Arrays.stream(bounds).mapToDouble(bound -> bound * unit).toArray();
+    }
+
+    /**
+     * Values at or below each bound, followed by the total count for the unbounded bucket
+     */
+    public long[] cumulativeCounts() {
+        long[] counts = new long[buckets.length];
+        long running = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            counts[i] = running;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,71 @@
+package edu.trincoll.service.metrics;
+
+import edu.trincoll.service.cache.BookCache;
+import edu.trincoll.service.cache.CacheStats;
+import edu.trincoll.service.cache.MemberCache;
+import edu.trincoll.service.catalog.CompactCatalog;
+import edu.trincoll.service.event.LibraryEventBus;
+import edu.trincoll.service.notification.NotificationDispatcher;
+import edu.trincoll.service.support.ConcurrencyRetry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Registers the counters the caches, catalog, notification dispatcher, event bus and retry helper
+ * already keep as meters, read from their stats only when the metrics are scraped
+ */
+@Component
+public class LibraryGauges {
+
+    public LibraryGauges(LibraryMetrics metrics, MemberCache memberCache, BookCache bookCache,
+                         CompactCatalog catalog, NotificationDispatcher dispatcher, LibraryEventBus eventBus,
+                         ConcurrencyRetry retry) {
+        registerCache(metrics, "members", memberCache::stats);
+        registerCache(metrics, "books", bookCache::stats);
+
+        metrics.gauge("library_catalog_books", "Books held in the compact catalog", "", catalog::size);
+        metrics.gauge("library_catalog_off_heap_bytes", "Direct memory allocated by the compact catalog", "",
+                catalog::offHeapBytes);
+
+        metrics.functionCounter("library_notifications_total", "Notifications by delivery outcome",
+                LibraryMetrics.labels("outcome", "delivered"), () -> dispatcher.stats().delivered());
+        metrics.functionCounter("library_notifications_total", "Notifications by delivery outcome",
+                LibraryMetrics.labels("outcome", "failed"), () -> dispatcher.stats().failed());
+        metrics.functionCounter("library_notifications_total", "Notifications by delivery outcome",
+                LibraryMetrics.labels("outcome", "dropped"), () -> dispatcher.stats().dropped());
+
+        metrics.functionCounter("library_events_total", "Domain events by publication outcome",
+                LibraryMetrics.labels("outcome", "published"), () -> eventBus.stats().published());
+        metrics.functionCounter("library_events_total", "Domain events by publication outcome",
+                LibraryMetrics.labels("outcome", "dropped"), () -> eventBus.stats().dropped());
+        metrics.functionCounter("library_event_subscriber_failures_total",
+                "Events a subscriber threw on", "", () -> eventBus.stats().failed());
+        metrics.gauge("library_event_backlog", "Events the slowest subscriber has yet to handle", "",
+                () -> eventBus.stats().backlog());
+
+        metrics.functionCounter("library_concurrency_retries_total",
+                "Attempts retried after losing a concurrency conflict", "", retry::retries);
+        metrics.functionCounter("library_concurrency_exhausted_total",
+                "Operations that lost every attempt to concurrency conflicts", "", retry::exhausted);
+    }
+
+    private static void registerCache(LibraryMetrics metrics, String cache, Supplier<CacheStats> stats) {
+        String labels = LibraryMetrics.labels("cache", cache);
+        cacheCounter(metrics, "library_cache_hits_total", "Cache lookups answered from the cache", labels, stats,
+                CacheStats::hits);
+        cacheCounter(metrics, "library_cache_misses_total", "Cache lookups that found no live entry", labels, stats,
+                CacheStats::misses);
+        cacheCounter(metrics, "library_cache_evictions_total", "Entries evicted because the cache was full or expired",
+                labels, stats, CacheStats::evictions);
+        metrics.gauge("library_cache_size", "Entries held in the cache", labels, () -> stats.get().size());
+        metrics.gauge("library_cache_hit_ratio", "Share of cache lookups answered from the cache", labels,
+                () -> stats.get().hitRatio());
+    }
+
+    private static void cacheCounter(LibraryMetrics metrics, String name, String help, String labels,
+                                     Supplier<CacheStats> stats, ToDoubleFunction<CacheStats> value) {
+        metrics.functionCounter(name, help, labels, () -> value.applyAsDouble(stats.get()));
+    }
+}
@@ -0,0 +1,211 @@
+package edu.trincoll.service.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the library's counters, histograms and gauges, written out in the Prometheus text
+ * exposition format.
+ *
+ * Meters are looked up once by family name and label set and then updated through LongAdders, so the
+ * services can leave them on in production: a recorded value costs a few striped increments and no
+ * allocation. Gauges are read only when the metrics are scraped.
+ */
+@Component
+public class LibraryMetrics {
+
+    /** Bucket bounds for operation latencies, 100 microseconds to 10 seconds, in nanoseconds */
+    public static final long[] LATENCY_BOUNDS = {
+            100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L,
+            10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L
+    };
+
+    /** Bucket bounds for repository calls made by one operation */
+    public static final long[] CALL_COUNT_BOUNDS = {0, 1, 2, 3, 5, 10, 25, 50, 100, 250, 1000};
+
+    private static final double NANOS_TO_SECONDS = 1e-9;
+
+    private enum Type {
+        COUNTER, GAUGE, HISTOGRAM;
+
+        String exposition() {
+            return name().toLowerCase();
+        }
+    }
+
+    private record Family(String name, Type type, String help, ConcurrentMap<String, Object> meters) {
+    }
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentHashMap<>();
+    private final Map<CheckoutOutcome, LongAdder> outcomes = new EnumMap<>(CheckoutOutcome.class);
+    private final LongAdder lateFeeCents;
+
+    public LibraryMetrics() {
+        for (CheckoutOutcome outcome : CheckoutOutcome.values()) {
+            outcomes.put(outcome, counter("library_checkout_outcomes_total",
+                    "Checkouts and returns of single books by outcome", labels("outcome", outcome.label())));
+        }
+        lateFeeCents = counter("library_late_fees_cents_total", "Late fees charged on returns, in cents", "");
+    }
+
+    /**
+     * Count one checkout or return ending with the outcome
+     */
+    public void recordOutcome(CheckoutOutcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+
+    /**
+     * Add a late fee charged on a return
+     */
+    public void recordLateFee(long cents) {
+        lateFeeCents.add(cents);
+    }
+
+    /**
+     * Number of checkouts or returns that ended with the outcome
+     */
+    public long outcomeCount(CheckoutOutcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    /**
+     * Counter of the family with the given labels, created on first use
+     *
+     * @param labels label set rendered by {@link #labels(String...)}
+     */
+    public LongAdder counter(String name, String help, String labels) {
+        return (LongAdder) family(name, Type.COUNTER, help).meters().computeIfAbsent(labels, key -> new LongAdder());
+    }
+
+    /**
+     * Latency histogram of the family with the given labels, recording nanoseconds exported as seconds
+     */
+    public Histogram timer(String name, String help, String labels) {
+        return histogram(name, help, labels, LATENCY_BOUNDS, NANOS_TO_SECONDS);
+    }
+
+    /**
+     * Histogram of the family with the given labels, created on first use with the given buckets
+     */
+    public Histogram histogram(String name, String help, String labels, long[] bounds, double unit) {
+        return (Histogram) family(name, Type.HISTOGRAM, help).meters()
+                .computeIfAbsent(labels, key -> new Histogram(bounds, unit));
+    }
+
+    /**
+     * Register a value read when the metrics are scraped, replacing any gauge with the same labels
+     */
+    public void gauge(String name, String help, String labels, DoubleSupplier value) {
+        family(name, Type.GAUGE, help).meters().put(labels, value);
+    }
+
+    /**
+     * Register a monotonically increasing count kept elsewhere, read when the metrics are scraped
+     */
+    public void functionCounter(String name, String help, String labels, DoubleSupplier value) {
+        family(name, Type.COUNTER, help).meters().put(labels, value);
+    }
+
+    /**
+     * Every meter in the Prometheus text exposition format
+     */
+    public String scrape() {
+        StringWriter writer = new StringWriter();
+        try {
+            writeTo(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Write every meter in the Prometheus text exposition format, families and label sets in name order
+     */
+    public void writeTo(Writer writer) throws IOException {
+        for (Family family : new TreeMap<>(families).values()) {
+            writer.write("# HELP " + family.name() + " " + family.help() + "\n");
+            writer.write("# TYPE " + family.name() + " " + family.type().exposition() + "\n");
+            for (Map.Entry<String, Object> meter : new TreeMap<>(family.meters()).entrySet()) {
+                writeMeter(writer, family.name(), meter.getKey(), meter.getValue());
+            }
+        }
+    }
+
+    /**
+     * Render label names and values as {@code name="value",...}; the arguments alternate name and value
+     */
+    public static String labels(String... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name and value pairs");
+        }
+        StringBuilder labels = new StringBuilder();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(namesAndValues[i]).append("=\"").append(escape(namesAndValues[i + 1])).append('"');
+        }
+        return labels.toString();
+    }
+
+    private Family family(String name, Type type, String help) {
+        Family family = families.computeIfAbsent(name, key -> new Family(name, type, help, new ConcurrentHashMap<>()));
+        if (family.type() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type());
+        }
+        return family;
+    }
+
+    private static void writeMeter(Writer writer, String name, String labels, Object meter) throws IOException {
+        if (meter instanceof LongAdder counter) {
+            writeSample(writer, name, labels, counter.sum());
+        } else if (meter instanceof DoubleSupplier value) {
+            writeSample(writer, name, labels, value.getAsDouble());
+        } else if (meter instanceof Histogram histogram) {
+            double[] bounds = histogram.bounds();
+            long[] counts = histogram.cumulativeCounts();
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            for (int i = 0; i < bounds.length; i++) {
+                writeSample(writer, name + "_bucket", prefix + "le=\"" + format(bounds[i]) + "\"", counts[i]);
+            }
+            writeSample(writer, name + "_bucket", prefix + "le=\"+Inf\"", counts[bounds.length]);
+            writeSample(writer, name + "_count", labels, counts[bounds.length]);
+            writeSample(writer, name + "_sum", labels, histogram.sum());
+        }
+    }
+
+    private static void writeSample(Writer writer, String name, String labels, double value) throws IOException {
+        writer.write(name);
+        if (!labels.isEmpty()) {
+            writer.write("{" + labels + "}");
+        }
+        writer.write(" " + format(value) + "\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,17 @@
+package edu.trincoll.service.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter naming the kind of search or report an operation runs. The
+ * {@link ServiceMetricsAspect} records the operation's latency separately for each type.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface OperationType {
+}
@@ -0,0 +1,144 @@
+package edu.trincoll.service.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Times every public operation of the checkout, search, report, member and book management services
+ * and counts the repository calls each top-level operation makes.
+ *
+ * Operations are recorded in {@code library_service_duration_seconds}, labelled by service, operation,
+ * outcome (success or error) and, for parameters marked {@link OperationType}, the search or report
+ * type. A type is only used as a label when the call succeeds, so arbitrary input rejected by the
+ * service cannot create new series. Calls one service makes into another are timed too, but their
+ * repository calls are attributed to the outermost operation on the thread.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String DURATION = "library_service_duration_seconds";
+    private static final String DURATION_HELP = "Latency of service operations";
+    private static final String REPOSITORY_CALLS = "library_service_repository_calls";
+    private static final String REPOSITORY_CALLS_HELP = "Repository calls made by one top-level service operation";
+    private static final String OTHER_TYPE = "other";
+    private static final int NO_TYPE = -1;
+
+    /** Nesting depth and repository calls of the operations running on one thread */
+    private static final class OperationScope {
+        int depth;
+        int repositoryCalls;
+    }
+
+    /** Meters of one service method, resolved on its first call */
+    private final class OperationMeters {
+        final String service;
+        final String operation;
+        final int typeParameter;
+        final Histogram success;
+        final Histogram error;
+        final Histogram repositoryCalls;
+        final ConcurrentMap<String, Histogram> successByType = new ConcurrentHashMap<>();
+
+        OperationMeters(Method method) {
+            service = method.getDeclaringClass().getSimpleName();
+            operation = method.getName();
+            typeParameter = typeParameter(method);
+            success = metrics.timer(DURATION, DURATION_HELP, durationLabels("", "success"));
+            error = metrics.timer(DURATION, DURATION_HELP,
+                    durationLabels(typeParameter == NO_TYPE ? "" : OTHER_TYPE, "error"));
+            repositoryCalls = metrics.histogram(REPOSITORY_CALLS, REPOSITORY_CALLS_HELP,
+                    LibraryMetrics.labels("service", service, "operation", operation),
+                    LibraryMetrics.CALL_COUNT_BOUNDS, 1);
+        }
+
+        Histogram timer(ProceedingJoinPoint joinPoint, boolean failed) {
+            if (failed || typeParameter == NO_TYPE) {
+                return failed ? error : success;
+            }
+            if (!(joinPoint.getArgs()[typeParameter] instanceof String type)) {
+                return success;
+            }
+            return successByType.computeIfAbsent(type.toLowerCase(Locale.ROOT),
+                    key -> metrics.timer(DURATION, DURATION_HELP, durationLabels(key, "success")));
+        }
+
+        private String durationLabels(String type, String outcome) {
+            return LibraryMetrics.labels("service", service, "operation", operation, "type", type, "outcome", outcome);
+        }
+    }
+
+    private static final ThreadLocal<OperationScope> SCOPE = ThreadLocal.withInitial(OperationScope::new);
+
+    private final LibraryMetrics metrics;
+    private final ConcurrentMap<Method, OperationMeters> operations = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(LibraryMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Pointcut("execution(public * edu.trincoll.service.CheckoutService.*(..))"
+            + " || execution(public * edu.trincoll.service.BookSearchService.*(..))"
+            + " || execution(public * edu.trincoll.service.ReportService.*(..))"
+            + " || execution(public * edu.trincoll.service.MemberService.*(..))"
+            + " || execution(public * edu.trincoll.service.BookManagementService.*(..))")
+    void serviceOperation() {
+    }
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    void repositoryCall() {
+    }
+
+    @Around("serviceOperation()")
+    public Object timeOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        OperationScope scope = SCOPE.get();
+        boolean outermost = scope.depth++ == 0;
+        if (outermost) {
+            scope.repositoryCalls = 0;
+        }
+        boolean failed = true;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            scope.depth--;
+            OperationMeters meters = operations.computeIfAbsent(method, OperationMeters::new);
+            meters.timer(joinPoint, failed).record(elapsed);
+            if (outermost) {
+                meters.repositoryCalls.record(scope.repositoryCalls);
+            }
+        }
+    }
+
+    @Before("repositoryCall()")
+    public void countRepositoryCall() {
+        SCOPE.get().repositoryCalls++;
+    }
+
+    private static int typeParameter(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof OperationType) {
+                    return i;
+                }
+            }
+        }
+        return NO_TYPE;
+    }
+}
@@ -0,0 +1,18 @@
+package edu.trincoll.service.notification;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Transport that prints notifications to the console.
+ * In a real application this would be replaced by an email transport.
+ */
+@Component
+public class ConsoleNotificationTransport implements NotificationTransport {
+
+    @Override
+    public void send(NotificationMessage message) {
+        System.out.println("Sending email to: " + message.recipient());
+        System.out.println("Subject: " + message.subject());
+        System.out.println("Message: " + message.body());
+    }
+}
@@ -0,0 +1,243 @@
+package edu.trincoll.service.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous delivery engine for notifications.
+ *
+ * Submitted messages are parked per recipient and the recipient is put on a bounded queue.
+ * Further messages for a recipient that is already queued are coalesced into one digest, so a
+ * burst of checkouts produces one email. A single worker thread drains the queue and hands
+ * messages to the {@link NotificationTransport}. A failed delivery is retried with linear backoff
+ * on a separate scheduler thread, so a failing recipient never holds up the others, and any
+ * Throwable from the transport counts as a failed attempt rather than ending the thread.
+ * When the queue is full, submitters wait up to the offer timeout and the message is dropped after that;
+ * a message coalesced while its recipient waits for room shares the outcome of that wait.
+ */
+@Component
+public class NotificationDispatcher {
+
+    /** Messages parked for a recipient, and whether the recipient made it onto the queue */
+    private static final class Parked {
+        final List<NotificationMessage> messages = new ArrayList<>();
+        final CompletableFuture<Boolean> queued = new CompletableFuture<>();
+    }
+
+    private final NotificationTransport transport;
+    private final BlockingQueue<String> recipients;
+    private final Map<String, Parked> pending = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration offerTimeout;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    /** Starts its thread on the first retry */
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "notification-retry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public NotificationDispatcher(NotificationTransport transport,
+                                  @Value("${library.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${library.notifications.max-attempts:3}") int maxAttempts,
+                                  @Value("${library.notifications.retry-backoff:200ms}") Duration retryBackoff,
+                                  @Value("${library.notifications.offer-timeout:50ms}") Duration offerTimeout) {
+        this.transport = transport;
+        this.recipients = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.offerTimeout = offerTimeout;
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drain, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stop the worker after delivering everything already queued. Retries already scheduled still
+     * run; deliveries that would need another retry after that are counted as failed.
+     */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+            worker = null;
+        }
+        retryScheduler.shutdown();
+        retryScheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queue a message for delivery. A message for a recipient still waiting for room in the queue
+     * waits for that outcome too, so true always means the recipient is queued.
+     *
+     * @return false if the message was dropped because the queue stayed full or it has no recipient
+     */
+    public boolean submit(NotificationMessage message) {
+        submitted.increment();
+        String recipient = message.recipient();
+        if (recipient == null) {
+            dropped.increment();
+            return false;
+        }
+
+        boolean[] firstForRecipient = {false};
+        Parked parked = pending.compute(recipient, (key, existing) -> {
+            Parked messages = existing;
+            if (messages == null) {
+                messages = new Parked();
+                firstForRecipient[0] = true;
+            }
+            messages.messages.add(message);
+            return messages;
+        });
+        if (!firstForRecipient[0]) {
+            coalesced.increment();
+            // The first submitter settles this within the offer timeout
+            return parked.queued.join();
+        }
+
+        outstanding.incrementAndGet();
+        boolean queued = false;
+        try {
+            queued = recipients.offer(recipient, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queued) {
+            outstanding.decrementAndGet();
+            // Removed before settling, so every message coalesced into it learns it was dropped
+            if (pending.remove(recipient, parked)) {
+                dropped.add(parked.messages.size());
+            }
+        }
+        parked.queued.complete(queued);
+        return queued;
+    }
+
+    /**
+     * Wait until every queued message has been delivered or given up on
+     *
+     * @return true if the dispatcher became idle before the timeout
+     */
+    public boolean awaitIdle(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (outstanding.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    /**
+     * Current delivery counters
+     */
+    public NotificationStats stats() {
+        return new NotificationStats(submitted.sum(), coalesced.sum(), delivered.sum(),
+                retried.sum(), failed.sum(), dropped.sum());
+    }
+
+    private void drain() {
+        while (running || !recipients.isEmpty()) {
+            try {
+                String recipient = recipients.poll(100, TimeUnit.MILLISECONDS);
+                if (recipient == null) {
+                    continue;
+                }
+                Parked parked = pending.remove(recipient);
+                if (parked == null) {
+                    outstanding.decrementAndGet();
+                    continue;
+                }
+                List<NotificationMessage> messages = parked.messages;
+                attempt(messages.size() == 1 ? messages.get(0) : digest(messages), messages.size(), 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Send once, scheduling the next attempt on failure; the delivery stops being outstanding once it
+     * is delivered or given up on
+     */
+    private void attempt(NotificationMessage message, int messageCount, int attempt) {
+        boolean settled = true;
+        try {
+            transport.send(message);
+            delivered.add(messageCount);
+        } catch (Throwable e) {
+            if (attempt < maxAttempts && scheduleRetry(message, messageCount, attempt)) {
+                settled = false;
+            } else {
+                failed.add(messageCount);
+            }
+        } finally {
+            if (settled) {
+                outstanding.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return false if the dispatcher has stopped and takes no more retries
+     */
+    private boolean scheduleRetry(NotificationMessage message, int messageCount, int attempt) {
+        try {
+            retryScheduler.schedule(() -> attempt(message, messageCount, attempt + 1),
+                    retryBackoff.multipliedBy(attempt).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        retried.increment();
+        return true;
+    }
+
+    private static NotificationMessage digest(List<NotificationMessage> messages) {
+        String body = messages.stream()
+                .map(message -> message.subject() + ": " + message.body())
+                .collect(Collectors.joining("\n"));
+        return new NotificationMessage(messages.get(0).recipient(),
+                "You have " + messages.size() + " library notifications", body);
+    }
+}
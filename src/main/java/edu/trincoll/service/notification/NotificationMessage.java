@@ -0,0 +1,7 @@
+package edu.trincoll.service.notification;
+
+/**
+ * A single notification addressed to a member
+ */
+public record NotificationMessage(String recipient, String subject, String body) {
+}
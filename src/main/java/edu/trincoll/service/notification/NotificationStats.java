@@ -0,0 +1,15 @@
+package edu.trincoll.service.notification;
+
+/**
+ * Snapshot of the dispatcher's delivery counters
+ *
+ * @param submitted messages handed to the dispatcher
+ * @param coalesced messages merged into another pending message for the same recipient
+ * @param delivered messages handed to the transport successfully
+ * @param retried   delivery attempts that failed and were retried
+ * @param failed    messages given up on after the last retry
+ * @param dropped   messages rejected because the queue stayed full
+ */
+public record NotificationStats(long submitted, long coalesced, long delivered,
+                                long retried, long failed, long dropped) {
+}
@@ -0,0 +1,9 @@
+package edu.trincoll.service.notification;
+
+/**
+ * Delivers notifications to members, e.g. over SMTP.
+ * Implementations signal a failed delivery by throwing; the dispatcher retries it.
+ */
+public interface NotificationTransport {
+    void send(NotificationMessage message);
+}
@@ -0,0 +1,70 @@
+package edu.trincoll.service.overdue;
+
+import edu.trincoll.service.notification.NotificationDispatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the overdue sweep every night, chunk after chunk, until every loan overdue as of that day has
+ * been processed. Set library.overdue-sweep.cron to "-" to disable it.
+ *
+ * After each chunk the job waits for the dispatcher to deliver that chunk's digests, so the
+ * notification queue never holds more than one chunk and a large sweep does not overflow it. If
+ * delivery stalls past the timeout the run stops; the next run for the same day resumes from the
+ * checkpoint.
+ */
+@Component
+public class OverdueSweepJob {
+
+    private final OverdueSweepService sweepService;
+    private final NotificationDispatcher dispatcher;
+    private final Duration deliveryTimeout;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public OverdueSweepJob(OverdueSweepService sweepService, NotificationDispatcher dispatcher,
+                           @Value("${library.overdue-sweep.delivery-timeout:5m}") Duration deliveryTimeout) {
+        this.sweepService = sweepService;
+        this.dispatcher = dispatcher;
+        this.deliveryTimeout = deliveryTimeout;
+    }
+
+    @Scheduled(cron = "${library.overdue-sweep.cron:0 0 2 * * *}")
+    public void runNightly() {
+        run(LocalDate.now());
+    }
+
+    /**
+     * Sweep the loans overdue as of the given date
+     *
+     * @return the progress reached, or empty if a sweep was already running in this application
+     */
+    public Optional<OverdueSweepProgress> run(LocalDate today) {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            OverdueSweepProgress progress;
+            do {
+                progress = sweepService.processNextChunk(today);
+            } while (!progress.completed() && awaitDelivery());
+            return Optional.of(progress);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean awaitDelivery() {
+        try {
+            return dispatcher.awaitIdle(deliveryTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package edu.trincoll.service.overdue;
+
+import edu.trincoll.model.OverdueSweepCheckpoint;
+
+import java.time.LocalDate;
+
+/**
+ * Where the overdue sweep for a date stands: how many members have been notified about how many
+ * overdue loans, and whether every overdue loan has been processed
+ */
+public record OverdueSweepProgress(LocalDate sweepDate, long membersNotified, long loansNotified,
+                                   boolean completed) {
+
+    static OverdueSweepProgress of(OverdueSweepCheckpoint checkpoint) {
+        return new OverdueSweepProgress(checkpoint.getSweepDate(), checkpoint.getMembersNotified(),
+                checkpoint.getLoansNotified(), checkpoint.isCompleted());
+    }
+}
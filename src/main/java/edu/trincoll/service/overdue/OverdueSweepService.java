@@ -0,0 +1,155 @@
+package edu.trincoll.service.overdue;
+
+import edu.trincoll.model.OverdueSweepCheckpoint;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.repository.OverdueLoanView;
+import edu.trincoll.repository.OverdueSweepCheckpointRepository;
+import edu.trincoll.service.api.INotificationService;
+import edu.trincoll.service.cache.MemberCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notifies members about their overdue loans, one chunk of loans per transaction.
+ *
+ * Overdue loans are read in (due date, book id) keyset order, a fixed number at a time, so the sweep
+ * never holds more than one chunk however many loans are overdue. A member is sent one digest per
+ * sweep date, by the first chunk holding any of their overdue loans, listing up to
+ * library.overdue-sweep.max-loans-per-digest of them. Each member records the sweep date of their
+ * last digest, so returning a loan between chunks cannot earn them a second one. Loans of a borrower
+ * with no member record are not notified, as there is nowhere to record it.
+ *
+ * The checkpoint and the members' sweep dates are written in the same transaction that queues the
+ * notifications, which are handed to the dispatcher only when it commits, so a sweep that stops part
+ * way resumes after the last committed chunk without notifying anyone twice.
+ */
+@Service
+public class OverdueSweepService {
+
+    static final String SWEEP_NAME = "overdue-notifications";
+
+    /** Members notified by one chunk and the number of loans listed in their digests */
+    private record Notified(int members, int loans) {
+    }
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final OverdueSweepCheckpointRepository checkpointRepository;
+    private final INotificationService notificationService;
+    private final MemberCache memberCache;
+    private final int chunkSize;
+    private final int maxLoansPerDigest;
+
+    public OverdueSweepService(BookRepository bookRepository, MemberRepository memberRepository,
+                               OverdueSweepCheckpointRepository checkpointRepository,
+                               INotificationService notificationService, MemberCache memberCache,
+                               @Value("${library.overdue-sweep.chunk-size:500}") int chunkSize,
+                               @Value("${library.overdue-sweep.max-loans-per-digest:50}") int maxLoansPerDigest) {
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.notificationService = notificationService;
+        this.memberCache = memberCache;
+        this.chunkSize = chunkSize;
+        this.maxLoansPerDigest = maxLoansPerDigest;
+    }
+
+    /**
+     * Process the next chunk of the sweep of loans overdue as of the given date.
+     * A checkpoint left by a sweep for an earlier date is restarted; a completed sweep does nothing.
+     */
+    @Transactional
+    public OverdueSweepProgress processNextChunk(LocalDate today) {
+        OverdueSweepCheckpoint checkpoint = checkpointRepository.findById(SWEEP_NAME)
+                .orElseGet(() -> new OverdueSweepCheckpoint(SWEEP_NAME, today));
+        if (!today.equals(checkpoint.getSweepDate())) {
+            checkpoint.restart(today);
+        }
+        if (checkpoint.isCompleted()) {
+            return OverdueSweepProgress.of(checkpoint);
+        }
+
+        List<OverdueLoanView> chunk = bookRepository.findOverdueLoansAfter(today,
+                checkpoint.getLastDueDate(), checkpoint.getLastBookId(), Limit.of(chunkSize));
+        if (!chunk.isEmpty()) {
+            Notified notified = notifyMembersNotYetNotified(today, chunk);
+            OverdueLoanView last = chunk.get(chunk.size() - 1);
+            checkpoint.advance(last.getDueDate(), last.getId(), notified.members(), notified.loans());
+        }
+        if (chunk.size() < chunkSize) {
+            checkpoint.complete();
+        }
+        checkpointRepository.save(checkpoint);
+        return OverdueSweepProgress.of(checkpoint);
+    }
+
+    /**
+     * Send a digest to each borrower in the chunk not yet notified for the sweep date, and record it
+     */
+    private Notified notifyMembersNotYetNotified(LocalDate today, List<OverdueLoanView> chunk) {
+        Set<String> emails = new LinkedHashSet<>();
+        for (OverdueLoanView loan : chunk) {
+            if (loan.getCheckedOutBy() != null) {
+                emails.add(loan.getCheckedOutBy());
+            }
+        }
+        List<String> pending = emails.isEmpty() ? List.of()
+                : memberRepository.findEmailsNotNotifiedOverdueOn(emails, today);
+        if (pending.isEmpty()) {
+            return new Notified(0, 0);
+        }
+
+        Map<String, List<OverdueLoanView>> loansByMember = overdueLoansOf(today, pending);
+        int loans = 0;
+        for (Map.Entry<String, List<OverdueLoanView>> entry : loansByMember.entrySet()) {
+            notificationService.sendOverdueDigest(entry.getKey(), entry.getValue());
+            loans += entry.getValue().size();
+        }
+        memberRepository.markOverdueNotified(loansByMember.keySet(), today);
+        loansByMember.keySet().forEach(memberCache::memberChanged);
+        return new Notified(loansByMember.size(), loans);
+    }
+
+    /**
+     * Up to the digest limit of each member's overdue loans, read a page at a time. Once a member's
+     * digest is full, the next page starts after all of their loans.
+     */
+    private Map<String, List<OverdueLoanView>> overdueLoansOf(LocalDate today, List<String> members) {
+        Map<String, List<OverdueLoanView>> loansByMember = new LinkedHashMap<>();
+        String afterMember = "";
+        LocalDate afterDueDate = OverdueSweepCheckpoint.START_DUE_DATE;
+        long afterId = OverdueSweepCheckpoint.START_BOOK_ID;
+        List<OverdueLoanView> page;
+        do {
+            page = bookRepository.findOverdueLoansOfMembersAfter(today, members, afterMember, afterDueDate,
+                    afterId, Limit.of(chunkSize));
+            for (OverdueLoanView loan : page) {
+                List<OverdueLoanView> loans = loansByMember.computeIfAbsent(loan.getCheckedOutBy(),
+                        email -> new ArrayList<>());
+                if (loans.size() < maxLoansPerDigest) {
+                    loans.add(loan);
+                }
+                afterMember = loan.getCheckedOutBy();
+                afterDueDate = loan.getDueDate();
+                afterId = loan.getId();
+            }
+            if (!page.isEmpty() && loansByMember.get(afterMember).size() >= maxLoansPerDigest) {
+                // Every overdue loan is due before today, so this key is past the member's last loan
+                afterDueDate = today;
+                afterId = Long.MAX_VALUE;
+            }
+        } while (page.size() == chunkSize);
+        return loansByMember;
+    }
+}
@@ -0,0 +1,366 @@
+package edu.trincoll.service.readmodel;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.repository.BookChangeObserver;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberChangeObserver;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.LibraryStatistics;
+import edu.trincoll.service.catalog.CatalogEntry;
+import edu.trincoll.service.support.CommitJournal;
+import edu.trincoll.service.support.collection.LongObjectHashMap;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Denormalized read side of the library, kept apart from the JPA write path so searches and
+ * reports do not compete with checkouts for connections.
+ *
+ * Holds the catalog columns of every book and the checked out count of every member. It is loaded
+ * once the application is ready and then fed by the saves, checkouts and returns that
+ * {@link edu.trincoll.repository.BookEntityListener} and
+ * {@link edu.trincoll.repository.MemberEntityListener} report, and by the counts that
+ * {@link edu.trincoll.service.MemberService} reads back after its relative counter updates. Unlike the
+ * in-memory structures that apply changes inside the writing transaction, it only sees committed
+ * state: a transaction's changes are queued when it commits and a single applier thread applies each
+ * transaction as a unit. Transactions are queued in the order their after-commit callbacks run, which
+ * need not be the order they committed in, so a book or member is only ever replaced by its state at
+ * a version at least as new.
+ *
+ * Reads return empty, telling the caller to go to the database instead, while the model is disabled
+ * with {@code library.read-model.enabled=false}, still loading, or lagging further behind the
+ * committed state than {@code library.read-model.max-staleness}.
+ */
+@Component
+public class LibraryReadModel implements BookChangeObserver, MemberChangeObserver {
+
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final Comparator<CatalogEntry> BY_ID = Comparator.comparingLong(CatalogEntry::id);
+
+    /** Changes of one committed transaction and when it committed, by System.nanoTime */
+    private record Commit(List<Consumer<LibraryReadModel>> changes, long committedAt) {
+    }
+
+    /** A member's checked out count at a version */
+    private record MemberCount(int booksCheckedOut, Long version) {
+    }
+
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final boolean enabled;
+    private final long maxStalenessNanos;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<CatalogEntry> books = new LongObjectHashMap<>();
+    private final Map<String, Long> idsByIsbn = new HashMap<>();
+    /** Checked out count by member id */
+    private final LongObjectHashMap<MemberCount> members = new LongObjectHashMap<>();
+    private long membersWithBooks;
+    private final BlockingQueue<Commit> commits = new LinkedBlockingQueue<>();
+    /** Commit time of the transaction being applied, 0 while idle */
+    private volatile long applying;
+    private volatile boolean ready;
+    private Thread applier;
+
+    public LibraryReadModel(BookRepository bookRepository, MemberRepository memberRepository,
+                            @Value("${library.read-model.enabled:false}") boolean enabled,
+                            @Value("${library.read-model.max-staleness:2s}") Duration maxStaleness) {
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.enabled = enabled;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /**
+     * Load every book and member. Transactions committing meanwhile are applied once loading is done;
+     * a loaded book or member never replaces a newer version of itself, and a change the load already
+     * read is skipped rather than applied on top.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            idsByIsbn.clear();
+            members.clear();
+            membersWithBooks = 0;
+            long lastId = 0;
+            List<Book> page;
+            do {
+                page = bookRepository.findByIdGreaterThanOrderById(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Book book : page) {
+                    putBook(CatalogEntry.of(book));
+                    lastId = book.getId();
+                }
+            } while (page.size() == REBUILD_PAGE_SIZE);
+            lastId = 0;
+            List<Member> memberPage;
+            do {
+                memberPage = memberRepository.findByIdGreaterThanOrderById(lastId, Limit.of(REBUILD_PAGE_SIZE));
+                for (Member member : memberPage) {
+                    putMember(member.getId(), member.getVersion(), member.getBooksCheckedOut());
+                    lastId = member.getId();
+                }
+            } while (memberPage.size() == REBUILD_PAGE_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        startApplier();
+        ready = true;
+    }
+
+    private synchronized void startApplier() {
+        if (applier == null) {
+            applier = new Thread(this::drain, "read-model-applier");
+            applier.setDaemon(true);
+            applier.start();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (applier != null) {
+            applier.interrupt();
+            applier = null;
+        }
+    }
+
+    /**
+     * Whether reads are answered: enabled, loaded and no further behind than the staleness bound
+     */
+    public boolean isUsable() {
+        return enabled && ready && staleness().toNanos() <= maxStalenessNanos;
+    }
+
+    /**
+     * How long the oldest committed transaction not yet applied has been waiting, zero when caught up
+     */
+    public Duration staleness() {
+        long oldest = applying;
+        if (oldest == 0) {
+            Commit next = commits.peek();
+            if (next == null) {
+                return Duration.ZERO;
+            }
+            oldest = next.committedAt();
+        }
+        return Duration.ofNanos(Math.max(0, System.nanoTime() - oldest));
+    }
+
+    /**
+     * Wait until every transaction committed so far has been applied
+     *
+     * @return false if the model had not caught up within the timeout
+     */
+    public boolean awaitCaughtUp(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!commits.isEmpty() || applying != 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    public int size() {
+        return read(books::size);
+    }
+
+    /**
+     * The book with the given ISBN as a list of zero or one books, like the ISBN search
+     */
+    public Optional<List<Book>> searchByIsbn(String isbn) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        return Optional.of(read(() -> {
+            Long id = idsByIsbn.get(isbn);
+            return id == null ? List.<Book>of() : List.of(books.get(id).toBook());
+        }));
+    }
+
+    /**
+     * Book and member counts as of the given day. Members with books are those whose checked out
+     * count is above zero, as the database summary counts them.
+     */
+    public Optional<LibraryStatistics> statistics(LocalDate today) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        return Optional.of(read(() -> {
+            Map<BookStatus, Long> byStatus = new EnumMap<>(BookStatus.class);
+            long[] overdue = {0};
+            books.forEachValue(entry -> {
+                byStatus.merge(entry.status(), 1L, Long::sum);
+                if (entry.dueDate() != null && entry.dueDate().isBefore(today)) {
+                    overdue[0]++;
+                }
+            });
+            return new LibraryStatistics(books.size(), byStatus, overdue[0], members.size(),
+                    membersWithBooks);
+        }));
+    }
+
+    /**
+     * Books due before the given date, in id order
+     */
+    public Optional<List<CatalogEntry>> findDueBefore(LocalDate date) {
+        if (!isUsable()) {
+            return Optional.empty();
+        }
+        return Optional.of(read(() -> {
+            List<CatalogEntry> due = new ArrayList<>();
+            books.forEachValue(entry -> {
+                if (entry.dueDate() != null && entry.dueDate().isBefore(date)) {
+                    due.add(entry);
+                }
+            });
+            due.sort(BY_ID);
+            return due;
+        }));
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        CatalogEntry entry = CatalogEntry.of(book);
+        record(model -> model.putBook(entry));
+    }
+
+    @Override
+    public void bookRemoved(Book book) {
+        long id = book.getId();
+        String isbn = book.getIsbn();
+        record(model -> model.removeBook(id, isbn));
+    }
+
+    @Override
+    public void memberSaved(Member member) {
+        long id = member.getId();
+        Long version = member.getVersion();
+        int count = member.getBooksCheckedOut();
+        record(model -> model.putMember(id, version, count));
+    }
+
+    @Override
+    public void memberRemoved(Member member) {
+        long id = member.getId();
+        record(model -> model.removeMember(id));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A relative UPDATE left the member's checked out count at the given value and version.
+     * Bulk updates bypass the entity listeners, so the caller reads the row back and reports it here.
+     */
+    public void booksCheckedOutChanged(long memberId, Long version, int count) {
+        record(model -> model.putMember(memberId, version, count));
+    }
+
+    private void record(Consumer<LibraryReadModel> change) {
+        if (enabled) {
+            CommitJournal.record(this, change,
+                    changes -> commits.add(new Commit(List.copyOf(changes), System.nanoTime())));
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Commit commit = commits.take();
+                applying = commit.committedAt();
+                lock.writeLock().lock();
+                try {
+                    commit.changes().forEach(change -> change.accept(this));
+                } finally {
+                    lock.writeLock().unlock();
+                    applying = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Apply a book's state unless the model already holds a newer version. Call under the write lock. */
+    private void putBook(CatalogEntry entry) {
+        CatalogEntry current = books.get(entry.id());
+        if (current != null && current.version() != null && entry.version() != null
+                && current.version() > entry.version()) {
+            return;
+        }
+        if (current != null && !current.isbn().equals(entry.isbn())) {
+            idsByIsbn.remove(current.isbn());
+        }
+        books.put(entry.id(), entry);
+        idsByIsbn.put(entry.isbn(), entry.id());
+    }
+
+    private void removeBook(long id, String isbn) {
+        books.remove(id);
+        idsByIsbn.remove(isbn, id);
+    }
+
+    /**
+     * Set a member's checked out count unless the model already holds a newer version, keeping the
+     * members with books tally. Call under the write lock.
+     */
+    private void putMember(long id, Long version, int count) {
+        MemberCount current = members.get(id);
+        if (current != null && current.version() != null && version != null && current.version() > version) {
+            return;
+        }
+        members.put(id, new MemberCount(count, version));
+        if (current != null && current.booksCheckedOut() > 0) {
+            membersWithBooks--;
+        }
+        if (count > 0) {
+            membersWithBooks++;
+        }
+    }
+
+    private void removeMember(long id) {
+        MemberCount removed = members.remove(id);
+        if (removed != null && removed.booksCheckedOut() > 0) {
+            membersWithBooks--;
+        }
+    }
+
+    private <T> T read(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
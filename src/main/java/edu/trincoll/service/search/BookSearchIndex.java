@@ -0,0 +1,364 @@
+package edu.trincoll.service.search;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.repository.BookChangeObserver;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.support.RollbackJournal;
+import edu.trincoll.service.support.collection.LongHashSet;
+import edu.trincoll.service.support.collection.LongObjectHashMap;
+import edu.trincoll.service.support.collection.LongSortedSet;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory inverted index over book titles and authors.
+ * Titles are indexed by lower-cased character trigrams, so a "title contains" query is answered
+ * by walking the shortest posting list of the query's trigrams instead of a LIKE '%x%' table scan.
+ * Every unigram and bigram of a title is indexed as well, so the one and two character queries of
+ * search-as-you-type are answered from a single exact posting list rather than by scanning titles.
+ * Title posting lists are kept in id order, so a page of matches stops once it is full instead of
+ * walking every match.
+ * Authors are indexed by their exact value, matching the semantics of findByAuthor.
+ *
+ * The index is built from the books table once the application is ready and kept current by
+ * {@link edu.trincoll.repository.BookEntityListener}. Changes made inside a transaction are
+ * undone if that transaction rolls back.
+ *
+ * Documents and posting lists are keyed by primitive book ids, so a posting costs one long slot
+ * instead of a boxed Long in a hash set node. A save that leaves the title alone, as checkouts and
+ * returns do, does not touch the title postings. They are guarded by a read-write lock.
+ */
+@Component
+public class BookSearchIndex implements BookChangeObserver {
+
+    static final int GRAM_LENGTH = 3;
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+    private static final Comparator<Book> BY_ID = Comparator.comparing(Book::getId);
+
+    private final BookRepository bookRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectHashMap<IndexedBook> documents = new LongObjectHashMap<>();
+    /** Every indexed id, the matches of an empty title query */
+    private final LongSortedSet documentIds = new LongSortedSet();
+    private final Map<String, LongSortedSet> titleGrams = new HashMap<>();
+    private final Map<String, LongHashSet> authors = new HashMap<>();
+    private volatile boolean ready;
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    /**
+     * Load every book from the repository into the index, a keyset page at a time. Changes reported
+     * while loading are kept; a page row never replaces a newer version of the same book.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        ready = false;
+        update(() -> {
+            documents.clear();
+            documentIds.clear();
+            titleGrams.clear();
+            authors.clear();
+        });
+        long lastId = 0;
+        List<Book> page;
+        do {
+            page = bookRepository.findByIdGreaterThanOrderById(lastId, Limit.of(REBUILD_PAGE_SIZE));
+            List<Book> books = page;
+            update(() -> {
+                for (Book book : books) {
+                    IndexedBook current = documents.get(book.getId());
+                    if (current == null || versionOf(current.book()) < versionOf(book)) {
+                        put(book.getId(), IndexedBook.of(book));
+                    }
+                }
+            });
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        ready = true;
+    }
+
+    /**
+     * Whether the initial build has completed and queries can be answered from the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of indexed books
+     */
+    public int size() {
+        return read(documents::size);
+    }
+
+    /**
+     * Case-insensitive partial match on title
+     */
+    public List<Book> searchByTitle(String title) {
+        String needle = normalize(title);
+        List<Book> matches = read(() -> {
+            List<Book> books = new ArrayList<>();
+            forEachTitleMatch(needle, Long.MIN_VALUE, books::add);
+            return books;
+        });
+        return sortedCopies(matches);
+    }
+
+    /**
+     * Case-insensitive partial match on title, limited to the first matches in id order after the given id.
+     * Walks the posting list from the given id and stops once the page is full, so the cost does not
+     * grow with how deep the page is or how many titles match.
+     */
+    public List<Book> searchByTitle(String title, long afterId, int limit) {
+        String needle = normalize(title);
+        List<Book> matches = read(() -> {
+            List<Book> page = new ArrayList<>(limit);
+            if (limit > 0) {
+                forEachTitleMatch(needle, afterId, book -> page.add(book) && page.size() < limit);
+            }
+            return page;
+        });
+        return sortedCopies(matches);
+    }
+
+    /**
+     * Exact match on author
+     */
+    public List<Book> searchByAuthor(String author) {
+        List<Book> matches = read(() -> {
+            List<Book> books = new ArrayList<>();
+            LongHashSet ids = authors.get(author);
+            if (ids != null) {
+                ids.forEach(id -> books.add(documents.get(id).book()));
+            }
+            return books;
+        });
+        return sortedCopies(matches);
+    }
+
+    @Override
+    public void bookSaved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        update(() -> {
+            IndexedBook written = IndexedBook.of(book);
+            IndexedBook previous = put(book.getId(), written);
+            RollbackJournal.record(this, () -> restore(book.getId(), written, previous));
+        });
+    }
+
+    @Override
+    public void bookRemoved(Book book) {
+        if (book.getId() == null) {
+            return;
+        }
+        IndexedBook previous = updateAndGet(() -> removeInternal(book.getId()));
+        RollbackJournal.record(this, () -> restore(book.getId(), null, previous));
+    }
+
+    /**
+     * Shortest posting list among the needle's trigrams, or null if one of them matches no title
+     */
+    private LongSortedSet smallestPostingList(String needle) {
+        LongSortedSet smallest = null;
+        for (String gram : trigrams(needle)) {
+            LongSortedSet postings = titleGrams.get(gram);
+            if (postings == null) {
+                return null;
+            }
+            if (smallest == null || postings.size() < smallest.size()) {
+                smallest = postings;
+            }
+        }
+        return smallest;
+    }
+
+    /**
+     * Hand each indexed book after the given id whose title contains the needle to the action, in id
+     * order, until the action returns false; callers hold the read lock
+     */
+    private void forEachTitleMatch(String needle, long afterId, Predicate<Book> action) {
+        // A needle no longer than a trigram is itself indexed, so its posting list is exactly the matches
+        boolean exact = needle.length() <= GRAM_LENGTH;
+        LongSortedSet candidates = needle.isEmpty() ? documentIds
+                : exact ? titleGrams.get(needle) : smallestPostingList(needle);
+        if (candidates == null) {
+            return;
+        }
+        candidates.forEachAfter(afterId, id -> {
+            IndexedBook entry = documents.get(id);
+            return !(exact || entry.normalizedTitle().contains(needle)) || action.test(entry.book());
+        });
+    }
+
+    private static List<Book> sortedCopies(List<Book> books) {
+        return books.stream()
+                .sorted(BY_ID)
+                .map(BookSearchIndex::copyOf)
+                .toList();
+    }
+
+    /**
+     * Index the entry, replacing the book's previous one; callers hold the write lock
+     */
+    private IndexedBook put(long id, IndexedBook entry) {
+        IndexedBook previous = documents.put(id, entry);
+        if (previous == null) {
+            documentIds.add(id);
+        }
+        reindex(id, previous, entry);
+        return previous;
+    }
+
+    private IndexedBook removeInternal(long id) {
+        IndexedBook previous = documents.remove(id);
+        if (previous != null) {
+            documentIds.remove(id);
+            reindex(id, previous, null);
+        }
+        return previous;
+    }
+
+    /**
+     * Move the book's postings from one entry to the other, touching only a title or author that changed
+     */
+    private void reindex(long id, IndexedBook from, IndexedBook to) {
+        String fromTitle = from == null ? null : from.normalizedTitle();
+        String toTitle = to == null ? null : to.normalizedTitle();
+        if (!Objects.equals(fromTitle, toTitle)) {
+            if (fromTitle != null) {
+                for (String gram : grams(fromTitle)) {
+                    LongSortedSet ids = titleGrams.get(gram);
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        titleGrams.remove(gram);
+                    }
+                }
+            }
+            if (toTitle != null) {
+                for (String gram : grams(toTitle)) {
+                    titleGrams.computeIfAbsent(gram, key -> new LongSortedSet()).add(id);
+                }
+            }
+        }
+        String fromAuthor = from == null ? null : from.book().getAuthor();
+        String toAuthor = to == null ? null : to.book().getAuthor();
+        if (!Objects.equals(fromAuthor, toAuthor)) {
+            if (fromAuthor != null) {
+                authors.computeIfPresent(fromAuthor, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (toAuthor != null) {
+                authors.computeIfAbsent(toAuthor, key -> new LongHashSet()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Put back the previous entry unless a later transaction has replaced the one being undone
+     */
+    private void restore(long id, IndexedBook written, IndexedBook previous) {
+        update(() -> {
+            if (documents.get(id) != written) {
+                return;
+            }
+            if (previous != null) {
+                put(id, previous);
+            } else {
+                removeInternal(id);
+            }
+        });
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Runnable action) {
+        updateAndGet(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T updateAndGet(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Every distinct substring of the title up to the trigram length, as indexed
+     */
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= normalized.length(); i++) {
+                grams.add(normalized.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static long versionOf(Book book) {
+        return book.getVersion() == null ? -1 : book.getVersion();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : Book.normalizeTitle(value);
+    }
+
+    private static Book copyOf(Book book) {
+        Book copy = new Book(book.getIsbn(), book.getTitle(), book.getAuthor(), book.getPublicationDate());
+        copy.setId(book.getId());
+        copy.setVersion(book.getVersion());
+        copy.setStatus(book.getStatus());
+        copy.setCheckedOutBy(book.getCheckedOutBy());
+        copy.setDueDate(book.getDueDate());
+        return copy;
+    }
+
+    private record IndexedBook(Book book, String normalizedTitle) {
+        static IndexedBook of(Book book) {
+            return new IndexedBook(copyOf(book), normalize(book.getTitle()));
+        }
+    }
+}
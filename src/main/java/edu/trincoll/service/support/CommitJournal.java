@@ -0,0 +1,54 @@
+package edu.trincoll.service.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Counterpart of {@link RollbackJournal}: collects what a transaction did and hands it over only
+ * once the transaction has committed. Everything a transaction records for an owner is delivered
+ * together, in recording order, so consumers can apply a transaction as a unit. A rolled back
+ * transaction delivers nothing.
+ */
+public final class CommitJournal {
+
+    private CommitJournal() {
+    }
+
+    /**
+     * Record an item for delivery when the current transaction commits.
+     * Outside of a transaction the item is delivered right away, on its own.
+     *
+     * @param owner    the component the items are for; one journal is kept per owner and transaction
+     * @param onCommit receives the transaction's items after commit; only the first call's consumer is kept
+     */
+    public static <T> void record(Object owner, T item, Consumer<List<T>> onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.accept(List.of(item));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> items = (List<T>) TransactionSynchronizationManager.getResource(owner);
+        if (items == null) {
+            List<T> journal = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(owner, journal);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    onCommit.accept(journal);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+                }
+            });
+            items = journal;
+        }
+        items.add(item);
+    }
+}
@@ -0,0 +1,87 @@
+package edu.trincoll.service.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Retries a transactional operation a bounded number of times when it loses an optimistic locking,
+ * row lock or deadlock conflict with a concurrent transaction.
+ *
+ * Each attempt must start its own transaction, so the operation should be a call through a
+ * transactional proxy. When a transaction is already active the operation runs once: the conflict
+ * dooms the caller's transaction and only its owner can retry it.
+ */
+@Component
+public class ConcurrencyRetry {
+
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    public ConcurrencyRetry(@Value("${library.concurrency.max-attempts:3}") int maxAttempts,
+                            @Value("${library.concurrency.backoff:10ms}") Duration backoff) {
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * Run the operation, retrying on concurrency conflicts.
+     *
+     * @param onConflict result to return once every attempt has lost a conflict
+     */
+    public <T> T execute(Supplier<T> operation, Supplier<T> onConflict) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operation.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts || !pause(attempt)) {
+                    exhausted.increment();
+                    return onConflict.get();
+                }
+                retries.increment();
+            }
+        }
+    }
+
+    /**
+     * Number of attempts that were retried after a conflict
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of operations that gave up after losing every attempt
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    /**
+     * Sleep a jittered, linearly growing backoff so colliding transactions spread out
+     *
+     * @return false if interrupted
+     */
+    private boolean pause(int attempt) {
+        long limit = Math.max(1, backoff.toNanos() * attempt);
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(limit / 2, limit + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package edu.trincoll.service.support;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps in-memory structures consistent with the database when a transaction rolls back.
+ * Components that mirror JPA state apply changes immediately (so the writing transaction
+ * reads its own writes) and record an undo action here. The undo actions of a transaction
+ * are replayed in reverse order if, and only if, that transaction rolls back.
+ */
+public final class RollbackJournal {
+
+    private RollbackJournal() {
+    }
+
+    /**
+     * Record an undo action for the current transaction.
+     * Outside of a transaction the change is already final and nothing is recorded.
+     *
+     * @param owner the component owning the change; one journal is kept per owner and transaction
+     * @param undo  action restoring the state that existed before the change
+     */
+    public static void record(Object owner, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Deque<Runnable> undos = (Deque<Runnable>) TransactionSynchronizationManager.getResource(owner);
+        if (undos == null) {
+            Deque<Runnable> journal = new ArrayDeque<>();
+            TransactionSynchronizationManager.bindResource(owner, journal);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+                    if (status == STATUS_ROLLED_BACK) {
+                        // Deque iterates from the most recently pushed action
+                        journal.forEach(Runnable::run);
+                    }
+                }
+            });
+            undos = journal;
+        }
+        undos.push(undo);
+    }
+}
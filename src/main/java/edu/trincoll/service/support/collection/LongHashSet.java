@@ -0,0 +1,76 @@
+package edu.trincoll.service.support.collection;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Set of primitive long values, such as entity ids, with no boxing.
+ * Each member costs 8 to 16 bytes of one long[], against roughly 50 bytes for a
+ * {@code HashSet<Long>} node, its Long and its table slot. Not thread-safe.
+ */
+public final class LongHashSet extends LongKeyTable<Void> {
+
+    public LongHashSet() {
+        this(0);
+    }
+
+    public LongHashSet(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        return claim(value) < 0;
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+        int slot = slotOf(value);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    public boolean contains(long value) {
+        return slotOf(value) >= 0;
+    }
+
+    /**
+     * Hand every value to the action, in no particular order
+     */
+    public void forEach(LongConsumer action) {
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            action.accept(keyAt(slot));
+        }
+    }
+
+    /**
+     * The values in no particular order
+     */
+    public long[] toArray() {
+        long[] values = new long[size()];
+        int index = 0;
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            values[index++] = keyAt(slot);
+        }
+        return values;
+    }
+
+    @Override
+    Void newValues(int length) {
+        return null;
+    }
+
+    @Override
+    void copyValue(Void from, int fromSlot, Void to, int toSlot) {
+    }
+
+    @Override
+    void clearValue(int slot) {
+    }
+}
@@ -0,0 +1,93 @@
+package edu.trincoll.service.support.collection;
+
+/**
+ * Map from primitive long keys to primitive int values, such as entity id to slot or count, with no
+ * boxing. Absent keys read as the no-entry value given at construction. An entry costs 12 to 24 bytes
+ * of two parallel arrays, against roughly 70 bytes for a {@code HashMap<Long, Integer>} node, its
+ * Long, its Integer and its table slot. Not thread-safe.
+ */
+public final class LongIntHashMap extends LongKeyTable<int[]> {
+
+    private final int noEntryValue;
+
+    public LongIntHashMap(int expectedSize, int noEntryValue) {
+        super(expectedSize);
+        this.noEntryValue = noEntryValue;
+    }
+
+    /**
+     * Value no key maps to; returned for absent keys
+     */
+    public int noEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Value of the key, or the no-entry value if absent
+     */
+    public int get(long key) {
+        int slot = slotOf(key);
+        return slot < 0 ? noEntryValue : values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the previous value, or the no-entry value if the key was absent
+     */
+    public int put(long key, int value) {
+        int slot = claim(key);
+        if (slot < 0) {
+            values[~slot] = value;
+            return noEntryValue;
+        }
+        int previous = values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Add the delta to the key's value, starting from zero if the key was absent
+     *
+     * @return the new value
+     */
+    public int addTo(long key, int delta) {
+        int slot = claim(key);
+        if (slot < 0) {
+            values[~slot] = delta;
+            return delta;
+        }
+        values[slot] += delta;
+        return values[slot];
+    }
+
+    /**
+     * @return the removed value, or the no-entry value if the key was absent
+     */
+    public int remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return noEntryValue;
+        }
+        int previous = values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    @Override
+    int[] newValues(int length) {
+        return new int[length];
+    }
+
+    @Override
+    void copyValue(int[] from, int fromSlot, int[] to, int toSlot) {
+        to[toSlot] = from[fromSlot];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = 0;
+    }
+}
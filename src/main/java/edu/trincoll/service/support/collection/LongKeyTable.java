@@ -0,0 +1,207 @@
+package edu.trincoll.service.support.collection;
+
+/**
+ * Open-addressing hash table of primitive long keys behind the long-keyed maps and set.
+ *
+ * Keys live in a single long[] and collide by linear probing, so a lookup is a multiply, a shift and
+ * a short run of adjacent array reads, with no boxed Long and no entry object per key. Slot value 0
+ * marks a free slot; the key 0 itself is kept in one extra slot past the end of the table. Removal
+ * shifts the rest of the probe run back instead of leaving tombstones, so lookups do not slow down
+ * as entries come and go. Subclasses keep their values in a parallel array of type {@code A}.
+ *
+ * Not thread-safe.
+ */
+abstract class LongKeyTable<A> {
+
+    private static final long FREE = 0;
+    private static final int MIN_CAPACITY = 8;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    long[] keys;
+    A values;
+    private int capacity;
+    private int shift;
+    private int threshold;
+    private int size;
+    private boolean hasZeroKey;
+
+    LongKeyTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Value array of the given length, one value per slot
+     */
+    abstract A newValues(int length);
+
+    /**
+     * Copy the value in one slot to another, possibly in another value array
+     */
+    abstract void copyValue(A from, int fromSlot, A to, int toSlot);
+
+    /**
+     * Reset a slot's value so it holds no reference
+     */
+    abstract void clearValue(int slot);
+
+    /**
+     * Number of keys held
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove every key, keeping the allocated table
+     */
+    public void clear() {
+        for (int slot = 0; slot <= capacity; slot++) {
+            keys[slot] = FREE;
+            clearValue(slot);
+        }
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Slot holding the key, or -1 if the table does not hold it
+     */
+    final int slotOf(long key) {
+        if (key == FREE) {
+            return hasZeroKey ? capacity : -1;
+        }
+        for (int slot = home(key); ; slot = (slot + 1) & (capacity - 1)) {
+            long current = keys[slot];
+            if (current == key) {
+                return slot;
+            }
+            if (current == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Slot holding the key, adding the key first if it is absent.
+     *
+     * @return the slot, or its complement ({@code ~slot}) if the key was added and its value is unset
+     */
+    final int claim(long key) {
+        int existing = slotOf(key);
+        if (existing >= 0) {
+            return existing;
+        }
+        if (size >= threshold) {
+            resize(capacity << 1);
+        }
+        size++;
+        if (key == FREE) {
+            hasZeroKey = true;
+            return ~capacity;
+        }
+        int slot = freeSlot(key);
+        keys[slot] = key;
+        return ~slot;
+    }
+
+    /**
+     * Remove the key in the slot and close the gap it leaves in its probe run
+     */
+    final void removeAt(int slot) {
+        size--;
+        if (slot == capacity) {
+            hasZeroKey = false;
+            clearValue(slot);
+            return;
+        }
+        int mask = capacity - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            // An entry may move into the gap only if the gap lies between its home slot and where it sits
+            if (((next - home(keys[next])) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                copyValue(values, next, values, gap);
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        clearValue(gap);
+    }
+
+    /**
+     * First occupied slot at or after the given one, or -1 past the last
+     */
+    final int nextSlot(int from) {
+        for (int slot = from; slot < capacity; slot++) {
+            if (keys[slot] != FREE) {
+                return slot;
+            }
+        }
+        return from <= capacity && hasZeroKey ? capacity : -1;
+    }
+
+    /**
+     * Key in an occupied slot
+     */
+    final long keyAt(int slot) {
+        return slot == capacity ? FREE : keys[slot];
+    }
+
+    private int home(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> shift);
+    }
+
+    private int freeSlot(long key) {
+        int slot = home(key);
+        while (keys[slot] != FREE) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return slot;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        A oldValues = values;
+        int oldCapacity = capacity;
+        allocate(newCapacity);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            if (oldKeys[slot] != FREE) {
+                int to = freeSlot(oldKeys[slot]);
+                keys[to] = oldKeys[slot];
+                copyValue(oldValues, slot, values, to);
+            }
+        }
+        if (hasZeroKey) {
+            copyValue(oldValues, oldCapacity, values, capacity);
+        }
+    }
+
+    /**
+     * Fresh arrays of the given power-of-two capacity plus the zero-key slot
+     */
+    private void allocate(int newCapacity) {
+        capacity = newCapacity;
+        shift = Long.numberOfLeadingZeros(newCapacity - 1);
+        threshold = newCapacity - (newCapacity >>> 2);
+        keys = new long[newCapacity + 1];
+        values = newValues(newCapacity + 1);
+    }
+
+    /**
+     * Smallest power of two holding the expected keys at a load factor of 3/4
+     */
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / 0.75));
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Expected size too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
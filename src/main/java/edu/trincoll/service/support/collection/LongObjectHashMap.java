@@ -0,0 +1,103 @@
+package edu.trincoll.service.support.collection;
+
+import java.util.function.Consumer;
+
+/**
+ * Map from primitive long keys, such as entity ids, to objects, with no boxed keys or entry nodes.
+ * An entry costs two slots of parallel long[] and Object[] arrays. Not thread-safe.
+ *
+ * @param <V> the value type; null values are not allowed, so get returning null means absent
+ */
+public final class LongObjectHashMap<V> extends LongKeyTable<Object[]> {
+
+    /** Receives each entry of the map */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public LongObjectHashMap() {
+        this(0);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        super(expectedSize);
+    }
+
+    /**
+     * Value of the key, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int slot = claim(key);
+        if (slot < 0) {
+            values[~slot] = value;
+            return null;
+        }
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * @return the removed value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = slotOf(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        removeAt(slot);
+        return previous;
+    }
+
+    /**
+     * Hand every entry to the action, in no particular order
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            action.accept(keyAt(slot), (V) values[slot]);
+        }
+    }
+
+    /**
+     * Hand every value to the action, in no particular order
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        forEach((key, value) -> action.accept(value));
+    }
+
+    @Override
+    Object[] newValues(int length) {
+        return new Object[length];
+    }
+
+    @Override
+    void copyValue(Object[] from, int fromSlot, Object[] to, int toSlot) {
+        to[toSlot] = from[fromSlot];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+}
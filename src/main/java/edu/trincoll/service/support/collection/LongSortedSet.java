@@ -0,0 +1,83 @@
+package edu.trincoll.service.support.collection;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * Set of primitive long values kept in ascending order in one long[], for posting lists that are
+ * read a page at a time in id order. Adding a value above every present one, as new ids are, is an
+ * append; adding or removing anywhere else shifts the values above it. Each member costs 8 to 16
+ * bytes. Not thread-safe.
+ */
+public final class LongSortedSet {
+
+    private long[] values;
+    private int size;
+
+    public LongSortedSet() {
+        this(4);
+    }
+
+    public LongSortedSet(int expectedSize) {
+        values = new long[Math.max(1, expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    /**
+     * @return true if the value was not already present
+     */
+    public boolean add(long value) {
+        int index = size == 0 || value > values[size - 1] ? -size - 1 : Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+        values[insertAt] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return true if the value was present
+     */
+    public boolean remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Hand the values above the given one to the action in ascending order, until it returns false
+     */
+    public void forEachAfter(long after, LongPredicate action) {
+        int index = Arrays.binarySearch(values, 0, size, after);
+        for (int i = index >= 0 ? index + 1 : -index - 1; i < size; i++) {
+            if (!action.test(values[i])) {
+                return;
+            }
+        }
+    }
+}
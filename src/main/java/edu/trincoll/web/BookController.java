@@ -0,0 +1,81 @@
+package edu.trincoll.web;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.service.KeysetPage;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.importer.BookImportFormat;
+import edu.trincoll.service.importer.BookImportResult;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Book listings and searches over {@link LibraryFacade}.
+ * Listings are keyset pages; pass the previous page's nextToken as {@code token} to read the next one.
+ */
+@RestController
+@RequestMapping("/api/books")
+public class BookController {
+
+    static final String DEFAULT_PAGE_SIZE = "50";
+
+    private final LibraryFacade libraryFacade;
+
+    public BookController(LibraryFacade libraryFacade) {
+        this.libraryFacade = libraryFacade;
+    }
+
+    @GetMapping
+    public KeysetPage<Book> getBooks(@RequestParam(required = false) String token,
+                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return libraryFacade.getBooks(token, limit);
+    }
+
+    @GetMapping("/available")
+    public KeysetPage<Book> getAvailableBooks(@RequestParam(required = false) String token,
+                                              @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return libraryFacade.getAvailableBooks(token, limit);
+    }
+
+    @GetMapping("/overdue")
+    public KeysetPage<Book> getOverdueBooks(@RequestParam(required = false) String token,
+                                            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return libraryFacade.getOverdueBooks(token, limit);
+    }
+
+    /**
+     * Books whose title contains the given text, a page at a time
+     */
+    @GetMapping(value = "/search", params = "title")
+    public KeysetPage<Book> searchByTitle(@RequestParam String title,
+                                          @RequestParam(required = false) String token,
+                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        return libraryFacade.searchBooksByTitle(title, token, limit);
+    }
+
+    /**
+     * Books matching the term by title, author or isbn
+     */
+    @GetMapping(value = "/search", params = {"term", "type"})
+    public List<Book> search(@RequestParam String term, @RequestParam String type) {
+        return libraryFacade.searchBooks(term, type);
+    }
+
+    /**
+     * Bulk import of a text/csv or application/x-ndjson body, read as it streams in.
+     * Both formats take isbn, title, author and publication_date, also accepted as publicationDate.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public BookImportResult importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                        Reader body) {
+        return libraryFacade.importBooks(body, BookImportFormat.forMediaType(contentType));
+    }
+}
@@ -0,0 +1,64 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.CheckoutResult;
+import edu.trincoll.service.LibraryFacade;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Checkouts and returns over {@link LibraryFacade}.
+ * A refused checkout or return (book unavailable, limit reached) is not an error; its message says why.
+ */
+@RestController
+@RequestMapping("/api")
+public class CheckoutController {
+
+    public record CheckoutRequest(@NotBlank String isbn, @NotBlank @Email String memberEmail) {
+    }
+
+    public record BatchCheckoutRequest(@NotEmpty List<@NotBlank String> isbns, @NotBlank @Email String memberEmail) {
+    }
+
+    public record ReturnRequest(@NotBlank String isbn) {
+    }
+
+    public record BatchReturnRequest(@NotEmpty List<@NotBlank String> isbns) {
+    }
+
+    public record MessageResponse(String message) {
+    }
+
+    private final LibraryFacade libraryFacade;
+
+    public CheckoutController(LibraryFacade libraryFacade) {
+        this.libraryFacade = libraryFacade;
+    }
+
+    @PostMapping("/checkouts")
+    public MessageResponse checkoutBook(@Valid @RequestBody CheckoutRequest request) {
+        return new MessageResponse(libraryFacade.checkoutBook(request.isbn(), request.memberEmail()));
+    }
+
+    @PostMapping("/checkouts/batch")
+    public List<CheckoutResult> checkoutBooks(@Valid @RequestBody BatchCheckoutRequest request) {
+        return libraryFacade.checkoutBooks(request.isbns(), request.memberEmail());
+    }
+
+    @PostMapping("/returns")
+    public MessageResponse returnBook(@Valid @RequestBody ReturnRequest request) {
+        return new MessageResponse(libraryFacade.returnBook(request.isbn()));
+    }
+
+    @PostMapping("/returns/batch")
+    public List<CheckoutResult> returnBooks(@Valid @RequestBody BatchReturnRequest request) {
+        return libraryFacade.returnBooks(request.isbns());
+    }
+}
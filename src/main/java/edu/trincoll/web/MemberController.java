@@ -0,0 +1,62 @@
+package edu.trincoll.web;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.Member;
+import edu.trincoll.service.KeysetPage;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.importer.MemberSyncResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Member listings and per-member queries over {@link LibraryFacade}
+ */
+@RestController
+@RequestMapping("/api/members")
+public class MemberController {
+
+    private final LibraryFacade libraryFacade;
+
+    public MemberController(LibraryFacade libraryFacade) {
+        this.libraryFacade = libraryFacade;
+    }
+
+    @GetMapping
+    public KeysetPage<Member> getMembers(@RequestParam(required = false) String token,
+                                         @RequestParam(defaultValue = BookController.DEFAULT_PAGE_SIZE) int limit) {
+        return libraryFacade.getMembers(token, limit);
+    }
+
+    @GetMapping("/{email}/books")
+    public List<Book> getMemberBooks(@PathVariable String email) {
+        return libraryFacade.getMemberBooks(email);
+    }
+
+    /**
+     * Late fees the member owes, in cents
+     */
+    @GetMapping("/{email}/fee-balance")
+    public long getFeeBalance(@PathVariable String email) {
+        return libraryFacade.getMemberFeeBalanceCents(email);
+    }
+
+    @GetMapping("/{email}/can-checkout")
+    public boolean canCheckoutMoreBooks(@PathVariable String email) {
+        return libraryFacade.canMemberCheckoutMoreBooks(email);
+    }
+
+    /**
+     * Sync members with a text/csv registrar roster, read as it streams in
+     */
+    @PostMapping(value = "/sync", consumes = "text/csv")
+    public MemberSyncResult syncMembers(@RequestParam(defaultValue = "false") boolean markMissing, Reader roster) {
+        return libraryFacade.syncMembers(roster, markMissing);
+    }
+}
@@ -0,0 +1,25 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.metrics.LibraryMetrics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Service metrics for a Prometheus scraper
+ */
+@RestController
+public class MetricsController {
+
+    static final String PROMETHEUS_TEXT = "text/plain;version=0.0.4;charset=utf-8";
+
+    private final LibraryMetrics libraryMetrics;
+
+    public MetricsController(LibraryMetrics libraryMetrics) {
+        this.libraryMetrics = libraryMetrics;
+    }
+
+    @GetMapping(value = "/api/metrics", produces = PROMETHEUS_TEXT)
+    public String metrics() {
+        return libraryMetrics.scrape();
+    }
+}
@@ -0,0 +1,52 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.LibraryFacade;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Plain-text reports over {@link LibraryFacade}
+ */
+@RestController
+@RequestMapping(value = "/api/reports", produces = MediaType.TEXT_PLAIN_VALUE)
+public class ReportController {
+
+    private final LibraryFacade libraryFacade;
+
+    public ReportController(LibraryFacade libraryFacade) {
+        this.libraryFacade = libraryFacade;
+    }
+
+    /**
+     * Every overdue book, streamed to the client as it is read rather than built in memory first
+     */
+    @GetMapping("/overdue")
+    public StreamingResponseBody overdueReport() {
+        return body -> {
+            Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+            libraryFacade.writeOverdueBooksReport(writer);
+            writer.flush();
+        };
+    }
+
+    @GetMapping("/statistics")
+    public String statistics() {
+        return libraryFacade.getLibraryStatistics();
+    }
+
+    /**
+     * The available, members or summary report
+     */
+    @GetMapping("/{type}")
+    public String report(@PathVariable String type) {
+        return libraryFacade.generateReport(type);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.trincoll;
+
+import com.zaxxer.hikari.HikariDataSource;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.CheckoutService;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The prod profile's settings on an in-memory H2 standing in for PostgreSQL: the driver properties
+// meant for PostgreSQL are ignored and the schema is created rather than validated
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=none",
+        "library.overdue-sweep.cron=-",
+        "library.fee-ledger.reconcile-cron=-",
+        "spring.datasource.url=jdbc:h2:mem:prod-profile;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH;IGNORE_UNKNOWN_SETTINGS=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles("prod")
+@DisplayName("Production Profile Tests")
+class ProductionProfileTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("Should target PostgreSQL with a validated schema")
+    void shouldTargetPostgresql() throws IOException {
+        // Act
+        Properties prod = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"));
+
+        // Assert
+        assertThat(prod.getProperty("spring.datasource.url")).startsWith("jdbc:postgresql://");
+        assertThat(prod.getProperty("spring.datasource.driver-class-name")).isEqualTo("org.postgresql.Driver");
+        assertThat(prod.getProperty("spring.jpa.hibernate.ddl-auto")).isEqualTo("validate");
+    }
+
+    @Test
+    @DisplayName("Should pool connections without autocommit and with the driver's statement cache")
+    void shouldConfigurePool() {
+        // Act
+        HikariDataSource pool = (HikariDataSource) dataSource;
+
+        // Assert
+        assertThat(pool.isAutoCommit()).isFalse();
+        assertThat(pool.getMaximumPoolSize()).isEqualTo(10);
+        assertThat(pool.getDataSourceProperties())
+                .containsEntry("prepareThreshold", "1")
+                .containsEntry("preparedStatementCacheQueries", "512")
+                .containsEntry("reWriteBatchedInserts", "true");
+    }
+
+    @Test
+    @DisplayName("Should commit batch checkouts and returns with autocommit off")
+    void shouldCommitWritesWithoutAutocommit() {
+        // Arrange
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+        for (int i = 1; i <= 3; i++) {
+            Book book = new Book("978-0-00000-00" + i, "Book " + i, "Author", LocalDate.of(2008, 8, 1));
+            book.setStatus(BookStatus.AVAILABLE);
+            bookRepository.save(book);
+        }
+        List<String> isbns = List.of("978-0-00000-001", "978-0-00000-002", "978-0-00000-003");
+
+        // Act
+        checkoutService.checkoutBooks(isbns, "john@example.com");
+        List<Book> checkedOut = libraryFacade.getMemberBooks("john@example.com");
+        checkoutService.returnBooks(isbns.subList(0, 2));
+
+        // Assert
+        assertThat(checkedOut).hasSize(3);
+        assertThat(bookRepository.findByIsbn("978-0-00000-003")).get()
+                .extracting(Book::getStatus).isEqualTo(BookStatus.CHECKED_OUT);
+        assertThat(memberRepository.findByEmail("john@example.com")).get()
+                .extracting(Member::getBooksCheckedOut).isEqualTo(1);
+    }
+}
@@ -3,21 +3,33 @@ package edu.trincoll.service;
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.LibraryStatisticsRow;
+import edu.trincoll.service.availability.BookStatusTable;
+import edu.trincoll.service.cache.BookCache;
+import edu.trincoll.service.catalog.CompactCatalog;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +39,18 @@ class BookManagementServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookStatusTable statusTable;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CompactCatalog catalog;
+
+    @Spy
+    private BookCache bookCache = new BookCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
     @InjectMocks
     private BookManagementService bookManagementService;
 
@@ -152,6 +176,37 @@ class BookManagementServiceTest {
         verify(bookRepository).findByDueDateBefore(LocalDate.now());
     }
 
+    @Test
+    @DisplayName("Should find overdue books in the catalog once it is loaded, after flushing pending changes")
+    void shouldFindOverdueBooksInCatalog() {
+        // Arrange
+        when(catalog.isReady()).thenReturn(true);
+        when(catalog.findDueBefore(LocalDate.now())).thenReturn(List.of(testBook));
+
+        // Act
+        List<Book> result = bookManagementService.findOverdueBooks();
+
+        // Assert
+        assertThat(result).containsExactly(testBook);
+        verify(entityManager).flush();
+        verify(bookRepository, never()).findByDueDateBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should hand overdue catalog entries to the action without loading entities")
+    void shouldVisitOverdueCatalogEntries() {
+        // Arrange
+        when(catalog.isReady()).thenReturn(true);
+        when(catalog.forEachDueBefore(eq(LocalDate.now()), any())).thenReturn(3L);
+
+        // Act
+        long visited = bookManagementService.forEachOverdueEntry(entry -> { });
+
+        // Assert
+        assertThat(visited).isEqualTo(3);
+        verify(bookRepository, never()).streamByDueDateBefore(any());
+    }
+
     @Test
     @DisplayName("Should find books by member")
     void shouldFindBooksByMember() {
@@ -302,4 +357,139 @@ class BookManagementServiceTest {
         // Assert
         verify(bookRepository).deleteById(bookId);
     }
+
+    @Test
+    @DisplayName("Should check availability from status table once it is loaded")
+    void shouldCheckAvailabilityFromStatusTable() {
+        // Arrange
+        when(statusTable.isReady()).thenReturn(true);
+        when(statusTable.isAvailable(testBook.getIsbn())).thenReturn(true);
+
+        // Act
+        boolean result = bookManagementService.isBookAvailable(testBook.getIsbn());
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(bookRepository, never()).findByIsbn(any());
+    }
+
+    @Test
+    @DisplayName("Should count by status from status table once it is loaded")
+    void shouldCountByStatusFromStatusTable() {
+        // Arrange
+        when(statusTable.isReady()).thenReturn(true);
+        when(statusTable.count(BookStatus.CHECKED_OUT)).thenReturn(7L);
+
+        // Act
+        long result = bookManagementService.countByStatus(BookStatus.CHECKED_OUT);
+
+        // Assert
+        assertThat(result).isEqualTo(7L);
+        verify(bookRepository, never()).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Should not peek status before status table is loaded")
+    void shouldNotPeekStatusBeforeStatusTableIsLoaded() {
+        // Arrange
+        when(statusTable.isReady()).thenReturn(false);
+
+        // Act
+        Optional<BookStatus> result = bookManagementService.peekStatus(testBook.getIsbn());
+
+        // Assert
+        assertThat(result).isEmpty();
+        verify(statusTable, never()).statusOf(any());
+    }
+
+    @Test
+    @DisplayName("Should fold grouped statistics rows into library statistics")
+    void shouldFoldGroupedStatisticsRows() {
+        // Arrange
+        when(bookRepository.summarizeLibrary(LocalDate.now())).thenReturn(List.of(
+                row(BookStatus.AVAILABLE, 7L, 0L),
+                row(BookStatus.CHECKED_OUT, 3L, 2L),
+                row(null, 4L, 2L)));
+
+        // Act
+        LibraryStatistics result = bookManagementService.getLibraryStatistics();
+
+        // Assert
+        assertThat(result.totalBooks()).isEqualTo(10);
+        assertThat(result.count(BookStatus.AVAILABLE)).isEqualTo(7);
+        assertThat(result.count(BookStatus.CHECKED_OUT)).isEqualTo(3);
+        assertThat(result.count(BookStatus.LOST)).isZero();
+        assertThat(result.overdueBooks()).isEqualTo(2);
+        assertThat(result.totalMembers()).isEqualTo(4);
+        assertThat(result.membersWithBooks()).isEqualTo(2);
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should visit and detach each overdue book from the stream")
+    void shouldVisitAndDetachEachOverdueBook() {
+        // Arrange
+        Book overdue = new Book("978-0-222222-22-2", "Refactoring", "Martin Fowler", LocalDate.of(1999, 7, 8));
+        when(bookRepository.streamByDueDateBefore(LocalDate.now())).thenReturn(Stream.of(testBook, overdue));
+        List<Book> visited = new ArrayList<>();
+
+        // Act
+        long result = bookManagementService.forEachOverdueBook(visited::add);
+
+        // Assert
+        assertThat(result).isEqualTo(2);
+        assertThat(visited).containsExactly(testBook, overdue);
+        verify(entityManager).detach(testBook);
+        verify(entityManager).detach(overdue);
+        verify(bookRepository, never()).findByDueDateBefore(any());
+    }
+
+    @Test
+    @DisplayName("Should read one book more than the page to decide whether another page follows")
+    void shouldPageAllBooks() {
+        // Arrange
+        when(bookRepository.findByIdGreaterThanOrderById(0L, Limit.of(2))).thenReturn(testBooks);
+
+        // Act
+        KeysetPage<Book> page = bookManagementService.findAll(0L, 1);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testBook);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(KeysetPage.afterId(page.nextToken())).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should end the listing on a page that is not full")
+    void shouldEndListingOnPartialPage() {
+        // Arrange
+        when(bookRepository.findPageByStatus(BookStatus.AVAILABLE, 1L, Limit.of(11))).thenReturn(List.of(testBook));
+
+        // Act
+        KeysetPage<Book> page = bookManagementService.findByStatus(BookStatus.AVAILABLE, 1L, 10);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testBook);
+        assertThat(page.hasNext()).isFalse();
+        verifyNoInteractions(catalog);
+    }
+
+    private static LibraryStatisticsRow row(BookStatus status, Long total, Long matching) {
+        return new LibraryStatisticsRow() {
+            @Override
+            public BookStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public Long getMatching() {
+                return matching;
+            }
+        };
+    }
 }
@@ -3,6 +3,9 @@ package edu.trincoll.service;
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.catalog.CompactCatalog;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import edu.trincoll.service.search.BookSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -26,6 +30,15 @@ class BookSearchServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex searchIndex;
+
+    @Mock
+    private CompactCatalog catalog;
+
+    @Mock
+    private LibraryReadModel readModel;
+
     @InjectMocks
     private BookSearchService bookSearchService;
 
@@ -97,6 +110,21 @@ class BookSearchServiceTest {
         verify(bookRepository).findByIsbn(isbn);
     }
 
+    @Test
+    @DisplayName("Should search by ISBN in the read model while it is current")
+    void shouldSearchByIsbnInReadModel() {
+        // Arrange
+        String isbn = testBook.getIsbn();
+        when(readModel.searchByIsbn(isbn)).thenReturn(Optional.of(List.of(testBook)));
+
+        // Act
+        List<Book> result = bookSearchService.searchByIsbn(isbn);
+
+        // Assert
+        assertThat(result).containsExactly(testBook);
+        verifyNoInteractions(bookRepository);
+    }
+
     @Test
     @DisplayName("Should return empty list when book not found by ISBN")
     void shouldReturnEmptyListWhenBookNotFoundByIsbn() {
@@ -265,4 +293,65 @@ class BookSearchServiceTest {
         assertThat(result).isEmpty();
         verify(bookRepository).findByTitleContainingIgnoreCase(searchTerm);
     }
+
+    @Test
+    @DisplayName("Should search by title from index once it is ready")
+    void shouldSearchByTitleFromIndexWhenReady() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchByTitle("Clean")).thenReturn(List.of(testBook));
+
+        // Act
+        List<Book> result = bookSearchService.searchBooks("Clean", "title");
+
+        // Assert
+        assertThat(result).containsExactly(testBook);
+        verify(bookRepository, never()).findByTitleContainingIgnoreCase(anyString());
+    }
+
+    @Test
+    @DisplayName("Should search by author from index once it is ready")
+    void shouldSearchByAuthorFromIndexWhenReady() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchByAuthor("Robert Martin")).thenReturn(List.of(testBook));
+
+        // Act
+        List<Book> result = bookSearchService.searchBooks("Robert Martin", "author");
+
+        // Assert
+        assertThat(result).containsExactly(testBook);
+        verify(bookRepository, never()).findByAuthor(anyString());
+    }
+
+    @Test
+    @DisplayName("Should page title matches from the index once it is built")
+    void shouldPageTitleMatchesFromIndex() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchByTitle("java", 1L, 2)).thenReturn(List.of(testBooks.get(1)));
+
+        // Act
+        KeysetPage<Book> page = bookSearchService.searchByTitle("java", 1L, 1);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testBooks.get(1));
+        assertThat(page.hasNext()).isFalse();
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    @DisplayName("Should page title matches from the database while the index is loading")
+    void shouldPageTitleMatchesFromDatabase() {
+        // Arrange
+        when(searchIndex.isReady()).thenReturn(false);
+        when(bookRepository.findByNormalizedTitleContainingAndIdGreaterThanOrderById(eq("clean"), eq(0L),
+                any(Limit.class))).thenReturn(List.of(testBook));
+
+        // Act
+        KeysetPage<Book> page = bookSearchService.searchByTitle("Clean", 0L, 5);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testBook);
+    }
 }
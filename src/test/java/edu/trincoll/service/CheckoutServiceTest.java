@@ -1,23 +1,38 @@
 package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
+import edu.trincoll.model.FeeLedgerEntry;
 import edu.trincoll.model.BookStatus;
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
-import edu.trincoll.service.fee.LateFeeStrategy;
+import edu.trincoll.service.event.BookCheckedOut;
+import edu.trincoll.service.event.BookReturned;
+import edu.trincoll.service.event.LateFeeAssessed;
+import edu.trincoll.service.event.LibraryEvent;
+import edu.trincoll.service.event.LibraryEventBus;
+import edu.trincoll.service.event.MemberLimitReached;
+import edu.trincoll.service.fee.FeeLedgerService;
+import edu.trincoll.service.fee.LateFeeRateTable;
 import edu.trincoll.service.fee.LateFeeStrategyFactory;
 import edu.trincoll.service.fee.PremiumLateFeeStrategy;
 import edu.trincoll.service.fee.RegularLateFeeStrategy;
 import edu.trincoll.service.fee.StudentLateFeeStrategy;
+import edu.trincoll.service.metrics.CheckoutOutcome;
+import edu.trincoll.service.metrics.LibraryMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,7 +53,17 @@ class CheckoutServiceTest {
     private NotificationService notificationService;
 
     @Mock
-    private LateFeeStrategyFactory lateFeeStrategyFactory;
+    private FeeLedgerService feeLedgerService;
+
+    @Spy
+    private LateFeeRateTable lateFeeRateTable = new LateFeeRateTable(new LateFeeStrategyFactory(
+            new RegularLateFeeStrategy(), new PremiumLateFeeStrategy(), new StudentLateFeeStrategy()));
+
+    @Spy
+    private LibraryMetrics libraryMetrics = new LibraryMetrics();
+
+    @Mock
+    private LibraryEventBus eventBus;
 
     @InjectMocks
     private CheckoutService checkoutService;
@@ -78,7 +103,7 @@ class CheckoutServiceTest {
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
         when(bookManagementService.checkoutBook(any(Book.class), anyString(), any(LocalDate.class))).thenReturn(availableBook);
-        when(memberService.incrementBooksCheckedOut(any(Member.class))).thenReturn(regularMember);
+        when(memberService.tryIncrementBooksCheckedOut(any(Member.class), eq(1), anyInt())).thenReturn(true);
 
         // Act
         String result = checkoutService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail());
@@ -89,8 +114,11 @@ class CheckoutServiceTest {
         verify(bookManagementService).findByIsbnOrThrow(availableBook.getIsbn());
         verify(memberService).findByEmailOrThrow(regularMember.getEmail());
         verify(bookManagementService).checkoutBook(eq(availableBook), eq(regularMember.getEmail()), any(LocalDate.class));
-        verify(memberService).incrementBooksCheckedOut(regularMember);
+        verify(memberService).tryIncrementBooksCheckedOut(regularMember, 1, 3);
         verify(notificationService).sendCheckoutNotification(eq(regularMember.getEmail()), eq(availableBook.getTitle()), any(LocalDate.class));
+        verify(eventBus).publish(argThat(event -> event instanceof BookCheckedOut checkedOut
+                && checkedOut.isbn().equals(availableBook.getIsbn())
+                && checkedOut.memberEmail().equals(regularMember.getEmail())));
     }
 
     @Test
@@ -100,7 +128,7 @@ class CheckoutServiceTest {
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(premiumMember.getEmail())).thenReturn(premiumMember);
         when(bookManagementService.checkoutBook(any(Book.class), anyString(), any(LocalDate.class))).thenReturn(availableBook);
-        when(memberService.incrementBooksCheckedOut(any(Member.class))).thenReturn(premiumMember);
+        when(memberService.tryIncrementBooksCheckedOut(any(Member.class), eq(1), anyInt())).thenReturn(true);
 
         // Act
         checkoutService.checkoutBook(availableBook.getIsbn(), premiumMember.getEmail());
@@ -117,7 +145,7 @@ class CheckoutServiceTest {
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(studentMember.getEmail())).thenReturn(studentMember);
         when(bookManagementService.checkoutBook(any(Book.class), anyString(), any(LocalDate.class))).thenReturn(availableBook);
-        when(memberService.incrementBooksCheckedOut(any(Member.class))).thenReturn(studentMember);
+        when(memberService.tryIncrementBooksCheckedOut(any(Member.class), eq(1), anyInt())).thenReturn(true);
 
         // Act
         checkoutService.checkoutBook(availableBook.getIsbn(), studentMember.getEmail());
@@ -140,9 +168,12 @@ class CheckoutServiceTest {
 
         // Assert
         assertThat(result).isEqualTo("Member has reached checkout limit");
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.LIMIT_REACHED)).isEqualTo(1);
         verify(bookManagementService, never()).checkoutBook(any(), any(), any());
-        verify(memberService, never()).incrementBooksCheckedOut(any());
+        verify(memberService, never()).tryIncrementBooksCheckedOut(any(), anyInt(), anyInt());
         verify(notificationService, never()).sendCheckoutNotification(any(), any(), any());
+        verify(eventBus).publish(argThat(event -> event instanceof MemberLimitReached reached
+                && reached.memberEmail().equals(regularMember.getEmail()) && reached.limit() == 3));
     }
 
     @Test
@@ -159,7 +190,7 @@ class CheckoutServiceTest {
         // Assert
         assertThat(result).isEqualTo("Member has reached checkout limit");
         verify(bookManagementService, never()).checkoutBook(any(), any(), any());
-        verify(memberService, never()).incrementBooksCheckedOut(any());
+        verify(memberService, never()).tryIncrementBooksCheckedOut(any(), anyInt(), anyInt());
         verify(notificationService, never()).sendCheckoutNotification(any(), any(), any());
     }
 
@@ -177,7 +208,25 @@ class CheckoutServiceTest {
         // Assert
         assertThat(result).isEqualTo("Member has reached checkout limit");
         verify(bookManagementService, never()).checkoutBook(any(), any(), any());
-        verify(memberService, never()).incrementBooksCheckedOut(any());
+        verify(memberService, never()).tryIncrementBooksCheckedOut(any(), anyInt(), anyInt());
+        verify(notificationService, never()).sendCheckoutNotification(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject checkout when a concurrent checkout takes the last slot")
+    void shouldRejectCheckoutWhenConcurrentCheckoutTakesLastSlot() {
+        // Arrange
+        regularMember.setBooksCheckedOut(2); // One slot left when loaded
+        when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        when(memberService.tryIncrementBooksCheckedOut(regularMember, 1, 3)).thenReturn(false);
+
+        // Act
+        String result = checkoutService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail());
+
+        // Assert
+        assertThat(result).isEqualTo("Member has reached checkout limit");
+        verify(bookManagementService, never()).checkoutBook(any(), any(), any());
         verify(notificationService, never()).sendCheckoutNotification(any(), any(), any());
     }
 
@@ -195,10 +244,25 @@ class CheckoutServiceTest {
         // Assert
         assertThat(result).isEqualTo("Book is not available");
         verify(bookManagementService, never()).checkoutBook(any(), any(), any());
-        verify(memberService, never()).incrementBooksCheckedOut(any());
+        verify(memberService, never()).tryIncrementBooksCheckedOut(any(), anyInt(), anyInt());
         verify(notificationService, never()).sendCheckoutNotification(any(), any(), any());
     }
 
+    @Test
+    @DisplayName("Should reject book known to be unavailable without loading entities")
+    void shouldRejectKnownUnavailableBookWithoutLoadingEntities() {
+        // Arrange
+        when(bookManagementService.peekStatus(availableBook.getIsbn())).thenReturn(Optional.of(BookStatus.CHECKED_OUT));
+
+        // Act
+        String result = checkoutService.checkoutBook(availableBook.getIsbn(), regularMember.getEmail());
+
+        // Assert
+        assertThat(result).isEqualTo("Book is not available");
+        verify(bookManagementService, never()).findByIsbnOrThrow(anyString());
+        verify(memberService, never()).findByEmailOrThrow(anyString());
+    }
+
     @Test
     @DisplayName("Should return book successfully")
     void shouldReturnBookSuccessfully() {
@@ -250,9 +314,6 @@ class CheckoutServiceTest {
         availableBook.setCheckedOutBy(regularMember.getEmail());
         availableBook.setDueDate(LocalDate.now().minusDays(5)); // 5 days late
         regularMember.setBooksCheckedOut(1);
-        
-        RegularLateFeeStrategy regularStrategy = new RegularLateFeeStrategy();
-        when(lateFeeStrategyFactory.getStrategy(MembershipType.REGULAR)).thenReturn(regularStrategy);
 
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
@@ -267,6 +328,64 @@ class CheckoutServiceTest {
         verify(notificationService).sendReturnNotification(eq(regularMember.getEmail()), eq(availableBook.getTitle()), eq(2.50));
     }
 
+    @Test
+    @DisplayName("Should publish a late return and its fee as events")
+    void shouldPublishLateReturnEvents() {
+        // Arrange
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        availableBook.setCheckedOutBy(regularMember.getEmail());
+        availableBook.setDueDate(LocalDate.now().minusDays(5));
+        regularMember.setBooksCheckedOut(1);
+
+        when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        ArgumentCaptor<LibraryEvent> events = ArgumentCaptor.forClass(LibraryEvent.class);
+
+        // Act
+        checkoutService.returnBook(availableBook.getIsbn());
+
+        // Assert
+        verify(eventBus, times(2)).publish(events.capture());
+        assertThat(events.getAllValues().get(0)).isInstanceOfSatisfying(BookReturned.class, returned -> {
+            assertThat(returned.isbn()).isEqualTo(availableBook.getIsbn());
+            assertThat(returned.late()).isTrue();
+        });
+        assertThat(events.getAllValues().get(1)).isInstanceOfSatisfying(LateFeeAssessed.class, fee -> {
+            assertThat(fee.amountCents()).isEqualTo(250);
+            assertThat(fee.daysLate()).isEqualTo(5);
+        });
+    }
+
+    @Test
+    @DisplayName("Should charge the late fee to the member's ledger in cents")
+    void shouldRecordLateFeeInLedger() {
+        // Arrange
+        LocalDate dueDate = LocalDate.now().minusDays(3);
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        availableBook.setCheckedOutBy(studentMember.getEmail());
+        availableBook.setDueDate(dueDate);
+        studentMember.setBooksCheckedOut(1);
+
+        when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
+        when(memberService.findByEmailOrThrow(studentMember.getEmail())).thenReturn(studentMember);
+
+        // Act
+        checkoutService.returnBook(availableBook.getIsbn());
+
+        // Assert
+        ArgumentCaptor<List<FeeLedgerEntry>> entries = ArgumentCaptor.captor();
+        verify(feeLedgerService).recordLateFees(eq(studentMember), entries.capture());
+        assertThat(entries.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getAmountCents()).isEqualTo(75);
+            assertThat(entry.getIsbn()).isEqualTo(availableBook.getIsbn());
+            assertThat(entry.getDueDate()).isEqualTo(dueDate);
+            assertThat(entry.getMembershipType()).isEqualTo(MembershipType.STUDENT);
+        });
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.RETURNED_LATE)).isEqualTo(1);
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.RETURNED)).isZero();
+        verify(libraryMetrics).recordLateFee(75);
+    }
+
     @Test
     @DisplayName("Should not charge late fee for premium member using strategy")
     void shouldNotChargeLateFeeForPremiumMember() {
@@ -275,9 +394,6 @@ class CheckoutServiceTest {
         availableBook.setCheckedOutBy(premiumMember.getEmail());
         availableBook.setDueDate(LocalDate.now().minusDays(5)); // 5 days late
         premiumMember.setBooksCheckedOut(1);
-        
-        PremiumLateFeeStrategy premiumStrategy = new PremiumLateFeeStrategy();
-        when(lateFeeStrategyFactory.getStrategy(MembershipType.PREMIUM)).thenReturn(premiumStrategy);
 
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(premiumMember.getEmail())).thenReturn(premiumMember);
@@ -301,9 +417,6 @@ class CheckoutServiceTest {
         availableBook.setCheckedOutBy(studentMember.getEmail());
         availableBook.setDueDate(LocalDate.now().minusDays(4)); // 4 days late
         studentMember.setBooksCheckedOut(1);
-        
-        StudentLateFeeStrategy studentStrategy = new StudentLateFeeStrategy();
-        when(lateFeeStrategyFactory.getStrategy(MembershipType.STUDENT)).thenReturn(studentStrategy);
 
         when(bookManagementService.findByIsbnOrThrow(availableBook.getIsbn())).thenReturn(availableBook);
         when(memberService.findByEmailOrThrow(studentMember.getEmail())).thenReturn(studentMember);
@@ -340,4 +453,129 @@ class CheckoutServiceTest {
         assertThat(result).doesNotContain("Late fee");
         verify(notificationService).sendReturnNotification(eq(regularMember.getEmail()), eq(availableBook.getTitle()), eq(0.0));
     }
+
+    @Test
+    @DisplayName("Should checkout a batch up to the member's limit with one counter update")
+    void shouldCheckoutBatchUpToLimit() {
+        // Arrange
+        Book second = new Book("978-0-111111-11-1", "Book 2", "Author 2", LocalDate.now());
+        Book third = new Book("978-0-222222-22-2", "Book 3", "Author 3", LocalDate.now());
+        Book fourth = new Book("978-0-333333-33-3", "Book 4", "Author 4", LocalDate.now());
+        regularMember.setBooksCheckedOut(1); // Two slots left
+        List<String> isbns = List.of(availableBook.getIsbn(), second.getIsbn(), third.getIsbn(), fourth.getIsbn());
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        when(bookManagementService.findAllByIsbn(isbns)).thenReturn(Map.of(
+                availableBook.getIsbn(), availableBook, second.getIsbn(), second, third.getIsbn(), third));
+        when(memberService.tryIncrementBooksCheckedOut(regularMember, 2, 3)).thenReturn(true);
+
+        // Act
+        List<CheckoutResult> results = checkoutService.checkoutBooks(isbns, regularMember.getEmail());
+
+        // Assert
+        assertThat(results).extracting(CheckoutResult::successful).containsExactly(true, true, false, false);
+        assertThat(results.get(2).message()).isEqualTo("Member has reached checkout limit");
+        assertThat(results.get(3).message()).isEqualTo("Book not found");
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.CHECKED_OUT)).isEqualTo(2);
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.LIMIT_REACHED)).isEqualTo(1);
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.NOT_FOUND)).isEqualTo(1);
+        verify(bookManagementService).checkoutBooks(eq(List.of(availableBook, second)), eq(regularMember.getEmail()),
+                eq(LocalDate.now().plusDays(14)));
+        verify(memberService).tryIncrementBooksCheckedOut(regularMember, 2, 3);
+        verify(memberService, never()).incrementBooksCheckedOut(any());
+        verify(notificationService).sendNotification(eq(regularMember.getEmail()), eq("Books checked out"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should publish one limit event when a batch refuses books for the limit")
+    void shouldPublishOneLimitEventForBatch() {
+        // Arrange
+        Book second = new Book("978-0-111111-11-1", "Book 2", "Author 2", LocalDate.now());
+        Book third = new Book("978-0-222222-22-2", "Book 3", "Author 3", LocalDate.now());
+        regularMember.setBooksCheckedOut(2); // One slot left
+        List<String> isbns = List.of(availableBook.getIsbn(), second.getIsbn(), third.getIsbn());
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        when(bookManagementService.findAllByIsbn(isbns)).thenReturn(Map.of(
+                availableBook.getIsbn(), availableBook, second.getIsbn(), second, third.getIsbn(), third));
+        when(memberService.tryIncrementBooksCheckedOut(regularMember, 1, 3)).thenReturn(true);
+
+        // Act
+        List<CheckoutResult> results = checkoutService.checkoutBooks(isbns, regularMember.getEmail());
+
+        // Assert
+        assertThat(results).extracting(CheckoutResult::successful).containsExactly(true, false, false);
+        assertThat(libraryMetrics.outcomeCount(CheckoutOutcome.LIMIT_REACHED)).isEqualTo(2);
+        verify(eventBus, times(1)).publish(argThat(event -> event instanceof MemberLimitReached reached
+                && reached.memberEmail().equals(regularMember.getEmail()) && reached.limit() == 3));
+    }
+
+    @Test
+    @DisplayName("Should reject the whole batch when a concurrent checkout takes the remaining slots")
+    void shouldRejectBatchWhenConcurrentCheckoutTakesRemainingSlots() {
+        // Arrange
+        Book second = new Book("978-0-111111-11-1", "Book 2", "Author 2", LocalDate.now());
+        List<String> isbns = List.of(availableBook.getIsbn(), second.getIsbn());
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        when(bookManagementService.findAllByIsbn(isbns)).thenReturn(Map.of(
+                availableBook.getIsbn(), availableBook, second.getIsbn(), second));
+        when(memberService.tryIncrementBooksCheckedOut(regularMember, 2, 3)).thenReturn(false);
+
+        // Act
+        List<CheckoutResult> results = checkoutService.checkoutBooks(isbns, regularMember.getEmail());
+
+        // Assert
+        assertThat(results).extracting(CheckoutResult::message)
+                .containsOnly("Member has reached checkout limit");
+        verify(bookManagementService, never()).checkoutBooks(any(), any(), any());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("Should not write anything when no book in the batch can be checked out")
+    void shouldNotWriteWhenNoBookInBatchCanBeCheckedOut() {
+        // Arrange
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        List<String> isbns = List.of(availableBook.getIsbn());
+        when(memberService.findByEmailOrThrow(regularMember.getEmail())).thenReturn(regularMember);
+        when(bookManagementService.findAllByIsbn(isbns)).thenReturn(Map.of(availableBook.getIsbn(), availableBook));
+
+        // Act
+        List<CheckoutResult> results = checkoutService.checkoutBooks(isbns, regularMember.getEmail());
+
+        // Assert
+        assertThat(results).containsExactly(new CheckoutResult(availableBook.getIsbn(), false, "Book is not available"));
+        verify(bookManagementService, never()).checkoutBooks(any(), any(), any());
+        verify(memberService, never()).tryIncrementBooksCheckedOut(any(), anyInt(), anyInt());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    @DisplayName("Should return a batch and update each borrower once")
+    void shouldReturnBatchAndUpdateEachBorrowerOnce() {
+        // Arrange
+        availableBook.setStatus(BookStatus.CHECKED_OUT);
+        availableBook.setCheckedOutBy(regularMember.getEmail());
+        availableBook.setDueDate(LocalDate.now().minusDays(2));
+        Book second = new Book("978-0-111111-11-1", "Book 2", "Author 2", LocalDate.now());
+        second.setStatus(BookStatus.CHECKED_OUT);
+        second.setCheckedOutBy(regularMember.getEmail());
+        second.setDueDate(LocalDate.now().plusDays(3));
+        Book notCheckedOut = new Book("978-0-222222-22-2", "Book 3", "Author 3", LocalDate.now());
+        regularMember.setBooksCheckedOut(2);
+
+        List<String> isbns = List.of(availableBook.getIsbn(), second.getIsbn(), notCheckedOut.getIsbn());
+        when(bookManagementService.findAllByIsbn(isbns)).thenReturn(Map.of(
+                availableBook.getIsbn(), availableBook, second.getIsbn(), second,
+                notCheckedOut.getIsbn(), notCheckedOut));
+        when(memberService.findAllByEmail(any())).thenReturn(Map.of(regularMember.getEmail(), regularMember));
+
+        // Act
+        List<CheckoutResult> results = checkoutService.returnBooks(isbns);
+
+        // Assert
+        assertThat(results).extracting(CheckoutResult::message).containsExactly(
+                "Book returned. Late fee: $1.00", "Book returned successfully", "Book is not checked out");
+        verify(bookManagementService).returnBooks(List.of(availableBook, second));
+        verify(memberService).adjustBooksCheckedOut(regularMember, -2);
+        verify(notificationService).sendReturnNotification(regularMember.getEmail(), "Clean Code, Book 2", 1.00);
+    }
 }
@@ -0,0 +1,152 @@
+package edu.trincoll.service;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers a handful of books with concurrent checkouts and returns through the facade, outside any
+ * test transaction so each call commits on its own like a real kiosk request.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Concurrent Checkout Stress Tests")
+class ConcurrentCheckoutStressTest {
+
+    private static final int BOOKS = 5;
+    private static final int MEMBERS = 40;
+    private static final int THREADS = 16;
+    private static final int OPERATIONS = 4_000;
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    private final List<String> isbns = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book("978-0-000000-00-" + i, "Contended Book " + i, "Author " + i, LocalDate.now());
+            isbns.add(bookRepository.save(book).getIsbn());
+        }
+        for (int i = 0; i < MEMBERS; i++) {
+            Member member = new Member("Member " + i, "member" + i + "@example.com", MembershipType.PREMIUM);
+            emails.add(memberRepository.save(member).getEmail());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should never lend the same copy twice under concurrent checkouts and returns")
+    void shouldNeverLendSameCopyTwice() throws InterruptedException {
+        // Arrange
+        Map<String, AtomicInteger> checkouts = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> returns = new ConcurrentHashMap<>();
+        isbns.forEach(isbn -> {
+            checkouts.put(isbn, new AtomicInteger());
+            returns.put(isbn, new AtomicInteger());
+        });
+        LongAdder conflicts = new LongAdder();
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String isbn = isbns.get(random.nextInt(BOOKS));
+                try {
+                    start.await();
+                    String result;
+                    if (random.nextBoolean()) {
+                        result = libraryFacade.checkoutBook(isbn, emails.get(random.nextInt(MEMBERS)));
+                        if (result.startsWith("Book checked out successfully")) {
+                            checkouts.get(isbn).incrementAndGet();
+                        }
+                    } else {
+                        result = libraryFacade.returnBook(isbn);
+                        if (result.startsWith("Book returned")) {
+                            returns.get(isbn).incrementAndGet();
+                        }
+                    }
+                    if (result.contains("concurrent update")) {
+                        conflicts.increment();
+                    }
+                } catch (RuntimeException | InterruptedException e) {
+                    failures.increment();
+                }
+            });
+        }
+
+        // Act
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        boolean finished = executor.awaitTermination(2, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        // Assert
+        assertThat(finished).isTrue();
+        assertThat(failures.sum()).isZero();
+
+        int lent = 0;
+        for (String isbn : isbns) {
+            Book book = bookRepository.findByIsbn(isbn).orElseThrow();
+            int outstanding = checkouts.get(isbn).get() - returns.get(isbn).get();
+            assertThat(outstanding)
+                    .as("successful checkouts minus returns of %s", isbn)
+                    .isEqualTo(book.getStatus() == BookStatus.CHECKED_OUT ? 1 : 0);
+            lent += outstanding;
+        }
+        for (Member member : memberRepository.findAll()) {
+            assertThat(member.getBooksCheckedOut())
+                    .as("checked out count of %s", member.getEmail())
+                    .isEqualTo(bookRepository.findByCheckedOutBy(member.getEmail()).size());
+        }
+        assertThat(memberRepository.findAll().stream().mapToInt(Member::getBooksCheckedOut).sum()).isEqualTo(lent);
+
+        // Contention is resolved by retries rather than by giving up, and throughput does not collapse
+        assertThat(conflicts.sum()).isLessThan(OPERATIONS / 20);
+        assertThat(OPERATIONS / seconds).isGreaterThan(100);
+    }
+}
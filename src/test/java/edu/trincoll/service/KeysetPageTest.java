@@ -0,0 +1,58 @@
+package edu.trincoll.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Keyset Page Tests")
+class KeysetPageTest {
+
+    @Test
+    @DisplayName("Should read the id back from a continuation token")
+    void shouldRoundTripToken() {
+        // Act
+        String token = KeysetPage.tokenAfter(123_456_789L);
+
+        // Assert
+        assertThat(KeysetPage.afterId(token)).isEqualTo(123_456_789L);
+        assertThat(KeysetPage.afterId(null)).isZero();
+        assertThat(KeysetPage.afterId(" ")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens it did not issue")
+    void shouldRejectForeignTokens() {
+        assertThatThrownBy(() -> KeysetPage.afterId("not a token"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid continuation token");
+        assertThatThrownBy(() -> KeysetPage.afterId("MTIz"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should only hand out a next token when more items were read than fit the page")
+    void shouldBuildPages() {
+        // Act
+        KeysetPage<Long> full = KeysetPage.of(List.of(1L, 2L, 3L), 2, Long::longValue);
+        KeysetPage<Long> last = KeysetPage.of(List.of(3L), 2, Long::longValue);
+
+        // Assert
+        assertThat(full.items()).containsExactly(1L, 2L);
+        assertThat(KeysetPage.afterId(full.nextToken())).isEqualTo(2L);
+        assertThat(last.items()).containsExactly(3L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes outside the allowed range")
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> KeysetPage.checkLimit(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.checkLimit(KeysetPage.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(KeysetPage.checkLimit(KeysetPage.MAX_LIMIT)).isEqualTo(KeysetPage.MAX_LIMIT);
+    }
+}
@@ -14,7 +14,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -47,7 +50,8 @@ class LibraryFacadeIntegrationTest {
         testBook = new Book("978-0-123456-78-9", "Clean Code", "Robert Martin",
                 LocalDate.of(2008, 8, 1));
         testBook.setStatus(BookStatus.AVAILABLE);
-        testBook = bookRepository.save(testBook);
+        // Flushed so the insert, and with it the in-memory search index, happens inside the test transaction
+        testBook = bookRepository.saveAndFlush(testBook);
 
         // Create test member
         testMember = new Member("John Doe", "john@example.com");
@@ -135,13 +139,28 @@ class LibraryFacadeIntegrationTest {
         assertThat(result).isEqualTo("Member has reached checkout limit");
     }
 
+    @Test
+    @DisplayName("Should enforce the checkout limit stored in the database even if the loaded member is stale")
+    void shouldEnforceStoredCheckoutLimitOverStaleMember() {
+        // Another kiosk takes the member to the limit behind this persistence context's back
+        memberRepository.adjustBooksCheckedOut(testMember.getEmail(), 3);
+
+        // Act
+        String result = libraryFacade.checkoutBook(testBook.getIsbn(), testMember.getEmail());
+
+        // Assert
+        assertThat(result).isEqualTo("Member has reached checkout limit");
+        assertThat(bookRepository.findByIsbn(testBook.getIsbn()).orElseThrow().getStatus())
+                .isEqualTo(BookStatus.AVAILABLE);
+    }
+
     @Test
     @DisplayName("Should search books correctly")
     void shouldSearchBooksCorrectly() {
         // Create additional books
         Book book2 = new Book("978-0-111111-11-1", "Effective Java", "Joshua Bloch", LocalDate.now());
         book2.setStatus(BookStatus.AVAILABLE);
-        bookRepository.save(book2);
+        bookRepository.saveAndFlush(book2);
 
         // Search by title
         List<Book> titleResults = libraryFacade.searchBooks("Clean", "title");
@@ -159,6 +178,24 @@ class LibraryFacadeIntegrationTest {
         assertThat(isbnResults.get(0).getIsbn()).isEqualTo(testBook.getIsbn());
     }
 
+    @Test
+    @DisplayName("Should search titles case-insensitively through the normalized title column")
+    void shouldSearchTitlesThroughNormalizedColumn() {
+        // Arrange
+        Book book2 = new Book("978-0-111111-11-1", "100% Effective Java", "Joshua Bloch", LocalDate.now());
+        bookRepository.save(book2);
+        testBook.setTitle("Clean Code, Second Edition");
+        bookRepository.saveAndFlush(testBook);
+
+        // Act & Assert
+        assertThat(bookRepository.findByTitleContainingIgnoreCase("SECOND EDITION"))
+                .extracting(Book::getIsbn).containsExactly(testBook.getIsbn());
+        assertThat(bookRepository.findByTitleContainingIgnoreCase("0% eff"))
+                .extracting(Book::getIsbn).containsExactly(book2.getIsbn());
+        assertThat(bookRepository.findByTitleContainingIgnoreCase("%")).hasSize(1);
+        assertThat(bookRepository.findByTitleContainingIgnoreCase("refactoring")).isEmpty();
+    }
+
     @Test
     @DisplayName("Should generate reports correctly")
     void shouldGenerateReportsCorrectly() {
@@ -190,8 +227,32 @@ class LibraryFacadeIntegrationTest {
         // Generate summary report
         String summaryReport = libraryFacade.generateReport("summary");
         assertThat(summaryReport).contains("LIBRARY SUMMARY REPORT");
-        assertThat(summaryReport).contains("Total books:");
-        assertThat(summaryReport).contains("Total members:");
+        assertThat(summaryReport).contains("Total books: 2");
+        assertThat(summaryReport).contains("Available books: 1");
+        assertThat(summaryReport).contains("Checked out books: 1");
+        assertThat(summaryReport).contains("Overdue books: 1");
+        assertThat(summaryReport).contains("Total members: 2");
+    }
+
+    @Test
+    @DisplayName("Should stream overdue books report")
+    void shouldStreamOverdueBooksReport() throws IOException {
+        // Arrange
+        Book overdueBook = new Book("978-0-999999-99-9", "Overdue Book", "Overdue Author", LocalDate.now());
+        overdueBook.setStatus(BookStatus.CHECKED_OUT);
+        overdueBook.setCheckedOutBy(testMember.getEmail());
+        overdueBook.setDueDate(LocalDate.now().minusDays(5));
+        bookRepository.save(overdueBook);
+        StringWriter writer = new StringWriter();
+
+        // Act
+        long written = libraryFacade.writeOverdueBooksReport(writer);
+
+        // Assert
+        assertThat(written).isEqualTo(1);
+        assertThat(writer.toString()).contains("Overdue Book by Overdue Author");
+        assertThat(writer.toString()).contains("Checked out by: john@example.com");
+        assertThat(writer.toString()).contains("Total overdue books: 1");
     }
 
     @Test
@@ -248,4 +309,59 @@ class LibraryFacadeIntegrationTest {
         // Assert
         assertThat(canCheckout).isFalse();
     }
+
+    @Test
+    @DisplayName("Should checkout and return a batch of books")
+    void shouldCheckoutAndReturnBatchOfBooks() {
+        // Arrange
+        Book book2 = bookRepository.save(new Book("978-0-111111-11-1", "Book 2", "Author 2", LocalDate.now()));
+        Book book3 = bookRepository.save(new Book("978-0-222222-22-2", "Book 3", "Author 3", LocalDate.now()));
+        Book book4 = bookRepository.save(new Book("978-0-333333-33-3", "Book 4", "Author 4", LocalDate.now()));
+        List<String> isbns = List.of(testBook.getIsbn(), book2.getIsbn(), book3.getIsbn(), book4.getIsbn());
+
+        // Act - Checkout four books for a regular member (limit 3)
+        List<CheckoutResult> checkoutResults = libraryFacade.checkoutBooks(isbns, testMember.getEmail());
+
+        // Assert
+        assertThat(checkoutResults).extracting(CheckoutResult::successful).containsExactly(true, true, true, false);
+        assertThat(memberRepository.findByEmail(testMember.getEmail()).orElseThrow().getBooksCheckedOut()).isEqualTo(3);
+        assertThat(bookRepository.findByIsbn(book4.getIsbn()).orElseThrow().getStatus()).isEqualTo(BookStatus.AVAILABLE);
+
+        // Act - Return everything
+        List<CheckoutResult> returnResults = libraryFacade.returnBooks(isbns);
+
+        // Assert
+        assertThat(returnResults).extracting(CheckoutResult::successful).containsExactly(true, true, true, false);
+        assertThat(memberRepository.findByEmail(testMember.getEmail()).orElseThrow().getBooksCheckedOut()).isZero();
+        assertThat(bookRepository.findByStatus(BookStatus.AVAILABLE)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should walk every available book page by page with continuation tokens")
+    void shouldWalkAvailableBooksPageByPage() {
+        // Arrange
+        for (int i = 0; i < 6; i++) {
+            Book book = new Book("978-1-00000-00" + i, "Refactoring " + i, "Martin Fowler", LocalDate.of(1999, 7, 8));
+            bookRepository.save(book);
+        }
+        libraryFacade.checkoutBook(testBook.getIsbn(), testMember.getEmail());
+
+        // Act
+        List<String> titles = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            KeysetPage<Book> page = libraryFacade.getAvailableBooks(token, 4);
+            page.items().forEach(book -> titles.add(book.getTitle()));
+            token = page.nextToken();
+            pages++;
+        } while (token != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(2);
+        assertThat(titles).hasSize(6).allMatch(title -> title.startsWith("Refactoring"));
+        assertThat(libraryFacade.searchBooksByTitle("refactoring", null, 10).items()).hasSize(6);
+        assertThat(libraryFacade.getMembers(null, 10).items()).extracting(Member::getEmail)
+                .containsExactly(testMember.getEmail());
+    }
 }
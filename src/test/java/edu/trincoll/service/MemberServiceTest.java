@@ -2,15 +2,22 @@ package edu.trincoll.service;
 
 import edu.trincoll.model.Member;
 import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.MemberCountView;
 import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.cache.MemberCache;
+import edu.trincoll.service.readmodel.LibraryReadModel;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +25,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +35,15 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private MemberCache memberCache = new MemberCache(100, Duration.ofMinutes(10));
+
+    @Mock
+    private LibraryReadModel readModel;
+
     @InjectMocks
     private MemberService memberService;
 
@@ -231,14 +248,15 @@ class MemberServiceTest {
     void shouldIncrementBooksCheckedOutCount() {
         // Arrange
         int initialCount = testMember.getBooksCheckedOut();
-        when(memberRepository.save(testMember)).thenReturn(testMember);
+        when(memberRepository.adjustBooksCheckedOut(testMember.getEmail(), 1)).thenReturn(1);
 
         // Act
         Member result = memberService.incrementBooksCheckedOut(testMember);
 
         // Assert
         assertThat(testMember.getBooksCheckedOut()).isEqualTo(initialCount + 1);
-        verify(memberRepository).save(testMember);
+        verify(entityManager).detach(testMember);
+        verify(memberRepository, never()).save(any(Member.class));
     }
 
     @Test
@@ -246,14 +264,14 @@ class MemberServiceTest {
     void shouldDecrementBooksCheckedOutCount() {
         // Arrange
         testMember.setBooksCheckedOut(2);
-        when(memberRepository.save(testMember)).thenReturn(testMember);
+        when(memberRepository.adjustBooksCheckedOut(testMember.getEmail(), -1)).thenReturn(1);
 
         // Act
         Member result = memberService.decrementBooksCheckedOut(testMember);
 
         // Assert
         assertThat(testMember.getBooksCheckedOut()).isEqualTo(1);
-        verify(memberRepository).save(testMember);
+        verify(memberRepository, never()).save(any(Member.class));
     }
 
     @Test
@@ -261,14 +279,64 @@ class MemberServiceTest {
     void shouldNotDecrementBelowZero() {
         // Arrange
         testMember.setBooksCheckedOut(0);
-        when(memberRepository.save(testMember)).thenReturn(testMember);
+        when(memberRepository.adjustBooksCheckedOut(testMember.getEmail(), -1)).thenReturn(1);
 
         // Act
         Member result = memberService.decrementBooksCheckedOut(testMember);
 
         // Assert
         assertThat(testMember.getBooksCheckedOut()).isEqualTo(0);
-        verify(memberRepository).save(testMember);
+    }
+
+    @Test
+    @DisplayName("Should take a checkout slot when the member is under the limit")
+    void shouldTakeCheckoutSlotWhenUnderLimit() {
+        // Arrange
+        testMember.setBooksCheckedOut(1);
+        when(memberRepository.incrementBooksCheckedOutWithinLimit(testMember.getEmail(), 2, 3)).thenReturn(1);
+
+        // Act
+        boolean result = memberService.tryIncrementBooksCheckedOut(testMember, 2, 3);
+
+        // Assert
+        assertThat(result).isTrue();
+        assertThat(testMember.getBooksCheckedOut()).isEqualTo(3);
+        verify(entityManager).detach(testMember);
+    }
+
+    @Test
+    @DisplayName("Should hand the read model the count and version the update left")
+    void shouldReportStoredCountToReadModel() {
+        // Arrange - another checkout already raised the stored count past the caller's copy
+        MemberCountView stored = mock(MemberCountView.class);
+        when(stored.getId()).thenReturn(1L);
+        when(stored.getVersion()).thenReturn(7L);
+        when(stored.getBooksCheckedOut()).thenReturn(2);
+        when(readModel.isEnabled()).thenReturn(true);
+        when(memberRepository.incrementBooksCheckedOutWithinLimit(testMember.getEmail(), 1, 3)).thenReturn(1);
+        when(memberRepository.findCountViewByEmail(testMember.getEmail())).thenReturn(Optional.of(stored));
+
+        // Act
+        memberService.tryIncrementBooksCheckedOut(testMember, 1, 3);
+
+        // Assert
+        verify(readModel).booksCheckedOutChanged(1L, 7L, 2);
+    }
+
+    @Test
+    @DisplayName("Should not take a checkout slot when the update matches no row")
+    void shouldNotTakeCheckoutSlotAtLimit() {
+        // Arrange
+        testMember.setBooksCheckedOut(2);
+        when(memberRepository.incrementBooksCheckedOutWithinLimit(testMember.getEmail(), 1, 3)).thenReturn(0);
+
+        // Act
+        boolean result = memberService.tryIncrementBooksCheckedOut(testMember, 1, 3);
+
+        // Assert
+        assertThat(result).isFalse();
+        assertThat(testMember.getBooksCheckedOut()).isEqualTo(2);
+        verifyNoInteractions(entityManager);
     }
 
     @Test
@@ -317,27 +385,142 @@ class MemberServiceTest {
     @DisplayName("Should check if member exists by email")
     void shouldCheckIfMemberExistsByEmail() {
         // Arrange
-        when(memberRepository.findByEmail(testMember.getEmail())).thenReturn(Optional.of(testMember));
+        when(memberRepository.existsByEmail(testMember.getEmail())).thenReturn(true);
 
         // Act
         boolean result = memberService.existsByEmail(testMember.getEmail());
 
         // Assert
         assertThat(result).isTrue();
-        verify(memberRepository).findByEmail(testMember.getEmail());
+        verify(memberRepository).existsByEmail(testMember.getEmail());
+        verify(memberRepository, never()).findByEmail(anyString());
     }
 
     @Test
     @DisplayName("Should return false when member does not exist by email")
     void shouldReturnFalseWhenMemberDoesNotExistByEmail() {
         // Arrange
-        when(memberRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+        when(memberRepository.existsByEmail("nonexistent@example.com")).thenReturn(false);
 
         // Act
         boolean result = memberService.existsByEmail("nonexistent@example.com");
 
         // Assert
         assertThat(result).isFalse();
-        verify(memberRepository).findByEmail("nonexistent@example.com");
+        verify(memberRepository).existsByEmail("nonexistent@example.com");
+    }
+
+    @Test
+    @DisplayName("Should answer exists from the cache once the member has been looked up")
+    void shouldAnswerExistsFromCache() {
+        // Arrange
+        when(memberRepository.findByEmail(testMember.getEmail())).thenReturn(Optional.of(testMember));
+        memberService.findByEmail(testMember.getEmail());
+
+        // Act
+        boolean result = memberService.existsByEmail(testMember.getEmail());
+
+        // Assert
+        assertThat(result).isTrue();
+        verify(memberRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups by email from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        when(memberRepository.findByEmail(testMember.getEmail())).thenReturn(Optional.of(testMember));
+
+        // Act
+        Member first = memberService.findByEmailOrThrow(testMember.getEmail());
+        Member second = memberService.findByEmailOrThrow(testMember.getEmail());
+
+        // Assert
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getMembershipType()).isEqualTo(MembershipType.REGULAR);
+        verify(memberRepository, times(1)).findByEmail(testMember.getEmail());
+        assertThat(memberCache.stats().hits()).isEqualTo(1);
+        assertThat(memberCache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache members that do not exist")
+    void shouldNotCacheMissingMembers() {
+        // Arrange
+        when(memberRepository.findByEmail("nonexistent@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        memberService.findByEmail("nonexistent@example.com");
+        memberService.findByEmail("nonexistent@example.com");
+
+        // Assert
+        verify(memberRepository, times(2)).findByEmail("nonexistent@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reload a member after its membership type changes")
+    void shouldInvalidateCacheOnMembershipTypeUpdate() {
+        // Arrange
+        when(memberRepository.findByEmail(testMember.getEmail())).thenReturn(Optional.of(testMember));
+        when(memberRepository.save(testMember)).thenReturn(testMember);
+        memberService.findByEmail(testMember.getEmail());
+
+        // Act
+        memberService.updateMembershipType(testMember, MembershipType.PREMIUM);
+        Member reloaded = memberService.findByEmailOrThrow(testMember.getEmail());
+
+        // Assert
+        assertThat(reloaded.getMembershipType()).isEqualTo(MembershipType.PREMIUM);
+        verify(memberRepository, times(2)).findByEmail(testMember.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should reload a member after its checked out count changes")
+    void shouldInvalidateCacheOnCounterUpdate() {
+        // Arrange
+        when(memberRepository.findByEmail(testMember.getEmail())).thenReturn(Optional.of(testMember));
+        when(memberRepository.adjustBooksCheckedOut(testMember.getEmail(), 1)).thenReturn(1);
+        memberService.findByEmail(testMember.getEmail());
+
+        // Act
+        memberService.incrementBooksCheckedOut(testMember);
+        Member reloaded = memberService.findByEmailOrThrow(testMember.getEmail());
+
+        // Assert
+        assertThat(reloaded.getBooksCheckedOut()).isEqualTo(1);
+        verify(memberRepository, times(2)).findByEmail(testMember.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should reload a member after it is deleted")
+    void shouldInvalidateCacheOnDelete() {
+        // Arrange
+        when(memberRepository.findByEmail(testMember.getEmail()))
+                .thenReturn(Optional.of(testMember))
+                .thenReturn(Optional.empty());
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        memberService.findByEmail(testMember.getEmail());
+
+        // Act
+        memberService.deleteById(1L);
+        Optional<Member> result = memberService.findByEmail(testMember.getEmail());
+
+        // Assert
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page members in id order")
+    void shouldPageMembers() {
+        // Arrange
+        when(memberRepository.findByIdGreaterThanOrderById(0L, Limit.of(2))).thenReturn(testMembers);
+
+        // Act
+        KeysetPage<Member> page = memberService.findAll(0L, 1);
+
+        // Assert
+        assertThat(page.items()).containsExactly(testMember);
+        assertThat(KeysetPage.afterId(page.nextToken())).isEqualTo(testMember.getId());
     }
 }
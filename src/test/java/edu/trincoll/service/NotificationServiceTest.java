@@ -1,22 +1,43 @@
 package edu.trincoll.service;
 
+import edu.trincoll.repository.OverdueLoanView;
+import edu.trincoll.service.notification.NotificationDispatcher;
+import edu.trincoll.service.notification.NotificationMessage;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Notification Service Tests")
 class NotificationServiceTest {
 
+    @Mock
+    private NotificationDispatcher dispatcher;
+
     @InjectMocks
     private NotificationService notificationService;
 
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
     @Test
     @DisplayName("Should send checkout notification")
     void shouldSendCheckoutNotification() {
@@ -161,4 +182,90 @@ class NotificationServiceTest {
             notificationService.sendReturnNotification(memberEmail, bookTitle, largeLateFee);
         });
     }
+
+    @Test
+    @DisplayName("Should dispatch immediately outside a transaction")
+    void shouldDispatchImmediatelyOutsideTransaction() {
+        // Act
+        notificationService.sendReturnNotification("test@example.com", "Clean Code", 2.5);
+
+        // Assert
+        verify(dispatcher).submit(new NotificationMessage("test@example.com", "Book returned",
+                "You have returned Clean Code. Late fee: $2.50"));
+    }
+
+    @Test
+    @DisplayName("Should list every overdue loan of a member in one digest")
+    void shouldSendOverdueDigest() {
+        // Arrange
+        List<OverdueLoanView> loans = List.of(
+                loan("Clean Code", LocalDate.of(2024, 2, 1)),
+                loan("Effective Java", LocalDate.of(2024, 2, 15)));
+
+        // Act
+        notificationService.sendOverdueDigest("test@example.com", loans);
+
+        // Assert
+        verify(dispatcher).submit(new NotificationMessage("test@example.com", "You have 2 overdue books",
+                "The following books are overdue:\nClean Code was due on 2024-02-01\n"
+                        + "Effective Java was due on 2024-02-15"));
+    }
+
+    @Test
+    @DisplayName("Should dispatch only after the transaction commits")
+    void shouldDispatchOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        notificationService.sendNotification("test@example.com", "Library Notice", "Hello");
+
+        // Assert - nothing is sent while the transaction is open
+        verify(dispatcher, never()).submit(any());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(dispatcher).submit(new NotificationMessage("test@example.com", "Library Notice", "Hello"));
+    }
+
+    @Test
+    @DisplayName("Should not dispatch when the transaction rolls back")
+    void shouldNotDispatchOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        notificationService.sendNotification("test@example.com", "Library Notice", "Hello");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verify(dispatcher, never()).submit(any());
+    }
+
+    private static OverdueLoanView loan(String title, LocalDate dueDate) {
+        return new OverdueLoanView() {
+            @Override
+            public Long getId() {
+                return 1L;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+
+            @Override
+            public String getCheckedOutBy() {
+                return "test@example.com";
+            }
+
+            @Override
+            public LocalDate getDueDate() {
+                return dueDate;
+            }
+        };
+    }
 }
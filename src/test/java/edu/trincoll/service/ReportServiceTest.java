@@ -2,8 +2,9 @@ package edu.trincoll.service;
 
 import edu.trincoll.model.Book;
 import edu.trincoll.model.BookStatus;
-import edu.trincoll.model.Member;
-import edu.trincoll.model.MembershipType;
+import edu.trincoll.service.catalog.CatalogEntry;
+import edu.trincoll.service.fee.FeeLedgerService;
+import edu.trincoll.service.readmodel.LibraryReadModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,11 +13,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,14 +35,16 @@ class ReportServiceTest {
     private BookManagementService bookManagementService;
 
     @Mock
-    private MemberService memberService;
+    private FeeLedgerService feeLedgerService;
+
+    @Mock
+    private LibraryReadModel readModel;
 
     @InjectMocks
     private ReportService reportService;
 
     private Book overdueBook;
     private List<Book> overdueBooks;
-    private List<Member> membersWithBooks;
 
     @BeforeEach
     void setUp() {
@@ -53,18 +63,6 @@ class ReportServiceTest {
         anotherOverdueBook.setDueDate(LocalDate.now().minusDays(3));
 
         overdueBooks = List.of(overdueBook, anotherOverdueBook);
-
-        Member activeMember1 = new Member("John Doe", "john@example.com");
-        activeMember1.setId(1L);
-        activeMember1.setMembershipType(MembershipType.REGULAR);
-        activeMember1.setBooksCheckedOut(2);
-
-        Member activeMember2 = new Member("Jane Smith", "jane@example.com");
-        activeMember2.setId(2L);
-        activeMember2.setMembershipType(MembershipType.PREMIUM);
-        activeMember2.setBooksCheckedOut(1);
-
-        membersWithBooks = List.of(activeMember1, activeMember2);
     }
 
     @Test
@@ -86,6 +84,22 @@ class ReportServiceTest {
         verify(bookManagementService).findOverdueBooks();
     }
 
+    @Test
+    @DisplayName("Should take the overdue books from the read model while it is current")
+    void shouldGenerateOverdueBooksReportFromReadModel() {
+        // Arrange
+        when(readModel.findDueBefore(LocalDate.now()))
+                .thenReturn(Optional.of(List.of(CatalogEntry.of(overdueBook))));
+
+        // Act
+        String result = reportService.generateOverdueBooksReport();
+
+        // Assert
+        assertThat(result).contains("Clean Code by Robert Martin");
+        assertThat(result).contains("Total overdue books: 1");
+        verifyNoInteractions(bookManagementService);
+    }
+
     @Test
     @DisplayName("Should generate overdue books report with no books")
     void shouldGenerateOverdueBooksReportWithNoBooks() {
@@ -102,12 +116,47 @@ class ReportServiceTest {
         verify(bookManagementService).findOverdueBooks();
     }
 
+    @Test
+    @DisplayName("Should stream overdue books report to a writer")
+    void shouldStreamOverdueBooksReportToWriter() throws IOException {
+        // Arrange
+        when(bookManagementService.forEachOverdueEntry(any())).thenAnswer(invocation -> {
+            Consumer<CatalogEntry> action = invocation.getArgument(0);
+            overdueBooks.stream().map(CatalogEntry::of).forEach(action);
+            return (long) overdueBooks.size();
+        });
+        when(bookManagementService.findOverdueBooks()).thenReturn(overdueBooks);
+        StringWriter writer = new StringWriter();
+
+        // Act
+        long result = reportService.writeOverdueBooksReport(writer);
+
+        // Assert
+        assertThat(result).isEqualTo(2);
+        assertThat(writer.toString()).isEqualTo(reportService.generateOverdueBooksReport());
+    }
+
+    @Test
+    @DisplayName("Should stream empty overdue books report to a writer")
+    void shouldStreamEmptyOverdueBooksReportToWriter() throws IOException {
+        // Arrange
+        when(bookManagementService.forEachOverdueEntry(any())).thenReturn(0L);
+        StringWriter writer = new StringWriter();
+
+        // Act
+        long result = reportService.writeOverdueBooksReport(writer);
+
+        // Assert
+        assertThat(result).isZero();
+        assertThat(writer.toString()).contains("No overdue books found.");
+        assertThat(writer.toString()).contains("Total overdue books: 0");
+    }
+
     @Test
     @DisplayName("Should generate available books report")
     void shouldGenerateAvailableBooksReport() {
         // Arrange
-        when(bookManagementService.countByStatus(BookStatus.AVAILABLE)).thenReturn(15L);
-        when(bookManagementService.findAll()).thenReturn(List.of(overdueBook, new Book("978-0-111111-11-1", "Test Book", "Test Author", LocalDate.now())));
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(20, 15, 5, 2, 0, 0));
 
         // Act
         String result = reportService.generateAvailableBooksReport();
@@ -115,18 +164,17 @@ class ReportServiceTest {
         // Assert
         assertThat(result).contains("AVAILABLE BOOKS REPORT");
         assertThat(result).contains("Available books: 15");
-        assertThat(result).contains("Total books: 2");
-        assertThat(result).contains("Checkout rate:");
-        verify(bookManagementService).countByStatus(BookStatus.AVAILABLE);
-        verify(bookManagementService).findAll();
+        assertThat(result).contains("Total books: 20");
+        assertThat(result).contains("Checkout rate: 25.0%");
+        verify(bookManagementService).getLibraryStatistics();
+        verify(bookManagementService, never()).findAll();
     }
 
     @Test
     @DisplayName("Should generate available books report with zero total books")
     void shouldGenerateAvailableBooksReportWithZeroTotalBooks() {
         // Arrange
-        when(bookManagementService.countByStatus(BookStatus.AVAILABLE)).thenReturn(0L);
-        when(bookManagementService.findAll()).thenReturn(List.of());
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(0, 0, 0, 0, 0, 0));
 
         // Act
         String result = reportService.generateAvailableBooksReport();
@@ -136,16 +184,14 @@ class ReportServiceTest {
         assertThat(result).contains("Available books: 0");
         assertThat(result).contains("Total books: 0");
         assertThat(result).contains("Checkout rate: 0.0%");
-        verify(bookManagementService).countByStatus(BookStatus.AVAILABLE);
-        verify(bookManagementService).findAll();
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
     @DisplayName("Should generate members report")
     void shouldGenerateMembersReport() {
         // Arrange
-        when(memberService.count()).thenReturn(10L);
-        when(memberService.findMembersWithCheckedOutBooks()).thenReturn(membersWithBooks);
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(0, 0, 0, 0, 10, 2));
 
         // Act
         String result = reportService.generateMembersReport();
@@ -155,16 +201,14 @@ class ReportServiceTest {
         assertThat(result).contains("Total members: 10");
         assertThat(result).contains("Members with checked out books: 2");
         assertThat(result).contains("Active member rate: 20.0%");
-        verify(memberService).count();
-        verify(memberService).findMembersWithCheckedOutBooks();
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
     @DisplayName("Should generate members report with zero total members")
     void shouldGenerateMembersReportWithZeroTotalMembers() {
         // Arrange
-        when(memberService.count()).thenReturn(0L);
-        when(memberService.findMembersWithCheckedOutBooks()).thenReturn(List.of());
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(0, 0, 0, 0, 0, 0));
 
         // Act
         String result = reportService.generateMembersReport();
@@ -174,20 +218,14 @@ class ReportServiceTest {
         assertThat(result).contains("Total members: 0");
         assertThat(result).contains("Members with checked out books: 0");
         assertThat(result).contains("Active member rate: 0.0%");
-        verify(memberService).count();
-        verify(memberService).findMembersWithCheckedOutBooks();
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
     @DisplayName("Should generate library summary report")
     void shouldGenerateLibrarySummaryReport() {
         // Arrange
-        List<Book> allBooks = List.of(overdueBook, new Book("978-0-111111-11-1", "Test Book", "Test Author", LocalDate.now()));
-        when(bookManagementService.findAll()).thenReturn(allBooks);
-        when(bookManagementService.countByStatus(BookStatus.AVAILABLE)).thenReturn(1L);
-        when(bookManagementService.countByStatus(BookStatus.CHECKED_OUT)).thenReturn(1L);
-        when(bookManagementService.findOverdueBooks()).thenReturn(List.of(overdueBook));
-        when(memberService.count()).thenReturn(5L);
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(2, 1, 1, 1, 5, 1));
 
         // Act
         String result = reportService.generateLibrarySummaryReport();
@@ -200,11 +238,9 @@ class ReportServiceTest {
         assertThat(result).contains("Overdue books: 1");
         assertThat(result).contains("Total members: 5");
         assertThat(result).contains("Report generated on: " + LocalDate.now());
-        verify(bookManagementService).findAll();
-        verify(bookManagementService).countByStatus(BookStatus.AVAILABLE);
-        verify(bookManagementService).countByStatus(BookStatus.CHECKED_OUT);
-        verify(bookManagementService).findOverdueBooks();
-        verify(memberService).count();
+        verify(bookManagementService).getLibraryStatistics();
+        verify(bookManagementService, never()).findAll();
+        verify(bookManagementService, never()).findOverdueBooks();
     }
 
     @Test
@@ -225,48 +261,42 @@ class ReportServiceTest {
     @DisplayName("Should generate report by type - available")
     void shouldGenerateReportByTypeAvailable() {
         // Arrange
-        when(bookManagementService.countByStatus(BookStatus.AVAILABLE)).thenReturn(10L);
-        when(bookManagementService.findAll()).thenReturn(List.of());
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(10, 10, 0, 0, 0, 0));
 
         // Act
         String result = reportService.generateReport("available");
 
         // Assert
         assertThat(result).contains("AVAILABLE BOOKS REPORT");
-        verify(bookManagementService).countByStatus(BookStatus.AVAILABLE);
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
     @DisplayName("Should generate report by type - members")
     void shouldGenerateReportByTypeMembers() {
         // Arrange
-        when(memberService.count()).thenReturn(5L);
-        when(memberService.findMembersWithCheckedOutBooks()).thenReturn(List.of());
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(0, 0, 0, 0, 5, 0));
 
         // Act
         String result = reportService.generateReport("members");
 
         // Assert
         assertThat(result).contains("MEMBERS REPORT");
-        verify(memberService).count();
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
     @DisplayName("Should generate report by type - summary")
     void shouldGenerateReportByTypeSummary() {
         // Arrange
-        when(bookManagementService.findAll()).thenReturn(List.of());
-        when(bookManagementService.countByStatus(BookStatus.AVAILABLE)).thenReturn(0L);
-        when(bookManagementService.countByStatus(BookStatus.CHECKED_OUT)).thenReturn(0L);
-        when(bookManagementService.findOverdueBooks()).thenReturn(List.of());
-        when(memberService.count()).thenReturn(0L);
+        when(bookManagementService.getLibraryStatistics()).thenReturn(statistics(0, 0, 0, 0, 0, 0));
 
         // Act
         String result = reportService.generateReport("summary");
 
         // Assert
         assertThat(result).contains("LIBRARY SUMMARY REPORT");
-        verify(bookManagementService).findAll();
+        verify(bookManagementService).getLibraryStatistics();
     }
 
     @Test
@@ -291,4 +321,30 @@ class ReportServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Invalid report type: invalid");
     }
+
+    @Test
+    @DisplayName("Should report outstanding late fees from the member balances")
+    void shouldReportOutstandingLateFees() {
+        // Arrange
+        Map<String, Long> balances = new LinkedHashMap<>();
+        balances.put("jane@example.com", 125L);
+        balances.put("john@example.com", 250L);
+        when(feeLedgerService.outstandingBalances()).thenReturn(balances);
+
+        // Act
+        Map<String, Double> report = reportService.generateLateFeeReport();
+        String text = reportService.generateReport("fees");
+
+        // Assert
+        assertThat(report).containsExactly(Map.entry("jane@example.com", 1.25), Map.entry("john@example.com", 2.50));
+        assertThat(text).contains("LATE FEES REPORT", "john@example.com owes $2.50",
+                "Members owing fees: 2", "Total outstanding: $3.75");
+    }
+
+    private static LibraryStatistics statistics(long total, long available, long checkedOut, long overdue,
+                                                long members, long membersWithBooks) {
+        return new LibraryStatistics(total,
+                Map.of(BookStatus.AVAILABLE, available, BookStatus.CHECKED_OUT, checkedOut),
+                overdue, members, membersWithBooks);
+    }
 }
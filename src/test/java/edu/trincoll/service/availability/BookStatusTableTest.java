@@ -0,0 +1,209 @@
+package edu.trincoll.service.availability;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.BookStatusView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Status Table Tests")
+class BookStatusTableTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookStatusTable statusTable;
+
+    @BeforeEach
+    void setUp() {
+        statusTable = new BookStatusTable(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should track status and counts as books change")
+    void shouldTrackStatusAndCounts() {
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+        statusTable.bookSaved(book(2L, BookStatus.AVAILABLE));
+        statusTable.bookSaved(book(1L, BookStatus.CHECKED_OUT));
+
+        assertThat(statusTable.statusOf("isbn-1")).contains(BookStatus.CHECKED_OUT);
+        assertThat(statusTable.isAvailable("isbn-1")).isFalse();
+        assertThat(statusTable.isAvailable("isbn-2")).isTrue();
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isEqualTo(1);
+        assertThat(statusTable.count(BookStatus.CHECKED_OUT)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should forget removed books")
+    void shouldForgetRemovedBooks() {
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+        statusTable.bookRemoved(book(1L, BookStatus.AVAILABLE));
+
+        assertThat(statusTable.statusOf("isbn-1")).isEmpty();
+        assertThat(statusTable.isAvailable("isbn-1")).isFalse();
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report unknown books as empty")
+    void shouldReportUnknownBooksAsEmpty() {
+        assertThat(statusTable.statusOf("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should grow beyond a single chunk of ids")
+    void shouldGrowBeyondSingleChunk() {
+        statusTable.bookSaved(book(5_000_000L, BookStatus.LOST));
+
+        assertThat(statusTable.statusOf("isbn-5000000")).contains(BookStatus.LOST);
+        assertThat(statusTable.count(BookStatus.LOST)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave counts alone when a save does not change the status")
+    void shouldIgnoreSavesWithoutTransition() {
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+
+        TransactionSynchronizationManager.initSynchronization();
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(statusTable.statusOf("isbn-1")).contains(BookStatus.AVAILABLE);
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should revert transitions when the transaction rolls back")
+    void shouldRevertTransitionsOnRollback() {
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+
+        TransactionSynchronizationManager.initSynchronization();
+        statusTable.bookSaved(book(1L, BookStatus.CHECKED_OUT));
+        statusTable.bookSaved(book(2L, BookStatus.AVAILABLE));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(statusTable.statusOf("isbn-1")).contains(BookStatus.AVAILABLE);
+        assertThat(statusTable.statusOf("isbn-2")).isEmpty();
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isEqualTo(1);
+        assertThat(statusTable.count(BookStatus.CHECKED_OUT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not revert a transition that a later transaction has overwritten")
+    void shouldNotRevertOverwrittenTransition() {
+        statusTable.bookSaved(book(1L, BookStatus.AVAILABLE));
+
+        TransactionSynchronizationManager.initSynchronization();
+        statusTable.bookSaved(book(1L, BookStatus.CHECKED_OUT));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A concurrent transaction moves the book on before the rollback is applied
+        statusTable.bookSaved(book(1L, BookStatus.LOST));
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(statusTable.statusOf("isbn-1")).contains(BookStatus.LOST);
+        assertThat(statusTable.count(BookStatus.LOST)).isEqualTo(1);
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isZero();
+        assertThat(statusTable.count(BookStatus.CHECKED_OUT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep counts exact under concurrent transitions")
+    void shouldKeepCountsExactUnderConcurrency() throws InterruptedException {
+        int books = 1_000;
+        for (long id = 1; id <= books; id++) {
+            statusTable.bookSaved(book(id, BookStatus.AVAILABLE));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.submit(() -> {
+                for (long id = 1; id <= books; id++) {
+                    statusTable.bookSaved(book(id, BookStatus.CHECKED_OUT));
+                    statusTable.bookSaved(book(id, BookStatus.AVAILABLE));
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isEqualTo(books);
+        assertThat(statusTable.count(BookStatus.CHECKED_OUT)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load statuses from the repository on rebuild")
+    void shouldLoadStatusesOnRebuild() {
+        // Arrange
+        when(bookRepository.findStatusViewsByIdGreaterThanOrderById(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(view(1L, BookStatus.AVAILABLE), view(2L, BookStatus.DAMAGED)));
+
+        // Act
+        statusTable.rebuild();
+
+        // Assert
+        assertThat(statusTable.isReady()).isTrue();
+        assertThat(statusTable.statusOf("isbn-2")).contains(BookStatus.DAMAGED);
+        assertThat(statusTable.count(BookStatus.AVAILABLE)).isEqualTo(1);
+    }
+
+    private static Book book(Long id, BookStatus status) {
+        Book book = new Book("isbn-" + id, "Title " + id, "Author", LocalDate.of(2008, 8, 1));
+        book.setId(id);
+        book.setStatus(status);
+        return book;
+    }
+
+    private static BookStatusView view(Long id, BookStatus status) {
+        return new BookStatusView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getIsbn() {
+                return "isbn-" + id;
+            }
+
+            @Override
+            public BookStatus getStatus() {
+                return status;
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package edu.trincoll.service.availability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ISBN Id Table Tests")
+class IsbnIdTableTest {
+
+    private final IsbnIdTable table = new IsbnIdTable();
+
+    @Test
+    @DisplayName("Should map, remap and conditionally remove an ISBN")
+    void shouldPutGetAndRemove() {
+        // Act
+        long first = table.put("978-0-123456-78-9", 1L);
+        long second = table.put("978-0-123456-78-9", 2L);
+
+        // Assert
+        assertThat(first).isEqualTo(IsbnIdTable.NO_ID);
+        assertThat(second).isEqualTo(1L);
+        assertThat(table.get("978-0-123456-78-9")).isEqualTo(2L);
+        assertThat(table.remove("978-0-123456-78-9", 1L)).isFalse();
+        assertThat(table.remove("978-0-123456-78-9", 2L)).isTrue();
+        assertThat(table.get("978-0-123456-78-9")).isEqualTo(IsbnIdTable.NO_ID);
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep every ISBN findable across growth and removals")
+    void shouldKeepEntriesAcrossGrowthAndRemovals() {
+        // Arrange
+        for (int i = 0; i < 10_000; i++) {
+            table.put("isbn-" + i, i);
+        }
+
+        // Act
+        for (int i = 0; i < 10_000; i += 2) {
+            table.remove("isbn-" + i, i);
+        }
+
+        // Assert
+        assertThat(table.size()).isEqualTo(5_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.get("isbn-" + i)).isEqualTo(i % 2 == 0 ? IsbnIdTable.NO_ID : i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer lookups correctly while another thread writes")
+    void shouldReadWhileWriting() throws Exception {
+        // Arrange
+        table.put("stable", 42L);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 50_000; i++) {
+                table.put("isbn-" + i, i);
+                if (i % 3 == 0) {
+                    table.remove("isbn-" + i, i);
+                }
+            }
+            writing.set(false);
+        });
+        boolean alwaysFound = true;
+        while (writing.get()) {
+            alwaysFound &= table.get("stable") == 42L;
+        }
+        writer.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertThat(alwaysFound).isTrue();
+        assertThat(table.get("isbn-49999")).isEqualTo(49_999L);
+    }
+}
@@ -0,0 +1,153 @@
+package edu.trincoll.service.cache;
+
+import edu.trincoll.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Book Cache Tests")
+class BookCacheTest {
+
+    private final BookCache bookCache = new BookCache(DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Book stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = book("978-0-123456-78-9", 1L, 0L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a book once and serve copies afterwards")
+    void shouldServeCopiesFromCache() {
+        // Act
+        Book first = bookCache.find(stored.getIsbn(), loader()).orElseThrow();
+        Book second = bookCache.find(stored.getIsbn(), loader()).orElseThrow();
+
+        // Assert
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first).isNotSameAs(stored);
+        assertThat(second.getVersion()).isEqualTo(0L);
+        assertThat(bookCache.stats().hitRatio()).isEqualTo(0.5);
+        assertThat(bookCache.stats().loads()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should publish a written book only when its transaction commits")
+    void shouldPublishWriteOnCommit() {
+        // Arrange
+        bookCache.find(stored.getIsbn(), loader());
+        TransactionSynchronizationManager.initSynchronization();
+        stored.setTitle("Clean Code, 2nd Edition");
+        bookCache.bookSaved(stored);
+
+        // Act: the writer reads its own write from the database, then commits
+        bookCache.find(stored.getIsbn(), loader());
+        stored.setVersion(1L);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        Book cached = bookCache.find(stored.getIsbn(), loader()).orElseThrow();
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        assertThat(cached.getTitle()).isEqualTo("Clean Code, 2nd Edition");
+        assertThat(cached.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not expose or keep a write whose transaction rolls back")
+    void shouldDropWriteOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        Book uncommitted = book(stored.getIsbn(), 1L, 0L);
+        uncommitted.setTitle("Never Committed");
+        bookCache.bookSaved(uncommitted);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Another transaction only sees the committed book
+        assertThat(bookCache.find(stored.getIsbn(), loader()).orElseThrow().getTitle()).isEqualTo("Clean Code");
+
+        // Act
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        bookCache.find(stored.getIsbn(), loader());
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a newer version published by a later commit")
+    void shouldKeepNewerVersion() {
+        // Arrange
+        Book older = book(stored.getIsbn(), 1L, 1L);
+        Book newer = book(stored.getIsbn(), 1L, 2L);
+        newer.setTitle("Newer");
+
+        // Act
+        bookCache.bookSaved(newer);
+        bookCache.bookSaved(older);
+
+        // Assert
+        assertThat(bookCache.find(stored.getIsbn(), loader()).orElseThrow().getTitle()).isEqualTo("Newer");
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used books to stay within the memory budget")
+    void shouldStayWithinMemoryBudget() {
+        // Arrange
+        long bookSize = BookCache.estimateSize(stored);
+        BookCache small = new BookCache(DataSize.ofBytes(bookSize * 2 + bookSize / 2), Duration.ofMinutes(10));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            small.bookSaved(book("978-0-123456-78-" + i, (long) i, 0L));
+        }
+
+        // Assert
+        assertThat(small.stats().size()).isEqualTo(2);
+        assertThat(small.stats().weight()).isLessThanOrEqualTo(bookSize * 2 + bookSize / 2);
+        assertThat(small.stats().evictions()).isEqualTo(1);
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+
+    private Function<String, Optional<Book>> loader() {
+        return isbn -> {
+            loads.incrementAndGet();
+            return Optional.of(stored);
+        };
+    }
+
+    private static Book book(String isbn, Long id, Long version) {
+        Book book = new Book(isbn, "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+        book.setId(id);
+        book.setVersion(version);
+        return book;
+    }
+}
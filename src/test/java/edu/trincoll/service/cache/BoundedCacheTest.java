@@ -0,0 +1,100 @@
+package edu.trincoll.service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Bounded Cache Tests")
+class BoundedCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final BoundedCache<String, Integer> cache = new BoundedCache<>(2, Duration.ofSeconds(10), clock::get);
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void shouldCountHitsAndMisses() {
+        // Arrange
+        cache.put("a", 1);
+
+        // Act
+        Integer hit = cache.get("a");
+        Integer miss = cache.get("b");
+
+        // Assert
+        assertThat(hit).isEqualTo(1);
+        assertThat(miss).isNull();
+        assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 0, 1, 1, 0, 0));
+        assertThat(cache.stats().hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Arrange
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // Act
+        cache.put("c", 3);
+
+        // Assert
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire entries after their time to live")
+    void shouldExpireEntries() {
+        // Arrange
+        cache.put("a", 1);
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Assert
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced with an invalidation")
+    void shouldRejectLoadStartedBeforeInvalidation() {
+        // Arrange
+        long invalidations = cache.invalidations();
+        cache.invalidate("a");
+
+        // Act
+        boolean cached = cache.putIfNotInvalidatedSince("a", 1, invalidations);
+
+        // Assert
+        assertThat(cached).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIfNotInvalidatedSince("a", 2, cache.invalidations())).isTrue();
+        assertThat(cache.get("a")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every entry matching a predicate")
+    void shouldInvalidateMatchingEntries() {
+        // Arrange
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // Act
+        cache.invalidateIf((key, value) -> value == 2);
+
+        // Assert
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isNull();
+    }
+}
@@ -0,0 +1,100 @@
+package edu.trincoll.service.cache;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Member Cache Tests")
+class MemberCacheTest {
+
+    private final MemberCache memberCache = new MemberCache(100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Member stored;
+
+    @BeforeEach
+    void setUp() {
+        stored = new Member("John Doe", "john@example.com", MembershipType.REGULAR);
+        stored.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache in a transaction that has written the member")
+    void shouldReadOwnWritesInTransaction() {
+        // Arrange
+        memberCache.find(stored.getEmail(), loader());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        stored.setMembershipType(MembershipType.PREMIUM);
+        memberCache.memberSaved(stored);
+        memberCache.find(stored.getEmail(), loader());
+        Optional<Member> result = memberCache.find(stored.getEmail(), loader());
+
+        // Assert
+        assertThat(result).get().extracting(Member::getMembershipType).isEqualTo(MembershipType.PREMIUM);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should invalidate again when the writing transaction rolls back")
+    void shouldInvalidateOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        memberCache.memberChanged(stored.getEmail());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A concurrent reader caches the member before the writer completes
+        memberCache.find(stored.getEmail(), loader());
+
+        // Act
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        memberCache.find(stored.getEmail(), loader());
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should drop a member cached under its old email when the email changes")
+    void shouldInvalidateOldEmailOnChange() {
+        // Arrange
+        memberCache.find(stored.getEmail(), loader());
+
+        // Act
+        Member renamed = new Member("John Doe", "johnny@example.com", MembershipType.REGULAR);
+        renamed.setId(1L);
+        memberCache.memberSaved(renamed);
+
+        // Assert
+        assertThat(memberCache.contains("john@example.com")).isFalse();
+    }
+
+    private Function<String, Optional<Member>> loader() {
+        return email -> {
+            loads.incrementAndGet();
+            return Optional.of(stored);
+        };
+    }
+}
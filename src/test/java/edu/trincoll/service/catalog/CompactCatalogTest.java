@@ -0,0 +1,183 @@
+package edu.trincoll.service.catalog;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Compact Catalog Tests")
+class CompactCatalogTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private CompactCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new CompactCatalog(bookRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should round-trip every catalog column through off-heap storage")
+    void shouldRoundTripColumns() {
+        // Arrange
+        Book book = book(1L, "Ærøskøbing — Ünïcödé Title", "Søren Kierkegaard");
+        book.setVersion(4L);
+        book.setStatus(BookStatus.CHECKED_OUT);
+        book.setCheckedOutBy("john@example.com");
+        book.setDueDate(TODAY.plusDays(14));
+
+        // Act
+        catalog.bookSaved(book);
+        Book stored = catalog.findByStatus(BookStatus.CHECKED_OUT).get(0);
+
+        // Assert
+        assertThat(stored).usingRecursiveComparison().isEqualTo(book);
+        assertThat(catalog.size()).isEqualTo(1);
+        assertThat(catalog.offHeapBytes()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should answer status, due date, author and borrower queries")
+    void shouldAnswerQueries() {
+        // Arrange
+        catalog.bookSaved(book(1L, "Clean Code", "Robert Martin"));
+        catalog.bookSaved(checkedOut(book(2L, "Clean Architecture", "Robert Martin"), "john@example.com", TODAY.minusDays(1)));
+        catalog.bookSaved(checkedOut(book(3L, "Effective Java", "Joshua Bloch"), "jane@example.com", TODAY));
+
+        // Act & Assert
+        assertThat(catalog.findByStatus(BookStatus.AVAILABLE)).extracting(Book::getId).containsExactly(1L);
+        assertThat(catalog.findByStatus(BookStatus.CHECKED_OUT)).extracting(Book::getId).containsExactly(2L, 3L);
+        assertThat(catalog.findDueBefore(TODAY)).extracting(Book::getId).containsExactly(2L);
+        assertThat(catalog.findByAuthor("Robert Martin")).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(catalog.findByAuthor("Unknown Author")).isEmpty();
+        assertThat(catalog.findByCheckedOutBy("jane@example.com")).extracting(Book::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("Should stream overdue entries and count them")
+    void shouldStreamOverdueEntries() {
+        // Arrange
+        for (long id = 1; id <= 3000; id++) {
+            catalog.bookSaved(checkedOut(book(id, "Title " + id, "Author " + id % 7), "member@example.com",
+                    TODAY.minusDays(id % 3)));
+        }
+        List<String> titles = new ArrayList<>();
+
+        // Act
+        long visited = catalog.forEachDueBefore(TODAY, entry -> titles.add(entry.title()));
+
+        // Assert
+        assertThat(visited).isEqualTo(2000);
+        assertThat(titles).hasSize(2000).startsWith("Title 1", "Title 2", "Title 4");
+    }
+
+    @Test
+    @DisplayName("Should load every page from the repository on rebuild")
+    void shouldRebuildFromRepository() {
+        // Arrange
+        List<Book> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            firstPage.add(book(id, "Title " + id, "Author"));
+        }
+        when(bookRepository.findByIdGreaterThanOrderById(anyLong(), any(Limit.class)))
+                .thenReturn(firstPage)
+                .thenReturn(List.of(book(10_001L, "Last", "Author")));
+
+        // Act
+        catalog.rebuild();
+
+        // Assert
+        assertThat(catalog.isReady()).isTrue();
+        assertThat(catalog.size()).isEqualTo(10_001);
+        assertThat(catalog.findByAuthor("Author")).hasSize(10_001);
+    }
+
+    @Test
+    @DisplayName("Should undo changes made in a transaction that rolls back")
+    void shouldUndoChangesOnRollback() {
+        // Arrange
+        catalog.bookSaved(book(1L, "Clean Code", "Robert Martin"));
+        catalog.bookSaved(book(2L, "Effective Java", "Joshua Bloch"));
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        catalog.bookSaved(checkedOut(book(1L, "Clean Code", "Robert Martin"), "john@example.com", TODAY));
+        catalog.bookRemoved(book(2L, "Effective Java", "Joshua Bloch"));
+        catalog.bookSaved(book(3L, "Refactoring", "Martin Fowler"));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        assertThat(catalog.findByStatus(BookStatus.AVAILABLE)).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(catalog.findByCheckedOutBy("john@example.com")).isEmpty();
+        assertThat(catalog.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep every book and its values when compacting")
+    void shouldCompactWithoutLosingBooks() {
+        // Arrange
+        for (long id = 1; id <= 100; id++) {
+            catalog.bookSaved(book(id, "Title " + id, "Author"));
+        }
+        for (long id = 1; id <= 100; id += 2) {
+            catalog.bookSaved(book(id, "Retitled " + id, "Author"));
+        }
+        catalog.bookRemoved(book(100L, "Title 100", "Author"));
+
+        // Act
+        boolean compacted = catalog.compact();
+
+        // Assert
+        assertThat(compacted).isTrue();
+        assertThat(catalog.size()).isEqualTo(99);
+        assertThat(catalog.findByAuthor("Author")).extracting(Book::getTitle)
+                .startsWith("Retitled 1", "Title 2", "Retitled 3")
+                .doesNotContain("Title 100");
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book("isbn-" + id, title, author, LocalDate.of(2008, 8, 1));
+        book.setId(id);
+        book.setStatus(BookStatus.AVAILABLE);
+        return book;
+    }
+
+    private static Book checkedOut(Book book, String memberEmail, LocalDate dueDate) {
+        book.setStatus(BookStatus.CHECKED_OUT);
+        book.setCheckedOutBy(memberEmail);
+        book.setDueDate(dueDate);
+        return book;
+    }
+}
@@ -0,0 +1,211 @@
+package edu.trincoll.service.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Library Event Bus Tests")
+class LibraryEventBusTest {
+
+    private final LibraryEventBus eventBus = new LibraryEventBus(null, 4, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        eventBus.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver every event to each subscriber in publishing order")
+    void shouldDeliverInOrderToEachSubscriber() throws InterruptedException {
+        // Arrange
+        List<LibraryEvent> first = new CopyOnWriteArrayList<>();
+        List<LibraryEvent> second = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("first", first::add);
+        eventBus.subscribe("second", second::add);
+        List<LibraryEvent> events = List.of(checkedOut("111"), checkedOut("222"), checkedOut("333"),
+                checkedOut("444"), checkedOut("555"), checkedOut("666"));
+
+        // Act
+        for (LibraryEvent event : events) {
+            eventBus.publish(event);
+            awaitBacklogBelow(2);
+        }
+        eventBus.stop();
+
+        // Assert
+        assertThat(first).containsExactlyElementsOf(events);
+        assertThat(second).containsExactlyElementsOf(events);
+        assertThat(eventBus.stats().published()).isEqualTo(6);
+        assertThat(eventBus.stats().dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop events rather than wait when a subscriber is a full ring behind")
+    void shouldDropEventsWhenRingIsFull() throws InterruptedException {
+        // Arrange - hold the subscriber on the first event so the ring fills up behind it
+        CountDownLatch release = new CountDownLatch(1);
+        List<LibraryEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("slow", event -> {
+            awaitQuietly(release);
+            received.add(event);
+        });
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            eventBus.publish(checkedOut("isbn-" + i));
+        }
+        release.countDown();
+        eventBus.stop();
+
+        // Assert
+        assertThat(eventBus.stats().published()).isEqualTo(4);
+        assertThat(eventBus.stats().dropped()).isEqualTo(2);
+        assertThat(received).extracting(event -> ((BookCheckedOut) event).isbn())
+                .containsExactly("isbn-0", "isbn-1", "isbn-2", "isbn-3");
+    }
+
+    @Test
+    @DisplayName("Should count a failing subscriber and keep delivering to it")
+    void shouldCountSubscriberFailures() throws InterruptedException {
+        // Arrange
+        List<LibraryEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("flaky", event -> {
+            received.add(event);
+            if (received.size() == 1) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        // Act
+        eventBus.publish(checkedOut("111"));
+        eventBus.publish(checkedOut("222"));
+        eventBus.stop();
+
+        // Assert
+        assertThat(received).hasSize(2);
+        assertThat(eventBus.stats().failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep following the ring after a subscriber throws an Error")
+    void shouldSurviveSubscriberError() throws InterruptedException {
+        // Arrange
+        List<LibraryEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("overflowing", event -> {
+            received.add(event);
+            if (received.size() == 1) {
+                throw new StackOverflowError();
+            }
+        });
+
+        // Act - more events than the ring holds, so a subscriber that stopped would make them drop
+        for (int i = 0; i < 10; i++) {
+            eventBus.publish(checkedOut("isbn-" + i));
+            awaitBacklogBelow(2);
+        }
+        eventBus.stop();
+
+        // Assert
+        assertThat(received).hasSize(10);
+        assertThat(eventBus.stats().failed()).isEqualTo(1);
+        assertThat(eventBus.stats().dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hold events until the transaction commits and drop them on rollback")
+    void shouldPublishOnlyAfterCommit() throws InterruptedException {
+        // Arrange
+        List<LibraryEvent> received = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("listener", received::add);
+        LibraryEvent committed = checkedOut("111");
+        LibraryEvent rolledBack = checkedOut("222");
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        eventBus.publish(committed);
+        long publishedBeforeCommit = eventBus.stats().published();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        eventBus.publish(rolledBack);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        eventBus.stop();
+
+        // Assert
+        assertThat(publishedBeforeCommit).isZero();
+        assertThat(received).containsExactly(committed);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a closed subscription")
+    void shouldStopDeliveringAfterClose() throws InterruptedException {
+        // Arrange
+        List<LibraryEvent> received = new CopyOnWriteArrayList<>();
+        LibraryEventBus.Subscription subscription = eventBus.subscribe("closing", received::add);
+        eventBus.publish(checkedOut("111"));
+        awaitBacklogBelow(1);
+
+        // Act
+        subscription.close();
+        eventBus.publish(checkedOut("222"));
+        eventBus.stop();
+
+        // Assert
+        assertThat(received).hasSize(1);
+        assertThat(eventBus.stats().backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a ring size that is not a power of two")
+    void shouldRejectRingSizeNotPowerOfTwo() {
+        assertThatThrownBy(() -> new LibraryEventBus(null, 6, Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BookCheckedOut checkedOut(String isbn) {
+        return new BookCheckedOut(isbn, "member@example.com", LocalDate.of(2026, 1, 15), Instant.now());
+    }
+
+    /**
+     * Finish the transaction begun with initSynchronization the way a transaction manager would
+     */
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private void awaitBacklogBelow(long backlog) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (eventBus.stats().backlog() >= backlog && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package edu.trincoll.service.fee;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.FeeLedgerEntry;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.FeeLedgerRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.CheckoutService;
+import edu.trincoll.service.MemberService;
+import edu.trincoll.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Fee Ledger Integration Tests")
+class FeeLedgerIntegrationTest {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private FeeLedgerService feeLedgerService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private FeeLedgerRepository ledgerRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        ledgerRepository.deleteAll();
+        memberRepository.deleteAll();
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+        memberRepository.save(new Member("Jane Smith", "jane@example.com", MembershipType.STUDENT));
+    }
+
+    @Test
+    @DisplayName("Should write late returns to the ledger and the member balance")
+    void shouldRecordLateReturns() {
+        // Arrange
+        lend("978-0-00000-001", "john@example.com", 4);
+        lend("978-0-00000-002", "john@example.com", 2);
+        lend("978-0-00000-003", "jane@example.com", 8);
+        lend("978-0-00000-004", "jane@example.com", -3);
+
+        // Act
+        checkoutService.returnBook("978-0-00000-001");
+        checkoutService.returnBooks(List.of("978-0-00000-002", "978-0-00000-003", "978-0-00000-004"));
+
+        // Assert
+        assertThat(feeLedgerService.findEntries("john@example.com"))
+                .extracting(FeeLedgerEntry::getAmountCents).containsExactly(200L, 100L);
+        assertThat(feeLedgerService.findEntries("jane@example.com"))
+                .extracting(FeeLedgerEntry::getAmountCents).containsExactly(200L);
+        assertThat(feeLedgerService.balanceCents("john@example.com")).isEqualTo(300);
+        assertThat(feeLedgerService.balanceCents("jane@example.com")).isEqualTo(200);
+        assertThat(reportService.generateLateFeeReport())
+                .containsEntry("jane@example.com", 2.00)
+                .containsEntry("john@example.com", 3.00);
+    }
+
+    @Test
+    @DisplayName("Should stream the ledger in chunks, report a drifted balance and backfill it")
+    void shouldReconcileAndBackfillBalances() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            lend("978-0-00000-01" + i, i % 2 == 0 ? "john@example.com" : "jane@example.com", 2);
+        }
+        checkoutService.returnBooks(List.of("978-0-00000-010", "978-0-00000-011", "978-0-00000-012",
+                "978-0-00000-013", "978-0-00000-014"));
+        memberService.addFeeBalance(memberService.findByEmailOrThrow("jane@example.com"), 999);
+        // Chunks of two split each member's entries across chunks
+        FeeLedgerReconciliationJob job = new FeeLedgerReconciliationJob(feeLedgerService, memberService, 2);
+
+        // Act
+        FeeReconciliation reconciled = job.reconcile();
+        FeeReconciliation backfilled = job.backfill();
+        FeeReconciliation afterBackfill = job.reconcile();
+
+        // Assert
+        assertThat(reconciled).isEqualTo(new FeeReconciliation(5, 2, 1, 0));
+        assertThat(backfilled).isEqualTo(new FeeReconciliation(5, 2, 1, 1));
+        assertThat(afterBackfill.mismatches()).isZero();
+        assertThat(feeLedgerService.balanceCents("jane@example.com")).isEqualTo(100);
+        assertThat(feeLedgerService.balanceCents("john@example.com")).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("Should report and backfill a balance that has no ledger entries")
+    void shouldReconcileBalanceWithoutEntries() {
+        // Arrange - john has entries; jane owes fees the ledger knows nothing about
+        lend("978-0-00000-020", "john@example.com", 2);
+        checkoutService.returnBook("978-0-00000-020");
+        memberService.addFeeBalance(memberService.findByEmailOrThrow("jane@example.com"), 500);
+        FeeLedgerReconciliationJob job = new FeeLedgerReconciliationJob(feeLedgerService, memberService, 1);
+
+        // Act
+        FeeReconciliation reconciled = job.reconcile();
+        FeeReconciliation backfilled = job.backfill();
+        FeeReconciliation afterBackfill = job.reconcile();
+
+        // Assert
+        assertThat(reconciled).isEqualTo(new FeeReconciliation(1, 2, 1, 0));
+        assertThat(backfilled).isEqualTo(new FeeReconciliation(1, 2, 1, 1));
+        assertThat(afterBackfill).isEqualTo(new FeeReconciliation(1, 1, 0, 0));
+        assertThat(feeLedgerService.balanceCents("jane@example.com")).isZero();
+    }
+
+    private void lend(String isbn, String memberEmail, int daysOverdue) {
+        Book book = new Book(isbn, "Book " + isbn, "Author", LocalDate.of(2008, 8, 1));
+        book.setStatus(BookStatus.CHECKED_OUT);
+        book.setCheckedOutBy(memberEmail);
+        book.setDueDate(LocalDate.now().minusDays(daysOverdue));
+        bookRepository.save(book);
+        memberRepository.findByEmail(memberEmail).ifPresent(member -> memberService.adjustBooksCheckedOut(member, 1));
+    }
+}
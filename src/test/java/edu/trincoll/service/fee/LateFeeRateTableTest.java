@@ -0,0 +1,93 @@
+package edu.trincoll.service.fee;
+
+import edu.trincoll.model.MembershipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Late Fee Rate Table Tests")
+class LateFeeRateTableTest {
+
+    /** Two free days, then 50 cents a day for a week, $1 a day after that, at most $20 */
+    private static final FeeSchedule TIERED = new FeeSchedule(2,
+            List.of(new FeeSchedule.Tier(1, 50), new FeeSchedule.Tier(8, 100)), 2_000);
+
+    @Mock
+    private LateFeeStrategyFactory lateFeeStrategyFactory;
+
+    private LateFeeRateTable rateTable;
+
+    @BeforeEach
+    void setUp() {
+        when(lateFeeStrategyFactory.getStrategy(MembershipType.REGULAR)).thenReturn(() -> TIERED);
+        when(lateFeeStrategyFactory.getStrategy(MembershipType.PREMIUM)).thenReturn(new PremiumLateFeeStrategy());
+        when(lateFeeStrategyFactory.getStrategy(MembershipType.STUDENT)).thenReturn(new StudentLateFeeStrategy());
+        rateTable = new LateFeeRateTable(lateFeeStrategyFactory);
+    }
+
+    @Test
+    @DisplayName("Should apply grace period, tiers and cap")
+    void shouldApplyGraceTiersAndCap() {
+        // Act & Assert
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 0)).isZero();
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 2)).isZero();
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 3)).isEqualTo(50);
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 9)).isEqualTo(350);
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 10)).isEqualTo(450);
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 25)).isEqualTo(1_950);
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, 26)).isEqualTo(2_000);
+        assertThat(rateTable.feeCents(MembershipType.REGULAR, Long.MAX_VALUE)).isEqualTo(2_000);
+        assertThat(rateTable.feeCents(MembershipType.STUDENT, 4)).isEqualTo(100);
+        assertThat(rateTable.feeCents(MembershipType.PREMIUM, 40)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should agree with the day-by-day schedule for every day")
+    void shouldMatchScheduleDayByDay() {
+        // Act & Assert
+        for (long daysLate = -1; daysLate <= 60; daysLate++) {
+            assertThat(rateTable.feeCents(MembershipType.REGULAR, daysLate))
+                    .as("%d days late", daysLate)
+                    .isEqualTo(TIERED.feeCents(daysLate));
+        }
+    }
+
+    @Test
+    @DisplayName("Should calculate a whole billing run in one call")
+    void shouldCalculateFeesInBulk() {
+        // Arrange
+        MembershipType[] memberships = {MembershipType.REGULAR, MembershipType.STUDENT, MembershipType.PREMIUM};
+        long[] daysLate = {10, 4, 30};
+        long[] fees = new long[3];
+
+        // Act
+        long total = rateTable.feesCents(memberships, daysLate, fees);
+
+        // Assert
+        assertThat(fees).containsExactly(450, 100, 0);
+        assertThat(total).isEqualTo(550);
+        assertThatThrownBy(() -> rateTable.feesCents(memberships, new long[2], fees))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject schedules whose tiers do not start on day 1 in ascending order")
+    void shouldRejectInvalidSchedules() {
+        // Act & Assert
+        assertThatThrownBy(() -> new FeeSchedule(0, List.of(new FeeSchedule.Tier(2, 50)), FeeSchedule.NO_CAP))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FeeSchedule(0,
+                List.of(new FeeSchedule.Tier(1, 50), new FeeSchedule.Tier(1, 100)), FeeSchedule.NO_CAP))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
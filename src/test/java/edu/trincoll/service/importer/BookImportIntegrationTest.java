@@ -0,0 +1,128 @@
+package edu.trincoll.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.service.BookSearchService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Book Import Integration Tests")
+class BookImportIntegrationTest {
+
+    @Autowired
+    private BookImportWriter writer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    private BookImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        // Batches of three so a handful of rows spans several batches and both writer threads
+        importService = new BookImportService(writer, objectMapper, 3, 2, 1000, false);
+        bookRepository.deleteAll();
+        bookRepository.save(new Book("978-0-13-235088-4", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1)));
+    }
+
+    /** Imports commit on writer threads, so nothing rolls them back for the next test */
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should import valid rows in batches and report every rejected row with its line")
+    void shouldImportCsvAndReportErrors() {
+        // Arrange
+        BookImportService strictImportService = new BookImportService(writer, objectMapper, 3, 2, 1000, true);
+        String csv = """
+                isbn,title,author,publication_date
+                9780134757599,Refactoring,Martin Fowler,2018-11-20
+                0-13-235088-2,Clean Code Again,Robert Martin,2008
+                9780201633610,Design Patterns,Erich Gamma,1994-10-31
+                9780321125217,Domain-Driven Design,Eric Evans,2003-08-30
+
+                9780201633610,Design Patterns Copy,Erich Gamma,1994
+                9780596007126,,Eric Freeman,2004-10-25
+                9780132350885,Bad Check Digit,Nobody,2000
+                9780135957059,The Pragmatic Programmer,David Thomas,2019-09-13
+                9780321356680,Effective Java,Joshua Bloch,2008-05-28
+                """;
+        List<BookImportProgress> progress = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        BookImportResult result = strictImportService.importBooks(new StringReader(csv), BookImportFormat.CSV,
+                progress::add);
+
+        // Assert
+        assertThat(result.rowsRead()).isEqualTo(9);
+        assertThat(result.imported()).isEqualTo(5);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.errors()).containsExactly(
+                new BookImportError(3, "Duplicate ISBN: 0-13-235088-2"),
+                new BookImportError(7, "Duplicate ISBN: 9780201633610"),
+                new BookImportError(8, "Title is required"),
+                new BookImportError(9, "Invalid ISBN: 9780132350885"));
+        assertThat(progress).hasSize(2).last().satisfies(last -> assertThat(last.imported()).isEqualTo(5));
+        assertThat(bookRepository.count()).isEqualTo(6);
+        assertThat(bookRepository.findByIsbn("9780321356680")).get()
+                .satisfies(book -> {
+                    assertThat(book.getStatus()).isEqualTo(BookStatus.AVAILABLE);
+                    assertThat(book.getPublicationDate()).isEqualTo(LocalDate.of(2008, 5, 28));
+                });
+        assertThat(bookSearchService.searchByTitle("pragmatic")).extracting(Book::getIsbn)
+                .containsExactly("9780135957059");
+    }
+
+    @Test
+    @DisplayName("Should import JSON lines, accepting ISBNs the API accepts unless strict")
+    void shouldImportJsonLines() {
+        // Arrange
+        String jsonLines = """
+                {"isbn": "9780134757599", "title": "Refactoring", "author": "Martin Fowler", "publicationDate": "2018-11-20"}
+                {"isbn": "9780201633610", "title": "Design Patterns", "author": "Erich Gamma", "publication_date": "1994"}
+                not json
+                {"isbn": "978-0-123456-78-9", "title": "Test Book", "author": "Test Author", "publicationDate": "2020"}
+                {"isbn": "978-0-123456-78-9", "title": "Test Book Copy", "author": "Test Author", "publicationDate": "2020"}
+                """;
+
+        // Act
+        BookImportResult result = importService.importBooks(new StringReader(jsonLines), BookImportFormat.JSON_LINES);
+
+        // Assert
+        assertThat(result.imported()).isEqualTo(3);
+        assertThat(result.errors()).hasSize(2);
+        assertThat(result.errors().get(0)).satisfies(error -> {
+            assertThat(error.line()).isEqualTo(3);
+            assertThat(error.message()).startsWith("Malformed JSON");
+        });
+        assertThat(result.errors().get(1)).isEqualTo(new BookImportError(5, "Duplicate ISBN: 978-0-123456-78-9"));
+        assertThat(bookRepository.findByIsbn("9780201633610")).get()
+                .satisfies(book -> assertThat(book.getPublicationDate()).isEqualTo(LocalDate.of(1994, 1, 1)));
+        assertThat(bookRepository.findByIsbn("978-0-123456-78-9")).isPresent();
+    }
+}
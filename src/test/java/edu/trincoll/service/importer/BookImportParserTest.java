@@ -0,0 +1,116 @@
+package edu.trincoll.service.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Book Import Parser Tests")
+class BookImportParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should read CSV columns by header name, with quoted fields and bare years")
+    void shouldParseCsv() {
+        // Arrange
+        BookImportParser parser = new BookImportParser(BookImportFormat.CSV, objectMapper, false);
+        parser.readHeader("Title,ISBN,publicationDate,Author");
+
+        // Act
+        BookImportRow row = parser.parse(2, "\"Refactoring, 2nd \"\"Edition\"\"\",978-0-13-475759-9,2018,Martin Fowler");
+
+        // Assert
+        assertThat(parser.expectsHeader()).isFalse();
+        assertThat(row).isEqualTo(new BookImportRow(2, "978-0-13-475759-9", "Refactoring, 2nd \"Edition\"",
+                "Martin Fowler", LocalDate.of(2018, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should read JSON lines")
+    void shouldParseJsonLines() {
+        // Arrange
+        BookImportParser parser = new BookImportParser(BookImportFormat.JSON_LINES, objectMapper, false);
+
+        // Act
+        BookImportRow row = parser.parse(1, "{\"isbn\":\"0132350882\",\"title\":\"Clean Code\","
+                + "\"author\":\"Robert Martin\",\"publicationDate\":\"2008-08-01\"}");
+
+        // Assert
+        assertThat(parser.expectsHeader()).isFalse();
+        assertThat(row.title()).isEqualTo("Clean Code");
+        assertThat(row.publicationDate()).isEqualTo(LocalDate.of(2008, 8, 1));
+    }
+
+    @Test
+    @DisplayName("Should reject rows with missing fields, bad dates or malformed JSON")
+    void shouldRejectInvalidRows() {
+        // Arrange
+        BookImportParser csv = new BookImportParser(BookImportFormat.CSV, objectMapper, false);
+        csv.readHeader("isbn,title,author,publication_date");
+        BookImportParser json = new BookImportParser(BookImportFormat.JSON_LINES, objectMapper, false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> csv.parse(2, "9780132350884,,Robert Martin,2008-08-01"))
+                .hasMessage("Title is required");
+        assertThatThrownBy(() -> csv.parse(3, "9780132350884,Clean Code,Robert Martin,August 2008"))
+                .hasMessage("Invalid publication date: August 2008");
+        assertThatThrownBy(() -> csv.parse(5, "9780132350884,\"Clean Code,Robert Martin,2008-08-01"))
+                .hasMessage("Unterminated quoted field");
+        assertThatThrownBy(() -> json.parse(1, "{\"isbn\":"))
+                .hasMessageStartingWith("Malformed JSON");
+        assertThatThrownBy(() -> new BookImportParser(BookImportFormat.CSV, objectMapper, false).readHeader("isbn,title"))
+                .hasMessage("CSV header has no author column");
+    }
+
+    @Test
+    @DisplayName("Should read publication_date in JSON lines as CSV does")
+    void shouldReadSnakeCasePublicationDateInJsonLines() {
+        // Arrange
+        BookImportParser parser = new BookImportParser(BookImportFormat.JSON_LINES, objectMapper, false);
+
+        // Act
+        BookImportRow row = parser.parse(1, "{\"isbn\":\"0132350882\",\"title\":\"Clean Code\","
+                + "\"author\":\"Robert Martin\",\"publication_date\":\"2008-08-01\"}");
+
+        // Assert
+        assertThat(row.publicationDate()).isEqualTo(LocalDate.of(2008, 8, 1));
+    }
+
+    @Test
+    @DisplayName("Should accept ISBNs the API accepts and check digits only when strict")
+    void shouldCheckIsbnsOnlyWhenStrict() {
+        // Arrange
+        BookImportParser lenient = new BookImportParser(BookImportFormat.CSV, objectMapper, false);
+        lenient.readHeader("isbn,title,author,publication_date");
+        BookImportParser strict = new BookImportParser(BookImportFormat.CSV, objectMapper, true);
+        strict.readHeader("isbn,title,author,publication_date");
+        String line = "978-0-123456-78-9,Test Book,Test Author,2020-01-01";
+
+        // Act
+        BookImportRow row = lenient.parse(2, line);
+
+        // Assert
+        assertThat(row.isbn()).isEqualTo("978-0-123456-78-9");
+        assertThatThrownBy(() -> strict.parse(2, line))
+                .hasMessage("Invalid ISBN: 978-0-123456-78-9");
+        assertThat(strict.parse(3, "978-0-13-235088-4,Clean Code,Robert Martin,2008-08-01").isbn())
+                .isEqualTo("978-0-13-235088-4");
+    }
+
+    @Test
+    @DisplayName("Should give ISBN-10 and ISBN-13 forms of a book the same key")
+    void shouldKeyIsbnForms() {
+        // Act & Assert
+        assertThat(Isbn.key("0-13-235088-2")).isEqualTo(9780132350884L);
+        assertThat(Isbn.key("978-0-13-235088-4")).isEqualTo(9780132350884L);
+        assertThat(Isbn.key("080442957X")).isEqualTo(9780804429573L);
+        assertThat(Isbn.key("0-13-235088-3")).isEqualTo(Isbn.INVALID);
+        assertThat(Isbn.key("isbn-1")).isEqualTo(Isbn.INVALID);
+        assertThat(Isbn.key("97801323508840")).isEqualTo(Isbn.INVALID);
+    }
+}
@@ -0,0 +1,149 @@
+package edu.trincoll.service.importer;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Member Sync Integration Tests")
+class MemberSyncIntegrationTest {
+
+    private static final String ROSTER = """
+            name,email,membership_type
+            John Doe,john@example.com,student
+            Jane Smith,jane@example.com,PREMIUM
+            Bob Lee,bob@example.com,REGULAR
+            Amy Chen,amy@example.com,STUDENT
+            Carl Diaz,carl@example.com,STUDENT
+            """;
+
+    @Autowired
+    private MemberSyncWriter writer;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberService memberService;
+
+    private MemberSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        // Batches of two so a short roster spans several batches
+        syncService = new MemberSyncService(writer, 2, 1000);
+        memberRepository.deleteAll();
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+        memberRepository.save(new Member("Jane Smith", "jane@example.com", MembershipType.PREMIUM));
+        memberRepository.save(new Member("Old Student", "old@example.com", MembershipType.STUDENT));
+    }
+
+    /** Syncs commit in their own transactions, so nothing rolls them back for the next test */
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should insert new members, update changed ones and mark missing ones lapsed")
+    void shouldSyncRoster() {
+        // Arrange
+        memberService.findByEmailOrThrow("john@example.com");
+
+        // Act
+        MemberSyncResult result = syncService.syncMembers(new StringReader(ROSTER), true);
+
+        // Assert
+        assertThat(result.rowsRead()).isEqualTo(5);
+        assertThat(result.inserted()).isEqualTo(3);
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(result.unchanged()).isEqualTo(1);
+        assertThat(result.lapsed()).isEqualTo(1);
+        assertThat(result.errors()).isEmpty();
+        assertThat(memberRepository.count()).isEqualTo(6);
+        assertThat(memberService.findByEmailOrThrow("john@example.com").getMembershipType())
+                .isEqualTo(MembershipType.STUDENT);
+        assertThat(memberRepository.findByEmail("carl@example.com")).get()
+                .extracting(Member::getMembershipType).isEqualTo(MembershipType.STUDENT);
+        assertThat(memberRepository.findByEmail("old@example.com")).get()
+                .extracting(Member::getLapsedOn).isEqualTo(LocalDate.now());
+        assertThat(memberRepository.findByEmail("jane@example.com")).get()
+                .extracting(Member::getLapsedOn).isNull();
+    }
+
+    @Test
+    @DisplayName("Should re-enrol a lapsed member who is back on the roster")
+    void shouldReenrolLapsedMember() {
+        // Arrange
+        syncService.syncMembers(new StringReader(ROSTER), true);
+
+        // Act
+        MemberSyncResult result = syncService.syncMembers(new StringReader("""
+                name,email,membership_type
+                Old Student,old@example.com,STUDENT
+                """), false);
+
+        // Assert
+        assertThat(result.updated()).isEqualTo(1);
+        assertThat(memberRepository.findByEmail("old@example.com")).get()
+                .extracting(Member::getLapsedOn).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep a member lapsed when a cached copy is saved")
+    void shouldKeepLapsedOnThroughCachedMember() {
+        // Arrange
+        syncService.syncMembers(new StringReader(ROSTER), true);
+        memberService.findByEmailOrThrow("old@example.com");
+        Member cached = memberService.findByEmailOrThrow("old@example.com");
+
+        // Act
+        memberService.updateMembershipType(cached, MembershipType.REGULAR);
+
+        // Assert
+        assertThat(memberRepository.findByEmail("old@example.com")).get()
+                .extracting(Member::getLapsedOn).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Should report rejected rows and leave missing members alone when any row is rejected")
+    void shouldRejectInvalidRows() {
+        // Arrange
+        String roster = """
+                name,email,membership_type
+                Amy Chen,amy@example.com,STUDENT
+                Amy Again,amy@example.com,STUDENT
+                No Email,,REGULAR
+                Bad Email,not-an-email,REGULAR
+                Bad Type,type@example.com,FACULTY
+                """;
+
+        // Act
+        MemberSyncResult result = syncService.syncMembers(new StringReader(roster), true);
+
+        // Assert
+        assertThat(result.inserted()).isEqualTo(1);
+        assertThat(result.lapsed()).isZero();
+        assertThat(result.errors()).containsExactly(
+                new MemberSyncError(3, "Duplicate email: amy@example.com"),
+                new MemberSyncError(4, "Email is required"),
+                new MemberSyncError(5, "Invalid email: not-an-email"),
+                new MemberSyncError(6, "Invalid membership type: FACULTY"));
+        assertThat(memberRepository.findByEmail("old@example.com")).get()
+                .extracting(Member::getLapsedOn).isNull();
+    }
+}
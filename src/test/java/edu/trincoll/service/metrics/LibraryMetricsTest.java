@@ -0,0 +1,84 @@
+package edu.trincoll.service.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Library Metrics Tests")
+class LibraryMetricsTest {
+
+    private final LibraryMetrics metrics = new LibraryMetrics();
+
+    @Test
+    @DisplayName("Should count values into cumulative histogram buckets")
+    void shouldCountHistogramBuckets() {
+        // Arrange
+        Histogram histogram = new Histogram(new long[]{1, 5, 10}, 1);
+
+        // Act
+        for (long value : new long[]{0, 1, 3, 5, 7, 50}) {
+            histogram.record(value);
+        }
+
+        // Assert
+        assertThat(histogram.cumulativeCounts()).containsExactly(2, 4, 5, 6);
+        assertThat(histogram.count()).isEqualTo(6);
+        assertThat(histogram.sum()).isEqualTo(66);
+    }
+
+    @Test
+    @DisplayName("Should write counters, gauges and histograms in the Prometheus text format")
+    void shouldWritePrometheusText() {
+        // Arrange
+        AtomicLong size = new AtomicLong(42);
+        metrics.recordOutcome(CheckoutOutcome.LIMIT_REACHED);
+        metrics.recordLateFee(75);
+        metrics.gauge("library_test_size", "Test gauge", LibraryMetrics.labels("cache", "members"), size::get);
+        metrics.timer("library_test_seconds", "Test timer", LibraryMetrics.labels("operation", "search"))
+                .record(2_000_000);
+
+        // Act
+        String text = metrics.scrape();
+
+        // Assert
+        assertThat(text).contains(
+                "# TYPE library_checkout_outcomes_total counter\n",
+                "library_checkout_outcomes_total{outcome=\"limit_reached\"} 1\n",
+                "library_checkout_outcomes_total{outcome=\"checked_out\"} 0\n",
+                "library_late_fees_cents_total 75\n",
+                "# TYPE library_test_size gauge\n",
+                "library_test_size{cache=\"members\"} 42\n",
+                "# TYPE library_test_seconds histogram\n",
+                "library_test_seconds_bucket{operation=\"search\",le=\"0.001\"} 0\n",
+                "library_test_seconds_bucket{operation=\"search\",le=\"0.0025\"} 1\n",
+                "library_test_seconds_bucket{operation=\"search\",le=\"+Inf\"} 1\n",
+                "library_test_seconds_count{operation=\"search\"} 1\n",
+                "library_test_seconds_sum{operation=\"search\"} 0.002\n");
+    }
+
+    @Test
+    @DisplayName("Should reuse the meter registered for a name and label set")
+    void shouldReuseMeters() {
+        // Act
+        metrics.counter("library_test_total", "Test counter", LibraryMetrics.labels("kind", "a")).increment();
+        metrics.counter("library_test_total", "Test counter", LibraryMetrics.labels("kind", "a")).increment();
+
+        // Assert
+        assertThat(metrics.counter("library_test_total", "Test counter", LibraryMetrics.labels("kind", "a")).sum())
+                .isEqualTo(2);
+        assertThatThrownBy(() -> metrics.timer("library_test_total", "Test timer", ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should escape quotes and backslashes in label values")
+    void shouldEscapeLabelValues() {
+        // Act & Assert
+        assertThat(LibraryMetrics.labels("type", "a\"b\\c", "outcome", "success"))
+                .isEqualTo("type=\"a\\\"b\\\\c\",outcome=\"success\"");
+    }
+}
@@ -0,0 +1,122 @@
+package edu.trincoll.service.metrics;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.BookSearchService;
+import edu.trincoll.service.CheckoutService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Service Metrics Integration Tests")
+class ServiceMetricsIntegrationTest {
+
+    @Autowired
+    private LibraryMetrics metrics;
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private BookSearchService bookSearchService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+        Book book = new Book("978-0-13-235088-4", "Clean Code", "Robert Martin", LocalDate.of(2008, 8, 1));
+        book.setStatus(BookStatus.AVAILABLE);
+        bookRepository.save(book);
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+    }
+
+    @Test
+    @DisplayName("Should time searches per type and label rejected types as other")
+    void shouldTimeSearchesPerType() {
+        // Arrange
+        Histogram byAuthor = duration("BookSearchService", "searchBooks", "author", "success");
+        Histogram rejected = duration("BookSearchService", "searchBooks", "other", "error");
+        long authorSearches = byAuthor.count();
+        long rejectedSearches = rejected.count();
+
+        // Act
+        bookSearchService.searchBooks("Robert Martin", "Author");
+        assertThatThrownBy(() -> bookSearchService.searchBooks("x", "publisher"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Assert
+        assertThat(byAuthor.count()).isEqualTo(authorSearches + 1);
+        assertThat(rejected.count()).isEqualTo(rejectedSearches + 1);
+        assertThat(metrics.scrape()).doesNotContain("type=\"publisher\"");
+    }
+
+    @Test
+    @DisplayName("Should attribute repository calls to the outermost operation only")
+    void shouldCountRepositoryCallsPerOperation() {
+        // Arrange
+        Histogram checkoutCalls = repositoryCalls("CheckoutService", "checkoutBook");
+        Histogram memberLookupCalls = repositoryCalls("MemberService", "findByEmailOrThrow");
+        Histogram memberLookups = duration("MemberService", "findByEmailOrThrow", "", "success");
+        long checkouts = checkoutCalls.count();
+        double checkoutCallSum = checkoutCalls.sum();
+        long nestedReported = memberLookupCalls.count();
+        long lookups = memberLookups.count();
+
+        // Act
+        String result = checkoutService.checkoutBook("978-0-13-235088-4", "john@example.com");
+
+        // Assert
+        assertThat(result).startsWith("Book checked out successfully");
+        assertThat(checkoutCalls.count()).isEqualTo(checkouts + 1);
+        assertThat(checkoutCalls.sum()).isGreaterThan(checkoutCallSum);
+        assertThat(memberLookups.count()).isEqualTo(lookups + 1);
+        assertThat(memberLookupCalls.count()).isEqualTo(nestedReported);
+    }
+
+    @Test
+    @DisplayName("Should expose cache and catalog gauges")
+    void shouldExposeGauges() {
+        // Act
+        String text = metrics.scrape();
+
+        // Assert
+        assertThat(text).contains(
+                "library_cache_hit_ratio{cache=\"members\"}",
+                "library_cache_hits_total{cache=\"books\"}",
+                "library_catalog_off_heap_bytes",
+                "library_notifications_total{outcome=\"delivered\"}");
+    }
+
+    private Histogram duration(String service, String operation, String type, String outcome) {
+        return metrics.timer("library_service_duration_seconds", "Latency of service operations",
+                LibraryMetrics.labels("service", service, "operation", operation, "type", type, "outcome", outcome));
+    }
+
+    private Histogram repositoryCalls(String service, String operation) {
+        return metrics.histogram("library_service_repository_calls",
+                "Repository calls made by one top-level service operation",
+                LibraryMetrics.labels("service", service, "operation", operation), LibraryMetrics.CALL_COUNT_BOUNDS, 1);
+    }
+}
@@ -0,0 +1,67 @@
+package edu.trincoll.service.notification;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local stand-in for an SMTP server that records delivered messages.
+ * It can be told to reject the next deliveries, to always reject a recipient, to throw an Error,
+ * or to block until released.
+ */
+class FakeSmtpTransport implements NotificationTransport {
+
+    private final List<NotificationMessage> inbox = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Error> nextError = new AtomicReference<>();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Override
+    public void send(NotificationMessage message) {
+        try {
+            gate.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Error error = nextError.getAndSet(null);
+        if (error != null) {
+            throw error;
+        }
+        if (rejectedRecipients.contains(message.recipient())) {
+            throw new IllegalStateException("550 Mailbox unavailable");
+        }
+        if (failuresRemaining.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            throw new IllegalStateException("451 Temporary failure");
+        }
+        inbox.add(message);
+    }
+
+    void failNext(int deliveries) {
+        failuresRemaining.set(deliveries);
+    }
+
+    void rejectRecipient(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    void throwNext(Error error) {
+        nextError.set(error);
+    }
+
+    void block() {
+        gate = new CountDownLatch(1);
+    }
+
+    void release() {
+        gate.countDown();
+    }
+
+    List<NotificationMessage> inbox() {
+        return inbox;
+    }
+}
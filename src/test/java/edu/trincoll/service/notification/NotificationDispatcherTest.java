@@ -0,0 +1,205 @@
+package edu.trincoll.service.notification;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Notification Dispatcher Tests")
+class NotificationDispatcherTest {
+
+    private final FakeSmtpTransport smtp = new FakeSmtpTransport();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        smtp.release();
+        dispatcher.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver queued messages through the transport")
+    void shouldDeliverMessages() throws InterruptedException {
+        // Arrange
+        dispatcher = started(100, 3);
+
+        // Act
+        dispatcher.submit(message("a@example.com", "Book checked out"));
+        dispatcher.submit(message("b@example.com", "Book returned"));
+
+        // Assert
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(smtp.inbox()).extracting(NotificationMessage::recipient)
+                .containsExactlyInAnyOrder("a@example.com", "b@example.com");
+        assertThat(dispatcher.stats().delivered()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should coalesce pending messages for the same recipient into one digest")
+    void shouldCoalesceMessagesForSameRecipient() throws InterruptedException {
+        // Arrange - hold the worker on a first delivery so later messages stay pending
+        dispatcher = started(100, 3);
+        smtp.block();
+        dispatcher.submit(message("blocker@example.com", "First"));
+        Thread.sleep(50);
+
+        // Act
+        dispatcher.submit(message("a@example.com", "Book checked out"));
+        dispatcher.submit(message("a@example.com", "Book checked out"));
+        dispatcher.submit(message("a@example.com", "Book returned"));
+        smtp.release();
+
+        // Assert
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(smtp.inbox()).hasSize(2);
+        NotificationMessage digest = smtp.inbox().get(1);
+        assertThat(digest.recipient()).isEqualTo("a@example.com");
+        assertThat(digest.subject()).isEqualTo("You have 3 library notifications");
+        assertThat(digest.body().lines()).hasSize(3);
+        assertThat(dispatcher.stats().coalesced()).isEqualTo(2);
+        assertThat(dispatcher.stats().delivered()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should retry failed deliveries")
+    void shouldRetryFailedDeliveries() throws InterruptedException {
+        // Arrange
+        dispatcher = started(100, 3);
+        smtp.failNext(2);
+
+        // Act
+        dispatcher.submit(message("a@example.com", "Book returned"));
+
+        // Assert
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(smtp.inbox()).hasSize(1);
+        assertThat(dispatcher.stats().retried()).isEqualTo(2);
+        assertThat(dispatcher.stats().failed()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give up after the last attempt")
+    void shouldGiveUpAfterLastAttempt() throws InterruptedException {
+        // Arrange
+        dispatcher = started(100, 2);
+        smtp.failNext(5);
+
+        // Act
+        dispatcher.submit(message("a@example.com", "Book returned"));
+
+        // Assert
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(smtp.inbox()).isEmpty();
+        assertThat(dispatcher.stats().failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop messages when the queue stays full")
+    void shouldDropMessagesWhenQueueIsFull() throws InterruptedException {
+        // Arrange - capacity of one, worker held on the first delivery
+        dispatcher = started(1, 1);
+        smtp.block();
+        dispatcher.submit(message("blocker@example.com", "First"));
+        Thread.sleep(50);
+
+        // Act
+        boolean queued = dispatcher.submit(message("a@example.com", "Second"));
+        boolean overflow = dispatcher.submit(message("b@example.com", "Third"));
+        smtp.release();
+
+        // Assert
+        assertThat(queued).isTrue();
+        assertThat(overflow).isFalse();
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(dispatcher.stats().dropped()).isEqualTo(1);
+        assertThat(smtp.inbox()).extracting(NotificationMessage::recipient)
+                .containsExactly("blocker@example.com", "a@example.com");
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to others while a failing recipient waits for its retries")
+    void shouldNotStallOnFailingRecipient() throws InterruptedException {
+        // Arrange - a long backoff that would hold up the worker if it slept through it
+        dispatcher = new NotificationDispatcher(smtp, 100, 3, Duration.ofSeconds(2), Duration.ofMillis(10));
+        dispatcher.start();
+        smtp.rejectRecipient("bounce@example.com");
+
+        // Act
+        dispatcher.submit(message("bounce@example.com", "Book checked out"));
+        dispatcher.submit(message("a@example.com", "Book returned"));
+        boolean idleBeforeRetries = dispatcher.awaitIdle(Duration.ofMillis(500));
+
+        // Assert
+        assertThat(idleBeforeRetries).isFalse();
+        assertThat(smtp.inbox()).extracting(NotificationMessage::recipient).containsExactly("a@example.com");
+        assertThat(dispatcher.stats().retried()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the worker alive when the transport throws an Error")
+    void shouldSurviveTransportError() throws InterruptedException {
+        // Arrange
+        dispatcher = started(100, 1);
+        smtp.throwNext(new AssertionError("transport bug"));
+
+        // Act
+        dispatcher.submit(message("a@example.com", "Book checked out"));
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        dispatcher.submit(message("b@example.com", "Book returned"));
+
+        // Assert
+        assertThat(dispatcher.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(smtp.inbox()).extracting(NotificationMessage::recipient).containsExactly("b@example.com");
+        assertThat(dispatcher.stats().failed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a coalesced message as dropped when its recipient never gets queued")
+    void shouldReportCoalescedMessageDroppedWithItsRecipient() throws Exception {
+        // Arrange - capacity of one taken by a second recipient while the worker is held
+        dispatcher = new NotificationDispatcher(smtp, 1, 1, Duration.ofMillis(1), Duration.ofMillis(500));
+        dispatcher.start();
+        smtp.block();
+        dispatcher.submit(message("blocker@example.com", "First"));
+        Thread.sleep(50);
+        dispatcher.submit(message("a@example.com", "Second"));
+
+        // Act - the first submit for b waits for room; the second joins it meanwhile
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(
+                () -> dispatcher.submit(message("b@example.com", "Third")));
+        Thread.sleep(100);
+        boolean coalesced = dispatcher.submit(message("b@example.com", "Fourth"));
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(coalesced).isFalse();
+        assertThat(dispatcher.stats().dropped()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop messages without a recipient")
+    void shouldDropMessagesWithoutRecipient() {
+        // Arrange
+        dispatcher = started(10, 1);
+
+        // Act & Assert
+        assertThat(dispatcher.submit(message(null, "Nobody"))).isFalse();
+        assertThat(dispatcher.stats().dropped()).isEqualTo(1);
+    }
+
+    private NotificationDispatcher started(int capacity, int maxAttempts) {
+        NotificationDispatcher started = new NotificationDispatcher(smtp, capacity, maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(10));
+        started.start();
+        return started;
+    }
+
+    private static NotificationMessage message(String recipient, String subject) {
+        return new NotificationMessage(recipient, subject, "Body of " + subject);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.trincoll.service.overdue;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.repository.OverdueLoanView;
+import edu.trincoll.repository.OverdueSweepCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Overdue Sweep Integration Tests")
+class OverdueSweepIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private OverdueSweepJob sweepJob;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private OverdueSweepCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.deleteAll();
+        checkpointRepository.deleteAll();
+        memberRepository.deleteAll();
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+        memberRepository.save(new Member("Jane Smith", "jane@example.com", MembershipType.REGULAR));
+        for (int i = 0; i < 6; i++) {
+            String member = i % 2 == 0 ? "john@example.com" : "jane@example.com";
+            // Two loans share each due date, so the keyset has to break ties by id
+            save("978-0-00000-00" + i, member, TODAY.minusDays(10 - i / 2));
+        }
+        save("978-0-00000-010", "john@example.com", TODAY.plusDays(3));
+        save("978-0-00000-011", null, null);
+    }
+
+    @Test
+    @DisplayName("Should page overdue loans by due date and id without skipping or repeating any")
+    void shouldPageOverdueLoansByKeyset() {
+        // Arrange
+        List<OverdueLoanView> seen = new ArrayList<>();
+        LocalDate afterDueDate = LocalDate.of(1, 1, 1);
+        long afterId = 0;
+
+        // Act
+        List<OverdueLoanView> chunk;
+        do {
+            chunk = bookRepository.findOverdueLoansAfter(TODAY, afterDueDate, afterId, Limit.of(4));
+            seen.addAll(chunk);
+            if (!chunk.isEmpty()) {
+                afterDueDate = chunk.get(chunk.size() - 1).getDueDate();
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == 4);
+
+        // Assert
+        assertThat(seen).hasSize(6);
+        assertThat(seen).extracting(OverdueLoanView::getDueDate).isSorted();
+        assertThat(seen).extracting(OverdueLoanView::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should notify each member once and complete the sweep")
+    void shouldNotifyEachMemberOnce() {
+        // Act
+        OverdueSweepProgress progress = sweepJob.run(TODAY).orElseThrow();
+        OverdueSweepProgress rerun = sweepJob.run(TODAY).orElseThrow();
+
+        // Assert
+        assertThat(progress).isEqualTo(new OverdueSweepProgress(TODAY, 2, 6, true));
+        assertThat(rerun).isEqualTo(progress);
+        assertThat(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).isPresent();
+        assertThat(memberRepository.findEmailsNotNotifiedOverdueOn(Set.of("john@example.com", "jane@example.com"),
+                TODAY)).isEmpty();
+    }
+
+    private void save(String isbn, String memberEmail, LocalDate dueDate) {
+        Book book = new Book(isbn, "Title " + isbn, "Author", LocalDate.of(2000, 1, 1));
+        book.setStatus(memberEmail == null ? BookStatus.AVAILABLE : BookStatus.CHECKED_OUT);
+        book.setCheckedOutBy(memberEmail);
+        book.setDueDate(dueDate);
+        bookRepository.save(book);
+    }
+}
@@ -0,0 +1,207 @@
+package edu.trincoll.service.overdue;
+
+import edu.trincoll.model.OverdueSweepCheckpoint;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.repository.OverdueLoanView;
+import edu.trincoll.repository.OverdueSweepCheckpointRepository;
+import edu.trincoll.service.api.INotificationService;
+import edu.trincoll.service.cache.MemberCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Overdue Sweep Service Tests")
+class OverdueSweepServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 1);
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private OverdueSweepCheckpointRepository checkpointRepository;
+
+    @Mock
+    private INotificationService notificationService;
+
+    private OverdueSweepService sweepService;
+
+    @BeforeEach
+    void setUp() {
+        sweepService = sweepService(10);
+    }
+
+    @Test
+    @DisplayName("Should send one digest per member not yet notified and record it")
+    void shouldSendOneDigestPerMember() {
+        // Arrange
+        OverdueLoanView johnFirst = loan(1L, "john@example.com", TODAY.minusDays(9));
+        OverdueLoanView janeFirst = loan(2L, "jane@example.com", TODAY.minusDays(8));
+        OverdueLoanView johnSecond = loan(3L, "john@example.com", TODAY.minusDays(7));
+        OverdueLoanView johnThird = loan(9L, "john@example.com", TODAY.minusDays(1));
+        List<String> pending = List.of("jane@example.com", "john@example.com");
+        when(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).thenReturn(Optional.empty());
+        when(bookRepository.findOverdueLoansAfter(TODAY, OverdueSweepCheckpoint.START_DUE_DATE,
+                OverdueSweepCheckpoint.START_BOOK_ID, Limit.of(3)))
+                .thenReturn(List.of(johnFirst, janeFirst, johnSecond));
+        when(memberRepository.findEmailsNotNotifiedOverdueOn(Set.of("john@example.com", "jane@example.com"), TODAY))
+                .thenReturn(pending);
+        when(bookRepository.findOverdueLoansOfMembersAfter(TODAY, pending, "", OverdueSweepCheckpoint.START_DUE_DATE,
+                OverdueSweepCheckpoint.START_BOOK_ID, Limit.of(3)))
+                .thenReturn(List.of(janeFirst, johnFirst, johnSecond));
+        when(bookRepository.findOverdueLoansOfMembersAfter(TODAY, pending, "john@example.com", TODAY.minusDays(7),
+                3L, Limit.of(3)))
+                .thenReturn(List.of(johnThird));
+
+        // Act
+        OverdueSweepProgress progress = sweepService.processNextChunk(TODAY);
+
+        // Assert
+        verify(notificationService).sendOverdueDigest("john@example.com", List.of(johnFirst, johnSecond, johnThird));
+        verify(notificationService).sendOverdueDigest("jane@example.com", List.of(janeFirst));
+        verify(memberRepository).markOverdueNotified(Set.of("john@example.com", "jane@example.com"), TODAY);
+        assertThat(progress).isEqualTo(new OverdueSweepProgress(TODAY, 2, 4, false));
+        verify(checkpointRepository).save(any(OverdueSweepCheckpoint.class));
+    }
+
+    @Test
+    @DisplayName("Should not notify a member again from a later chunk, even after they returned their earliest loan")
+    void shouldSkipMembersAlreadyNotified() {
+        // Arrange - john was notified by the first chunk, then returned the loan it held
+        OverdueSweepCheckpoint checkpoint = new OverdueSweepCheckpoint(OverdueSweepService.SWEEP_NAME, TODAY);
+        checkpoint.advance(TODAY.minusDays(7), 3L, 2, 4);
+        OverdueLoanView johnThird = loan(9L, "john@example.com", TODAY.minusDays(1));
+        when(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).thenReturn(Optional.of(checkpoint));
+        when(bookRepository.findOverdueLoansAfter(TODAY, TODAY.minusDays(7), 3L, Limit.of(3)))
+                .thenReturn(List.of(johnThird));
+        when(memberRepository.findEmailsNotNotifiedOverdueOn(Set.of("john@example.com"), TODAY))
+                .thenReturn(List.of());
+
+        // Act
+        OverdueSweepProgress progress = sweepService.processNextChunk(TODAY);
+
+        // Assert
+        verify(notificationService, never()).sendOverdueDigest(any(), any());
+        verify(memberRepository, never()).markOverdueNotified(any(), any());
+        assertThat(progress).isEqualTo(new OverdueSweepProgress(TODAY, 2, 4, true));
+        assertThat(checkpoint.getLastBookId()).isEqualTo(9L);
+    }
+
+    @Test
+    @DisplayName("Should cap a digest and skip the rest of that member's loans")
+    void shouldCapDigest() {
+        // Arrange
+        sweepService = sweepService(2);
+        OverdueLoanView first = loan(1L, "john@example.com", TODAY.minusDays(9));
+        OverdueLoanView second = loan(2L, "john@example.com", TODAY.minusDays(8));
+        OverdueLoanView third = loan(3L, "john@example.com", TODAY.minusDays(7));
+        List<String> pending = List.of("john@example.com");
+        when(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).thenReturn(Optional.empty());
+        when(bookRepository.findOverdueLoansAfter(TODAY, OverdueSweepCheckpoint.START_DUE_DATE,
+                OverdueSweepCheckpoint.START_BOOK_ID, Limit.of(3)))
+                .thenReturn(List.of(first));
+        when(memberRepository.findEmailsNotNotifiedOverdueOn(Set.of("john@example.com"), TODAY)).thenReturn(pending);
+        when(bookRepository.findOverdueLoansOfMembersAfter(TODAY, pending, "", OverdueSweepCheckpoint.START_DUE_DATE,
+                OverdueSweepCheckpoint.START_BOOK_ID, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+        when(bookRepository.findOverdueLoansOfMembersAfter(TODAY, pending, "john@example.com", TODAY,
+                Long.MAX_VALUE, Limit.of(3)))
+                .thenReturn(List.of());
+
+        // Act
+        OverdueSweepProgress progress = sweepService.processNextChunk(TODAY);
+
+        // Assert
+        verify(notificationService).sendOverdueDigest("john@example.com", List.of(first, second));
+        assertThat(progress).isEqualTo(new OverdueSweepProgress(TODAY, 1, 2, true));
+    }
+
+    @Test
+    @DisplayName("Should do nothing once the sweep for the day has completed")
+    void shouldSkipCompletedSweep() {
+        // Arrange
+        OverdueSweepCheckpoint checkpoint = new OverdueSweepCheckpoint(OverdueSweepService.SWEEP_NAME, TODAY);
+        checkpoint.complete();
+        when(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).thenReturn(Optional.of(checkpoint));
+
+        // Act
+        OverdueSweepProgress progress = sweepService.processNextChunk(TODAY);
+
+        // Assert
+        assertThat(progress.completed()).isTrue();
+        verifyNoInteractions(bookRepository, notificationService);
+    }
+
+    @Test
+    @DisplayName("Should start over when the checkpoint belongs to an earlier day")
+    void shouldRestartForNewDay() {
+        // Arrange
+        OverdueSweepCheckpoint checkpoint = new OverdueSweepCheckpoint(OverdueSweepService.SWEEP_NAME,
+                TODAY.minusDays(1));
+        checkpoint.advance(TODAY.minusDays(3), 42L, 5, 8);
+        checkpoint.complete();
+        when(checkpointRepository.findById(OverdueSweepService.SWEEP_NAME)).thenReturn(Optional.of(checkpoint));
+        when(bookRepository.findOverdueLoansAfter(eq(TODAY), eq(OverdueSweepCheckpoint.START_DUE_DATE), anyLong(),
+                any(Limit.class))).thenReturn(List.of());
+
+        // Act
+        OverdueSweepProgress progress = sweepService.processNextChunk(TODAY);
+
+        // Assert
+        assertThat(progress).isEqualTo(new OverdueSweepProgress(TODAY, 0, 0, true));
+        assertThat(checkpoint.getLastBookId()).isEqualTo(OverdueSweepCheckpoint.START_BOOK_ID);
+    }
+
+    private OverdueSweepService sweepService(int maxLoansPerDigest) {
+        return new OverdueSweepService(bookRepository, memberRepository, checkpointRepository, notificationService,
+                new MemberCache(100, Duration.ofMinutes(10)), 3, maxLoansPerDigest);
+    }
+
+    private static OverdueLoanView loan(Long id, String memberEmail, LocalDate dueDate) {
+        return new OverdueLoanView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Book " + id;
+            }
+
+            @Override
+            public String getCheckedOutBy() {
+                return memberEmail;
+            }
+
+            @Override
+            public LocalDate getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+package edu.trincoll.service.readmodel;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.repository.BookRepository;
+import edu.trincoll.repository.MemberRepository;
+import edu.trincoll.service.BookManagementService;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.LibraryStatistics;
+import edu.trincoll.service.MemberService;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.as;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+// A database of its own, so starting this context does not recreate the schema other tests share
+@SpringBootTest(properties = {
+        "library.read-model.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:read-model"
+})
+@ActiveProfiles("test")
+@DisplayName("Library Read Model Integration Tests")
+class LibraryReadModelIntegrationTest {
+
+    @Autowired
+    private LibraryReadModel readModel;
+
+    @Autowired
+    private LibraryFacade libraryFacade;
+
+    @Autowired
+    private BookManagementService bookManagementService;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @MockitoSpyBean
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        for (String isbn : List.of("978-0-123456-78-9", "978-0-987654-32-1")) {
+            Book book = new Book(isbn, "Book " + isbn, "Robert Martin", LocalDate.of(2008, 8, 1));
+            book.setStatus(BookStatus.AVAILABLE);
+            bookRepository.save(book);
+        }
+        memberRepository.save(new Member("John Doe", "john@example.com", MembershipType.REGULAR));
+        assertThat(readModel.awaitCaughtUp(Duration.ofSeconds(5))).isTrue();
+    }
+
+    /** Commits are not rolled back by the test, so clear the tables for the next one */
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should answer searches and reports from committed checkouts")
+    void shouldFollowCommittedCheckouts() throws InterruptedException {
+        // Act
+        libraryFacade.checkoutBook("978-0-123456-78-9", "john@example.com");
+        boolean caughtUp = readModel.awaitCaughtUp(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(caughtUp).isTrue();
+        assertThat(readModel.isUsable()).isTrue();
+        assertThat(readModel.searchByIsbn("978-0-123456-78-9")).get(as(InstanceOfAssertFactories.LIST)).singleElement()
+                .extracting("status", "checkedOutBy").containsExactly(BookStatus.CHECKED_OUT, "john@example.com");
+        LibraryStatistics statistics = readModel.statistics(LocalDate.now()).orElseThrow();
+        assertThat(statistics.totalBooks()).isEqualTo(2);
+        assertThat(statistics.count(BookStatus.CHECKED_OUT)).isEqualTo(1);
+        assertThat(statistics.totalMembers()).isEqualTo(1);
+        assertThat(statistics.membersWithBooks()).isEqualTo(1);
+        assertThat(libraryFacade.generateReport("summary")).contains("Checked out books: 1");
+        assertThat(readModel.findDueBefore(LocalDate.now().plusYears(1)))
+                .get(as(InstanceOfAssertFactories.LIST)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should report the same statistics as the database, counting members by their checked out count")
+    void shouldMatchDatabaseStatistics() throws InterruptedException {
+        // Arrange - a counter raised without a book checked out, as a manual adjustment leaves it
+        memberRepository.save(new Member("Jane Smith", "jane@example.com", MembershipType.REGULAR));
+        libraryFacade.checkoutBook("978-0-123456-78-9", "john@example.com");
+        memberService.adjustBooksCheckedOut(memberService.findByEmailOrThrow("jane@example.com"), 2);
+
+        // Act
+        boolean caughtUp = readModel.awaitCaughtUp(Duration.ofSeconds(5));
+        LibraryStatistics fromReadModel = readModel.statistics(LocalDate.now()).orElseThrow();
+        LibraryStatistics fromDatabase = bookManagementService.getLibraryStatistics();
+
+        // Assert
+        assertThat(caughtUp).isTrue();
+        assertThat(fromReadModel.membersWithBooks()).isEqualTo(2);
+        assertThat(fromReadModel).usingRecursiveComparison().isEqualTo(fromDatabase);
+    }
+
+    @Test
+    @DisplayName("Should apply a checkout committed while members reload only once")
+    void shouldNotApplyCheckoutCommittedDuringRebuildTwice() throws InterruptedException {
+        // Arrange - the checkout commits after the reload starts and before it reads the members
+        AtomicBoolean checkoutPending = new AtomicBoolean(true);
+        // A spied repository proxy has no real method to call; its default answer delegates to the proxy
+        Answer<?> repository = mockingDetails(memberRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            if (checkoutPending.getAndSet(false)) {
+                CompletableFuture.runAsync(() -> libraryFacade.checkoutBook("978-0-123456-78-9", "john@example.com"))
+                        .join();
+            }
+            return repository.answer(invocation);
+        }).when(memberRepository).findByIdGreaterThanOrderById(anyLong(), any(Limit.class));
+
+        // Act
+        readModel.rebuild();
+        boolean caughtUpAfterRebuild = readModel.awaitCaughtUp(Duration.ofSeconds(5));
+        libraryFacade.returnBook("978-0-123456-78-9");
+        boolean caughtUp = readModel.awaitCaughtUp(Duration.ofSeconds(5));
+
+        // Assert - counted twice, the member would still have a book after returning it
+        assertThat(checkoutPending).isFalse();
+        assertThat(caughtUpAfterRebuild).isTrue();
+        assertThat(caughtUp).isTrue();
+        assertThat(readModel.statistics(LocalDate.now()).orElseThrow()).usingRecursiveComparison()
+                .isEqualTo(bookManagementService.getLibraryStatistics());
+        assertThat(readModel.statistics(LocalDate.now()).orElseThrow().membersWithBooks()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never see changes of a transaction that rolls back")
+    void shouldIgnoreRolledBackChanges() throws InterruptedException {
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Book book = new Book("978-0-111111-11-1", "Effective Java", "Joshua Bloch", LocalDate.now());
+            book.setStatus(BookStatus.AVAILABLE);
+            bookRepository.saveAndFlush(book);
+            status.setRollbackOnly();
+        });
+        boolean caughtUp = readModel.awaitCaughtUp(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(caughtUp).isTrue();
+        assertThat(readModel.searchByIsbn("978-0-111111-11-1")).contains(List.of());
+        assertThat(readModel.size()).isEqualTo(2);
+    }
+}
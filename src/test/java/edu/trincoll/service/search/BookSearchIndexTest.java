@@ -0,0 +1,251 @@
+package edu.trincoll.service.search;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.model.BookStatus;
+import edu.trincoll.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Book Search Index Tests")
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private BookSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new BookSearchIndex(bookRepository);
+        searchIndex.bookSaved(book(1L, "Clean Code", "Robert Martin"));
+        searchIndex.bookSaved(book(2L, "Clean Architecture", "Robert Martin"));
+        searchIndex.bookSaved(book(3L, "Effective Java", "Joshua Bloch"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should find titles by case-insensitive substring")
+    void shouldFindTitlesBySubstring() {
+        assertThat(searchIndex.searchByTitle("clean")).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(searchIndex.searchByTitle("ARCHITECT")).extracting(Book::getId).containsExactly(2L);
+        assertThat(searchIndex.searchByTitle("ive jav")).extracting(Book::getId).containsExactly(3L);
+        assertThat(searchIndex.searchByTitle("Refactoring")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should answer queries shorter than a trigram")
+    void shouldAnswerShortQueries() {
+        assertThat(searchIndex.searchByTitle("ja")).extracting(Book::getId).containsExactly(3L);
+        assertThat(searchIndex.searchByTitle("")).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should answer one and two character queries from their own posting lists")
+    void shouldIndexUnigramsAndBigrams() {
+        // Act
+        searchIndex.bookSaved(book(3L, "Refactoring", "Martin Fowler"));
+
+        // Assert
+        assertThat(searchIndex.searchByTitle("c")).extracting(Book::getId).containsExactly(1L, 2L, 3L);
+        assertThat(searchIndex.searchByTitle("J")).isEmpty();
+        assertThat(searchIndex.searchByTitle("n ")).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(searchIndex.searchByTitle("ac")).extracting(Book::getId).containsExactly(3L);
+        assertThat(searchIndex.searchByTitle("e", 1L, 1)).extracting(Book::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should reject trigram candidates that do not contain the whole term")
+    void shouldVerifyCandidates() {
+        // "cle" and "ode" both occur in "Clean Code" but "cleode" does not
+        assertThat(searchIndex.searchByTitle("cleode")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page title matches in id order after the given id")
+    void shouldPageTitleMatches() {
+        // Arrange
+        for (long id = 4; id <= 20; id++) {
+            searchIndex.bookSaved(book(id, "Clean Code Volume " + id, "Robert Martin"));
+        }
+
+        // Act
+        List<Book> first = searchIndex.searchByTitle("clean", 0L, 3);
+        List<Book> deep = searchIndex.searchByTitle("clean", 17L, 3);
+
+        // Assert
+        assertThat(first).extracting(Book::getId).containsExactly(1L, 2L, 4L);
+        assertThat(deep).extracting(Book::getId).containsExactly(18L, 19L, 20L);
+    }
+
+    @Test
+    @DisplayName("Should find books by exact author")
+    void shouldFindBooksByExactAuthor() {
+        assertThat(searchIndex.searchByAuthor("Robert Martin")).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(searchIndex.searchByAuthor("robert martin")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reindex a book when it is updated")
+    void shouldReindexUpdatedBook() {
+        searchIndex.bookSaved(book(1L, "The Pragmatic Programmer", "Andy Hunt"));
+
+        assertThat(searchIndex.searchByTitle("clean")).extracting(Book::getId).containsExactly(2L);
+        assertThat(searchIndex.searchByTitle("pragmatic")).extracting(Book::getId).containsExactly(1L);
+        assertThat(searchIndex.searchByAuthor("Robert Martin")).extracting(Book::getId).containsExactly(2L);
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should drop a book when it is removed")
+    void shouldDropRemovedBook() {
+        searchIndex.bookRemoved(book(3L, "Effective Java", "Joshua Bloch"));
+
+        assertThat(searchIndex.searchByTitle("java")).isEmpty();
+        assertThat(searchIndex.searchByAuthor("Joshua Bloch")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return copies so callers cannot corrupt the index")
+    void shouldReturnCopies() {
+        Book result = searchIndex.searchByTitle("effective").get(0);
+        result.setTitle("Changed");
+
+        assertThat(searchIndex.searchByTitle("effective")).extracting(Book::getTitle).containsExactly("Effective Java");
+    }
+
+    @Test
+    @DisplayName("Should undo changes made in a transaction that rolls back")
+    void shouldUndoChangesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.bookSaved(book(4L, "Refactoring", "Martin Fowler"));
+        searchIndex.bookSaved(book(1L, "Clean Code, 2nd Edition", "Robert Martin"));
+        searchIndex.bookRemoved(book(3L, "Effective Java", "Joshua Bloch"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(searchIndex.searchByTitle("refactoring")).isEmpty();
+        assertThat(searchIndex.searchByTitle("edition")).isEmpty();
+        assertThat(searchIndex.searchByTitle("java")).extracting(Book::getId).containsExactly(3L);
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should undo repeated changes to one book in a transaction that rolls back")
+    void shouldUndoRepeatedChangesOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.bookSaved(book(4L, "Refactoring", "Martin Fowler"));
+        searchIndex.bookSaved(book(4L, "Refactoring, 2nd Edition", "Martin Fowler"));
+        searchIndex.bookSaved(book(1L, "Clean Code", "Uncle Bob"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(searchIndex.searchByTitle("refactoring")).isEmpty();
+        assertThat(searchIndex.searchByAuthor("Uncle Bob")).isEmpty();
+        assertThat(searchIndex.searchByAuthor("Robert Martin")).extracting(Book::getId).containsExactly(1L, 2L);
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not undo a change that a later transaction has overwritten")
+    void shouldNotUndoOverwrittenChange() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.bookSaved(book(3L, "Effective Java, 3rd Edition", "Joshua Bloch"));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // A concurrent transaction saves the book again before the rollback is applied
+        searchIndex.bookSaved(book(3L, "Java Concurrency in Practice", "Brian Goetz"));
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(searchIndex.searchByTitle("concurrency")).extracting(Book::getId).containsExactly(3L);
+        assertThat(searchIndex.searchByTitle("effective")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep changes made in a transaction that commits")
+    void shouldKeepChangesOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        searchIndex.bookSaved(book(4L, "Refactoring", "Martin Fowler"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(searchIndex.searchByTitle("refactoring")).extracting(Book::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Should build from the repository on rebuild")
+    void shouldBuildFromRepository() {
+        // Arrange
+        BookSearchIndex freshIndex = new BookSearchIndex(bookRepository);
+        when(bookRepository.findByIdGreaterThanOrderById(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(book(7L, "Domain-Driven Design", "Eric Evans")));
+
+        // Act
+        assertThat(freshIndex.isReady()).isFalse();
+        freshIndex.rebuild();
+
+        // Assert
+        assertThat(freshIndex.isReady()).isTrue();
+        assertThat(freshIndex.searchByTitle("driven")).extracting(Book::getId).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should keep a book saved during rebuild over its older page row")
+    void shouldKeepNewerSaveOverRebuildPage() {
+        // Arrange - the save lands after the page was read but before it is applied
+        BookSearchIndex freshIndex = new BookSearchIndex(bookRepository);
+        Book stale = book(7L, "Domain-Driven Design", "Eric Evans");
+        stale.setVersion(1L);
+        Book renamed = book(7L, "Implementing Domain-Driven Design", "Vaughn Vernon");
+        renamed.setVersion(2L);
+        when(bookRepository.findByIdGreaterThanOrderById(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            freshIndex.bookSaved(renamed);
+            return List.of(stale);
+        });
+
+        // Act
+        freshIndex.rebuild();
+
+        // Assert
+        assertThat(freshIndex.searchByTitle("implementing")).extracting(Book::getId).containsExactly(7L);
+        assertThat(freshIndex.searchByAuthor("Vaughn Vernon")).extracting(Book::getId).containsExactly(7L);
+        assertThat(freshIndex.searchByAuthor("Eric Evans")).isEmpty();
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book("isbn-" + id, title, author, LocalDate.of(2008, 8, 1));
+        book.setId(id);
+        book.setStatus(BookStatus.AVAILABLE);
+        return book;
+    }
+}
@@ -0,0 +1,92 @@
+package edu.trincoll.service.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Concurrency Retry Tests")
+class ConcurrencyRetryTest {
+
+    private final ConcurrencyRetry retry = new ConcurrencyRetry(3, Duration.ofMillis(1));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("Should retry an operation that loses a conflict and return its result")
+    void shouldRetryUntilSuccess() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = retry.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "done";
+        }, () -> "conflict");
+
+        // Assert
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+        assertThat(retry.retries()).isEqualTo(2);
+        assertThat(retry.exhausted()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give up with the conflict result after the last attempt")
+    void shouldGiveUpAfterLastAttempt() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }, () -> "conflict");
+
+        // Assert
+        assertThat(result).isEqualTo("conflict");
+        assertThat(attempts).hasValue(3);
+        assertThat(retry.exhausted()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run once and propagate conflicts inside an existing transaction")
+    void shouldNotRetryInsideExistingTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        }, () -> "conflict")).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should not retry failures that are not concurrency conflicts")
+    void shouldNotRetryOtherFailures() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThatThrownBy(() -> retry.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Book not found");
+        }, () -> "conflict")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(attempts).hasValue(1);
+    }
+}
@@ -0,0 +1,68 @@
+package edu.trincoll.service.support.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Long Hash Set Tests")
+class LongHashSetTest {
+
+    private final LongHashSet set = new LongHashSet();
+
+    @Test
+    @DisplayName("Should add, find and remove values")
+    void shouldAddFindAndRemove() {
+        // Act
+        boolean added = set.add(3L);
+        boolean addedAgain = set.add(3L);
+
+        // Assert
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(set.contains(3L)).isTrue();
+        assertThat(set.remove(3L)).isTrue();
+        assertThat(set.remove(3L)).isFalse();
+        assertThat(set.contains(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep every value across growth and removals")
+    void shouldKeepValuesAcrossGrowthAndRemovals() {
+        // Arrange
+        for (long id = 0; id < 10_000; id++) {
+            set.add(id);
+        }
+
+        // Act
+        for (long id = 0; id < 10_000; id += 2) {
+            set.remove(id);
+        }
+        List<Long> visited = new ArrayList<>();
+        set.forEach(visited::add);
+
+        // Assert
+        assertThat(set.size()).isEqualTo(5_000);
+        assertThat(visited).hasSize(5_000).allMatch(id -> id % 2 == 1);
+        assertThat(set.toArray()).hasSize(5_000).contains(1L, 9_999L).doesNotContain(0L);
+    }
+
+    @Test
+    @DisplayName("Should forget every value when cleared")
+    void shouldClear() {
+        // Arrange
+        set.add(0L);
+        set.add(1L);
+
+        // Act
+        set.clear();
+
+        // Assert
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(set.contains(0L)).isFalse();
+        assertThat(set.toArray()).isEmpty();
+    }
+}
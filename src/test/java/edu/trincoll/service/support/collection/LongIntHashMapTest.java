@@ -0,0 +1,97 @@
+package edu.trincoll.service.support.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Long Int Hash Map Tests")
+class LongIntHashMapTest {
+
+    private final LongIntHashMap map = new LongIntHashMap(0, -1);
+
+    @Test
+    @DisplayName("Should put, replace and remove entries")
+    void shouldPutReplaceAndRemove() {
+        // Act
+        int absent = map.put(42L, 1);
+        int replaced = map.put(42L, 2);
+
+        // Assert
+        assertThat(absent).isEqualTo(-1);
+        assertThat(replaced).isEqualTo(1);
+        assertThat(map.get(42L)).isEqualTo(2);
+        assertThat(map.get(43L)).isEqualTo(-1);
+        assertThat(map.remove(42L)).isEqualTo(2);
+        assertThat(map.remove(42L)).isEqualTo(-1);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should hold the zero key and negative keys")
+    void shouldHoldZeroAndNegativeKeys() {
+        // Act
+        map.put(0L, 10);
+        map.put(-5L, 20);
+        map.put(Long.MIN_VALUE, 30);
+
+        // Assert
+        assertThat(map.get(0L)).isEqualTo(10);
+        assertThat(map.get(-5L)).isEqualTo(20);
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(30);
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.remove(0L)).isEqualTo(10);
+        assertThat(map.containsKey(0L)).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count from zero with addTo")
+    void shouldCountWithAddTo() {
+        // Act
+        map.addTo(7L, 1);
+        map.addTo(7L, 1);
+        map.addTo(8L, -1);
+
+        // Assert
+        assertThat(map.get(7L)).isEqualTo(2);
+        assertThat(map.get(8L)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should agree with HashMap across random puts and removes that force growth")
+    void shouldAgreeWithHashMap() {
+        // Arrange
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(50_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed == null ? -1 : removed);
+            } else {
+                Integer previous = expected.put(key, i);
+                assertThat(map.put(key, i)).isEqualTo(previous == null ? -1 : previous);
+            }
+        }
+
+        // Assert
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -1_000; key < 49_000; key++) {
+            assertThat(map.get(key)).isEqualTo(expected.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a negative expected size")
+    void shouldRejectNegativeExpectedSize() {
+        assertThatThrownBy(() -> new LongIntHashMap(-1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
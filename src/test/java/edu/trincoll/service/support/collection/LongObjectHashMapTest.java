@@ -0,0 +1,53 @@
+package edu.trincoll.service.support.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Long Object Hash Map Tests")
+class LongObjectHashMapTest {
+
+    private final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+    @Test
+    @DisplayName("Should put, replace and remove entries")
+    void shouldPutReplaceAndRemove() {
+        // Act
+        String absent = map.put(1L, "one");
+        String replaced = map.put(1L, "uno");
+
+        // Assert
+        assertThat(absent).isNull();
+        assertThat(replaced).isEqualTo("one");
+        assertThat(map.get(1L)).isEqualTo("uno");
+        assertThat(map.remove(1L)).isEqualTo("uno");
+        assertThat(map.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should visit every entry once")
+    void shouldVisitEveryEntry() {
+        // Arrange
+        for (long id = 0; id < 1_000; id++) {
+            map.put(id, "book-" + id);
+        }
+        Map<Long, String> visited = new HashMap<>();
+
+        // Act
+        map.forEach(visited::put);
+
+        // Assert
+        assertThat(visited).hasSize(1_000).containsEntry(0L, "book-0").containsEntry(999L, "book-999");
+    }
+
+    @Test
+    @DisplayName("Should reject null values")
+    void shouldRejectNullValues() {
+        assertThatThrownBy(() -> map.put(1L, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.trincoll.service.support.collection;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Long Sorted Set Tests")
+class LongSortedSetTest {
+
+    private final LongSortedSet set = new LongSortedSet();
+
+    @Test
+    @DisplayName("Should add, find and remove values")
+    void shouldAddFindAndRemove() {
+        // Act
+        boolean added = set.add(3L);
+        boolean addedAgain = set.add(3L);
+
+        // Assert
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(set.contains(3L)).isTrue();
+        assertThat(set.remove(3L)).isTrue();
+        assertThat(set.remove(3L)).isFalse();
+        assertThat(set.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should visit values in ascending order whatever order they were added in")
+    void shouldVisitInAscendingOrder() {
+        // Arrange
+        for (long id : new long[]{50, 10, 40, 20, 30, 60}) {
+            set.add(id);
+        }
+        set.remove(40L);
+        List<Long> visited = new ArrayList<>();
+
+        // Act
+        set.forEachAfter(Long.MIN_VALUE, visited::add);
+
+        // Assert
+        assertThat(visited).containsExactly(10L, 20L, 30L, 50L, 60L);
+    }
+
+    @Test
+    @DisplayName("Should start after the given value and stop when the action says so")
+    void shouldVisitAPage() {
+        // Arrange
+        for (long id = 1; id <= 10_000; id++) {
+            set.add(id * 2);
+        }
+        List<Long> page = new ArrayList<>();
+
+        // Act
+        set.forEachAfter(101L, id -> page.add(id) && page.size() < 3);
+
+        // Assert
+        assertThat(set.size()).isEqualTo(10_000);
+        assertThat(page).containsExactly(102L, 104L, 106L);
+    }
+}
@@ -0,0 +1,102 @@
+package edu.trincoll.web;
+
+import edu.trincoll.model.Book;
+import edu.trincoll.service.KeysetPage;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.importer.BookImportError;
+import edu.trincoll.service.importer.BookImportFormat;
+import edu.trincoll.service.importer.BookImportResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookController.class)
+@DisplayName("Book Controller Tests")
+class BookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LibraryFacade libraryFacade;
+
+    @Test
+    @DisplayName("Should return a page of available books with its continuation token")
+    void shouldReturnAvailableBooksPage() throws Exception {
+        // Arrange
+        when(libraryFacade.getAvailableBooks("abc", 2))
+                .thenReturn(new KeysetPage<>(List.of(book("978-0132350884", "Clean Code")), "def"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/available").param("token", "abc").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Clean Code"))
+                .andExpect(jsonPath("$.nextToken").value("def"));
+    }
+
+    @Test
+    @DisplayName("Should page title searches and run typed searches")
+    void shouldSearchBooks() throws Exception {
+        // Arrange
+        when(libraryFacade.searchBooksByTitle("clean", null, 50))
+                .thenReturn(new KeysetPage<>(List.of(book("978-0132350884", "Clean Code")), null));
+        when(libraryFacade.searchBooks("Robert Martin", "author"))
+                .thenReturn(List.of(book("978-0134494166", "Clean Architecture")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books/search").param("title", "clean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].isbn").value("978-0132350884"))
+                .andExpect(jsonPath("$.nextToken").doesNotExist());
+        mockMvc.perform(get("/api/books/search").param("term", "Robert Martin").param("type", "author"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Clean Architecture"));
+    }
+
+    @Test
+    @DisplayName("Should answer an invalid argument with a 400 problem detail")
+    void shouldRejectInvalidToken() throws Exception {
+        // Arrange
+        when(libraryFacade.getBooks("bogus", 50)).thenThrow(new IllegalArgumentException("Invalid continuation token"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/books").param("token", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid continuation token"));
+    }
+
+    @Test
+    @DisplayName("Should import a CSV body and return the import summary")
+    void shouldImportBooks() throws Exception {
+        // Arrange
+        when(libraryFacade.importBooks(any(), eq(BookImportFormat.CSV)))
+                .thenReturn(new BookImportResult(2, 1, 1, List.of(new BookImportError(3, "Title is required")), 5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/books/import").contentType("text/csv")
+                        .content("isbn,title,author,publication_date\n9780132350884,Clean Code,Robert Martin,2008\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+        mockMvc.perform(post("/api/books/import").contentType("application/xml").content("<books/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private static Book book(String isbn, String title) {
+        return new Book(isbn, title, "Robert Martin", LocalDate.of(2008, 8, 1));
+    }
+}
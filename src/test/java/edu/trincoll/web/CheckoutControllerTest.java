@@ -0,0 +1,72 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.CheckoutResult;
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CheckoutController.class)
+@DisplayName("Checkout Controller Tests")
+class CheckoutControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LibraryFacade libraryFacade;
+
+    @Test
+    @DisplayName("Should check out a book and return the facade's message")
+    void shouldCheckoutBook() throws Exception {
+        // Arrange
+        when(libraryFacade.checkoutBook("978-0132350884", "john@example.com"))
+                .thenReturn("Book checked out successfully. Due date: 2024-03-15");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/checkouts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isbn\":\"978-0132350884\",\"memberEmail\":\"john@example.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Book checked out successfully. Due date: 2024-03-15"));
+    }
+
+    @Test
+    @DisplayName("Should return the per-book results of a batch return")
+    void shouldReturnBooksInBatch() throws Exception {
+        // Arrange
+        when(libraryFacade.returnBooks(List.of("isbn-1", "isbn-2"))).thenReturn(List.of(
+                new CheckoutResult("isbn-1", true, "Book returned successfully"),
+                new CheckoutResult("isbn-2", false, "Book is not checked out")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/returns/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isbns\":[\"isbn-1\",\"isbn-2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].successful").value(true))
+                .andExpect(jsonPath("$[1].message").value("Book is not checked out"));
+    }
+
+    @Test
+    @DisplayName("Should reject a checkout request without a valid member email")
+    void shouldRejectInvalidCheckoutRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/checkouts").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isbn\":\"978-0132350884\",\"memberEmail\":\"not-an-email\"}"))
+                .andExpect(status().isBadRequest());
+        verify(libraryFacade, never()).checkoutBook(any(), any());
+    }
+}
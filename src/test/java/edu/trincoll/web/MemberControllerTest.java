@@ -0,0 +1,75 @@
+package edu.trincoll.web;
+
+import edu.trincoll.model.Member;
+import edu.trincoll.model.MembershipType;
+import edu.trincoll.service.KeysetPage;
+import edu.trincoll.service.LibraryFacade;
+import edu.trincoll.service.importer.MemberSyncResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MemberController.class)
+@DisplayName("Member Controller Tests")
+class MemberControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LibraryFacade libraryFacade;
+
+    @Test
+    @DisplayName("Should return a page of members")
+    void shouldReturnMembersPage() throws Exception {
+        // Arrange
+        when(libraryFacade.getMembers(null, 10)).thenReturn(new KeysetPage<>(
+                List.of(new Member("John Doe", "john@example.com", MembershipType.REGULAR)), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/members").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].email").value("john@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should tell whether a member can check out more books")
+    void shouldAnswerCanCheckout() throws Exception {
+        // Arrange
+        when(libraryFacade.canMemberCheckoutMoreBooks("john@example.com")).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/members/john@example.com/can-checkout"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+    }
+
+    @Test
+    @DisplayName("Should sync members from a CSV roster")
+    void shouldSyncMembers() throws Exception {
+        // Arrange
+        when(libraryFacade.syncMembers(any(), eq(true)))
+                .thenReturn(new MemberSyncResult(1, 1, 0, 0, 3, 0, List.of(), 5));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/members/sync").param("markMissing", "true").contentType("text/csv")
+                        .content("name,email,membership_type\nJohn Doe,john@example.com,STUDENT\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.lapsed").value(3));
+    }
+}
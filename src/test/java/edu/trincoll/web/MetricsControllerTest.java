@@ -0,0 +1,39 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.metrics.LibraryMetrics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(MetricsController.class)
+@DisplayName("Metrics Controller Tests")
+class MetricsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LibraryMetrics libraryMetrics;
+
+    @Test
+    @DisplayName("Should serve the metrics in the Prometheus text format")
+    void shouldServePrometheusText() throws Exception {
+        // Arrange
+        when(libraryMetrics.scrape()).thenReturn("library_late_fees_cents_total 75\n");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/plain;version=0.0.4;charset=utf-8"))
+                .andExpect(content().string("library_late_fees_cents_total 75\n"));
+    }
+}
@@ -0,0 +1,74 @@
+package edu.trincoll.web;
+
+import edu.trincoll.service.LibraryFacade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.Writer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReportController.class)
+@DisplayName("Report Controller Tests")
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LibraryFacade libraryFacade;
+
+    @Test
+    @DisplayName("Should return a named report as plain text")
+    void shouldReturnReport() throws Exception {
+        // Arrange
+        when(libraryFacade.generateReport("available")).thenReturn("Available books: 3");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/available"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Available books: 3"));
+    }
+
+    @Test
+    @DisplayName("Should stream the overdue report")
+    void shouldStreamOverdueReport() throws Exception {
+        // Arrange
+        when(libraryFacade.writeOverdueBooksReport(any(Writer.class))).thenAnswer(invocation -> {
+            invocation.<Writer>getArgument(0).write("Clean Code - due 2024-03-01\n");
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/reports/overdue"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Clean Code - due 2024-03-01\n"));
+    }
+
+    @Test
+    @DisplayName("Should answer an unknown report type with 400")
+    void shouldRejectUnknownReport() throws Exception {
+        // Arrange
+        when(libraryFacade.generateReport("bogus")).thenThrow(new IllegalArgumentException("Invalid report type: bogus"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/bogus"))
+                .andExpect(status().isBadRequest());
+    }
+}